@@ -0,0 +1,136 @@
+package com.binaerBaum;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building a whole tree from one input sequence with {@link AVLTree#insert(int)}, once
+ * silently, once with {@link AVLTree#enableMetrics() metrics}, once into a tree that is cleared
+ * and refilled from an {@link AVLNodeArena} and once explained by a {@link ConsoleTreeListener},
+ * with {@link AVLTree#bulkLoad(int[])}, and with {@link
+ * AVLTree#insertAll(int[])} in micro-batches of {@value #MICRO_BATCH_SIZE} keys. One operation is
+ * one complete build, so the score is "trees per second". {@code insertDuplicates} offers every key
+ * again to the finished tree: the same descents without any linking or rebalancing, so the gap to
+ * {@code insert} is the cost of rebalancing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class AVLTreeInsertBenchmark {
+  private static final int MICRO_BATCH_SIZE = 10_000;
+
+  @Param({"1000", "10000", "100000", "1000000", "10000000"})
+  public int inputSize;
+
+  @Param({"SORTED", "REVERSE_SORTED", "RANDOM", "DUPLICATE_HEAVY"})
+  public BenchmarkInput.Shape inputShape;
+
+  private int[] inputKeys;
+  private int[][] microBatches;
+  private AVLTree arenaTree;
+  private AVLTree filledTree;
+  private PrintStream originalOut;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    inputKeys = BenchmarkInput.generate(inputShape, inputSize);
+    microBatches = new int[(inputSize + MICRO_BATCH_SIZE - 1) / MICRO_BATCH_SIZE][];
+    for (int batchIdx = 0; batchIdx < microBatches.length; batchIdx++) {
+      int batchStart = batchIdx * MICRO_BATCH_SIZE;
+      int batchEnd = Math.min(batchStart + MICRO_BATCH_SIZE, inputSize);
+      microBatches[batchIdx] = Arrays.copyOfRange(inputKeys, batchStart, batchEnd);
+    }
+
+    arenaTree = new AVLTree(AVLTreeListener.NONE, new AVLNodeArena(inputSize));
+    filledTree = insert();
+
+    // The explaining listener prints every step; measure the work, not the terminal.
+    originalOut = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    System.setOut(originalOut);
+  }
+
+  @Benchmark
+  public AVLTree insert() {
+    AVLTree benchmarkTree = new AVLTree();
+    for (int insertValue : inputKeys) {
+      benchmarkTree.insert(insertValue);
+    }
+    return benchmarkTree;
+  }
+
+  @Benchmark
+  public int insertDuplicates() {
+    int insertedCount = 0;
+    for (int insertValue : inputKeys) {
+      if (filledTree.insert(insertValue)) {
+        insertedCount++;
+      }
+    }
+    return insertedCount;
+  }
+
+  @Benchmark
+  public AVLTree insertWithMetrics() {
+    AVLTree benchmarkTree = new AVLTree();
+    benchmarkTree.enableMetrics();
+    for (int insertValue : inputKeys) {
+      benchmarkTree.insert(insertValue);
+    }
+    return benchmarkTree;
+  }
+
+  @Benchmark
+  public AVLTree insertArena() {
+    arenaTree.clear();
+    for (int insertValue : inputKeys) {
+      arenaTree.insert(insertValue);
+    }
+    return arenaTree;
+  }
+
+  @Benchmark
+  public AVLTree insertExplained() {
+    AVLTree benchmarkTree = new AVLTree(new ConsoleTreeListener());
+    for (int insertValue : inputKeys) {
+      benchmarkTree.insert(insertValue);
+    }
+    return benchmarkTree;
+  }
+
+  @Benchmark
+  public AVLTree bulkLoad() {
+    return AVLTree.bulkLoad(inputKeys);
+  }
+
+  @Benchmark
+  public AVLTree insertAllBatches() {
+    AVLTree benchmarkTree = new AVLTree();
+    for (int[] microBatch : microBatches) {
+      benchmarkTree.insertAll(microBatch);
+    }
+    return benchmarkTree;
+  }
+}
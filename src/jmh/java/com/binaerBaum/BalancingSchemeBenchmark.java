@@ -0,0 +1,114 @@
+package com.binaerBaum;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link BalancingScheme}s on the same inputs: building a whole tree, removing every
+ * second key from it again, and a batch of {@value #PROBE_COUNT} lookups (half of them hits) on the
+ * finished tree. The throughput alone hides why a scheme wins, so at the end of each trial the
+ * height of the finished tree and the rotations per insertion and per removal are printed as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BalancingSchemeBenchmark {
+  private static final int PROBE_COUNT = 1 << 16;
+
+  @Param({"AVL", "RED_BLACK", "WAVL", "TREAP"})
+  public BalancingScheme balancingScheme;
+
+  @Param({"1000", "100000", "1000000"})
+  public int inputSize;
+
+  @Param({"SORTED", "RANDOM", "DUPLICATE_HEAVY"})
+  public BenchmarkInput.Shape inputShape;
+
+  private int[] inputKeys;
+  private int[] probeKeys;
+  private BinaryIntTree filledTree;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    inputKeys = BenchmarkInput.generate(inputShape, inputSize);
+    filledTree = insert();
+
+    Random probeRandom = new Random(inputSize);
+    probeKeys = new int[PROBE_COUNT];
+    for (int probeIdx = 0; probeIdx < PROBE_COUNT; probeIdx++) {
+      probeKeys[probeIdx] =
+          ((probeIdx & 1) == 0) ? inputKeys[probeRandom.nextInt(inputSize)] : probeRandom.nextInt();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    BinaryIntTree statisticsTree = balancingScheme.newTree();
+    for (int insertValue : inputKeys) {
+      statisticsTree.insert(insertValue);
+    }
+    long insertRotations = statisticsTree.getRotationCount();
+    int builtHeight = statisticsTree.getHeight();
+    int builtSize = statisticsTree.size();
+    int removedCount = 0;
+    for (int keyIdx = 0; keyIdx < inputKeys.length; keyIdx += 2) {
+      if (statisticsTree.remove(inputKeys[keyIdx])) {
+        removedCount++;
+      }
+    }
+    long removeRotations = statisticsTree.getRotationCount() - insertRotations;
+
+    System.out.printf(
+        "%n%s: Höhe %d bei %d Schlüsseln, %.3f Rotationen je Einfügen, %.3f je Entfernen%n",
+        balancingScheme.getDisplayName(),
+        builtHeight,
+        builtSize,
+        (double) insertRotations / Math.max(builtSize, 1),
+        (double) removeRotations / Math.max(removedCount, 1));
+  }
+
+  @Benchmark
+  public BinaryIntTree insert() {
+    BinaryIntTree benchmarkTree = balancingScheme.newTree();
+    for (int insertValue : inputKeys) {
+      benchmarkTree.insert(insertValue);
+    }
+    return benchmarkTree;
+  }
+
+  @Benchmark
+  public BinaryIntTree insertRemove() {
+    BinaryIntTree benchmarkTree = insert();
+    for (int keyIdx = 0; keyIdx < inputKeys.length; keyIdx += 2) {
+      benchmarkTree.remove(inputKeys[keyIdx]);
+    }
+    return benchmarkTree;
+  }
+
+  @Benchmark
+  public int contains() {
+    int hitCount = 0;
+    for (int probeKey : probeKeys) {
+      if (filledTree.contains(probeKey)) {
+        hitCount++;
+      }
+    }
+    return hitCount;
+  }
+}
@@ -0,0 +1,60 @@
+package com.binaerBaum;
+
+import java.util.Random;
+
+/** Generates the key sequences shared by all benchmarks. */
+public final class BenchmarkInput {
+
+  /** Fixed seed so every run and every benchmark sees the same "random" keys. */
+  private static final long SEED = 0x5EEDL;
+
+  /** Shape of the generated input sequence. */
+  public enum Shape {
+    SORTED,
+    REVERSE_SORTED,
+    RANDOM,
+    /** Keys drawn from a range ten times smaller than the input, so most inserts are duplicates. */
+    DUPLICATE_HEAVY
+  }
+
+  private BenchmarkInput() {}
+
+  /**
+   * Creates an input sequence of the given shape.
+   *
+   * @param inputShape shape of the sequence
+   * @param inputSize number of keys to generate
+   * @return generated keys
+   */
+  public static int[] generate(Shape inputShape, int inputSize) {
+    int[] generatedKeys = new int[inputSize];
+    Random keyRandom = new Random(SEED);
+
+    switch (inputShape) {
+      case SORTED:
+        for (int keyIdx = 0; keyIdx < inputSize; keyIdx++) {
+          generatedKeys[keyIdx] = keyIdx;
+        }
+        break;
+      case REVERSE_SORTED:
+        for (int keyIdx = 0; keyIdx < inputSize; keyIdx++) {
+          generatedKeys[keyIdx] = inputSize - keyIdx;
+        }
+        break;
+      case RANDOM:
+        for (int keyIdx = 0; keyIdx < inputSize; keyIdx++) {
+          generatedKeys[keyIdx] = keyRandom.nextInt();
+        }
+        break;
+      case DUPLICATE_HEAVY:
+        int distinctKeys = Math.max(1, inputSize / 10);
+        for (int keyIdx = 0; keyIdx < inputSize; keyIdx++) {
+          generatedKeys[keyIdx] = keyRandom.nextInt(distinctKeys);
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unbekannte Eingabeform: " + inputShape);
+    }
+    return generatedKeys;
+  }
+}
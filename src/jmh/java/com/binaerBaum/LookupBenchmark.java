@@ -0,0 +1,148 @@
+package com.binaerBaum;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures point lookups on a tree built by insertion, on its {@link FrozenAVLTree} copy, on an
+ * {@link OffHeapAVLTree} and on an {@link IntBPlusTree} with the same keys. One operation is a
+ * batch of {@value #PROBE_COUNT} lookups, half of them hits, so the score is "batches per second".
+ * The {@code containsAll} variants pass the same lookups in request-sized slices of {@value
+ * #REQUEST_BATCH_SIZE} values to the interleaved batch search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class LookupBenchmark {
+  private static final int PROBE_COUNT = 1 << 16;
+  private static final int REQUEST_BATCH_SIZE = 256;
+
+  @Param({"1000", "10000", "100000", "1000000", "10000000"})
+  public int inputSize;
+
+  @Param({"SORTED", "RANDOM"})
+  public BenchmarkInput.Shape inputShape;
+
+  private AVLTree builtTree;
+  private FrozenAVLTree frozenTree;
+  private OffHeapAVLTree offHeapTree;
+  private IntBPlusTree bPlusTree;
+  private int[] probeKeys;
+  private int[][] probeBatches;
+  private final boolean[] containedOut = new boolean[REQUEST_BATCH_SIZE];
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    int[] inputKeys = BenchmarkInput.generate(inputShape, inputSize);
+    builtTree = new AVLTree();
+    for (int insertValue : inputKeys) {
+      builtTree.insert(insertValue);
+    }
+    frozenTree = builtTree.freeze();
+    offHeapTree = new OffHeapAVLTree();
+    for (int insertValue : inputKeys) {
+      offHeapTree.insert(insertValue);
+    }
+    bPlusTree = new IntBPlusTree();
+    for (int insertValue : inputKeys) {
+      bPlusTree.insert(insertValue);
+    }
+
+    Random probeRandom = new Random(inputSize);
+    probeKeys = new int[PROBE_COUNT];
+    for (int probeIdx = 0; probeIdx < PROBE_COUNT; probeIdx++) {
+      probeKeys[probeIdx] =
+          ((probeIdx & 1) == 0) ? inputKeys[probeRandom.nextInt(inputSize)] : probeRandom.nextInt();
+    }
+    probeBatches = new int[PROBE_COUNT / REQUEST_BATCH_SIZE][];
+    for (int batchIdx = 0; batchIdx < probeBatches.length; batchIdx++) {
+      int batchStart = batchIdx * REQUEST_BATCH_SIZE;
+      probeBatches[batchIdx] =
+          Arrays.copyOfRange(probeKeys, batchStart, batchStart + REQUEST_BATCH_SIZE);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    offHeapTree.close();
+  }
+
+  @Benchmark
+  public int containsTree() {
+    int hitCount = 0;
+    for (int probeKey : probeKeys) {
+      if (builtTree.contains(probeKey)) {
+        hitCount++;
+      }
+    }
+    return hitCount;
+  }
+
+  @Benchmark
+  public int containsAllTree() {
+    int hitCount = 0;
+    for (int[] probeBatch : probeBatches) {
+      hitCount += builtTree.containsAll(probeBatch, containedOut);
+    }
+    return hitCount;
+  }
+
+  @Benchmark
+  public int containsFrozen() {
+    int hitCount = 0;
+    for (int probeKey : probeKeys) {
+      if (frozenTree.contains(probeKey)) {
+        hitCount++;
+      }
+    }
+    return hitCount;
+  }
+
+  @Benchmark
+  public int containsAllFrozen() {
+    int hitCount = 0;
+    for (int[] probeBatch : probeBatches) {
+      hitCount += frozenTree.containsAll(probeBatch, containedOut);
+    }
+    return hitCount;
+  }
+
+  @Benchmark
+  public int containsOffHeap() {
+    int hitCount = 0;
+    for (int probeKey : probeKeys) {
+      if (offHeapTree.contains(probeKey)) {
+        hitCount++;
+      }
+    }
+    return hitCount;
+  }
+
+  @Benchmark
+  public int containsBPlusTree() {
+    int hitCount = 0;
+    for (int probeKey : probeKeys) {
+      if (bPlusTree.contains(probeKey)) {
+        hitCount++;
+      }
+    }
+    return hitCount;
+  }
+}
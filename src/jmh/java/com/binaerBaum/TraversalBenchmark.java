@@ -0,0 +1,64 @@
+package com.binaerBaum;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the traversals for all four orders: {@link Traversal#traverse(int[], String)} builds its
+ * own tree from the raw input, so that build is part of every operation; {@code traverseTree}
+ * walks an already built tree without the per-version cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TraversalBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000", "10000000"})
+  public int inputSize;
+
+  @Param({"SORTED", "REVERSE_SORTED", "RANDOM", "DUPLICATE_HEAVY"})
+  public BenchmarkInput.Shape inputShape;
+
+  @Param({"preorder", "inorder", "postorder", "levelorder"})
+  public String traversalMethod;
+
+  private int[] inputKeys;
+  private AVLNode builtRoot;
+  private TraversalOrder traversalOrder;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    inputKeys = BenchmarkInput.generate(inputShape, inputSize);
+
+    AVLTree builtTree = new AVLTree();
+    for (int insertValue : inputKeys) {
+      builtTree.insert(insertValue);
+    }
+    builtRoot = builtTree.getRoot();
+    traversalOrder = TraversalOrder.fromName(traversalMethod);
+  }
+
+  @Benchmark
+  public int[] traverse() {
+    return Traversal.traverse(inputKeys, traversalMethod);
+  }
+
+  @Benchmark
+  public int[] traverseTree() {
+    return Traversal.traverse(builtRoot, traversalOrder);
+  }
+}
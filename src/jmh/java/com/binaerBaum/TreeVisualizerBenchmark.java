@@ -0,0 +1,73 @@
+package com.binaerBaum;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link TreeVisualizer#printTree(IntTreeNode)} with the output discarded, and {@link
+ * TreeRenderer} for all of its formats into a string.
+ *
+ * <p>Trees taller than {@link TreeVisualizer#MAX_LAYOUT_HEIGHT} are printed by the visualizer as
+ * indented text, so for the larger sizes {@code printTree} measures that fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TreeVisualizerBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int inputSize;
+
+  @Param({"SORTED", "REVERSE_SORTED", "RANDOM", "DUPLICATE_HEAVY"})
+  public BenchmarkInput.Shape inputShape;
+
+  private AVLNode visualizedRoot;
+  private PrintStream originalOut;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    AVLTree visualizedTree = new AVLTree();
+    for (int insertValue : BenchmarkInput.generate(inputShape, inputSize)) {
+      visualizedTree.insert(insertValue);
+    }
+    visualizedRoot = visualizedTree.getRoot();
+
+    originalOut = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    System.setOut(originalOut);
+  }
+
+  @Param({"TEXT", "DOT", "SVG"})
+  public TreeRenderer.Format renderFormat;
+
+  @Benchmark
+  public void printTree() {
+    TreeVisualizer.printTree(visualizedRoot);
+  }
+
+  @Benchmark
+  public String render() {
+    return TreeRenderer.render(visualizedRoot, renderFormat, TreeRenderer.UNLIMITED_DEPTH);
+  }
+}
@@ -0,0 +1,1115 @@
+package com.binaerBaum;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+/**
+ * Ordered map on an AVL tree, ordered by a {@link Comparator} or by the keys' natural ordering.
+ * Lookups, insertions, removals and navigation ({@code floorKey}, {@code higherEntry}, ...) take
+ * O(log n); sub-map, head-map, tail-map and descending views are live views of the same tree, as
+ * with {@link java.util.TreeMap}.
+ *
+ * <p>Iterators are fail-fast and walk the tree with an explicit stack instead of parent pointers,
+ * so a node carries only its key, value, children and height. For int and long keys, {@link
+ * IntObjAVLMap} and {@link LongLongAVLMap} avoid boxing altogether.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class AVLMap<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+
+  /** Tree node; it is also the live entry handed out by the entry set iterators. */
+  static final class Node<K, V> implements Map.Entry<K, V> {
+    K key;
+    V value;
+    Node<K, V> left;
+    Node<K, V> right;
+    int height = 1;
+
+    Node(K key, V value) {
+      this.key = key;
+      this.value = value;
+    }
+
+    @Override
+    public K getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public V setValue(V newValue) {
+      V previousValue = value;
+      value = newValue;
+      return previousValue;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Map.Entry<?, ?> otherEntry
+          && Objects.equals(key, otherEntry.getKey())
+          && Objects.equals(value, otherEntry.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(key) ^ Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+
+  /** The comparator given by the caller, or null for natural ordering (see {@link #comparator}). */
+  private final Comparator<? super K> explicitComparator;
+
+  private final Comparator<? super K> keyComparator;
+
+  private Node<K, V> treeRoot;
+  private int entryCount;
+  private int modificationCount;
+
+  /** Set by the recursive insertion to report a new node and a replaced value. */
+  private boolean treeModified;
+
+  private V replacedValue;
+
+  /** Creates an empty map ordered by the natural ordering of its keys. */
+  public AVLMap() {
+    this(null);
+  }
+
+  /**
+   * Creates an empty map ordered by the given comparator.
+   *
+   * @param explicitComparator key order, or null for natural ordering
+   */
+  @SuppressWarnings("unchecked")
+  public AVLMap(Comparator<? super K> explicitComparator) {
+    this.explicitComparator = explicitComparator;
+    this.keyComparator =
+        (explicitComparator != null)
+            ? explicitComparator
+            : (Comparator<? super K>) Comparator.naturalOrder();
+  }
+
+  @Override
+  public int size() {
+    return entryCount;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return entryCount == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object searchKey) {
+    return findNode(searchKey) != null;
+  }
+
+  @Override
+  public V get(Object searchKey) {
+    Node<K, V> foundNode = findNode(searchKey);
+    return (foundNode == null) ? null : foundNode.value;
+  }
+
+  @Override
+  public V put(K insertKey, V insertValue) {
+    if (treeRoot == null) {
+      // Type and null check, so the first key cannot slip in unchecked
+      keyComparator.compare(insertKey, insertKey);
+    }
+    treeModified = false;
+    replacedValue = null;
+    treeRoot = insertAt(treeRoot, insertKey, insertValue);
+    if (treeModified) {
+      entryCount++;
+      modificationCount++;
+    }
+    V previousValue = replacedValue;
+    replacedValue = null;
+    return previousValue;
+  }
+
+  @Override
+  public V remove(Object removeKey) {
+    Node<K, V> removedNode = findNode(removeKey);
+    if (removedNode == null) {
+      return null;
+    }
+    V removedValue = removedNode.value;
+    treeRoot = removeAt(treeRoot, removedNode.key);
+    entryCount--;
+    modificationCount++;
+    return removedValue;
+  }
+
+  @Override
+  public void clear() {
+    treeRoot = null;
+    entryCount = 0;
+    modificationCount++;
+  }
+
+  @Override
+  public Comparator<? super K> comparator() {
+    return explicitComparator;
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    return new EntrySetView(null, true);
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return navigableKeySet();
+  }
+
+  @Override
+  public NavigableSet<K> navigableKeySet() {
+    return new KeySetView<>(this);
+  }
+
+  @Override
+  public NavigableSet<K> descendingKeySet() {
+    return descendingMap().navigableKeySet();
+  }
+
+  @Override
+  public Map.Entry<K, V> firstEntry() {
+    return exportEntry(firstNode());
+  }
+
+  @Override
+  public Map.Entry<K, V> lastEntry() {
+    return exportEntry(lastNode());
+  }
+
+  @Override
+  public Map.Entry<K, V> pollFirstEntry() {
+    return pollNode(firstNode());
+  }
+
+  @Override
+  public Map.Entry<K, V> pollLastEntry() {
+    return pollNode(lastNode());
+  }
+
+  @Override
+  public K firstKey() {
+    return requireKey(firstNode());
+  }
+
+  @Override
+  public K lastKey() {
+    return requireKey(lastNode());
+  }
+
+  @Override
+  public Map.Entry<K, V> lowerEntry(K searchKey) {
+    return exportEntry(floorNode(searchKey, false));
+  }
+
+  @Override
+  public K lowerKey(K searchKey) {
+    return keyOrNull(floorNode(searchKey, false));
+  }
+
+  @Override
+  public Map.Entry<K, V> floorEntry(K searchKey) {
+    return exportEntry(floorNode(searchKey, true));
+  }
+
+  @Override
+  public K floorKey(K searchKey) {
+    return keyOrNull(floorNode(searchKey, true));
+  }
+
+  @Override
+  public Map.Entry<K, V> ceilingEntry(K searchKey) {
+    return exportEntry(ceilingNode(searchKey, true));
+  }
+
+  @Override
+  public K ceilingKey(K searchKey) {
+    return keyOrNull(ceilingNode(searchKey, true));
+  }
+
+  @Override
+  public Map.Entry<K, V> higherEntry(K searchKey) {
+    return exportEntry(ceilingNode(searchKey, false));
+  }
+
+  @Override
+  public K higherKey(K searchKey) {
+    return keyOrNull(ceilingNode(searchKey, false));
+  }
+
+  @Override
+  public NavigableMap<K, V> descendingMap() {
+    return new RangeView(true, null, true, true, null, true, true);
+  }
+
+  @Override
+  public NavigableMap<K, V> subMap(
+      K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+    if (compareKeys(fromKey, toKey) > 0) {
+      throw new IllegalArgumentException("Die untere Grenze liegt über der oberen Grenze.");
+    }
+    return new RangeView(false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+  }
+
+  @Override
+  public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+    compareKeys(toKey, toKey);
+    return new RangeView(true, null, true, false, toKey, inclusive, false);
+  }
+
+  @Override
+  public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+    compareKeys(fromKey, fromKey);
+    return new RangeView(false, fromKey, inclusive, true, null, true, false);
+  }
+
+  @Override
+  public SortedMap<K, V> subMap(K fromKey, K toKey) {
+    return subMap(fromKey, true, toKey, false);
+  }
+
+  @Override
+  public SortedMap<K, V> headMap(K toKey) {
+    return headMap(toKey, false);
+  }
+
+  @Override
+  public SortedMap<K, V> tailMap(K fromKey) {
+    return tailMap(fromKey, true);
+  }
+
+  @SuppressWarnings("unchecked")
+  private int compareKeys(Object firstKey, Object secondKey) {
+    return keyComparator.compare((K) firstKey, (K) secondKey);
+  }
+
+  private Node<K, V> findNode(Object searchKey) {
+    Node<K, V> currentNode = treeRoot;
+    while (currentNode != null) {
+      int comparison = compareKeys(searchKey, currentNode.key);
+      if (comparison == 0) {
+        return currentNode;
+      }
+      currentNode = (comparison < 0) ? currentNode.left : currentNode.right;
+    }
+    return null;
+  }
+
+  private Node<K, V> firstNode() {
+    Node<K, V> currentNode = treeRoot;
+    if (currentNode != null) {
+      while (currentNode.left != null) {
+        currentNode = currentNode.left;
+      }
+    }
+    return currentNode;
+  }
+
+  private Node<K, V> lastNode() {
+    Node<K, V> currentNode = treeRoot;
+    if (currentNode != null) {
+      while (currentNode.right != null) {
+        currentNode = currentNode.right;
+      }
+    }
+    return currentNode;
+  }
+
+  /** Smallest node with a key greater than (or, if inclusive, equal to) the search key. */
+  private Node<K, V> ceilingNode(Object searchKey, boolean inclusive) {
+    Node<K, V> currentNode = treeRoot;
+    Node<K, V> ceilingNode = null;
+    while (currentNode != null) {
+      int comparison = compareKeys(searchKey, currentNode.key);
+      if (comparison == 0 && inclusive) {
+        return currentNode;
+      }
+      if (comparison < 0) {
+        ceilingNode = currentNode;
+        currentNode = currentNode.left;
+      } else {
+        currentNode = currentNode.right;
+      }
+    }
+    return ceilingNode;
+  }
+
+  /** Greatest node with a key smaller than (or, if inclusive, equal to) the search key. */
+  private Node<K, V> floorNode(Object searchKey, boolean inclusive) {
+    Node<K, V> currentNode = treeRoot;
+    Node<K, V> floorNode = null;
+    while (currentNode != null) {
+      int comparison = compareKeys(searchKey, currentNode.key);
+      if (comparison == 0 && inclusive) {
+        return currentNode;
+      }
+      if (comparison > 0) {
+        floorNode = currentNode;
+        currentNode = currentNode.right;
+      } else {
+        currentNode = currentNode.left;
+      }
+    }
+    return floorNode;
+  }
+
+  private Map.Entry<K, V> pollNode(Node<K, V> polledNode) {
+    if (polledNode == null) {
+      return null;
+    }
+    Map.Entry<K, V> polledEntry = exportEntry(polledNode);
+    remove(polledNode.key);
+    return polledEntry;
+  }
+
+  /** Returns an immutable copy, so navigation results do not change with the tree. */
+  private static <K, V> Map.Entry<K, V> exportEntry(Node<K, V> entryNode) {
+    return (entryNode == null)
+        ? null
+        : new AbstractMap.SimpleImmutableEntry<>(entryNode.key, entryNode.value);
+  }
+
+  private static <K> K keyOrNull(Node<K, ?> entryNode) {
+    return (entryNode == null) ? null : entryNode.key;
+  }
+
+  private static <K> K requireKey(Node<K, ?> entryNode) {
+    if (entryNode == null) {
+      throw new NoSuchElementException("Die Map ist leer.");
+    }
+    return entryNode.key;
+  }
+
+  private Node<K, V> insertAt(Node<K, V> currentNode, K insertKey, V insertValue) {
+    if (currentNode == null) {
+      treeModified = true;
+      return new Node<>(insertKey, insertValue);
+    }
+
+    int comparison = compareKeys(insertKey, currentNode.key);
+    if (comparison < 0) {
+      currentNode.left = insertAt(currentNode.left, insertKey, insertValue);
+    } else if (comparison > 0) {
+      currentNode.right = insertAt(currentNode.right, insertKey, insertValue);
+    } else {
+      replacedValue = currentNode.setValue(insertValue);
+      return currentNode;
+    }
+    return treeModified ? balanceNode(currentNode) : currentNode;
+  }
+
+  private Node<K, V> removeAt(Node<K, V> currentNode, K removeKey) {
+    int comparison = compareKeys(removeKey, currentNode.key);
+    if (comparison < 0) {
+      currentNode.left = removeAt(currentNode.left, removeKey);
+    } else if (comparison > 0) {
+      currentNode.right = removeAt(currentNode.right, removeKey);
+    } else if (currentNode.left == null || currentNode.right == null) {
+      return (currentNode.left != null) ? currentNode.left : currentNode.right;
+    } else {
+      // Two children: take over the inorder successor's entry and unlink it from the right
+      Node<K, V> successorNode = currentNode.right;
+      while (successorNode.left != null) {
+        successorNode = successorNode.left;
+      }
+      currentNode.key = successorNode.key;
+      currentNode.value = successorNode.value;
+      currentNode.right = removeSmallest(currentNode.right);
+    }
+    return balanceNode(currentNode);
+  }
+
+  private Node<K, V> removeSmallest(Node<K, V> subtreeRoot) {
+    if (subtreeRoot.left == null) {
+      return subtreeRoot.right;
+    }
+    subtreeRoot.left = removeSmallest(subtreeRoot.left);
+    return balanceNode(subtreeRoot);
+  }
+
+  private Node<K, V> balanceNode(Node<K, V> unbalancedNode) {
+    updateHeight(unbalancedNode);
+    int balanceFactor = balanceFactor(unbalancedNode);
+
+    // Left heavy
+    if (balanceFactor > 1) {
+      if (balanceFactor(unbalancedNode.left) < 0) {
+        unbalancedNode.left = rotateLeft(unbalancedNode.left);
+      }
+      return rotateRight(unbalancedNode);
+    }
+    // Right heavy
+    if (balanceFactor < -1) {
+      if (balanceFactor(unbalancedNode.right) > 0) {
+        unbalancedNode.right = rotateRight(unbalancedNode.right);
+      }
+      return rotateLeft(unbalancedNode);
+    }
+    return unbalancedNode;
+  }
+
+  private Node<K, V> rotateRight(Node<K, V> parentNode) {
+    Node<K, V> leftChild = parentNode.left;
+    parentNode.left = leftChild.right;
+    leftChild.right = parentNode;
+    updateHeight(parentNode);
+    updateHeight(leftChild);
+    return leftChild;
+  }
+
+  private Node<K, V> rotateLeft(Node<K, V> parentNode) {
+    Node<K, V> rightChild = parentNode.right;
+    parentNode.right = rightChild.left;
+    rightChild.left = parentNode;
+    updateHeight(parentNode);
+    updateHeight(rightChild);
+    return rightChild;
+  }
+
+  private static int heightOf(Node<?, ?> subtreeRoot) {
+    return (subtreeRoot == null) ? 0 : subtreeRoot.height;
+  }
+
+  private static int balanceFactor(Node<?, ?> node) {
+    return heightOf(node.left) - heightOf(node.right);
+  }
+
+  private static void updateHeight(Node<?, ?> node) {
+    node.height = Math.max(heightOf(node.left), heightOf(node.right)) + 1;
+  }
+
+  /**
+   * In-order iterator in either direction. The stack holds the nodes still to be visited whose
+   * subtree on the far side has not been entered yet, so it never grows beyond the tree height.
+   */
+  private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+    private final RangeView boundingView;
+    private final boolean ascending;
+    private Node<K, V>[] pendingNodes;
+    private int pendingCount;
+    private Node<K, V> lastReturnedNode;
+    private int expectedModificationCount = modificationCount;
+
+    EntryIterator(RangeView boundingView, boolean ascending, Node<K, V> firstNode) {
+      this.boundingView = boundingView;
+      this.ascending = ascending;
+      if (firstNode != null) {
+        seek(firstNode.key, true);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (pendingCount == 0) {
+        return false;
+      }
+      if (boundingView == null) {
+        return true;
+      }
+      K nextKey = pendingNodes[pendingCount - 1].key;
+      return ascending ? !boundingView.tooHigh(nextKey) : !boundingView.tooLow(nextKey);
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+      if (modificationCount != expectedModificationCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Node<K, V> visitedNode = pendingNodes[--pendingCount];
+      Node<K, V> descendNode = ascending ? visitedNode.right : visitedNode.left;
+      while (descendNode != null) {
+        pendingNodes[pendingCount++] = descendNode;
+        descendNode = ascending ? descendNode.left : descendNode.right;
+      }
+      lastReturnedNode = visitedNode;
+      return visitedNode;
+    }
+
+    @Override
+    public void remove() {
+      if (lastReturnedNode == null) {
+        throw new IllegalStateException();
+      }
+      if (modificationCount != expectedModificationCount) {
+        throw new ConcurrentModificationException();
+      }
+      // Removal may move a successor's entry into the returned node, so restart from the key
+      K removedKey = lastReturnedNode.key;
+      AVLMap.this.remove(removedKey);
+      seek(removedKey, false);
+      lastReturnedNode = null;
+      expectedModificationCount = modificationCount;
+    }
+
+    /** Rebuilds the stack so that the next node is the first one at or beyond the start key. */
+    @SuppressWarnings("unchecked")
+    private void seek(K startKey, boolean inclusive) {
+      int requiredCapacity = Math.max(heightOf(treeRoot), 1);
+      if (pendingNodes == null || pendingNodes.length < requiredCapacity) {
+        pendingNodes = (Node<K, V>[]) new Node<?, ?>[requiredCapacity];
+      }
+      pendingCount = 0;
+
+      Node<K, V> currentNode = treeRoot;
+      while (currentNode != null) {
+        int comparison = compareKeys(startKey, currentNode.key);
+        if (comparison == 0 && inclusive) {
+          pendingNodes[pendingCount++] = currentNode;
+          return;
+        }
+        if (ascending ? comparison < 0 : comparison > 0) {
+          pendingNodes[pendingCount++] = currentNode;
+          currentNode = ascending ? currentNode.left : currentNode.right;
+        } else {
+          currentNode = ascending ? currentNode.right : currentNode.left;
+        }
+      }
+    }
+  }
+
+  /** Entry set of the whole map or of a range view. */
+  private final class EntrySetView extends AbstractSet<Map.Entry<K, V>> {
+    private final RangeView boundingView;
+    private final boolean ascending;
+
+    EntrySetView(RangeView boundingView, boolean ascending) {
+      this.boundingView = boundingView;
+      this.ascending = ascending;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+      Node<K, V> firstNode;
+      if (boundingView == null) {
+        firstNode = ascending ? firstNode() : lastNode();
+      } else {
+        firstNode = boundingView.firstNodeInView();
+      }
+      return new EntryIterator(boundingView, ascending, firstNode);
+    }
+
+    @Override
+    public int size() {
+      return (boundingView == null) ? entryCount : boundingView.size();
+    }
+
+    @Override
+    public boolean contains(Object candidate) {
+      if (!(candidate instanceof Map.Entry<?, ?> candidateEntry)) {
+        return false;
+      }
+      Object candidateKey = candidateEntry.getKey();
+      if (boundingView != null && !boundingView.inRange(candidateKey)) {
+        return false;
+      }
+      Node<K, V> foundNode = findNode(candidateKey);
+      return foundNode != null && Objects.equals(foundNode.value, candidateEntry.getValue());
+    }
+
+    @Override
+    public boolean remove(Object candidate) {
+      if (!contains(candidate)) {
+        return false;
+      }
+      AVLMap.this.remove(((Map.Entry<?, ?>) candidate).getKey());
+      return true;
+    }
+
+    @Override
+    public void clear() {
+      if (boundingView == null) {
+        AVLMap.this.clear();
+      } else {
+        super.clear();
+      }
+    }
+  }
+
+  /**
+   * Live view of a key range of this map, ascending or descending. The bounds are kept in
+   * ascending terms ("low" and "high"); the descending flag only swaps the direction of the
+   * navigation methods and of iteration.
+   */
+  private final class RangeView extends AbstractMap<K, V> implements NavigableMap<K, V> {
+    private final boolean fromStart;
+    private final K lowKey;
+    private final boolean lowInclusive;
+    private final boolean toEnd;
+    private final K highKey;
+    private final boolean highInclusive;
+    private final boolean descending;
+
+    RangeView(
+        boolean fromStart,
+        K lowKey,
+        boolean lowInclusive,
+        boolean toEnd,
+        K highKey,
+        boolean highInclusive,
+        boolean descending) {
+      this.fromStart = fromStart;
+      this.lowKey = lowKey;
+      this.lowInclusive = lowInclusive;
+      this.toEnd = toEnd;
+      this.highKey = highKey;
+      this.highInclusive = highInclusive;
+      this.descending = descending;
+    }
+
+    boolean tooLow(Object candidateKey) {
+      if (fromStart) {
+        return false;
+      }
+      int comparison = compareKeys(candidateKey, lowKey);
+      return comparison < 0 || (comparison == 0 && !lowInclusive);
+    }
+
+    boolean tooHigh(Object candidateKey) {
+      if (toEnd) {
+        return false;
+      }
+      int comparison = compareKeys(candidateKey, highKey);
+      return comparison > 0 || (comparison == 0 && !highInclusive);
+    }
+
+    boolean inRange(Object candidateKey) {
+      return !tooLow(candidateKey) && !tooHigh(candidateKey);
+    }
+
+    /** Bound check for nested views: an exclusive bound may equal this view's exclusive bound. */
+    private boolean inRange(Object candidateKey, boolean inclusive) {
+      if (inclusive) {
+        return inRange(candidateKey);
+      }
+      return (fromStart || compareKeys(candidateKey, lowKey) >= 0)
+          && (toEnd || compareKeys(candidateKey, highKey) <= 0);
+    }
+
+    private Node<K, V> lowestNode() {
+      Node<K, V> lowestNode = fromStart ? firstNode() : ceilingNode(lowKey, lowInclusive);
+      return (lowestNode == null || tooHigh(lowestNode.key)) ? null : lowestNode;
+    }
+
+    private Node<K, V> highestNode() {
+      Node<K, V> highestNode = toEnd ? lastNode() : floorNode(highKey, highInclusive);
+      return (highestNode == null || tooLow(highestNode.key)) ? null : highestNode;
+    }
+
+    private Node<K, V> ceilingInRange(Object searchKey, boolean inclusive) {
+      if (tooLow(searchKey)) {
+        return lowestNode();
+      }
+      Node<K, V> foundNode = ceilingNode(searchKey, inclusive);
+      return (foundNode == null || tooHigh(foundNode.key)) ? null : foundNode;
+    }
+
+    private Node<K, V> floorInRange(Object searchKey, boolean inclusive) {
+      if (tooHigh(searchKey)) {
+        return highestNode();
+      }
+      Node<K, V> foundNode = floorNode(searchKey, inclusive);
+      return (foundNode == null || tooLow(foundNode.key)) ? null : foundNode;
+    }
+
+    Node<K, V> firstNodeInView() {
+      return descending ? highestNode() : lowestNode();
+    }
+
+    private Node<K, V> lastNodeInView() {
+      return descending ? lowestNode() : highestNode();
+    }
+
+    /** Next node after the search key in view order. */
+    private Node<K, V> afterInView(K searchKey, boolean inclusive) {
+      return descending
+          ? floorInRange(searchKey, inclusive)
+          : ceilingInRange(searchKey, inclusive);
+    }
+
+    /** Previous node before the search key in view order. */
+    private Node<K, V> beforeInView(K searchKey, boolean inclusive) {
+      return descending
+          ? ceilingInRange(searchKey, inclusive)
+          : floorInRange(searchKey, inclusive);
+    }
+
+    @Override
+    public int size() {
+      int viewSize = 0;
+      for (Iterator<Map.Entry<K, V>> entryIterator = entrySet().iterator();
+          entryIterator.hasNext();
+          entryIterator.next()) {
+        viewSize++;
+      }
+      return viewSize;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return lowestNode() == null;
+    }
+
+    @Override
+    public boolean containsKey(Object searchKey) {
+      return inRange(searchKey) && AVLMap.this.containsKey(searchKey);
+    }
+
+    @Override
+    public V get(Object searchKey) {
+      return inRange(searchKey) ? AVLMap.this.get(searchKey) : null;
+    }
+
+    @Override
+    public V put(K insertKey, V insertValue) {
+      if (!inRange(insertKey)) {
+        throw new IllegalArgumentException("Schlüssel außerhalb des Bereichs: " + insertKey);
+      }
+      return AVLMap.this.put(insertKey, insertValue);
+    }
+
+    @Override
+    public V remove(Object removeKey) {
+      return inRange(removeKey) ? AVLMap.this.remove(removeKey) : null;
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+      return descending ? Collections.reverseOrder(explicitComparator) : explicitComparator;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+      return new EntrySetView(this, !descending);
+    }
+
+    @Override
+    public Set<K> keySet() {
+      return navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+      return new KeySetView<>(this);
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+      return descendingMap().navigableKeySet();
+    }
+
+    @Override
+    public Map.Entry<K, V> firstEntry() {
+      return exportEntry(firstNodeInView());
+    }
+
+    @Override
+    public Map.Entry<K, V> lastEntry() {
+      return exportEntry(lastNodeInView());
+    }
+
+    @Override
+    public Map.Entry<K, V> pollFirstEntry() {
+      return pollNode(firstNodeInView());
+    }
+
+    @Override
+    public Map.Entry<K, V> pollLastEntry() {
+      return pollNode(lastNodeInView());
+    }
+
+    @Override
+    public K firstKey() {
+      return requireKey(firstNodeInView());
+    }
+
+    @Override
+    public K lastKey() {
+      return requireKey(lastNodeInView());
+    }
+
+    @Override
+    public Map.Entry<K, V> lowerEntry(K searchKey) {
+      return exportEntry(beforeInView(searchKey, false));
+    }
+
+    @Override
+    public K lowerKey(K searchKey) {
+      return keyOrNull(beforeInView(searchKey, false));
+    }
+
+    @Override
+    public Map.Entry<K, V> floorEntry(K searchKey) {
+      return exportEntry(beforeInView(searchKey, true));
+    }
+
+    @Override
+    public K floorKey(K searchKey) {
+      return keyOrNull(beforeInView(searchKey, true));
+    }
+
+    @Override
+    public Map.Entry<K, V> ceilingEntry(K searchKey) {
+      return exportEntry(afterInView(searchKey, true));
+    }
+
+    @Override
+    public K ceilingKey(K searchKey) {
+      return keyOrNull(afterInView(searchKey, true));
+    }
+
+    @Override
+    public Map.Entry<K, V> higherEntry(K searchKey) {
+      return exportEntry(afterInView(searchKey, false));
+    }
+
+    @Override
+    public K higherKey(K searchKey) {
+      return keyOrNull(afterInView(searchKey, false));
+    }
+
+    @Override
+    public NavigableMap<K, V> descendingMap() {
+      return new RangeView(
+          fromStart, lowKey, lowInclusive, toEnd, highKey, highInclusive, !descending);
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(
+        K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+      if (descending) {
+        return restrict(toKey, toInclusive, fromKey, fromInclusive);
+      }
+      return restrict(fromKey, fromInclusive, toKey, toInclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+      checkBound(toKey, inclusive);
+      if (descending) {
+        return new RangeView(false, toKey, inclusive, toEnd, highKey, highInclusive, true);
+      }
+      return new RangeView(fromStart, lowKey, lowInclusive, false, toKey, inclusive, false);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+      checkBound(fromKey, inclusive);
+      if (descending) {
+        return new RangeView(fromStart, lowKey, lowInclusive, false, fromKey, inclusive, true);
+      }
+      return new RangeView(false, fromKey, inclusive, toEnd, highKey, highInclusive, false);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+      return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey) {
+      return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey) {
+      return tailMap(fromKey, true);
+    }
+
+    /** Creates a nested view from bounds given in ascending terms. */
+    private NavigableMap<K, V> restrict(
+        K newLowKey, boolean newLowInclusive, K newHighKey, boolean newHighInclusive) {
+      if (compareKeys(newLowKey, newHighKey) > 0) {
+        throw new IllegalArgumentException("Die untere Grenze liegt über der oberen Grenze.");
+      }
+      checkBound(newLowKey, newLowInclusive);
+      checkBound(newHighKey, newHighInclusive);
+      return new RangeView(
+          false, newLowKey, newLowInclusive, false, newHighKey, newHighInclusive, descending);
+    }
+
+    private void checkBound(K boundKey, boolean inclusive) {
+      if (!inRange(boundKey, inclusive)) {
+        throw new IllegalArgumentException("Grenze außerhalb des Bereichs: " + boundKey);
+      }
+    }
+  }
+
+  /** Navigable key set backed by any navigable map of this class or one of its views. */
+  private static final class KeySetView<E> extends AbstractSet<E> implements NavigableSet<E> {
+    private final NavigableMap<E, ?> backingMap;
+
+    KeySetView(NavigableMap<E, ?> backingMap) {
+      this.backingMap = backingMap;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      Iterator<? extends Map.Entry<E, ?>> entryIterator = backingMap.entrySet().iterator();
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return entryIterator.hasNext();
+        }
+
+        @Override
+        public E next() {
+          return entryIterator.next().getKey();
+        }
+
+        @Override
+        public void remove() {
+          entryIterator.remove();
+        }
+      };
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+      return descendingSet().iterator();
+    }
+
+    @Override
+    public int size() {
+      return backingMap.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return backingMap.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object candidate) {
+      return backingMap.containsKey(candidate);
+    }
+
+    @Override
+    public boolean remove(Object candidate) {
+      if (!backingMap.containsKey(candidate)) {
+        return false;
+      }
+      backingMap.remove(candidate);
+      return true;
+    }
+
+    @Override
+    public void clear() {
+      backingMap.clear();
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+      return backingMap.comparator();
+    }
+
+    @Override
+    public E first() {
+      return backingMap.firstKey();
+    }
+
+    @Override
+    public E last() {
+      return backingMap.lastKey();
+    }
+
+    @Override
+    public E lower(E searchKey) {
+      return backingMap.lowerKey(searchKey);
+    }
+
+    @Override
+    public E floor(E searchKey) {
+      return backingMap.floorKey(searchKey);
+    }
+
+    @Override
+    public E ceiling(E searchKey) {
+      return backingMap.ceilingKey(searchKey);
+    }
+
+    @Override
+    public E higher(E searchKey) {
+      return backingMap.higherKey(searchKey);
+    }
+
+    @Override
+    public E pollFirst() {
+      Map.Entry<E, ?> polledEntry = backingMap.pollFirstEntry();
+      return (polledEntry == null) ? null : polledEntry.getKey();
+    }
+
+    @Override
+    public E pollLast() {
+      Map.Entry<E, ?> polledEntry = backingMap.pollLastEntry();
+      return (polledEntry == null) ? null : polledEntry.getKey();
+    }
+
+    @Override
+    public NavigableSet<E> descendingSet() {
+      return new KeySetView<>(backingMap.descendingMap());
+    }
+
+    @Override
+    public NavigableSet<E> subSet(
+        E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+      return new KeySetView<>(
+          backingMap.subMap(fromElement, fromInclusive, toElement, toInclusive));
+    }
+
+    @Override
+    public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+      return new KeySetView<>(backingMap.headMap(toElement, inclusive));
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+      return new KeySetView<>(backingMap.tailMap(fromElement, inclusive));
+    }
+
+    @Override
+    public SortedSet<E> subSet(E fromElement, E toElement) {
+      return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<E> headSet(E toElement) {
+      return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<E> tailSet(E fromElement) {
+      return tailSet(fromElement, true);
+    }
+  }
+}
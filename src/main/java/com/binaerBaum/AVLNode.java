@@ -1,19 +1,67 @@
 package com.binaerBaum;
 
 /** Represents a node in an AVL tree. */
-public class AVLNode {
+public class AVLNode implements IntTreeNode {
   int value;
   AVLNode left;
   AVLNode right;
   int height;
+  int size;
 
   public AVLNode(int value) {
     this.value = value;
     this.height = 1;
+    this.size = 1;
     this.left = null;
     this.right = null;
   }
 
+  /**
+   * Creates a node above two existing subtrees and computes its height and size from them.
+   *
+   * @param value the node value
+   * @param left left subtree, may be null
+   * @param right right subtree, may be null
+   */
+  AVLNode(int value, AVLNode left, AVLNode right) {
+    this.value = value;
+    this.left = left;
+    this.right = right;
+    updateHeight();
+  }
+
+  @Override
+  public int getValue() {
+    return value;
+  }
+
+  @Override
+  public AVLNode getLeft() {
+    return left;
+  }
+
+  @Override
+  public AVLNode getRight() {
+    return right;
+  }
+
+  /** Returns the stored height in O(1). */
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  /** Returns the stored subtree size in O(1). */
+  @Override
+  public int getSize() {
+    return size;
+  }
+
+  @Override
+  public String getBalanceInfo() {
+    return "Höhe: " + height + ", Balance: " + getBalanceFactor();
+  }
+
   /**
    * Calculates the balance factor of this node. Balance factor = height(left) - height(right)
    *
@@ -25,10 +73,21 @@ public class AVLNode {
     return leftHeight - rightHeight;
   }
 
-  /** Updates the height of this node based on its children. */
+  /** Updates the height and the subtree size of this node based on its children. */
   public void updateHeight() {
     int leftHeight = (left == null) ? 0 : left.height;
     int rightHeight = (right == null) ? 0 : right.height;
     this.height = Math.max(leftHeight, rightHeight) + 1;
+    this.size = sizeOf(left) + sizeOf(right) + 1;
+  }
+
+  /**
+   * Returns the number of nodes in the given subtree.
+   *
+   * @param subtreeRoot root of the subtree, may be null
+   * @return number of nodes, 0 for null
+   */
+  static int sizeOf(AVLNode subtreeRoot) {
+    return (subtreeRoot == null) ? 0 : subtreeRoot.size;
   }
 }
@@ -0,0 +1,95 @@
+package com.binaerBaum;
+
+import java.util.Arrays;
+
+/**
+ * Pool of {@link AVLNode} objects for an {@link AVLTree} that is rebuilt again and again. Nodes are
+ * handed out from a slab in order; {@link AVLTree#clear()} returns the whole slab in O(1) by
+ * resetting the fill level, so the next build reuses the same objects instead of allocating new
+ * ones. Nodes removed one by one are kept on a free list and reused before the slab.
+ *
+ * <p>An arena belongs to at most one tree. Once the tree has been cleared, nodes obtained from it
+ * earlier, for example through {@link AVLTree#getRoot()}, are recycled and must not be used.
+ */
+public final class AVLNodeArena {
+  private static final int DEFAULT_CAPACITY = 64;
+
+  private AVLNode[] slabNodes;
+  private int usedNodeCount;
+
+  /** Removed nodes, chained through their {@code left} field. */
+  private AVLNode freeListHead;
+
+  /** Set once a tree has taken the arena. */
+  private boolean claimed;
+
+  public AVLNodeArena() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an arena with room for the given number of nodes before the slab grows. The node
+   * objects themselves are created on first use and then kept.
+   *
+   * @param initialCapacity expected number of nodes per tree
+   */
+  public AVLNodeArena(int initialCapacity) {
+    slabNodes = new AVLNode[Math.max(initialCapacity, 1)];
+  }
+
+  /** Returns the number of node objects the arena currently holds for reuse or in use. */
+  public int getCapacity() {
+    return slabNodes.length;
+  }
+
+  /** Returns the number of slab nodes handed out since the last reset. */
+  public int getUsedNodeCount() {
+    return usedNodeCount;
+  }
+
+  void claim() {
+    if (claimed) {
+      throw new IllegalStateException("Die Arena gehört bereits einem anderen Baum.");
+    }
+    claimed = true;
+  }
+
+  /** Returns a leaf node holding the value, taken from the free list or the slab. */
+  AVLNode allocate(int nodeValue) {
+    AVLNode allocatedNode;
+    if (freeListHead != null) {
+      allocatedNode = freeListHead;
+      freeListHead = allocatedNode.left;
+    } else {
+      if (usedNodeCount == slabNodes.length) {
+        slabNodes = Arrays.copyOf(slabNodes, slabNodes.length + (slabNodes.length >> 1) + 1);
+      }
+      allocatedNode = slabNodes[usedNodeCount];
+      if (allocatedNode == null) {
+        allocatedNode = new AVLNode(nodeValue);
+        slabNodes[usedNodeCount] = allocatedNode;
+      }
+      usedNodeCount++;
+    }
+
+    allocatedNode.value = nodeValue;
+    allocatedNode.left = null;
+    allocatedNode.right = null;
+    allocatedNode.height = 1;
+    allocatedNode.size = 1;
+    return allocatedNode;
+  }
+
+  /** Takes back a node that has been unlinked from the tree. */
+  void release(AVLNode releasedNode) {
+    releasedNode.right = null;
+    releasedNode.left = freeListHead;
+    freeListHead = releasedNode;
+  }
+
+  /** Makes every node available again; the caller must drop all references into the tree. */
+  void reset() {
+    usedNodeCount = 0;
+    freeListHead = null;
+  }
+}
@@ -1,74 +1,911 @@
 package com.binaerBaum;
 
-/** AVL Tree implementation with insertion, balancing, and visualization. */
-public class AVLTree {
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+
+/**
+ * AVL Tree implementation with insertion, removal, ordered queries, balancing, and visualization.
+ * Every node keeps the size of its subtree, so rank and select run in O(log n) like all other
+ * queries. Insertion steps are reported to an optional {@link AVLTreeListener}; without one the
+ * tree works silently. Operation metrics are recorded only after {@link #enableMetrics()}.
+ */
+public class AVLTree implements BinaryIntTree {
+  /** From this input size on, bulk loading sorts with {@link Arrays#parallelSort(int[])}. */
+  private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
+  /** Enough for any AVL tree of int values, whose height stays below 1.44 * 32. */
+  private static final int INSERT_PATH_CAPACITY = 64;
+
+  /** Number of searches {@link #containsAll} and {@link #floorAll} advance side by side. */
+  static final int INTERLEAVED_DESCENTS = 8;
+
   private AVLNode treeRoot;
+  private final AVLTreeListener treeListener;
+
+  /** Source of the nodes created by {@link #insert(int)}, or null to allocate them normally. */
+  private final AVLNodeArena nodeArena;
+
+  /** Incremented on every structural change; cached traversals are only valid for one version. */
+  private int modificationCount;
+
+  private final int[][] cachedTraversals = new int[TraversalOrder.values().length][];
+  private int cachedTraversalVersion = -1;
+
+  /** Null while metrics are disabled, so the unmeasured paths only pay for one null check. */
+  private AVLTreeMetrics treeMetrics;
+
+  /** Search path of the current insertion, reused by every insert; only the prefix is valid. */
+  private AVLNode[] insertPath = new AVLNode[INSERT_PATH_CAPACITY];
+
+  /** Number of nodes the last insertion compared against. */
+  private int lastInsertPathLength;
+
+  private long rotationCount;
 
   public AVLTree() {
-    this.treeRoot = null;
+    this(AVLTreeListener.NONE);
+  }
+
+  /**
+   * Creates an empty tree that reports its insertion steps.
+   *
+   * @param treeListener receiver of insertion and rebalancing events
+   */
+  public AVLTree(AVLTreeListener treeListener) {
+    this.treeListener = treeListener;
+    this.nodeArena = null;
+  }
+
+  /**
+   * Creates an empty tree whose nodes come from an arena, including those built by the batch
+   * operations. {@link #clear()} then hands all nodes back at once, so rebuilding the tree reuses
+   * them instead of allocating new ones.
+   *
+   * @param treeListener receiver of insertion and rebalancing events
+   * @param nodeArena arena that is not used by any other tree
+   * @throws IllegalStateException if the arena already belongs to another tree
+   */
+  public AVLTree(AVLTreeListener treeListener, AVLNodeArena nodeArena) {
+    this.treeListener = treeListener;
+    this.nodeArena = nodeArena;
+    nodeArena.claim();
+  }
+
+  /**
+   * Builds a perfectly balanced tree from the given values without any rotations. The values are
+   * sorted (in parallel for large inputs) and deduplicated, then every subtree is built from the
+   * middle of its range, so sibling subtrees differ in size by at most one. The inorder result is
+   * the same as inserting the values one by one; the shape usually is not.
+   *
+   * @param inputValues values in any order, duplicates allowed; the array is not modified
+   * @return new tree holding each distinct value once
+   */
+  public static AVLTree bulkLoad(int[] inputValues) {
+    int[] distinctValues = sortedDistinct(inputValues);
+    AVLTree loadedTree = new AVLTree();
+    loadedTree.setRoot(buildBalanced(distinctValues, 0, distinctValues.length));
+    return loadedTree;
+  }
+
+  /**
+   * Returns the distinct values of the input in ascending order. Already sorted input is detected
+   * in one pass and not sorted again.
+   *
+   * @param inputValues values in any order; the array is not modified
+   * @return new sorted array without duplicates
+   */
+  static int[] sortedDistinct(int[] inputValues) {
+    int[] sortedValues = inputValues.clone();
+    if (!isSortedAscending(sortedValues)) {
+      if (sortedValues.length >= PARALLEL_SORT_THRESHOLD) {
+        Arrays.parallelSort(sortedValues);
+      } else {
+        Arrays.sort(sortedValues);
+      }
+    }
+
+    // Compact in place, keeping the first value of every run
+    int distinctCount = 0;
+    for (int sortedIdx = 0; sortedIdx < sortedValues.length; sortedIdx++) {
+      if (distinctCount == 0 || sortedValues[sortedIdx] != sortedValues[distinctCount - 1]) {
+        sortedValues[distinctCount++] = sortedValues[sortedIdx];
+      }
+    }
+    return (distinctCount == sortedValues.length)
+        ? sortedValues
+        : Arrays.copyOf(sortedValues, distinctCount);
+  }
+
+  /**
+   * Builds a balanced subtree from a sorted, duplicate-free range in linear time.
+   *
+   * @param sortedValues ascending values without duplicates
+   * @param fromIdx first index of the range (inclusive)
+   * @param toIdx end of the range (exclusive)
+   * @return root of the subtree, or null for an empty range
+   */
+  static AVLNode buildBalanced(int[] sortedValues, int fromIdx, int toIdx) {
+    return buildBalanced(sortedValues, fromIdx, toIdx, null);
+  }
+
+  /** Like {@link #buildBalanced(int[], int, int)}, but takes the nodes from an arena if given. */
+  private static AVLNode buildBalanced(
+      int[] sortedValues, int fromIdx, int toIdx, AVLNodeArena nodeArena) {
+    if (fromIdx >= toIdx) {
+      return null;
+    }
+    int middleIdx = (fromIdx + toIdx) >>> 1;
+    AVLNode middleNode =
+        (nodeArena == null)
+            ? new AVLNode(sortedValues[middleIdx])
+            : nodeArena.allocate(sortedValues[middleIdx]);
+    middleNode.left = buildBalanced(sortedValues, fromIdx, middleIdx, nodeArena);
+    middleNode.right = buildBalanced(sortedValues, middleIdx + 1, toIdx, nodeArena);
+    middleNode.updateHeight();
+    return middleNode;
+  }
+
+  private static boolean isSortedAscending(int[] candidateValues) {
+    for (int valueIdx = 1; valueIdx < candidateValues.length; valueIdx++) {
+      if (candidateValues[valueIdx - 1] > candidateValues[valueIdx]) {
+        return false;
+      }
+    }
+    return true;
   }
 
   public AVLNode getRoot() {
     return treeRoot;
   }
 
+  @Override
+  public AVLNode getRootNode() {
+    return treeRoot;
+  }
+
+  /** Counts the rotations of {@link #insert(int)} and {@link #remove(int)}, not of batch joins. */
+  @Override
+  public long getRotationCount() {
+    return rotationCount;
+  }
+
+  /** Returns the height of the tree (0 when empty) in O(1). */
+  @Override
+  public int getHeight() {
+    return (treeRoot == null) ? 0 : treeRoot.height;
+  }
+
+  /**
+   * Replaces the whole tree by nodes built elsewhere.
+   *
+   * @param newRoot root of a valid AVL tree, or null
+   * @throws IllegalStateException if this tree takes its nodes from an {@link AVLNodeArena}
+   */
   public void setRoot(AVLNode newRoot) {
+    if (nodeArena != null) {
+      throw new IllegalStateException("Ein Baum mit Knoten-Arena übernimmt keine fremden Knoten.");
+    }
     this.treeRoot = newRoot;
+    modificationCount++;
+  }
+
+  /**
+   * Returns the version of this tree. It changes whenever a value is inserted or removed or the
+   * root is replaced, so equal versions mean equal contents and shape.
+   *
+   * @return current tree version
+   */
+  public int getModificationCount() {
+    return modificationCount;
   }
 
   /**
-   * Inserts a value into the AVL tree.
+   * Starts recording operation metrics for this tree. Calling it again keeps the existing metrics.
+   *
+   * @return the metrics of this tree
+   */
+  public AVLTreeMetrics enableMetrics() {
+    if (treeMetrics == null) {
+      treeMetrics = new AVLTreeMetrics(this);
+    }
+    return treeMetrics;
+  }
+
+  /** Stops recording metrics and unregisters their MBean, if any. */
+  public void disableMetrics() {
+    if (treeMetrics != null) {
+      treeMetrics.unregisterMBean();
+      treeMetrics = null;
+    }
+  }
+
+  /**
+   * Returns the metrics of this tree.
+   *
+   * @return the metrics, or null if they are disabled
+   */
+  public AVLTreeMetrics getMetrics() {
+    return treeMetrics;
+  }
+
+  /**
+   * Returns the traversal cached for the current tree version.
+   *
+   * @param traversalOrder the traversal order
+   * @return the cached result, or null if the tree changed since it was computed
+   */
+  int[] getCachedTraversal(TraversalOrder traversalOrder) {
+    if (cachedTraversalVersion != modificationCount) {
+      return null;
+    }
+    return cachedTraversals[traversalOrder.ordinal()];
+  }
+
+  /**
+   * Caches a traversal result for the current tree version, dropping results of older versions.
+   *
+   * @param traversalOrder the traversal order
+   * @param traversalResult the result to cache; must not be modified afterwards
+   */
+  void cacheTraversal(TraversalOrder traversalOrder, int[] traversalResult) {
+    if (cachedTraversalVersion != modificationCount) {
+      Arrays.fill(cachedTraversals, null);
+      cachedTraversalVersion = modificationCount;
+    }
+    cachedTraversals[traversalOrder.ordinal()] = traversalResult;
+  }
+
+  /**
+   * Inserts a value into the AVL tree. The search path is kept in a reusable stack and retraced
+   * bottom-up only until a subtree keeps its height; above that point just the subtree sizes grow.
+   * An insertion therefore rotates at most once (single or double), and the rebalancing work is
+   * O(1) amortised.
    *
    * @param insertValue the value to insert
    * @return true if inserted, false if duplicate
    */
+  @Override
   public boolean insert(int insertValue) {
+    if (treeMetrics != null) {
+      return insertMeasured(insertValue);
+    }
+    return insertUnmeasured(insertValue);
+  }
+
+  private boolean insertMeasured(int insertValue) {
+    long startNanos = System.nanoTime();
+    boolean inserted = insertUnmeasured(insertValue);
+    treeMetrics.recordInsert(lastInsertPathLength, inserted, System.nanoTime() - startNanos);
+    return inserted;
+  }
+
+  private boolean insertUnmeasured(int insertValue) {
     if (treeRoot == null) {
-      treeRoot = new AVLNode(insertValue);
-      System.out.println("Einfügen: " + insertValue + " (Wurzel)");
+      treeRoot = newNode(insertValue);
+      modificationCount++;
+      lastInsertPathLength = 0;
+      treeListener.onInsert(insertValue, null);
       return true;
     }
+    if (treeRoot.height >= insertPath.length) {
+      // Only reachable with a hand-built root from setRoot(); the stack must hold the whole path
+      insertPath = new AVLNode[treeRoot.height + 1];
+    }
 
-    boolean inserted = insertHelper(treeRoot, insertValue);
-    if (inserted) {
-      treeRoot = balanceNode(treeRoot);
+    // Descend, recording every node compared against
+    int pathLength = 0;
+    AVLNode currentNode = treeRoot;
+    while (true) {
+      insertPath[pathLength++] = currentNode;
+      if (insertValue == currentNode.value) {
+        lastInsertPathLength = pathLength;
+        treeListener.onDuplicate(insertValue);
+        reportUnchangedPath(pathLength - 1, 1);
+        return false;
+      }
+      AVLNode childNode = (insertValue < currentNode.value) ? currentNode.left : currentNode.right;
+      if (childNode == null) {
+        break;
+      }
+      currentNode = childNode;
     }
-    return inserted;
+    lastInsertPathLength = pathLength;
+
+    AVLNode insertedNode = newNode(insertValue);
+    if (insertValue < currentNode.value) {
+      currentNode.left = insertedNode;
+    } else {
+      currentNode.right = insertedNode;
+    }
+    treeListener.onInsert(insertValue, currentNode);
+
+    // Retrace until a subtree keeps its height; after a rotation it always does
+    int pathIdx = pathLength - 1;
+    while (pathIdx >= 0) {
+      AVLNode ancestorNode = insertPath[pathIdx];
+      int heightBefore = ancestorNode.height;
+      AVLNode balancedNode = balanceNode(ancestorNode);
+      if (balancedNode != ancestorNode) {
+        replaceChild(pathIdx, ancestorNode, balancedNode);
+      }
+      pathIdx--;
+      if (balancedNode.height == heightBefore) {
+        break;
+      }
+    }
+
+    // Above the stopping point only the sizes change
+    for (int upperIdx = pathIdx; upperIdx >= 0; upperIdx--) {
+      insertPath[upperIdx].size++;
+    }
+    reportUnchangedPath(pathIdx, 0);
+    modificationCount++;
+    return true;
+  }
+
+  /** Links a rotated subtree into the parent recorded on the insertion path. */
+  private void replaceChild(int pathIdx, AVLNode oldSubtree, AVLNode newSubtree) {
+    if (pathIdx == 0) {
+      treeRoot = newSubtree;
+      return;
+    }
+    AVLNode parentNode = insertPath[pathIdx - 1];
+    if (parentNode.left == oldSubtree) {
+      parentNode.left = newSubtree;
+    } else {
+      parentNode.right = newSubtree;
+    }
+  }
+
+  /**
+   * Reports balance checks for path nodes whose height did not change, bottom-up from the given
+   * index down to the lowest index, so a listener sees the same events as with a full retrace.
+   * Skipped entirely without a listener.
+   */
+  private void reportUnchangedPath(int highestIdx, int lowestIdx) {
+    if (treeListener == AVLTreeListener.NONE) {
+      return;
+    }
+    for (int pathIdx = highestIdx; pathIdx >= lowestIdx; pathIdx--) {
+      AVLNode checkedNode = insertPath[pathIdx];
+      treeListener.onBalanceCheck(checkedNode.value, checkedNode.getBalanceFactor(), null);
+    }
+  }
+
+  /**
+   * Removes all values. With an {@link AVLNodeArena} this takes O(1) and the nodes are reused by
+   * the next insertions; nodes obtained from this tree before must not be used afterwards.
+   */
+  @Override
+  public void clear() {
+    treeRoot = null;
+    if (nodeArena != null) {
+      nodeArena.reset();
+    }
+    modificationCount++;
   }
 
-  private boolean insertHelper(AVLNode currentNode, int insertValue) {
-    if (insertValue == currentNode.value) {
-      System.out.println(
-          "Einfügen: " + insertValue + " - Zahl bereits vorhanden, wird übersprungen");
+  /**
+   * Removes a value from the AVL tree and rebalances the path to it.
+   *
+   * @param removeValue the value to remove
+   * @return true if removed, false if not present
+   */
+  @Override
+  public boolean remove(int removeValue) {
+    int sizeBefore = size();
+    treeRoot = removeHelper(treeRoot, removeValue);
+    if (size() == sizeBefore) {
       return false;
     }
+    modificationCount++;
+    return true;
+  }
 
-    boolean insertionPerformed = false;
-    if (insertValue < currentNode.value) {
-      if (currentNode.left == null) {
-        currentNode.left = new AVLNode(insertValue);
-        insertionPerformed = true;
-        System.out.println("Einfügen: " + insertValue + " (links von " + currentNode.value + ")");
+  /**
+   * Inserts a batch of values at once. The batch is sorted, deduplicated and built into a balanced
+   * tree, which is then merged into this tree with join-based union. For a batch of m values and a
+   * tree of n values this takes O(m log(n/m + 1)) instead of m separate descents and rebalances.
+   * Unlike {@link #insert(int)}, no listener events are reported.
+   *
+   * @param insertValues values in any order, duplicates allowed; the array is not modified
+   * @return number of values that were not in the tree before
+   */
+  public int insertAll(int[] insertValues) {
+    int[] batchValues = sortedDistinct(insertValues);
+    AVLNode batchRoot = buildBalanced(batchValues, 0, batchValues.length, nodeArena);
+    int sizeBefore = size();
+    replaceRoot(TreeJoin.union(treeRoot, batchRoot, true, nodeArena));
+    return size() - sizeBefore;
+  }
+
+  /**
+   * Adds every value of another tree to this tree. The other tree is not modified.
+   *
+   * @param otherTree tree whose values are added
+   * @return number of values that were not in this tree before
+   */
+  public int union(AVLTree otherTree) {
+    if (otherTree == this) {
+      return 0;
+    }
+    int sizeBefore = size();
+    replaceRoot(TreeJoin.union(treeRoot, otherTree.treeRoot, false, nodeArena));
+    return size() - sizeBefore;
+  }
+
+  /**
+   * Keeps only the values of this tree that also occur in another tree. The other tree is not
+   * modified.
+   *
+   * @param otherTree tree whose values are kept
+   * @return number of values removed from this tree
+   */
+  public int intersection(AVLTree otherTree) {
+    if (otherTree == this) {
+      return 0;
+    }
+    int sizeBefore = size();
+    replaceRoot(TreeJoin.intersection(treeRoot, otherTree.treeRoot, nodeArena));
+    return sizeBefore - size();
+  }
+
+  /**
+   * Removes every value of another tree from this tree. The other tree is not modified.
+   *
+   * @param otherTree tree whose values are removed
+   * @return number of values removed from this tree
+   */
+  public int difference(AVLTree otherTree) {
+    int sizeBefore = size();
+    if (otherTree == this) {
+      clear();
+    } else {
+      replaceRoot(TreeJoin.difference(treeRoot, otherTree.treeRoot, nodeArena));
+    }
+    return sizeBefore - size();
+  }
+
+  /**
+   * Installs the result of a batch operation. The version always changes because splitting and
+   * joining may reshape the tree even when no value was added or removed.
+   */
+  private void replaceRoot(AVLNode newRoot) {
+    treeRoot = newRoot;
+    modificationCount++;
+  }
+
+  /**
+   * Creates an immutable, read-optimised copy of this tree for lookup-heavy phases. Later changes
+   * to this tree do not affect the copy.
+   *
+   * @return frozen copy with the same values
+   */
+  public FrozenAVLTree freeze() {
+    return FrozenAVLTree.fromSorted(Traversal.traverse(treeRoot, TraversalOrder.INORDER));
+  }
+
+  /**
+   * Checks whether a value is stored in the tree.
+   *
+   * @param searchValue the value to look for
+   * @return true if present
+   */
+  @Override
+  public boolean contains(int searchValue) {
+    if (treeMetrics != null) {
+      return containsMeasured(searchValue);
+    }
+    AVLNode currentNode = treeRoot;
+    while (currentNode != null) {
+      if (searchValue == currentNode.value) {
+        return true;
+      }
+      currentNode = (searchValue < currentNode.value) ? currentNode.left : currentNode.right;
+    }
+    return false;
+  }
+
+  private boolean containsMeasured(int searchValue) {
+    long startNanos = System.nanoTime();
+    int pathLength = 0;
+    boolean found = false;
+    AVLNode currentNode = treeRoot;
+    while (currentNode != null) {
+      pathLength++;
+      if (searchValue == currentNode.value) {
+        found = true;
+        break;
+      }
+      currentNode = (searchValue < currentNode.value) ? currentNode.left : currentNode.right;
+    }
+    treeMetrics.recordLookup(pathLength, System.nanoTime() - startNanos);
+    return found;
+  }
+
+  /**
+   * Checks many values at once. Up to {@value #INTERLEAVED_DESCENTS} searches are under way at the
+   * same time and each of them moves down one level per round, so the cache misses of independent
+   * searches overlap instead of waiting for one another; a finished search hands its slot to the
+   * next value. With metrics enabled every value is looked up and recorded on its own.
+   *
+   * @param searchValues the values to look for
+   * @param containedOut receives at each index whether that value is present
+   * @return number of values present
+   * @throws IllegalArgumentException if containedOut is shorter than searchValues
+   */
+  public int containsAll(int[] searchValues, boolean[] containedOut) {
+    checkBatchLength(searchValues.length, containedOut.length);
+    int hitCount = 0;
+    if (treeMetrics != null) {
+      for (int queryIdx = 0; queryIdx < searchValues.length; queryIdx++) {
+        containedOut[queryIdx] = containsMeasured(searchValues[queryIdx]);
+        hitCount += containedOut[queryIdx] ? 1 : 0;
+      }
+      return hitCount;
+    }
+
+    int[] laneQueries = new int[INTERLEAVED_DESCENTS];
+    AVLNode[] laneNodes = new AVLNode[INTERLEAVED_DESCENTS];
+    int nextQuery = 0;
+    int activeLanes = 0;
+    while (activeLanes < INTERLEAVED_DESCENTS && nextQuery < searchValues.length) {
+      laneQueries[activeLanes] = nextQuery++;
+      laneNodes[activeLanes++] = treeRoot;
+    }
+
+    while (activeLanes > 0) {
+      int laneIdx = 0;
+      while (laneIdx < activeLanes) {
+        int queryIdx = laneQueries[laneIdx];
+        int searchValue = searchValues[queryIdx];
+        AVLNode laneNode = laneNodes[laneIdx];
+        if (laneNode != null && searchValue != laneNode.value) {
+          laneNodes[laneIdx] = (searchValue < laneNode.value) ? laneNode.left : laneNode.right;
+          laneIdx++;
+          continue;
+        }
+
+        // Search finished: record it and start the next value in this lane
+        containedOut[queryIdx] = laneNode != null;
+        hitCount += (laneNode != null) ? 1 : 0;
+        if (nextQuery < searchValues.length) {
+          laneQueries[laneIdx] = nextQuery++;
+          laneNodes[laneIdx] = treeRoot;
+          laneIdx++;
+        } else {
+          // No values left: the last lane moves into this slot
+          activeLanes--;
+          laneQueries[laneIdx] = laneQueries[activeLanes];
+          laneNodes[laneIdx] = laneNodes[activeLanes];
+        }
+      }
+    }
+    return hitCount;
+  }
+
+  /**
+   * Finds the floors of many values at once, interleaving the searches like {@link
+   * #containsAll(int[], boolean[])}.
+   *
+   * @param searchValues the upper bounds
+   * @param floorValuesOut receives at each index the floor of that value; left unchanged where
+   *     there is none
+   * @param foundOut receives at each index whether that value has a floor
+   * @return number of values that have a floor
+   * @throws IllegalArgumentException if an output array is shorter than searchValues
+   */
+  public int floorAll(int[] searchValues, int[] floorValuesOut, boolean[] foundOut) {
+    checkBatchLength(searchValues.length, floorValuesOut.length);
+    checkBatchLength(searchValues.length, foundOut.length);
+
+    int[] laneQueries = new int[INTERLEAVED_DESCENTS];
+    AVLNode[] laneNodes = new AVLNode[INTERLEAVED_DESCENTS];
+    AVLNode[] laneFloorNodes = new AVLNode[INTERLEAVED_DESCENTS];
+    int nextQuery = 0;
+    int activeLanes = 0;
+    int foundCount = 0;
+    while (activeLanes < INTERLEAVED_DESCENTS && nextQuery < searchValues.length) {
+      laneQueries[activeLanes] = nextQuery++;
+      laneNodes[activeLanes++] = treeRoot;
+    }
+
+    while (activeLanes > 0) {
+      int laneIdx = 0;
+      while (laneIdx < activeLanes) {
+        int queryIdx = laneQueries[laneIdx];
+        int searchValue = searchValues[queryIdx];
+        AVLNode laneNode = laneNodes[laneIdx];
+        if (laneNode != null) {
+          if (searchValue == laneNode.value) {
+            laneFloorNodes[laneIdx] = laneNode;
+            laneNodes[laneIdx] = null;
+          } else if (searchValue < laneNode.value) {
+            laneNodes[laneIdx] = laneNode.left;
+          } else {
+            laneFloorNodes[laneIdx] = laneNode;
+            laneNodes[laneIdx] = laneNode.right;
+          }
+          laneIdx++;
+          continue;
+        }
+
+        // Search finished: record it and start the next value in this lane
+        AVLNode floorNode = laneFloorNodes[laneIdx];
+        foundOut[queryIdx] = floorNode != null;
+        if (floorNode != null) {
+          floorValuesOut[queryIdx] = floorNode.value;
+          foundCount++;
+        }
+        if (nextQuery < searchValues.length) {
+          laneQueries[laneIdx] = nextQuery++;
+          laneNodes[laneIdx] = treeRoot;
+          laneFloorNodes[laneIdx] = null;
+          laneIdx++;
+        } else {
+          // No values left: the last lane moves into this slot
+          activeLanes--;
+          laneQueries[laneIdx] = laneQueries[activeLanes];
+          laneNodes[laneIdx] = laneNodes[activeLanes];
+          laneFloorNodes[laneIdx] = laneFloorNodes[activeLanes];
+        }
+      }
+    }
+    return foundCount;
+  }
+
+  private static void checkBatchLength(int queryCount, int resultLength) {
+    if (resultLength < queryCount) {
+      throw new IllegalArgumentException(
+          "Ergebnisfeld zu kurz: " + resultLength + " statt " + queryCount + " Einträge.");
+    }
+  }
+
+  /**
+   * Finds the greatest value less than or equal to the given value.
+   *
+   * @param searchValue the upper bound
+   * @return the floor value, or empty if every value is greater
+   */
+  @Override
+  public OptionalInt floor(int searchValue) {
+    AVLNode currentNode = treeRoot;
+    AVLNode floorNode = null;
+    while (currentNode != null) {
+      if (searchValue == currentNode.value) {
+        return OptionalInt.of(searchValue);
+      }
+      if (searchValue < currentNode.value) {
+        currentNode = currentNode.left;
       } else {
-        insertionPerformed = insertHelper(currentNode.left, insertValue);
-        currentNode.left = balanceNode(currentNode.left);
+        floorNode = currentNode;
+        currentNode = currentNode.right;
       }
-    } else {
-      if (currentNode.right == null) {
-        currentNode.right = new AVLNode(insertValue);
-        insertionPerformed = true;
-        System.out.println("Einfügen: " + insertValue + " (rechts von " + currentNode.value + ")");
+    }
+    return (floorNode == null) ? OptionalInt.empty() : OptionalInt.of(floorNode.value);
+  }
+
+  /**
+   * Finds the smallest value greater than or equal to the given value.
+   *
+   * @param searchValue the lower bound
+   * @return the ceiling value, or empty if every value is smaller
+   */
+  @Override
+  public OptionalInt ceiling(int searchValue) {
+    AVLNode currentNode = treeRoot;
+    AVLNode ceilingNode = null;
+    while (currentNode != null) {
+      if (searchValue == currentNode.value) {
+        return OptionalInt.of(searchValue);
+      }
+      if (searchValue > currentNode.value) {
+        currentNode = currentNode.right;
       } else {
-        insertionPerformed = insertHelper(currentNode.right, insertValue);
-        currentNode.right = balanceNode(currentNode.right);
+        ceilingNode = currentNode;
+        currentNode = currentNode.left;
       }
     }
+    return (ceilingNode == null) ? OptionalInt.empty() : OptionalInt.of(ceilingNode.value);
+  }
 
-    if (insertionPerformed) {
-      currentNode.updateHeight();
+  /**
+   * Returns the smallest value in the tree.
+   *
+   * @return the minimum
+   * @throws NoSuchElementException if the tree is empty
+   */
+  @Override
+  public int min() {
+    if (treeRoot == null) {
+      throw new NoSuchElementException("Der Baum ist leer.");
     }
+    AVLNode currentNode = treeRoot;
+    while (currentNode.left != null) {
+      currentNode = currentNode.left;
+    }
+    return currentNode.value;
+  }
 
-    return insertionPerformed;
+  /**
+   * Returns the greatest value in the tree.
+   *
+   * @return the maximum
+   * @throws NoSuchElementException if the tree is empty
+   */
+  @Override
+  public int max() {
+    if (treeRoot == null) {
+      throw new NoSuchElementException("Der Baum ist leer.");
+    }
+    AVLNode currentNode = treeRoot;
+    while (currentNode.right != null) {
+      currentNode = currentNode.right;
+    }
+    return currentNode.value;
+  }
+
+  /**
+   * Counts the values that are strictly smaller than the given value. For a stored value this is
+   * its zero-based position in inorder.
+   *
+   * @param rankedValue the value to rank (need not be present)
+   * @return number of smaller values
+   */
+  public int rank(int rankedValue) {
+    int smallerCount = 0;
+    AVLNode currentNode = treeRoot;
+    while (currentNode != null) {
+      if (rankedValue <= currentNode.value) {
+        currentNode = currentNode.left;
+      } else {
+        smallerCount += AVLNode.sizeOf(currentNode.left) + 1;
+        currentNode = currentNode.right;
+      }
+    }
+    return smallerCount;
+  }
+
+  /**
+   * Returns the value at the given zero-based position in inorder (the k-th smallest value).
+   *
+   * @param position position between 0 and size() - 1
+   * @return the value at that position
+   * @throws IndexOutOfBoundsException if the position is outside the tree
+   */
+  public int select(int position) {
+    if (position < 0 || position >= size()) {
+      throw new IndexOutOfBoundsException(
+          "Position " + position + " liegt außerhalb des Baums (Größe " + size() + ").");
+    }
+
+    int remainingPosition = position;
+    AVLNode currentNode = treeRoot;
+    while (true) {
+      int leftSize = AVLNode.sizeOf(currentNode.left);
+      if (remainingPosition < leftSize) {
+        currentNode = currentNode.left;
+      } else if (remainingPosition == leftSize) {
+        return currentNode.value;
+      } else {
+        remainingPosition -= leftSize + 1;
+        currentNode = currentNode.right;
+      }
+    }
+  }
+
+  /**
+   * Counts the values between two inclusive bounds from the subtree sizes, in O(log n).
+   *
+   * @param lowerBound smallest value to count
+   * @param upperBound greatest value to count
+   * @return number of values v with lowerBound &lt;= v &lt;= upperBound, 0 if the bounds are
+   *     reversed
+   */
+  public int countInRange(int lowerBound, int upperBound) {
+    if (lowerBound > upperBound) {
+      return 0;
+    }
+    return countAtMost(upperBound) - rank(lowerBound);
+  }
+
+  /**
+   * Returns a lazy cursor over the values between two inclusive bounds in ascending order.
+   *
+   * @param lowerBound smallest value to visit
+   * @param upperBound greatest value to visit
+   * @return cursor positioned before the first value in range
+   */
+  public RangeCursor range(int lowerBound, int upperBound) {
+    return new RangeCursor(this, lowerBound, upperBound, false);
+  }
+
+  /**
+   * Returns a lazy cursor over the values between two inclusive bounds in descending order.
+   *
+   * @param lowerBound smallest value to visit
+   * @param upperBound greatest value to visit
+   * @return cursor positioned before the greatest value in range
+   */
+  public RangeCursor descendingRange(int lowerBound, int upperBound) {
+    return new RangeCursor(this, lowerBound, upperBound, true);
+  }
+
+  /** Counts the values that are less than or equal to the given value. */
+  private int countAtMost(int upperBound) {
+    int countedValues = 0;
+    AVLNode currentNode = treeRoot;
+    while (currentNode != null) {
+      if (upperBound < currentNode.value) {
+        currentNode = currentNode.left;
+      } else {
+        countedValues += AVLNode.sizeOf(currentNode.left) + 1;
+        currentNode = currentNode.right;
+      }
+    }
+    return countedValues;
+  }
+
+  /** Returns the number of values in the tree. */
+  @Override
+  public int size() {
+    return AVLNode.sizeOf(treeRoot);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return treeRoot == null;
+  }
+
+  private AVLNode newNode(int nodeValue) {
+    return (nodeArena == null) ? new AVLNode(nodeValue) : nodeArena.allocate(nodeValue);
+  }
+
+  /** Hands an unlinked node back to the arena, if there is one. */
+  private void releaseNode(AVLNode unlinkedNode) {
+    if (nodeArena != null) {
+      nodeArena.release(unlinkedNode);
+    }
+  }
+
+  private AVLNode removeHelper(AVLNode currentNode, int removeValue) {
+    if (currentNode == null) {
+      return null;
+    }
+
+    if (removeValue < currentNode.value) {
+      currentNode.left = removeHelper(currentNode.left, removeValue);
+    } else if (removeValue > currentNode.value) {
+      currentNode.right = removeHelper(currentNode.right, removeValue);
+    } else if (currentNode.left == null || currentNode.right == null) {
+      treeListener.onRemove(removeValue);
+      AVLNode remainingChild = (currentNode.left != null) ? currentNode.left : currentNode.right;
+      releaseNode(currentNode);
+      return remainingChild;
+    } else {
+      // Two children: take over the inorder successor's value and remove it from the right
+      AVLNode successorNode = currentNode.right;
+      while (successorNode.left != null) {
+        successorNode = successorNode.left;
+      }
+      treeListener.onRemove(removeValue);
+      currentNode.value = successorNode.value;
+      currentNode.right = removeSuccessor(currentNode.right);
+    }
+
+    return balanceNode(currentNode);
+  }
+
+  /** Unlinks the smallest node of a subtree and returns the rebalanced subtree. */
+  private AVLNode removeSuccessor(AVLNode subtreeRoot) {
+    if (subtreeRoot.left == null) {
+      AVLNode remainingChild = subtreeRoot.right;
+      releaseNode(subtreeRoot);
+      return remainingChild;
+    }
+    subtreeRoot.left = removeSuccessor(subtreeRoot.left);
+    return balanceNode(subtreeRoot);
   }
 
   /**
@@ -85,20 +922,20 @@ public class AVLTree {
     unbalancedNode.updateHeight();
     int balanceFactor = unbalancedNode.getBalanceFactor();
 
-    // Print AVL check
-    System.out.println(
-        "AVL-Prüfung für Knoten " + unbalancedNode.value + ": Balance-Faktor = " + balanceFactor);
-
     // Left heavy
     if (balanceFactor > 1) {
       int leftChildBalance = unbalancedNode.left.getBalanceFactor();
       if (leftChildBalance >= 0) {
         // Left-Left case: Right rotation
-        System.out.println("  → Rechts-Rotation erforderlich (Links-Links-Fall)");
+        treeListener.onBalanceCheck(
+            unbalancedNode.value, balanceFactor, AVLTreeListener.Imbalance.LEFT_LEFT);
+        recordImbalance(AVLTreeListener.Imbalance.LEFT_LEFT);
         return rotateRight(unbalancedNode);
       } else {
         // Left-Right case: Left-Right rotation
-        System.out.println("  → Links-Rechts-Rotation erforderlich (Links-Rechts-Fall)");
+        treeListener.onBalanceCheck(
+            unbalancedNode.value, balanceFactor, AVLTreeListener.Imbalance.LEFT_RIGHT);
+        recordImbalance(AVLTreeListener.Imbalance.LEFT_RIGHT);
         unbalancedNode.left = rotateLeft(unbalancedNode.left);
         return rotateRight(unbalancedNode);
       }
@@ -108,21 +945,31 @@ public class AVLTree {
       int rightChildBalance = unbalancedNode.right.getBalanceFactor();
       if (rightChildBalance <= 0) {
         // Right-Right case: Left rotation
-        System.out.println("  → Links-Rotation erforderlich (Rechts-Rechts-Fall)");
+        treeListener.onBalanceCheck(
+            unbalancedNode.value, balanceFactor, AVLTreeListener.Imbalance.RIGHT_RIGHT);
+        recordImbalance(AVLTreeListener.Imbalance.RIGHT_RIGHT);
         return rotateLeft(unbalancedNode);
       } else {
         // Right-Left case: Right-Left rotation
-        System.out.println("  → Rechts-Links-Rotation erforderlich (Rechts-Links-Fall)");
+        treeListener.onBalanceCheck(
+            unbalancedNode.value, balanceFactor, AVLTreeListener.Imbalance.RIGHT_LEFT);
+        recordImbalance(AVLTreeListener.Imbalance.RIGHT_LEFT);
         unbalancedNode.right = rotateRight(unbalancedNode.right);
         return rotateLeft(unbalancedNode);
       }
     } else {
-      System.out.println("  → Balance OK (keine Rotation erforderlich)");
+      treeListener.onBalanceCheck(unbalancedNode.value, balanceFactor, null);
     }
 
     return unbalancedNode;
   }
 
+  private void recordImbalance(AVLTreeListener.Imbalance imbalance) {
+    if (treeMetrics != null) {
+      treeMetrics.recordImbalance(imbalance);
+    }
+  }
+
   /** Performs a right rotation. */
   private AVLNode rotateRight(AVLNode parentNode) {
     AVLNode leftChild = parentNode.left;
@@ -134,7 +981,8 @@ public class AVLTree {
     parentNode.updateHeight();
     leftChild.updateHeight();
 
-    System.out.println("    Rotation durchgeführt: Rechts-Rotation um " + parentNode.value);
+    rotationCount++;
+    treeListener.onRotation(AVLTreeListener.Rotation.RIGHT, parentNode.value);
     return leftChild;
   }
 
@@ -149,50 +997,8 @@ public class AVLTree {
     parentNode.updateHeight();
     rightChild.updateHeight();
 
-    System.out.println("    Rotation durchgeführt: Links-Rotation um " + parentNode.value);
+    rotationCount++;
+    treeListener.onRotation(AVLTreeListener.Rotation.LEFT, parentNode.value);
     return rightChild;
   }
-
-  /** Prints the tree in a hierarchical structure. */
-  public void printTree() {
-
-    System.out.println("\nBaumstruktur:");
-    printTreeRecursive(treeRoot, "", true);
-  }
-
-  private void printTreeRecursive(AVLNode printNode, String prefix, boolean isLast) {
-    if (printNode == null) {
-      return;
-    }
-
-    System.out.print(prefix);
-    System.out.print(isLast ? "└── " : "├── ");
-    System.out.println(
-        printNode.value
-            + " (Höhe: "
-            + printNode.height
-            + ", Balance: "
-            + printNode.getBalanceFactor()
-            + ")");
-
-    if (printNode.left != null || printNode.right != null) {
-      String childPrefix = prefix + (isLast ? "    " : "│   ");
-      if (printNode.right != null) {
-        printTreeRecursive(printNode.right, childPrefix, printNode.left == null);
-      }
-      if (printNode.left != null) {
-        printTreeRecursive(printNode.left, childPrefix, true);
-      }
-    }
-  }
-
-  /**
-   * Tree visualization in the format specified in requirements. Example output: 8 / \ 4 9 / \ \ 2 7
-   * 13 / \ 11 46
-   */
-  public void printTreeFormatted() {
-
-    System.out.println("\nBaumdarstellung:");
-    TreeVisualizer.printTree(treeRoot);
-  }
 }
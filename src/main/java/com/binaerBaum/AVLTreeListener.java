@@ -0,0 +1,65 @@
+package com.binaerBaum;
+
+/**
+ * Receives the steps of {@link AVLTree} insertions, removals and rebalancing. All methods default
+ * to doing nothing, and the arguments are primitives, nodes that already exist or enum constants,
+ * so the {@link #NONE} listener costs neither allocations nor string building.
+ */
+public interface AVLTreeListener {
+
+  /** Listener that ignores all events; used when a tree is created without a listener. */
+  AVLTreeListener NONE = new AVLTreeListener() {};
+
+  /** The four imbalance cases that {@link AVLTree} resolves with rotations. */
+  enum Imbalance {
+    LEFT_LEFT,
+    LEFT_RIGHT,
+    RIGHT_RIGHT,
+    RIGHT_LEFT
+  }
+
+  /** Direction of a single rotation. */
+  enum Rotation {
+    LEFT,
+    RIGHT
+  }
+
+  /**
+   * Called after a new node has been linked into the tree.
+   *
+   * @param insertedValue the inserted value
+   * @param parentNode the new parent, or null if the value became the root
+   */
+  default void onInsert(int insertedValue, AVLNode parentNode) {}
+
+  /**
+   * Called when an inserted value is already present and therefore skipped.
+   *
+   * @param duplicateValue the rejected value
+   */
+  default void onDuplicate(int duplicateValue) {}
+
+  /**
+   * Called after a value has been unlinked from the tree, before the path is rebalanced.
+   *
+   * @param removedValue the removed value
+   */
+  default void onRemove(int removedValue) {}
+
+  /**
+   * Called for every node whose balance is checked on the insertion or removal path.
+   *
+   * @param nodeValue value of the checked node
+   * @param balanceFactor its balance factor, height(left) - height(right)
+   * @param imbalance the case that will be rotated, or null if the node is balanced
+   */
+  default void onBalanceCheck(int nodeValue, int balanceFactor, Imbalance imbalance) {}
+
+  /**
+   * Called after a single rotation has been performed.
+   *
+   * @param rotation direction of the rotation
+   * @param pivotValue value of the node the tree was rotated around
+   */
+  default void onRotation(Rotation rotation, int pivotValue) {}
+}
@@ -0,0 +1,347 @@
+package com.binaerBaum;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Operation metrics of one {@link AVLTree}, created with {@link AVLTree#enableMetrics()}: rotations
+ * per imbalance case, rejected duplicates, the number of nodes visited per insert and lookup,
+ * latency histograms for insert, lookup and traversal, and the current height compared with the
+ * AVL height bound. All storage is allocated when metrics are enabled, so recording never
+ * allocates.
+ *
+ * <p>Like the tree itself, the metrics are not thread-safe. {@link #snapshot()} and the {@link
+ * AVLTreeMetricsMXBean} attributes may be read from other threads, for example by a JMX client,
+ * and then reflect a recent, not necessarily consistent, state.
+ */
+public final class AVLTreeMetrics implements AVLTreeMetricsMXBean {
+  /** Path lengths from this value on share the last slot; AVL trees of int values stay lower. */
+  static final int MAX_TRACKED_PATH_LENGTH = 64;
+
+  private static final String OBJECT_NAME_PREFIX = "com.binaerBaum:type=AVLTree,name=";
+
+  private final AVLTree measuredTree;
+  private final long[] rotationCounts = new long[AVLTreeListener.Imbalance.values().length];
+  private final long[] insertPathLengths = new long[MAX_TRACKED_PATH_LENGTH + 1];
+  private final long[] lookupPathLengths = new long[MAX_TRACKED_PATH_LENGTH + 1];
+  private final LatencyHistogram insertLatencies = new LatencyHistogram();
+  private final LatencyHistogram lookupLatencies = new LatencyHistogram();
+  private final LatencyHistogram traverseLatencies = new LatencyHistogram();
+  private long duplicatesRejected;
+  private ObjectName registeredName;
+
+  AVLTreeMetrics(AVLTree measuredTree) {
+    this.measuredTree = measuredTree;
+  }
+
+  /**
+   * Greatest height an AVL tree with the given number of nodes can reach, 1.4405 * log2(n + 2) -
+   * 0.3277, counting a single leaf as height 1 like {@link AVLNode}.
+   *
+   * @param nodeCount number of nodes
+   * @return the height bound
+   */
+  public static double heightBound(int nodeCount) {
+    return 1.4405 * (Math.log(nodeCount + 2.0) / Math.log(2.0)) - 0.3277;
+  }
+
+  void recordImbalance(AVLTreeListener.Imbalance imbalance) {
+    rotationCounts[imbalance.ordinal()]++;
+  }
+
+  void recordInsert(int pathLength, boolean inserted, long elapsedNanos) {
+    insertPathLengths[Math.min(pathLength, MAX_TRACKED_PATH_LENGTH)]++;
+    if (!inserted) {
+      duplicatesRejected++;
+    }
+    insertLatencies.record(elapsedNanos);
+  }
+
+  void recordLookup(int pathLength, long elapsedNanos) {
+    lookupPathLengths[Math.min(pathLength, MAX_TRACKED_PATH_LENGTH)]++;
+    lookupLatencies.record(elapsedNanos);
+  }
+
+  void recordTraverse(long elapsedNanos) {
+    traverseLatencies.record(elapsedNanos);
+  }
+
+  /** Returns an immutable copy of all metrics. */
+  public Snapshot snapshot() {
+    return new Snapshot(this);
+  }
+
+  /**
+   * Registers these metrics with the platform MBean server as {@code
+   * com.binaerBaum:type=AVLTree,name=<name>}.
+   *
+   * @param treeName name that distinguishes this tree from others
+   * @throws IllegalStateException if the metrics are already registered or the name is taken
+   */
+  public synchronized void registerMBean(String treeName) {
+    if (registeredName != null) {
+      throw new IllegalStateException("Die Metriken sind bereits registriert: " + registeredName);
+    }
+    MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+    try {
+      ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(treeName));
+      mbeanServer.registerMBean(this, objectName);
+      registeredName = objectName;
+    } catch (JMException registrationError) {
+      throw new IllegalStateException(
+          "MBean konnte nicht registriert werden: " + treeName, registrationError);
+    }
+  }
+
+  /** Removes the registration made by {@link #registerMBean(String)}, if any. */
+  public synchronized void unregisterMBean() {
+    if (registeredName == null) {
+      return;
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+    } catch (JMException unregistrationError) {
+      // Already unregistered from outside; nothing left to clean up
+    }
+    registeredName = null;
+  }
+
+  @Override
+  public long getLeftLeftRotations() {
+    return rotationCounts[AVLTreeListener.Imbalance.LEFT_LEFT.ordinal()];
+  }
+
+  @Override
+  public long getLeftRightRotations() {
+    return rotationCounts[AVLTreeListener.Imbalance.LEFT_RIGHT.ordinal()];
+  }
+
+  @Override
+  public long getRightRightRotations() {
+    return rotationCounts[AVLTreeListener.Imbalance.RIGHT_RIGHT.ordinal()];
+  }
+
+  @Override
+  public long getRightLeftRotations() {
+    return rotationCounts[AVLTreeListener.Imbalance.RIGHT_LEFT.ordinal()];
+  }
+
+  @Override
+  public long getDuplicatesRejected() {
+    return duplicatesRejected;
+  }
+
+  @Override
+  public int getSize() {
+    return measuredTree.size();
+  }
+
+  @Override
+  public int getHeight() {
+    AVLNode treeRoot = measuredTree.getRoot();
+    return (treeRoot == null) ? 0 : treeRoot.height;
+  }
+
+  @Override
+  public double getHeightBound() {
+    return heightBound(getSize());
+  }
+
+  @Override
+  public double getMeanInsertPathLength() {
+    return meanPathLength(insertPathLengths);
+  }
+
+  @Override
+  public double getMeanLookupPathLength() {
+    return meanPathLength(lookupPathLengths);
+  }
+
+  @Override
+  public long getInsertCount() {
+    return insertLatencies.snapshot().getCount();
+  }
+
+  @Override
+  public long getInsertLatencyP50Nanos() {
+    return insertLatencies.snapshot().getValueAtPercentile(50);
+  }
+
+  @Override
+  public long getInsertLatencyP99Nanos() {
+    return insertLatencies.snapshot().getValueAtPercentile(99);
+  }
+
+  @Override
+  public long getInsertLatencyMaxNanos() {
+    return insertLatencies.snapshot().getMax();
+  }
+
+  @Override
+  public long getLookupCount() {
+    return lookupLatencies.snapshot().getCount();
+  }
+
+  @Override
+  public long getLookupLatencyP50Nanos() {
+    return lookupLatencies.snapshot().getValueAtPercentile(50);
+  }
+
+  @Override
+  public long getLookupLatencyP99Nanos() {
+    return lookupLatencies.snapshot().getValueAtPercentile(99);
+  }
+
+  @Override
+  public long getLookupLatencyMaxNanos() {
+    return lookupLatencies.snapshot().getMax();
+  }
+
+  @Override
+  public long getTraverseCount() {
+    return traverseLatencies.snapshot().getCount();
+  }
+
+  @Override
+  public long getTraverseLatencyP50Nanos() {
+    return traverseLatencies.snapshot().getValueAtPercentile(50);
+  }
+
+  @Override
+  public long getTraverseLatencyP99Nanos() {
+    return traverseLatencies.snapshot().getValueAtPercentile(99);
+  }
+
+  @Override
+  public long getTraverseLatencyMaxNanos() {
+    return traverseLatencies.snapshot().getMax();
+  }
+
+  @Override
+  public void reset() {
+    Arrays.fill(rotationCounts, 0L);
+    Arrays.fill(insertPathLengths, 0L);
+    Arrays.fill(lookupPathLengths, 0L);
+    insertLatencies.reset();
+    lookupLatencies.reset();
+    traverseLatencies.reset();
+    duplicatesRejected = 0;
+  }
+
+  private static double meanPathLength(long[] pathLengthCounts) {
+    long totalCount = 0;
+    long totalLength = 0;
+    for (int pathLength = 0; pathLength < pathLengthCounts.length; pathLength++) {
+      totalCount += pathLengthCounts[pathLength];
+      totalLength += pathLength * pathLengthCounts[pathLength];
+    }
+    return (totalCount == 0) ? 0.0 : (double) totalLength / totalCount;
+  }
+
+  /** Immutable state of the metrics at one point in time. */
+  public static final class Snapshot {
+    private final long[] rotationCounts;
+    private final long duplicatesRejected;
+    private final long[] insertPathLengths;
+    private final long[] lookupPathLengths;
+    private final LatencyHistogram.Snapshot insertLatencies;
+    private final LatencyHistogram.Snapshot lookupLatencies;
+    private final LatencyHistogram.Snapshot traverseLatencies;
+    private final int treeSize;
+    private final int treeHeight;
+
+    private Snapshot(AVLTreeMetrics sourceMetrics) {
+      this.rotationCounts = sourceMetrics.rotationCounts.clone();
+      this.duplicatesRejected = sourceMetrics.duplicatesRejected;
+      this.insertPathLengths = sourceMetrics.insertPathLengths.clone();
+      this.lookupPathLengths = sourceMetrics.lookupPathLengths.clone();
+      this.insertLatencies = sourceMetrics.insertLatencies.snapshot();
+      this.lookupLatencies = sourceMetrics.lookupLatencies.snapshot();
+      this.traverseLatencies = sourceMetrics.traverseLatencies.snapshot();
+      this.treeSize = sourceMetrics.getSize();
+      this.treeHeight = sourceMetrics.getHeight();
+    }
+
+    /**
+     * Returns how often the given imbalance case was resolved by insertions and removals.
+     *
+     * @param imbalance the imbalance case
+     * @return number of rebalancing steps of that case
+     */
+    public long getRotations(AVLTreeListener.Imbalance imbalance) {
+      return rotationCounts[imbalance.ordinal()];
+    }
+
+    public long getDuplicatesRejected() {
+      return duplicatesRejected;
+    }
+
+    /**
+     * Returns the distribution of the nodes visited per insertion: element k counts insertions
+     * that compared against k nodes; the last element also counts all longer paths.
+     *
+     * @return copy of the path-length counts
+     */
+    public long[] getInsertPathLengths() {
+      return insertPathLengths.clone();
+    }
+
+    /**
+     * Returns the distribution of the nodes visited per lookup, indexed like {@link
+     * #getInsertPathLengths()}.
+     *
+     * @return copy of the path-length counts
+     */
+    public long[] getLookupPathLengths() {
+      return lookupPathLengths.clone();
+    }
+
+    public LatencyHistogram.Snapshot getInsertLatencies() {
+      return insertLatencies;
+    }
+
+    public LatencyHistogram.Snapshot getLookupLatencies() {
+      return lookupLatencies;
+    }
+
+    public LatencyHistogram.Snapshot getTraverseLatencies() {
+      return traverseLatencies;
+    }
+
+    public int getSize() {
+      return treeSize;
+    }
+
+    public int getHeight() {
+      return treeHeight;
+    }
+
+    public double getHeightBound() {
+      return heightBound(treeSize);
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "Größe %d, Höhe %d (Schranke %.2f), Rotationen LL %d LR %d RR %d RL %d, Duplikate %d,"
+              + " mittlere Pfadlänge Einfügen %.2f / Suche %.2f%n"
+              + "Einfügen [ns]: %s%nSuche [ns]: %s%nTraversierung [ns]: %s",
+          treeSize,
+          treeHeight,
+          getHeightBound(),
+          rotationCounts[AVLTreeListener.Imbalance.LEFT_LEFT.ordinal()],
+          rotationCounts[AVLTreeListener.Imbalance.LEFT_RIGHT.ordinal()],
+          rotationCounts[AVLTreeListener.Imbalance.RIGHT_RIGHT.ordinal()],
+          rotationCounts[AVLTreeListener.Imbalance.RIGHT_LEFT.ordinal()],
+          duplicatesRejected,
+          meanPathLength(insertPathLengths),
+          meanPathLength(lookupPathLengths),
+          insertLatencies,
+          lookupLatencies,
+          traverseLatencies);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.binaerBaum;
+
+/**
+ * Management interface of {@link AVLTreeMetrics}, registered with {@link
+ * AVLTreeMetrics#registerMBean(String)}. Latencies are in nanoseconds; percentiles are rounded up
+ * to the end of their histogram bucket.
+ */
+public interface AVLTreeMetricsMXBean {
+
+  long getLeftLeftRotations();
+
+  long getLeftRightRotations();
+
+  long getRightRightRotations();
+
+  long getRightLeftRotations();
+
+  long getDuplicatesRejected();
+
+  int getSize();
+
+  int getHeight();
+
+  /** Greatest height an AVL tree of the current size can have, about 1.44 * log2(n). */
+  double getHeightBound();
+
+  double getMeanInsertPathLength();
+
+  double getMeanLookupPathLength();
+
+  long getInsertCount();
+
+  long getInsertLatencyP50Nanos();
+
+  long getInsertLatencyP99Nanos();
+
+  long getInsertLatencyMaxNanos();
+
+  long getLookupCount();
+
+  long getLookupLatencyP50Nanos();
+
+  long getLookupLatencyP99Nanos();
+
+  long getLookupLatencyMaxNanos();
+
+  long getTraverseCount();
+
+  long getTraverseLatencyP50Nanos();
+
+  long getTraverseLatencyP99Nanos();
+
+  long getTraverseLatencyMaxNanos();
+
+  /** Discards all counters and histograms; size and height are read from the tree. */
+  void reset();
+}
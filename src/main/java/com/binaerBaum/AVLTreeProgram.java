@@ -1,15 +1,31 @@
 package com.binaerBaum;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 
 /** Main program logic for AVL Tree traversal application. */
 public class AVLTreeProgram {
   private Scanner userInputScanner;
+  private final IntInputParser numberParser = new IntInputParser();
+  // One tree for the whole session: "neuer Baum" clears it and the next build reuses its nodes
+  private final BinaryIntTree sessionTree;
 
   public AVLTreeProgram(Scanner userInputScanner) {
+    this(userInputScanner, new AVLTree(new ConsoleTreeListener(), new AVLNodeArena()));
+  }
+
+  /**
+   * Creates a session that builds its trees with another balancing scheme.
+   *
+   * @param userInputScanner source of the user input
+   * @param sessionTree empty tree that is filled, printed and traversed
+   */
+  public AVLTreeProgram(Scanner userInputScanner, BinaryIntTree sessionTree) {
     this.userInputScanner = userInputScanner;
+    this.sessionTree = sessionTree;
   }
 
   public void run() {
@@ -17,26 +33,25 @@ public class AVLTreeProgram {
 
     boolean sessionActive = true;
     int[] treeInputValues = null;
-    AVLTree avlTree = null;
 
     while (sessionActive) {
       // Get or re-enter numbers
-      if (treeInputValues == null || avlTree == null) {
+      if (treeInputValues == null) {
         treeInputValues = getNumbersInput(userInputScanner);
 
         System.out.println("\n=== Baum erstellen ===");
-        avlTree = new AVLTree();
+        sessionTree.clear();
         for (int valueToInsert : treeInputValues) {
-          avlTree.insert(valueToInsert);
+          sessionTree.insert(valueToInsert);
           System.out.println(); // Empty line for readability
         }
 
         // Print detailed tree structure for debugging
         System.out.println("\n=== Debug: Detaillierte Baumstruktur ===");
-        avlTree.printTree();
+        sessionTree.printTree();
 
         // Print tree structure
-        avlTree.printTreeFormatted();
+        sessionTree.printTreeFormatted();
       }
 
       // Main loop: Allow multiple traversals or exit
@@ -52,7 +67,6 @@ public class AVLTreeProgram {
           break;
         } else if ("NEW_TREE".equals(traversalType)) {
           treeInputValues = null;
-          avlTree = null;
           continueWithSameTree = false;
           break;
         }
@@ -60,7 +74,7 @@ public class AVLTreeProgram {
         // Perform traversal
         int[] traversalResult;
         try {
-          traversalResult = Traversal.traverse(treeInputValues, traversalType);
+          traversalResult = Traversal.traverse(sessionTree, traversalType);
 
           // Print result
           System.out.println("\nTraversierungsergebnis (" + traversalType + "):");
@@ -103,40 +117,36 @@ public class AVLTreeProgram {
       }
 
       // Parse input numbers
-      String[] numberStrings = userInputLine.split(",");
-      List<Integer> parsedNumbers = new ArrayList<>();
-      boolean foundParseError = false;
-
-      for (int splitIdx = 0; splitIdx < numberStrings.length; splitIdx++) {
-        String trimmedCandidate = numberStrings[splitIdx].trim();
-
-        // Skip empty strings
-        if (trimmedCandidate.isEmpty()) {
-          System.err.println("Warnung: Leeres Element wird übersprungen.");
-          continue;
-        }
-
-        try {
-          int currentParsedNumber = Integer.parseInt(trimmedCandidate);
-          parsedNumbers.add(currentParsedNumber);
-        } catch (NumberFormatException parseErr) {
-          System.err.println(
-              "Fehler: '"
-                  + trimmedCandidate
-                  + "' ist keine gültige Ganzzahl. Bitte versuchen Sie es erneut.\n");
-          foundParseError = true;
-          break;
-        }
+      int[] parsedNumbers;
+      try {
+        parsedNumbers =
+            numberParser.parseAll(
+                new ByteArrayInputStream(userInputLine.getBytes(StandardCharsets.UTF_8)));
+        printEmptyElementWarnings();
+      } catch (IntParseException parseErr) {
+        printEmptyElementWarnings();
+        System.err.println(
+            "Fehler: '"
+                + parseErr.getInvalidToken()
+                + "' ist keine gültige Ganzzahl. Bitte versuchen Sie es erneut.\n");
+        continue;
+      } catch (IOException readErr) {
+        // Reading from a byte array cannot fail
+        throw new UncheckedIOException(readErr);
       }
 
-      if (!foundParseError) {
-        if (parsedNumbers.isEmpty()) {
-          System.err.println(
-              "Fehler: Keine gültigen Zahlen gefunden. Bitte versuchen Sie es erneut.\n");
-          continue;
-        }
-        return parsedNumbers.stream().mapToInt(Integer::intValue).toArray();
+      if (parsedNumbers.length == 0) {
+        System.err.println(
+            "Fehler: Keine gültigen Zahlen gefunden. Bitte versuchen Sie es erneut.\n");
+        continue;
       }
+      return parsedNumbers;
+    }
+  }
+
+  private void printEmptyElementWarnings() {
+    for (int warningIdx = 0; warningIdx < numberParser.getSkippedEmptyElements(); warningIdx++) {
+      System.err.println("Warnung: Leeres Element wird übersprungen.");
     }
   }
 
@@ -0,0 +1,370 @@
+package com.binaerBaum;
+
+import java.util.Arrays;
+
+/**
+ * AVL tree over int keys that stores its nodes in parallel primitive arrays instead of {@link
+ * AVLNode} objects. A node is a slot index into {@code keys}, {@code heights}, {@code
+ * leftChildren} and {@code rightChildren}; this takes 16 bytes per key, keeps neighbouring nodes
+ * close together in memory and gives the GC four arrays to look at instead of one object per key.
+ *
+ * <p>Slot 0 is a sentinel for "no child" with height 0, so height lookups need no null checks.
+ * Slots of removed keys are chained into a free list (through {@code leftChildren}) and reused by
+ * later insertions.
+ */
+public class ArrayAVLTree {
+  private static final int NIL = 0;
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private int[] keys;
+  private int[] heights;
+  private int[] leftChildren;
+  private int[] rightChildren;
+
+  private int rootSlot = NIL;
+  private int nextUnusedSlot = 1;
+  private int freeListHead = NIL;
+  private int nodeCount;
+
+  /** Set by the recursive helpers to report whether the last operation changed the tree. */
+  private boolean treeModified;
+
+  public ArrayAVLTree() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty tree with room for the given number of keys before the arrays grow.
+   *
+   * @param initialCapacity expected number of keys
+   */
+  public ArrayAVLTree(int initialCapacity) {
+    int slotCapacity = Math.max(initialCapacity, 1) + 1;
+    keys = new int[slotCapacity];
+    heights = new int[slotCapacity];
+    leftChildren = new int[slotCapacity];
+    rightChildren = new int[slotCapacity];
+  }
+
+  /**
+   * Inserts a value into the tree.
+   *
+   * @param insertValue the value to insert
+   * @return true if inserted, false if duplicate
+   */
+  public boolean insert(int insertValue) {
+    // Grow up front: the recursion below assigns into the arrays after descending.
+    ensureFreeSlot();
+    treeModified = false;
+    rootSlot = insertAt(rootSlot, insertValue);
+    return treeModified;
+  }
+
+  /**
+   * Removes a value from the tree; its slot is reused by the next insertion.
+   *
+   * @param removeValue the value to remove
+   * @return true if removed, false if not present
+   */
+  public boolean remove(int removeValue) {
+    treeModified = false;
+    rootSlot = removeAt(rootSlot, removeValue);
+    return treeModified;
+  }
+
+  /**
+   * Removes all keys in O(1). The arrays keep their capacity, so the next build of a similar size
+   * allocates nothing.
+   */
+  public void clear() {
+    rootSlot = NIL;
+    nextUnusedSlot = 1;
+    freeListHead = NIL;
+    nodeCount = 0;
+  }
+
+  /**
+   * Checks whether a value is stored in the tree.
+   *
+   * @param searchValue the value to look for
+   * @return true if present
+   */
+  public boolean contains(int searchValue) {
+    int currentSlot = rootSlot;
+    while (currentSlot != NIL) {
+      int currentKey = keys[currentSlot];
+      if (searchValue == currentKey) {
+        return true;
+      }
+      currentSlot =
+          (searchValue < currentKey) ? leftChildren[currentSlot] : rightChildren[currentSlot];
+    }
+    return false;
+  }
+
+  public int size() {
+    return nodeCount;
+  }
+
+  public boolean isEmpty() {
+    return nodeCount == 0;
+  }
+
+  /** Returns the height of the tree (0 when empty). */
+  public int getHeight() {
+    return heights[rootSlot];
+  }
+
+  /**
+   * Traverses the tree according to the specified traversal method.
+   *
+   * @param traversalMethod traversal order: "preorder", "inorder", "postorder", or "levelorder"
+   * @return array of integers in the traversal order
+   */
+  public int[] traverse(String traversalMethod) {
+    return traverse(TraversalOrder.fromName(traversalMethod));
+  }
+
+  /**
+   * Traverses the tree in the given order without recursion and without boxing.
+   *
+   * @param traversalOrder the traversal order
+   * @return array of integers in the traversal order
+   */
+  public int[] traverse(TraversalOrder traversalOrder) {
+    int[] traversalResult = new int[nodeCount];
+    if (nodeCount == 0) {
+      return traversalResult;
+    }
+
+    switch (traversalOrder) {
+      case PREORDER:
+        preorderTraversal(traversalResult);
+        break;
+      case INORDER:
+        inorderTraversal(traversalResult);
+        break;
+      case POSTORDER:
+        postorderTraversal(traversalResult);
+        break;
+      case LEVELORDER:
+        levelOrderTraversal(traversalResult);
+        break;
+    }
+    return traversalResult;
+  }
+
+  private int insertAt(int currentSlot, int insertValue) {
+    if (currentSlot == NIL) {
+      treeModified = true;
+      return allocateSlot(insertValue);
+    }
+
+    int currentKey = keys[currentSlot];
+    if (insertValue < currentKey) {
+      leftChildren[currentSlot] = insertAt(leftChildren[currentSlot], insertValue);
+    } else if (insertValue > currentKey) {
+      rightChildren[currentSlot] = insertAt(rightChildren[currentSlot], insertValue);
+    } else {
+      // Duplicate, ignore
+      return currentSlot;
+    }
+    return balanceSlot(currentSlot);
+  }
+
+  private int removeAt(int currentSlot, int removeValue) {
+    if (currentSlot == NIL) {
+      return NIL;
+    }
+
+    int currentKey = keys[currentSlot];
+    if (removeValue < currentKey) {
+      leftChildren[currentSlot] = removeAt(leftChildren[currentSlot], removeValue);
+    } else if (removeValue > currentKey) {
+      rightChildren[currentSlot] = removeAt(rightChildren[currentSlot], removeValue);
+    } else if (leftChildren[currentSlot] == NIL || rightChildren[currentSlot] == NIL) {
+      int remainingChild =
+          (leftChildren[currentSlot] != NIL)
+              ? leftChildren[currentSlot]
+              : rightChildren[currentSlot];
+      freeSlot(currentSlot);
+      treeModified = true;
+      return remainingChild;
+    } else {
+      // Two children: take over the in-order successor's key and remove it from the right subtree
+      int successorSlot = rightChildren[currentSlot];
+      while (leftChildren[successorSlot] != NIL) {
+        successorSlot = leftChildren[successorSlot];
+      }
+      int successorKey = keys[successorSlot];
+      keys[currentSlot] = successorKey;
+      rightChildren[currentSlot] = removeAt(rightChildren[currentSlot], successorKey);
+    }
+    return balanceSlot(currentSlot);
+  }
+
+  private int balanceSlot(int unbalancedSlot) {
+    updateHeight(unbalancedSlot);
+    int balanceFactor = balanceFactor(unbalancedSlot);
+
+    // Left heavy
+    if (balanceFactor > 1) {
+      if (balanceFactor(leftChildren[unbalancedSlot]) < 0) {
+        leftChildren[unbalancedSlot] = rotateLeft(leftChildren[unbalancedSlot]);
+      }
+      return rotateRight(unbalancedSlot);
+    }
+    // Right heavy
+    if (balanceFactor < -1) {
+      if (balanceFactor(rightChildren[unbalancedSlot]) > 0) {
+        rightChildren[unbalancedSlot] = rotateRight(rightChildren[unbalancedSlot]);
+      }
+      return rotateLeft(unbalancedSlot);
+    }
+    return unbalancedSlot;
+  }
+
+  private int rotateRight(int parentSlot) {
+    int leftChild = leftChildren[parentSlot];
+    leftChildren[parentSlot] = rightChildren[leftChild];
+    rightChildren[leftChild] = parentSlot;
+
+    updateHeight(parentSlot);
+    updateHeight(leftChild);
+    return leftChild;
+  }
+
+  private int rotateLeft(int parentSlot) {
+    int rightChild = rightChildren[parentSlot];
+    rightChildren[parentSlot] = leftChildren[rightChild];
+    leftChildren[rightChild] = parentSlot;
+
+    updateHeight(parentSlot);
+    updateHeight(rightChild);
+    return rightChild;
+  }
+
+  private int balanceFactor(int slot) {
+    return heights[leftChildren[slot]] - heights[rightChildren[slot]];
+  }
+
+  private void updateHeight(int slot) {
+    heights[slot] = Math.max(heights[leftChildren[slot]], heights[rightChildren[slot]]) + 1;
+  }
+
+  private void ensureFreeSlot() {
+    if (freeListHead != NIL || nextUnusedSlot < keys.length) {
+      return;
+    }
+    int grownCapacity = keys.length + (keys.length >> 1) + 1;
+    keys = Arrays.copyOf(keys, grownCapacity);
+    heights = Arrays.copyOf(heights, grownCapacity);
+    leftChildren = Arrays.copyOf(leftChildren, grownCapacity);
+    rightChildren = Arrays.copyOf(rightChildren, grownCapacity);
+  }
+
+  private int allocateSlot(int slotKey) {
+    int allocatedSlot;
+    if (freeListHead != NIL) {
+      allocatedSlot = freeListHead;
+      freeListHead = leftChildren[allocatedSlot];
+    } else {
+      allocatedSlot = nextUnusedSlot++;
+    }
+
+    keys[allocatedSlot] = slotKey;
+    heights[allocatedSlot] = 1;
+    leftChildren[allocatedSlot] = NIL;
+    rightChildren[allocatedSlot] = NIL;
+    nodeCount++;
+    return allocatedSlot;
+  }
+
+  private void freeSlot(int releasedSlot) {
+    leftChildren[releasedSlot] = freeListHead;
+    freeListHead = releasedSlot;
+    nodeCount--;
+  }
+
+  /** Preorder traversal: Root -> Left -> Right */
+  private void preorderTraversal(int[] preorderResult) {
+    int[] pendingSlots = new int[getHeight() + 1];
+    int stackSize = 0;
+    int resultIdx = 0;
+
+    pendingSlots[stackSize++] = rootSlot;
+    while (stackSize > 0) {
+      int visitedSlot = pendingSlots[--stackSize];
+      preorderResult[resultIdx++] = keys[visitedSlot];
+      if (rightChildren[visitedSlot] != NIL) {
+        pendingSlots[stackSize++] = rightChildren[visitedSlot];
+      }
+      if (leftChildren[visitedSlot] != NIL) {
+        pendingSlots[stackSize++] = leftChildren[visitedSlot];
+      }
+    }
+  }
+
+  /** Inorder traversal: Left -> Root -> Right */
+  private void inorderTraversal(int[] inorderResult) {
+    int[] pendingSlots = new int[getHeight()];
+    int stackSize = 0;
+    int resultIdx = 0;
+    int currentSlot = rootSlot;
+
+    while (currentSlot != NIL || stackSize > 0) {
+      while (currentSlot != NIL) {
+        pendingSlots[stackSize++] = currentSlot;
+        currentSlot = leftChildren[currentSlot];
+      }
+      currentSlot = pendingSlots[--stackSize];
+      inorderResult[resultIdx++] = keys[currentSlot];
+      currentSlot = rightChildren[currentSlot];
+    }
+  }
+
+  /** Postorder traversal: Left -> Right -> Root */
+  private void postorderTraversal(int[] postorderResult) {
+    int[] pendingSlots = new int[getHeight()];
+    int stackSize = 0;
+    int resultIdx = 0;
+    int currentSlot = rootSlot;
+    int lastVisitedSlot = NIL;
+
+    while (currentSlot != NIL || stackSize > 0) {
+      while (currentSlot != NIL) {
+        pendingSlots[stackSize++] = currentSlot;
+        currentSlot = leftChildren[currentSlot];
+      }
+      int topSlot = pendingSlots[stackSize - 1];
+      int topRight = rightChildren[topSlot];
+      if (topRight != NIL && topRight != lastVisitedSlot) {
+        currentSlot = topRight;
+      } else {
+        postorderResult[resultIdx++] = keys[topSlot];
+        lastVisitedSlot = topSlot;
+        stackSize--;
+      }
+    }
+  }
+
+  /** Level-order traversal (BFS - Breadth-First Search): Level by level from top to bottom */
+  private void levelOrderTraversal(int[] levelOrderResult) {
+    // Every slot is enqueued exactly once, so a plain array of nodeCount entries is the queue.
+    int[] bfsQueue = new int[nodeCount];
+    int queueHead = 0;
+    int queueTail = 0;
+
+    bfsQueue[queueTail++] = rootSlot;
+    while (queueHead < queueTail) {
+      int slotAtLevel = bfsQueue[queueHead];
+      levelOrderResult[queueHead++] = keys[slotAtLevel];
+      if (leftChildren[slotAtLevel] != NIL) {
+        bfsQueue[queueTail++] = leftChildren[slotAtLevel];
+      }
+      if (rightChildren[slotAtLevel] != NIL) {
+        bfsQueue[queueTail++] = rightChildren[slotAtLevel];
+      }
+    }
+  }
+}
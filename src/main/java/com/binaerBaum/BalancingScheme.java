@@ -0,0 +1,51 @@
+package com.binaerBaum;
+
+import java.util.function.Supplier;
+
+/** The balanced binary search trees of this package and their user-facing names. */
+public enum BalancingScheme {
+  /** Height-balanced, subtree heights differ by at most one */
+  AVL("avl", AVLTree::new),
+  /** Colour-balanced, few rotations per update */
+  RED_BLACK("redblack", RedBlackTree::new),
+  /** Rank-balanced, AVL shape after insertions and at most two rotations per removal */
+  WAVL("wavl", WAVLTree::new),
+  /** Randomized by heap priorities, no balance information */
+  TREAP("treap", Treap::new);
+
+  private final String displayName;
+  private final Supplier<BinaryIntTree> treeFactory;
+
+  BalancingScheme(String displayName, Supplier<BinaryIntTree> treeFactory) {
+    this.displayName = displayName;
+    this.treeFactory = treeFactory;
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+
+  /** Creates an empty tree of this scheme. */
+  public BinaryIntTree newTree() {
+    return treeFactory.get();
+  }
+
+  /**
+   * Looks up a balancing scheme by its name, ignoring case.
+   *
+   * @param schemeName "avl", "redblack", "wavl", or "treap"
+   * @return the matching balancing scheme
+   * @throws IllegalArgumentException if the name is unknown
+   */
+  public static BalancingScheme fromName(String schemeName) {
+    for (BalancingScheme candidateScheme : values()) {
+      if (candidateScheme.displayName.equalsIgnoreCase(schemeName)) {
+        return candidateScheme;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Unbekanntes Balancierungsverfahren: "
+            + schemeName
+            + ". Erlaubt: avl, redblack, wavl, treap");
+  }
+}
@@ -0,0 +1,122 @@
+package com.binaerBaum;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+
+/**
+ * {@link OrderedIntSet} stored as a binary search tree whose nodes can be inspected through {@link
+ * IntTreeNode}. The lookups are implemented once here on top of {@link #getRootNode()}, so a
+ * balancing scheme only has to provide insertion, removal and its node view.
+ */
+public interface BinaryIntTree extends OrderedIntSet {
+
+  /** Returns the root node, or null if the tree is empty. */
+  IntTreeNode getRootNode();
+
+  /**
+   * Returns the number of single rotations performed by insertions and removals so far; a double
+   * rotation counts as two.
+   *
+   * @return rotation count since the tree was created
+   */
+  long getRotationCount();
+
+  /** Returns the height of the tree (0 when empty). */
+  default int getHeight() {
+    IntTreeNode rootNode = getRootNode();
+    return (rootNode == null) ? 0 : rootNode.getHeight();
+  }
+
+  @Override
+  default boolean contains(int searchValue) {
+    IntTreeNode currentNode = getRootNode();
+    while (currentNode != null) {
+      int currentValue = currentNode.getValue();
+      if (searchValue == currentValue) {
+        return true;
+      }
+      currentNode = (searchValue < currentValue) ? currentNode.getLeft() : currentNode.getRight();
+    }
+    return false;
+  }
+
+  @Override
+  default OptionalInt floor(int searchValue) {
+    IntTreeNode currentNode = getRootNode();
+    IntTreeNode floorNode = null;
+    while (currentNode != null) {
+      int currentValue = currentNode.getValue();
+      if (searchValue == currentValue) {
+        return OptionalInt.of(searchValue);
+      }
+      if (searchValue < currentValue) {
+        currentNode = currentNode.getLeft();
+      } else {
+        floorNode = currentNode;
+        currentNode = currentNode.getRight();
+      }
+    }
+    return (floorNode == null) ? OptionalInt.empty() : OptionalInt.of(floorNode.getValue());
+  }
+
+  @Override
+  default OptionalInt ceiling(int searchValue) {
+    IntTreeNode currentNode = getRootNode();
+    IntTreeNode ceilingNode = null;
+    while (currentNode != null) {
+      int currentValue = currentNode.getValue();
+      if (searchValue == currentValue) {
+        return OptionalInt.of(searchValue);
+      }
+      if (searchValue > currentValue) {
+        currentNode = currentNode.getRight();
+      } else {
+        ceilingNode = currentNode;
+        currentNode = currentNode.getLeft();
+      }
+    }
+    return (ceilingNode == null) ? OptionalInt.empty() : OptionalInt.of(ceilingNode.getValue());
+  }
+
+  @Override
+  default int min() {
+    IntTreeNode currentNode = getRootNode();
+    if (currentNode == null) {
+      throw new NoSuchElementException("Der Baum ist leer.");
+    }
+    while (currentNode.getLeft() != null) {
+      currentNode = currentNode.getLeft();
+    }
+    return currentNode.getValue();
+  }
+
+  @Override
+  default int max() {
+    IntTreeNode currentNode = getRootNode();
+    if (currentNode == null) {
+      throw new NoSuchElementException("Der Baum ist leer.");
+    }
+    while (currentNode.getRight() != null) {
+      currentNode = currentNode.getRight();
+    }
+    return currentNode.getValue();
+  }
+
+  @Override
+  default boolean isEmpty() {
+    return getRootNode() == null;
+  }
+
+  /** Prints the tree in a hierarchical structure, right subtree first. */
+  default void printTree() {
+    System.out.println("\nBaumstruktur:");
+    System.out.print(
+        TreeRenderer.render(getRootNode(), TreeRenderer.Format.TEXT, TreeRenderer.UNLIMITED_DEPTH));
+  }
+
+  /** Prints the tree top-down with {@link TreeVisualizer}. */
+  default void printTreeFormatted() {
+    System.out.println("\nBaumdarstellung:");
+    TreeVisualizer.printTree(getRootNode());
+  }
+}
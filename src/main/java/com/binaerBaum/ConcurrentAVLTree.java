@@ -0,0 +1,961 @@
+package com.binaerBaum;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe AVL tree with per-node concurrency after Bronson, Casper, Chafi and Olukotun ("A
+ * Practical Concurrent Binary Search Tree"), including the lazy copy-on-write snapshots of their
+ * SnapTree.
+ *
+ * <p>Readers never lock. A search moves hand-over-hand: every node carries a change version that a
+ * rotation marks while it moves the node down (shrinking the key range below it) and advances
+ * afterwards. Before stepping to a child the reader notes the child's version and then checks that
+ * the version of the node it came from is unchanged; otherwise it repeats the step from there. A
+ * reader that meets a rotation in progress spins until its few field writes are done.
+ *
+ * <p>Writers lock only the nodes they change: the parent of a new leaf, parent and node for an
+ * unlink, and at most four nodes for a rotation, so updates in different parts of the tree run in
+ * parallel. Balance is relaxed while updates are in flight; the writer that damages a node repairs
+ * heights and rotates bottom-up before it returns, so a tree without updates in flight is a valid
+ * AVL tree. Removing a value whose node has two children only turns the node into a routing node,
+ * which is unlinked as soon as it has at most one child.
+ *
+ * <p>{@link #snapshot()} takes O(1): it marks the root as shared by both trees, and a writer that
+ * wants to change something below a shared node first replaces it with a private copy whose
+ * children are in turn marked shared. Only the paths that are actually modified get copied.
+ */
+public class ConcurrentAVLTree {
+  /** Change version bit set while a rotation moves the node down. */
+  private static final long CHANGING = 1L;
+
+  /** Change version of a node that has been removed from the tree; it never changes again. */
+  private static final long UNLINKED = 2L;
+
+  /** Amount by which a completed rotation advances the change version. */
+  private static final long VERSION_STEP = 4L;
+
+  private static final int SPIN_TRIES = 100;
+
+  // Results of nodeCondition that are not a new height
+  private static final int UNLINK_REQUIRED = -1;
+  private static final int REBALANCE_REQUIRED = -2;
+  private static final int NOTHING_REQUIRED = -3;
+
+  /** Result of a search or update step; RETRY means the step read outdated links. */
+  private enum Outcome {
+    TRUE,
+    FALSE,
+    RETRY;
+
+    static Outcome of(boolean result) {
+      return result ? TRUE : FALSE;
+    }
+  }
+
+  /**
+   * Node of the tree. A node is shared with a snapshot while its parent link is null; shared
+   * nodes are never modified, only copied.
+   */
+  static final class Node {
+    final int key;
+    volatile boolean present;
+    volatile int height;
+    volatile long changeVersion;
+    volatile Node parent;
+    volatile Node left;
+    volatile Node right;
+
+    Node(int key, boolean present, int height, Node parent, Node left, Node right) {
+      this.key = key;
+      this.present = present;
+      this.height = height;
+      this.parent = parent;
+      this.left = left;
+      this.right = right;
+    }
+
+    Node child(boolean toLeft) {
+      return toLeft ? left : right;
+    }
+
+    void setChild(boolean toLeft, Node childNode) {
+      if (toLeft) {
+        left = childNode;
+      } else {
+        right = childNode;
+      }
+    }
+
+    /** Returns the child, first replacing it with a private copy if it is shared. */
+    Node unsharedChild(boolean toLeft) {
+      Node childNode = child(toLeft);
+      if (childNode == null || childNode.parent != null) {
+        return childNode;
+      }
+      copySharedChildren();
+      return child(toLeft);
+    }
+
+    Node unsharedLeft() {
+      return unsharedChild(true);
+    }
+
+    Node unsharedRight() {
+      return unsharedChild(false);
+    }
+
+    private synchronized void copySharedChildren() {
+      Node leftChild = left;
+      if (leftChild != null && leftChild.parent == null) {
+        left = leftChild.copyFor(this);
+      }
+      Node rightChild = right;
+      if (rightChild != null && rightChild.parent == null) {
+        right = rightChild.copyFor(this);
+      }
+    }
+
+    private Node copyFor(Node newParent) {
+      return new Node(key, present, height, newParent, markShared(left), markShared(right));
+    }
+
+    /** Waits without locking until the rotation that set the given version has finished. */
+    void waitUntilChangeCompleted(long readVersion) {
+      if ((readVersion & CHANGING) == 0) {
+        return;
+      }
+      for (int spinIdx = 0; spinIdx < SPIN_TRIES; spinIdx++) {
+        if (changeVersion != readVersion) {
+          return;
+        }
+        Thread.onSpinWait();
+      }
+      while (changeVersion == readVersion) {
+        Thread.yield();
+      }
+    }
+  }
+
+  /**
+   * Lets {@link #snapshot()} wait until no update is in progress. Each writer registers in one of
+   * several counters, picked by thread and a cache line apart, so writers do not contend here.
+   */
+  private static final class UpdateGate {
+    private static final int COUNTER_SPACING = 16;
+
+    private final int counterMask;
+    private final AtomicIntegerArray activeWriters;
+    private volatile boolean closed;
+
+    UpdateGate() {
+      int counterCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 1;
+      counterMask = counterCount - 1;
+      activeWriters = new AtomicIntegerArray(counterCount * COUNTER_SPACING);
+    }
+
+    /** Registers the calling writer, waiting while a snapshot is being taken. */
+    int enter() {
+      int counterIdx = ((int) Thread.currentThread().threadId() & counterMask) * COUNTER_SPACING;
+      while (true) {
+        activeWriters.incrementAndGet(counterIdx);
+        if (!closed) {
+          return counterIdx;
+        }
+        activeWriters.decrementAndGet(counterIdx);
+        while (closed) {
+          Thread.yield();
+        }
+      }
+    }
+
+    void exit(int counterIdx) {
+      activeWriters.decrementAndGet(counterIdx);
+    }
+
+    /** Keeps new writers out and waits for the registered ones to finish. */
+    void close() {
+      closed = true;
+      for (int counterIdx = 0; counterIdx < activeWriters.length(); counterIdx += COUNTER_SPACING) {
+        while (activeWriters.get(counterIdx) != 0) {
+          Thread.yield();
+        }
+      }
+    }
+
+    void open() {
+      closed = false;
+    }
+  }
+
+  /** Sentinel whose right child is the root; it is never shared, rotated or unlinked. */
+  private final Node rootHolder = new Node(0, false, 0, null, null, null);
+
+  private final LongAdder nodeCount = new LongAdder();
+  private final UpdateGate updateGate = new UpdateGate();
+
+  public ConcurrentAVLTree() {}
+
+  /** Creates a tree over the given shared root. */
+  private ConcurrentAVLTree(Node sharedRoot, long valueCount) {
+    rootHolder.right = sharedRoot;
+    nodeCount.add(valueCount);
+  }
+
+  /**
+   * Inserts a value into the tree.
+   *
+   * @param insertValue the value to insert
+   * @return true if inserted, false if duplicate
+   */
+  public boolean insert(int insertValue) {
+    int gateCounter = updateGate.enter();
+    try {
+      return update(insertValue, true);
+    } finally {
+      updateGate.exit(gateCounter);
+    }
+  }
+
+  /**
+   * Removes a value from the tree.
+   *
+   * @param removeValue the value to remove
+   * @return true if removed, false if not present
+   */
+  public boolean remove(int removeValue) {
+    int gateCounter = updateGate.enter();
+    try {
+      return update(removeValue, false);
+    } finally {
+      updateGate.exit(gateCounter);
+    }
+  }
+
+  /**
+   * Checks whether a value is stored in the tree. Takes no locks and does not wait for writers.
+   *
+   * @param searchValue the value to look for
+   * @return true if present
+   */
+  public boolean contains(int searchValue) {
+    while (true) {
+      Node rootNode = rootHolder.right;
+      if (rootNode == null) {
+        return false;
+      }
+      if (searchValue == rootNode.key) {
+        return rootNode.present;
+      }
+      long rootVersion = rootNode.changeVersion;
+      if (isChangingOrUnlinked(rootVersion)) {
+        rootNode.waitUntilChangeCompleted(rootVersion);
+      } else if (rootNode == rootHolder.right) {
+        Outcome searchOutcome =
+            attemptContains(searchValue, rootNode, searchValue < rootNode.key, rootVersion);
+        if (searchOutcome != Outcome.RETRY) {
+          return searchOutcome == Outcome.TRUE;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of values. Exact while no update is in progress; concurrent updates may or
+   * may not be counted yet.
+   */
+  public int size() {
+    return (int) nodeCount.sum();
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Returns an independent copy of the tree in O(1). Both trees share all nodes until one of them
+   * changes a path, which is then copied lazily. Taking the snapshot waits for updates that are
+   * already in progress and briefly holds back new ones; readers are not affected.
+   *
+   * @return a tree with the current values that later updates of this tree do not change
+   */
+  public ConcurrentAVLTree snapshot() {
+    synchronized (updateGate) {
+      updateGate.close();
+      try {
+        return new ConcurrentAVLTree(markShared(rootHolder.right), nodeCount.sum());
+      } finally {
+        updateGate.open();
+      }
+    }
+  }
+
+  /**
+   * Traverses a snapshot of the tree, so the result is consistent even while other threads keep
+   * writing. Routing nodes left behind by removals are skipped.
+   *
+   * @param traversalOrder the traversal order
+   * @return array of integers in the traversal order
+   */
+  public int[] traverse(TraversalOrder traversalOrder) {
+    ConcurrentAVLTree frozenTree = snapshot();
+    return collectValues(frozenTree.rootHolder.right, frozenTree.size(), traversalOrder);
+  }
+
+  /**
+   * Traverses a snapshot of the tree.
+   *
+   * @param traversalMethod traversal order: "preorder", "inorder", "postorder", or "levelorder"
+   * @return array of integers in the traversal order
+   */
+  public int[] traverse(String traversalMethod) {
+    return traverse(TraversalOrder.fromName(traversalMethod));
+  }
+
+  /**
+   * Returns an iterator over a snapshot of the tree, taken when this method is called.
+   *
+   * @param traversalOrder the traversal order
+   * @return iterator yielding the values in the traversal order
+   */
+  public PrimitiveIterator.OfInt iterator(TraversalOrder traversalOrder) {
+    return Arrays.stream(traverse(traversalOrder)).iterator();
+  }
+
+  /** Returns the root node; only meaningful while no update is in progress. */
+  Node getRootNode() {
+    return rootHolder.right;
+  }
+
+  // ---------------------------------------------------------------------------------------------
+  // Search
+
+  /** Searches below a node whose change version was read as nodeVersion. */
+  private static Outcome attemptContains(
+      int searchValue, Node currentNode, boolean toLeft, long nodeVersion) {
+    while (true) {
+      Node childNode = currentNode.child(toLeft);
+      if (childNode == null) {
+        return (currentNode.changeVersion != nodeVersion) ? Outcome.RETRY : Outcome.FALSE;
+      }
+      if (searchValue == childNode.key) {
+        // Unlinking clears present first, so a node that is still present is in the tree
+        return Outcome.of(childNode.present);
+      }
+      long childVersion = childNode.changeVersion;
+      if (isChangingOrUnlinked(childVersion)) {
+        childNode.waitUntilChangeCompleted(childVersion);
+        if (currentNode.changeVersion != nodeVersion) {
+          return Outcome.RETRY;
+        }
+      } else if (childNode != currentNode.child(toLeft)) {
+        if (currentNode.changeVersion != nodeVersion) {
+          return Outcome.RETRY;
+        }
+      } else {
+        // The step to childNode was valid if currentNode has not been moved down meanwhile
+        if (currentNode.changeVersion != nodeVersion) {
+          return Outcome.RETRY;
+        }
+        Outcome searchOutcome =
+            attemptContains(searchValue, childNode, searchValue < childNode.key, childVersion);
+        if (searchOutcome != Outcome.RETRY) {
+          return searchOutcome;
+        }
+      }
+    }
+  }
+
+  // ---------------------------------------------------------------------------------------------
+  // Update
+
+  private boolean update(int updateValue, boolean inserting) {
+    while (true) {
+      Node rootNode = rootHolder.unsharedRight();
+      if (rootNode == null) {
+        if (!inserting) {
+          return false;
+        }
+        synchronized (rootHolder) {
+          if (rootHolder.right == null) {
+            rootHolder.right = new Node(updateValue, true, 1, rootHolder, null, null);
+            nodeCount.increment();
+            return true;
+          }
+        }
+      } else {
+        long rootVersion = rootNode.changeVersion;
+        if (isChangingOrUnlinked(rootVersion)) {
+          rootNode.waitUntilChangeCompleted(rootVersion);
+        } else if (rootNode == rootHolder.right) {
+          Outcome updateOutcome =
+              attemptUpdate(updateValue, inserting, rootHolder, rootNode, rootVersion);
+          if (updateOutcome != Outcome.RETRY) {
+            return updateOutcome == Outcome.TRUE;
+          }
+        }
+      }
+    }
+  }
+
+  /** Inserts or removes below currentNode, whose change version was read as nodeVersion. */
+  private Outcome attemptUpdate(
+      int updateValue, boolean inserting, Node parentNode, Node currentNode, long nodeVersion) {
+    if (updateValue == currentNode.key) {
+      return attemptNodeUpdate(inserting, parentNode, currentNode);
+    }
+    boolean toLeft = updateValue < currentNode.key;
+    while (true) {
+      Node childNode = currentNode.unsharedChild(toLeft);
+      if (currentNode.changeVersion != nodeVersion) {
+        return Outcome.RETRY;
+      }
+      if (childNode == null) {
+        if (!inserting) {
+          return Outcome.FALSE;
+        }
+        Node damagedNode;
+        synchronized (currentNode) {
+          // Holding the lock, no rotation can move currentNode down any more
+          if (currentNode.changeVersion != nodeVersion) {
+            return Outcome.RETRY;
+          }
+          if (currentNode.child(toLeft) != null) {
+            // Lost against a concurrent insert at the same place: search on from currentNode
+            continue;
+          }
+          currentNode.setChild(toLeft, new Node(updateValue, true, 1, currentNode, null, null));
+          damagedNode = fixHeight(currentNode);
+        }
+        nodeCount.increment();
+        fixHeightAndRebalance(damagedNode);
+        return Outcome.TRUE;
+      }
+      long childVersion = childNode.changeVersion;
+      if (isChangingOrUnlinked(childVersion)) {
+        childNode.waitUntilChangeCompleted(childVersion);
+      } else if (childNode == currentNode.child(toLeft)) {
+        if (currentNode.changeVersion != nodeVersion) {
+          return Outcome.RETRY;
+        }
+        Outcome updateOutcome =
+            attemptUpdate(updateValue, inserting, currentNode, childNode, childVersion);
+        if (updateOutcome != Outcome.RETRY) {
+          return updateOutcome;
+        }
+      }
+    }
+  }
+
+  /** Inserts or removes the value of a node that has the searched key. */
+  private Outcome attemptNodeUpdate(boolean inserting, Node parentNode, Node currentNode) {
+    if (inserting) {
+      if (currentNode.present) {
+        return Outcome.FALSE;
+      }
+      synchronized (currentNode) {
+        if (currentNode.changeVersion == UNLINKED) {
+          return Outcome.RETRY;
+        }
+        if (currentNode.present) {
+          return Outcome.FALSE;
+        }
+        currentNode.present = true;
+      }
+      nodeCount.increment();
+      return Outcome.TRUE;
+    }
+
+    if (!currentNode.present) {
+      return Outcome.FALSE;
+    }
+    if (currentNode.left == null || currentNode.right == null) {
+      // At most one child: unlink the node, which needs the parent's lock as well
+      Node damagedNode;
+      synchronized (parentNode) {
+        if (parentNode.changeVersion == UNLINKED || currentNode.parent != parentNode) {
+          return Outcome.RETRY;
+        }
+        synchronized (currentNode) {
+          if (!currentNode.present) {
+            return Outcome.FALSE;
+          }
+          if (!attemptUnlink(parentNode, currentNode)) {
+            return Outcome.RETRY;
+          }
+        }
+        damagedNode = fixHeight(parentNode);
+      }
+      nodeCount.decrement();
+      fixHeightAndRebalance(damagedNode);
+      return Outcome.TRUE;
+    }
+    synchronized (currentNode) {
+      if (currentNode.changeVersion == UNLINKED) {
+        return Outcome.RETRY;
+      }
+      if (!currentNode.present) {
+        return Outcome.FALSE;
+      }
+      if (currentNode.left == null || currentNode.right == null) {
+        // A child went away meanwhile, so the node can be unlinked after all
+        return Outcome.RETRY;
+      }
+      // Two children: keep the node for routing
+      currentNode.present = false;
+    }
+    nodeCount.decrement();
+    return Outcome.TRUE;
+  }
+
+  /** Splices out a node with at most one child; both nodes are locked by the caller. */
+  private static boolean attemptUnlink(Node parentNode, Node unlinkNode) {
+    Node parentLeft = parentNode.left;
+    if (parentLeft != unlinkNode && parentNode.right != unlinkNode) {
+      return false;
+    }
+    Node leftChild = unlinkNode.unsharedLeft();
+    Node rightChild = unlinkNode.unsharedRight();
+    if (leftChild != null && rightChild != null) {
+      return false;
+    }
+    Node spliceNode = (leftChild != null) ? leftChild : rightChild;
+    // Cleared before the splice, so no reader finds the value in a node no longer in the tree
+    unlinkNode.present = false;
+    parentNode.setChild(parentLeft == unlinkNode, spliceNode);
+    if (spliceNode != null) {
+      spliceNode.parent = parentNode;
+    }
+    unlinkNode.changeVersion = UNLINKED;
+    return true;
+  }
+
+  // ---------------------------------------------------------------------------------------------
+  // Repair
+
+  /**
+   * Classifies a node from one unsynchronized read of its links and heights. A writer that changes
+   * the node afterwards repairs it itself, so a stale read never leaves damage unrepaired.
+   *
+   * @return UNLINK_REQUIRED, REBALANCE_REQUIRED, NOTHING_REQUIRED or the corrected height
+   */
+  private static int nodeCondition(Node checkNode) {
+    Node leftChild = checkNode.left;
+    Node rightChild = checkNode.right;
+    if ((leftChild == null || rightChild == null) && !checkNode.present) {
+      return UNLINK_REQUIRED;
+    }
+    int nodeHeight = checkNode.height;
+    int leftHeight = height(leftChild);
+    int rightHeight = height(rightChild);
+    int balanceFactor = leftHeight - rightHeight;
+    if (balanceFactor < -1 || balanceFactor > 1) {
+      return REBALANCE_REQUIRED;
+    }
+    int correctHeight = 1 + Math.max(leftHeight, rightHeight);
+    return (nodeHeight != correctHeight) ? correctHeight : NOTHING_REQUIRED;
+  }
+
+  /**
+   * Corrects the height of a locked node if that is all it needs.
+   *
+   * @return the next node to repair, or null if nothing is left to do
+   */
+  private static Node fixHeight(Node damagedNode) {
+    int condition = nodeCondition(damagedNode);
+    switch (condition) {
+      case UNLINK_REQUIRED:
+      case REBALANCE_REQUIRED:
+        return damagedNode;
+      case NOTHING_REQUIRED:
+        return null;
+      default:
+        damagedNode.height = condition;
+        return damagedNode.parent;
+    }
+  }
+
+  /**
+   * Repairs heights, routing nodes and balance from a damaged node up towards the root. A rotation
+   * damages several nodes at once; it hands back the deepest and leaves the others in pendingNodes,
+   * which are checked once the repair chain of the deepest one has ended.
+   */
+  private static void fixHeightAndRebalance(Node damagedNode) {
+    ArrayDeque<Node> pendingNodes = null;
+    while (true) {
+      if (damagedNode == null
+          || damagedNode.parent == null
+          || damagedNode.changeVersion == UNLINKED) {
+        if (pendingNodes == null || pendingNodes.isEmpty()) {
+          return;
+        }
+        damagedNode = pendingNodes.pop();
+        continue;
+      }
+      int condition = nodeCondition(damagedNode);
+      if (condition == NOTHING_REQUIRED) {
+        damagedNode = null;
+      } else if (condition != UNLINK_REQUIRED && condition != REBALANCE_REQUIRED) {
+        synchronized (damagedNode) {
+          damagedNode = fixHeight(damagedNode);
+        }
+      } else {
+        if (pendingNodes == null) {
+          pendingNodes = new ArrayDeque<>();
+        }
+        Node parentNode = damagedNode.parent;
+        synchronized (parentNode) {
+          if (parentNode.changeVersion != UNLINKED && damagedNode.parent == parentNode) {
+            synchronized (damagedNode) {
+              damagedNode = rebalance(parentNode, damagedNode, pendingNodes);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Unlinks a routing node or rotates; parent and node are locked by the caller.
+   *
+   * @return the next node to repair, or null if nothing is left to do
+   */
+  private static Node rebalance(Node parentNode, Node damagedNode, ArrayDeque<Node> pendingNodes) {
+    Node leftChild = damagedNode.unsharedLeft();
+    Node rightChild = damagedNode.unsharedRight();
+    if ((leftChild == null || rightChild == null) && !damagedNode.present) {
+      return attemptUnlink(parentNode, damagedNode) ? fixHeight(parentNode) : damagedNode;
+    }
+
+    int nodeHeight = damagedNode.height;
+    int leftHeight = height(leftChild);
+    int rightHeight = height(rightChild);
+    int balanceFactor = leftHeight - rightHeight;
+    if (balanceFactor > 1) {
+      return rebalanceToRight(parentNode, damagedNode, leftChild, rightHeight, pendingNodes);
+    }
+    if (balanceFactor < -1) {
+      return rebalanceToLeft(parentNode, damagedNode, rightChild, leftHeight, pendingNodes);
+    }
+    int correctHeight = 1 + Math.max(leftHeight, rightHeight);
+    if (correctHeight != nodeHeight) {
+      damagedNode.height = correctHeight;
+      return fixHeight(parentNode);
+    }
+    return null;
+  }
+
+  /** Left subtree too high: rotates right, first rotating the left child left if needed. */
+  private static Node rebalanceToRight(
+      Node parentNode,
+      Node damagedNode,
+      Node leftChild,
+      int rightHeight,
+      ArrayDeque<Node> pendingNodes) {
+    synchronized (leftChild) {
+      if (leftChild.height - rightHeight <= 1) {
+        return damagedNode;
+      }
+      Node leftRight = leftChild.unsharedRight();
+      int leftLeftHeight = height(leftChild.left);
+      int leftRightHeight = height(leftRight);
+      if (leftLeftHeight >= leftRightHeight) {
+        rotateRight(parentNode, damagedNode, leftChild, leftRight);
+        return damagedAfterRotation(parentNode, leftChild, damagedNode, pendingNodes);
+      }
+      synchronized (leftRight) {
+        // The height read before locking may have been outdated
+        if (leftLeftHeight >= leftRight.height) {
+          rotateRight(parentNode, damagedNode, leftChild, leftRight);
+          return damagedAfterRotation(parentNode, leftChild, damagedNode, pendingNodes);
+        }
+        // Rotating twice at once would leave leftChild unbalanced only if heights read
+        // concurrently were outdated; then repair leftChild first and damagedNode afterwards
+        int leftBalance = leftLeftHeight - height(leftRight.left);
+        if (leftBalance >= -1 && leftBalance <= 1) {
+          rotateRightOverLeft(parentNode, damagedNode, leftChild, leftRight);
+          pendingNodes.push(parentNode);
+          pendingNodes.push(leftRight);
+          pendingNodes.push(leftChild);
+          return damagedNode;
+        }
+      }
+      pendingNodes.push(damagedNode);
+      return rebalanceToLeft(damagedNode, leftChild, leftRight, leftLeftHeight, pendingNodes);
+    }
+  }
+
+  /** Right subtree too high: rotates left, first rotating the right child right if needed. */
+  private static Node rebalanceToLeft(
+      Node parentNode,
+      Node damagedNode,
+      Node rightChild,
+      int leftHeight,
+      ArrayDeque<Node> pendingNodes) {
+    synchronized (rightChild) {
+      if (leftHeight - rightChild.height >= -1) {
+        return damagedNode;
+      }
+      Node rightLeft = rightChild.unsharedLeft();
+      int rightLeftHeight = height(rightLeft);
+      int rightRightHeight = height(rightChild.right);
+      if (rightRightHeight >= rightLeftHeight) {
+        rotateLeft(parentNode, damagedNode, rightChild, rightLeft);
+        return damagedAfterRotation(parentNode, rightChild, damagedNode, pendingNodes);
+      }
+      synchronized (rightLeft) {
+        if (rightRightHeight >= rightLeft.height) {
+          rotateLeft(parentNode, damagedNode, rightChild, rightLeft);
+          return damagedAfterRotation(parentNode, rightChild, damagedNode, pendingNodes);
+        }
+        int rightBalance = rightRightHeight - height(rightLeft.right);
+        if (rightBalance >= -1 && rightBalance <= 1) {
+          rotateLeftOverRight(parentNode, damagedNode, rightChild, rightLeft);
+          pendingNodes.push(parentNode);
+          pendingNodes.push(rightLeft);
+          pendingNodes.push(rightChild);
+          return damagedNode;
+        }
+      }
+      pendingNodes.push(damagedNode);
+      return rebalanceToRight(damagedNode, rightChild, rightLeft, rightRightHeight, pendingNodes);
+    }
+  }
+
+  /**
+   * After a single rotation the node moved down may still be unbalanced or a removable routing
+   * node, and the heights of the new subtree root and of the parent may be stale.
+   *
+   * @return the node moved down; the others are left in pendingNodes
+   */
+  private static Node damagedAfterRotation(
+      Node parentNode, Node raisedNode, Node loweredNode, ArrayDeque<Node> pendingNodes) {
+    pendingNodes.push(parentNode);
+    pendingNodes.push(raisedNode);
+    return loweredNode;
+  }
+
+  /** Makes leftChild the subtree root in place of damagedNode; all four nodes are locked. */
+  private static void rotateRight(
+      Node parentNode, Node damagedNode, Node leftChild, Node leftRight) {
+    long nodeVersion = damagedNode.changeVersion;
+    damagedNode.changeVersion = nodeVersion | CHANGING;
+
+    boolean wasLeftChild = parentNode.left == damagedNode;
+    damagedNode.left = leftRight;
+    if (leftRight != null) {
+      leftRight.parent = damagedNode;
+    }
+    leftChild.right = damagedNode;
+    damagedNode.parent = leftChild;
+    parentNode.setChild(wasLeftChild, leftChild);
+    leftChild.parent = parentNode;
+
+    int nodeHeight = 1 + Math.max(height(leftRight), height(damagedNode.right));
+    damagedNode.height = nodeHeight;
+    leftChild.height = 1 + Math.max(height(leftChild.left), nodeHeight);
+
+    damagedNode.changeVersion = nodeVersion + VERSION_STEP;
+  }
+
+  /** Makes rightChild the subtree root in place of damagedNode; all four nodes are locked. */
+  private static void rotateLeft(
+      Node parentNode, Node damagedNode, Node rightChild, Node rightLeft) {
+    long nodeVersion = damagedNode.changeVersion;
+    damagedNode.changeVersion = nodeVersion | CHANGING;
+
+    boolean wasLeftChild = parentNode.left == damagedNode;
+    damagedNode.right = rightLeft;
+    if (rightLeft != null) {
+      rightLeft.parent = damagedNode;
+    }
+    rightChild.left = damagedNode;
+    damagedNode.parent = rightChild;
+    parentNode.setChild(wasLeftChild, rightChild);
+    rightChild.parent = parentNode;
+
+    int nodeHeight = 1 + Math.max(height(damagedNode.left), height(rightLeft));
+    damagedNode.height = nodeHeight;
+    rightChild.height = 1 + Math.max(nodeHeight, height(rightChild.right));
+
+    damagedNode.changeVersion = nodeVersion + VERSION_STEP;
+  }
+
+  /**
+   * Makes leftRight the subtree root with leftChild and damagedNode as its children; all five nodes
+   * are locked. Both nodes that move down are marked as changing.
+   */
+  private static void rotateRightOverLeft(
+      Node parentNode, Node damagedNode, Node leftChild, Node leftRight) {
+    long nodeVersion = damagedNode.changeVersion;
+    long leftVersion = leftChild.changeVersion;
+    boolean wasLeftChild = parentNode.left == damagedNode;
+    Node leftRightLeft = leftRight.unsharedLeft();
+    Node leftRightRight = leftRight.unsharedRight();
+
+    damagedNode.changeVersion = nodeVersion | CHANGING;
+    leftChild.changeVersion = leftVersion | CHANGING;
+
+    // Both halves of leftRight move first, so readers at leftRight never miss a subtree
+    damagedNode.left = leftRightRight;
+    if (leftRightRight != null) {
+      leftRightRight.parent = damagedNode;
+    }
+    leftChild.right = leftRightLeft;
+    if (leftRightLeft != null) {
+      leftRightLeft.parent = leftChild;
+    }
+    leftRight.left = leftChild;
+    leftChild.parent = leftRight;
+    leftRight.right = damagedNode;
+    damagedNode.parent = leftRight;
+    parentNode.setChild(wasLeftChild, leftRight);
+    leftRight.parent = parentNode;
+
+    int nodeHeight = 1 + Math.max(height(leftRightRight), height(damagedNode.right));
+    damagedNode.height = nodeHeight;
+    int leftNodeHeight = 1 + Math.max(height(leftChild.left), height(leftRightLeft));
+    leftChild.height = leftNodeHeight;
+    leftRight.height = 1 + Math.max(leftNodeHeight, nodeHeight);
+
+    damagedNode.changeVersion = nodeVersion + VERSION_STEP;
+    leftChild.changeVersion = leftVersion + VERSION_STEP;
+  }
+
+  /**
+   * Makes rightLeft the subtree root with damagedNode and rightChild as its children; all five
+   * nodes are locked. Both nodes that move down are marked as changing.
+   */
+  private static void rotateLeftOverRight(
+      Node parentNode, Node damagedNode, Node rightChild, Node rightLeft) {
+    long nodeVersion = damagedNode.changeVersion;
+    long rightVersion = rightChild.changeVersion;
+    boolean wasLeftChild = parentNode.left == damagedNode;
+    Node rightLeftLeft = rightLeft.unsharedLeft();
+    Node rightLeftRight = rightLeft.unsharedRight();
+
+    damagedNode.changeVersion = nodeVersion | CHANGING;
+    rightChild.changeVersion = rightVersion | CHANGING;
+
+    damagedNode.right = rightLeftLeft;
+    if (rightLeftLeft != null) {
+      rightLeftLeft.parent = damagedNode;
+    }
+    rightChild.left = rightLeftRight;
+    if (rightLeftRight != null) {
+      rightLeftRight.parent = rightChild;
+    }
+    rightLeft.right = rightChild;
+    rightChild.parent = rightLeft;
+    rightLeft.left = damagedNode;
+    damagedNode.parent = rightLeft;
+    parentNode.setChild(wasLeftChild, rightLeft);
+    rightLeft.parent = parentNode;
+
+    int nodeHeight = 1 + Math.max(height(damagedNode.left), height(rightLeftLeft));
+    damagedNode.height = nodeHeight;
+    int rightNodeHeight = 1 + Math.max(height(rightLeftRight), height(rightChild.right));
+    rightChild.height = rightNodeHeight;
+    rightLeft.height = 1 + Math.max(nodeHeight, rightNodeHeight);
+
+    damagedNode.changeVersion = nodeVersion + VERSION_STEP;
+    rightChild.changeVersion = rightVersion + VERSION_STEP;
+  }
+
+  // ---------------------------------------------------------------------------------------------
+  // Helpers
+
+  private static int height(Node heightNode) {
+    return (heightNode == null) ? 0 : heightNode.height;
+  }
+
+  private static boolean isChangingOrUnlinked(long changeVersion) {
+    return (changeVersion & (CHANGING | UNLINKED)) != 0;
+  }
+
+  private static Node markShared(Node sharedNode) {
+    if (sharedNode != null) {
+      sharedNode.parent = null;
+    }
+    return sharedNode;
+  }
+
+  /**
+   * Collects the present values below a root that no writer changes any more.
+   *
+   * @param valueCount the number of present values below the root
+   */
+  private static int[] collectValues(Node rootNode, int valueCount, TraversalOrder traversalOrder) {
+    int[] traversalResult = new int[valueCount];
+    if (rootNode == null) {
+      return traversalResult;
+    }
+    int resultIdx = 0;
+    ArrayDeque<Node> pendingNodes = new ArrayDeque<>();
+    switch (traversalOrder) {
+      case PREORDER -> {
+        pendingNodes.push(rootNode);
+        while (!pendingNodes.isEmpty()) {
+          Node visitedNode = pendingNodes.pop();
+          if (visitedNode.present) {
+            traversalResult[resultIdx++] = visitedNode.key;
+          }
+          pushIfNotNull(pendingNodes, visitedNode.right);
+          pushIfNotNull(pendingNodes, visitedNode.left);
+        }
+      }
+      case INORDER -> {
+        Node visitedNode = rootNode;
+        while (visitedNode != null || !pendingNodes.isEmpty()) {
+          while (visitedNode != null) {
+            pendingNodes.push(visitedNode);
+            visitedNode = visitedNode.left;
+          }
+          visitedNode = pendingNodes.pop();
+          if (visitedNode.present) {
+            traversalResult[resultIdx++] = visitedNode.key;
+          }
+          visitedNode = visitedNode.right;
+        }
+      }
+      case POSTORDER -> {
+        // Node, right, left, written from the back, gives left, right, node
+        resultIdx = valueCount;
+        pendingNodes.push(rootNode);
+        while (!pendingNodes.isEmpty()) {
+          Node visitedNode = pendingNodes.pop();
+          if (visitedNode.present) {
+            traversalResult[--resultIdx] = visitedNode.key;
+          }
+          pushIfNotNull(pendingNodes, visitedNode.left);
+          pushIfNotNull(pendingNodes, visitedNode.right);
+        }
+      }
+      case LEVELORDER -> {
+        pendingNodes.add(rootNode);
+        while (!pendingNodes.isEmpty()) {
+          Node visitedNode = pendingNodes.poll();
+          if (visitedNode.present) {
+            traversalResult[resultIdx++] = visitedNode.key;
+          }
+          if (visitedNode.left != null) {
+            pendingNodes.add(visitedNode.left);
+          }
+          if (visitedNode.right != null) {
+            pendingNodes.add(visitedNode.right);
+          }
+        }
+      }
+    }
+    return traversalResult;
+  }
+
+  private static void pushIfNotNull(ArrayDeque<Node> pendingNodes, Node childNode) {
+    if (childNode != null) {
+      pendingNodes.push(childNode);
+    }
+  }
+}
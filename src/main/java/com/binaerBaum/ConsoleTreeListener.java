@@ -0,0 +1,59 @@
+package com.binaerBaum;
+
+/** Explains every insertion and rotation step on the console (in German). */
+public class ConsoleTreeListener implements AVLTreeListener {
+
+  @Override
+  public void onInsert(int insertedValue, AVLNode parentNode) {
+    if (parentNode == null) {
+      System.out.println("Einfügen: " + insertedValue + " (Wurzel)");
+    } else if (insertedValue < parentNode.value) {
+      System.out.println("Einfügen: " + insertedValue + " (links von " + parentNode.value + ")");
+    } else {
+      System.out.println("Einfügen: " + insertedValue + " (rechts von " + parentNode.value + ")");
+    }
+  }
+
+  @Override
+  public void onDuplicate(int duplicateValue) {
+    System.out.println(
+        "Einfügen: " + duplicateValue + " - Zahl bereits vorhanden, wird übersprungen");
+  }
+
+  @Override
+  public void onRemove(int removedValue) {
+    System.out.println("Entfernen: " + removedValue);
+  }
+
+  @Override
+  public void onBalanceCheck(int nodeValue, int balanceFactor, Imbalance imbalance) {
+    System.out.println(
+        "AVL-Prüfung für Knoten " + nodeValue + ": Balance-Faktor = " + balanceFactor);
+
+    if (imbalance == null) {
+      System.out.println("  → Balance OK (keine Rotation erforderlich)");
+      return;
+    }
+
+    switch (imbalance) {
+      case LEFT_LEFT:
+        System.out.println("  → Rechts-Rotation erforderlich (Links-Links-Fall)");
+        break;
+      case LEFT_RIGHT:
+        System.out.println("  → Links-Rechts-Rotation erforderlich (Links-Rechts-Fall)");
+        break;
+      case RIGHT_RIGHT:
+        System.out.println("  → Links-Rotation erforderlich (Rechts-Rechts-Fall)");
+        break;
+      case RIGHT_LEFT:
+        System.out.println("  → Rechts-Links-Rotation erforderlich (Rechts-Links-Fall)");
+        break;
+    }
+  }
+
+  @Override
+  public void onRotation(Rotation rotation, int pivotValue) {
+    String rotationName = (rotation == Rotation.LEFT) ? "Links-Rotation" : "Rechts-Rotation";
+    System.out.println("    Rotation durchgeführt: " + rotationName + " um " + pivotValue);
+  }
+}
@@ -0,0 +1,177 @@
+package com.binaerBaum;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * AVL tree whose mutations survive a restart. The directory holds a snapshot ({@link
+ * TreeSnapshot}) and a write-ahead log of every insert and remove since that snapshot. Opening
+ * the directory maps the snapshot, rebuilds the tree from it and replays the log on top.
+ *
+ * <p>Every mutation is appended to the log before it is applied to the tree, so a failed write
+ * leaves the tree unchanged. After a failed write or fsync the log refuses all further mutations
+ * (retrying an fsync can report success for data that never reached the disk); the directory must
+ * be opened again to continue from the durable state.
+ *
+ * <p>The log is group-committed: a mutation is durable once the next fsync has run, which happens
+ * after every {@code syncEveryOperations} mutations and on {@link #sync()} and {@link #close()}. A
+ * crash therefore loses at most the last {@code syncEveryOperations - 1} unsynced mutations. After
+ * {@code compactEveryOperations} mutations the tree is written as a new snapshot and the log is
+ * emptied, which keeps both the log and the next recovery short. The compaction runs synchronously
+ * in the insert or remove that reaches the threshold, so that one call also pays for writing all n
+ * values; callers that cannot afford this latency pass {@link Integer#MAX_VALUE} and call {@link
+ * #compact()} themselves at a convenient time.
+ *
+ * <p>Replaying a log over a snapshot that already contains its effects gives the same tree, so a
+ * crash in the middle of a compaction is harmless.
+ */
+public class DurableAVLTree implements AutoCloseable {
+  static final String SNAPSHOT_FILE = "tree.snapshot";
+  static final String LOG_FILE = "tree.wal";
+
+  private final Path snapshotPath;
+  private final AVLTree avlTree;
+  private final WriteAheadLog writeAheadLog;
+  private final int compactEveryOperations;
+  private int operationsSinceSnapshot;
+
+  private DurableAVLTree(
+      Path snapshotPath, AVLTree avlTree, WriteAheadLog writeAheadLog, int compactEveryOperations) {
+    this.snapshotPath = snapshotPath;
+    this.avlTree = avlTree;
+    this.writeAheadLog = writeAheadLog;
+    this.compactEveryOperations = compactEveryOperations;
+  }
+
+  /**
+   * Opens (or creates) a durable tree in the given directory and recovers its last durable state.
+   *
+   * @param treeDirectory directory for snapshot and log; created if missing
+   * @param syncEveryOperations number of mutations per fsync of the log
+   * @param compactEveryOperations number of logged mutations after which a new snapshot is written
+   * @return the recovered tree
+   * @throws IOException if the files cannot be read or created
+   */
+  public static DurableAVLTree open(
+      Path treeDirectory, int syncEveryOperations, int compactEveryOperations)
+      throws IOException {
+    if (compactEveryOperations < 1) {
+      throw new IllegalArgumentException(
+          "compactEveryOperations muss mindestens 1 sein: " + compactEveryOperations);
+    }
+    Files.createDirectories(treeDirectory);
+    Path snapshotPath = treeDirectory.resolve(SNAPSHOT_FILE);
+    Path logPath = treeDirectory.resolve(LOG_FILE);
+
+    AVLTree recoveredTree =
+        Files.exists(snapshotPath) ? TreeSnapshot.open(snapshotPath).toAVLTree() : new AVLTree();
+
+    long validLogBytes =
+        WriteAheadLog.replay(
+            logPath,
+            (operation, value) -> {
+              if (operation == WriteAheadLog.INSERT) {
+                recoveredTree.insert(value);
+              } else {
+                recoveredTree.remove(value);
+              }
+            });
+
+    WriteAheadLog writeAheadLog = new WriteAheadLog(logPath, validLogBytes, syncEveryOperations);
+    DurableAVLTree durableTree =
+        new DurableAVLTree(snapshotPath, recoveredTree, writeAheadLog, compactEveryOperations);
+    durableTree.operationsSinceSnapshot = (int) (validLogBytes / WriteAheadLog.RECORD_BYTES);
+    return durableTree;
+  }
+
+  /**
+   * Logs an insertion and then inserts the value.
+   *
+   * @param insertValue the value to insert
+   * @return true if inserted, false if duplicate (duplicates are not logged)
+   * @throws IOException if the log cannot be written (the tree is unchanged then) or the
+   *     compaction triggered by this insertion fails (the insertion is logged then)
+   */
+  public boolean insert(int insertValue) throws IOException {
+    if (avlTree.contains(insertValue)) {
+      return false;
+    }
+    writeAheadLog.append(WriteAheadLog.INSERT, insertValue);
+    avlTree.insert(insertValue);
+    compactIfDue();
+    return true;
+  }
+
+  /**
+   * Logs a removal and then removes the value.
+   *
+   * @param removeValue the value to remove
+   * @return true if removed, false if not present (nothing is logged then)
+   * @throws IOException if the log cannot be written (the tree is unchanged then) or the
+   *     compaction triggered by this removal fails (the removal is logged then)
+   */
+  public boolean remove(int removeValue) throws IOException {
+    if (!avlTree.contains(removeValue)) {
+      return false;
+    }
+    writeAheadLog.append(WriteAheadLog.REMOVE, removeValue);
+    avlTree.remove(removeValue);
+    compactIfDue();
+    return true;
+  }
+
+  public boolean contains(int searchValue) {
+    return avlTree.contains(searchValue);
+  }
+
+  public int size() {
+    return avlTree.size();
+  }
+
+  /**
+   * Traverses the current state of the tree.
+   *
+   * @param traversalMethod traversal order: "preorder", "inorder", "postorder", or "levelorder"
+   * @return array of integers in the traversal order
+   */
+  public int[] traverse(String traversalMethod) {
+    return Traversal.traverse(avlTree, traversalMethod);
+  }
+
+  /**
+   * Makes all mutations so far durable.
+   *
+   * @throws IOException if the log cannot be synced
+   */
+  public void sync() throws IOException {
+    writeAheadLog.sync();
+  }
+
+  /**
+   * Writes the current tree as the new snapshot and empties the log. {@link TreeSnapshot#write}
+   * replaces the snapshot atomically, so a valid snapshot exists at every moment, and syncs the
+   * directory before the log is emptied; otherwise a crash could keep the old snapshot next to an
+   * empty log.
+   *
+   * @throws IOException if the snapshot cannot be written
+   */
+  public void compact() throws IOException {
+    writeAheadLog.sync();
+    TreeSnapshot.write(avlTree, snapshotPath);
+    writeAheadLog.truncate();
+    operationsSinceSnapshot = 0;
+  }
+
+  /** Syncs the log and closes it. */
+  @Override
+  public void close() throws IOException {
+    writeAheadLog.close();
+  }
+
+  private void compactIfDue() throws IOException {
+    if (++operationsSinceSnapshot >= compactEveryOperations) {
+      compact();
+    }
+  }
+}
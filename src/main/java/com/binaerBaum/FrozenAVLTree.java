@@ -0,0 +1,319 @@
+package com.binaerBaum;
+
+import java.util.OptionalInt;
+
+/**
+ * Immutable, read-optimised copy of an {@link AVLTree}, created with {@link AVLTree#freeze()}. The
+ * values are stored in one int array in Eytzinger (breadth-first) order: the children of index k
+ * are 2k and 2k + 1, so a search needs no pointers and the top levels of every search share the
+ * same few cache lines.
+ *
+ * <p>Searches are branch-free: each step moves to {@code 2k} or {@code 2k + 1} depending on one
+ * comparison, which the JIT compiles to a conditional move, and the result is recovered from the
+ * bits of the final index. In-order navigation walks the implicit tree, so {@link #inorder()}
+ * returns exactly what {@code Traversal.traverse(tree, "inorder")} returned for the source tree.
+ */
+public final class FrozenAVLTree {
+  /** Index 0 is unused so that the root is 1 and the child arithmetic stays 2k / 2k + 1. */
+  private static final int ROOT_INDEX = 1;
+
+  /** Largest size for which the child index 2k + 1 of every stored index still fits an int. */
+  static final int MAX_VALUE_COUNT = (Integer.MAX_VALUE >> 1) - 1;
+
+  private final int[] eytzingerValues;
+  private final int valueCount;
+
+  private FrozenAVLTree(int[] eytzingerValues, int valueCount) {
+    this.eytzingerValues = eytzingerValues;
+    this.valueCount = valueCount;
+  }
+
+  /**
+   * Lays out ascending, duplicate-free values in Eytzinger order.
+   *
+   * @param sortedValues ascending values without duplicates; the array is not modified
+   * @return frozen tree holding the values
+   */
+  static FrozenAVLTree fromSorted(int[] sortedValues) {
+    int valueCount = sortedValues.length;
+    if (valueCount > MAX_VALUE_COUNT) {
+      throw new IllegalArgumentException(
+          "Zu viele Werte für einen eingefrorenen Baum: " + valueCount);
+    }
+    FrozenAVLTree frozenTree = new FrozenAVLTree(new int[valueCount + 1], valueCount);
+
+    // Visit the implicit tree in order and hand out the sorted values one by one
+    int eytzingerIdx = frozenTree.firstIndex();
+    for (int sortedValue : sortedValues) {
+      frozenTree.eytzingerValues[eytzingerIdx] = sortedValue;
+      eytzingerIdx = frozenTree.successorIndex(eytzingerIdx);
+    }
+    return frozenTree;
+  }
+
+  public int size() {
+    return valueCount;
+  }
+
+  public boolean isEmpty() {
+    return valueCount == 0;
+  }
+
+  /**
+   * Checks whether a value is stored in the tree.
+   *
+   * @param searchValue the value to look for
+   * @return true if present
+   */
+  public boolean contains(int searchValue) {
+    int ceilingIdx = ceilingIndex(searchValue);
+    return ceilingIdx != 0 && eytzingerValues[ceilingIdx] == searchValue;
+  }
+
+  /**
+   * Finds the greatest value less than or equal to the given value.
+   *
+   * @param searchValue the upper bound
+   * @return the floor value, or empty if every value is greater
+   */
+  public OptionalInt floor(int searchValue) {
+    int ceilingIdx = ceilingIndex(searchValue);
+    if (ceilingIdx != 0 && eytzingerValues[ceilingIdx] == searchValue) {
+      return OptionalInt.of(searchValue);
+    }
+    int floorIdx = (ceilingIdx == 0) ? lastIndex() : predecessorIndex(ceilingIdx);
+    return (floorIdx == 0) ? OptionalInt.empty() : OptionalInt.of(eytzingerValues[floorIdx]);
+  }
+
+  /**
+   * Finds the smallest value greater than or equal to the given value.
+   *
+   * @param searchValue the lower bound
+   * @return the ceiling value, or empty if every value is smaller
+   */
+  public OptionalInt ceiling(int searchValue) {
+    int ceilingIdx = ceilingIndex(searchValue);
+    return (ceilingIdx == 0) ? OptionalInt.empty() : OptionalInt.of(eytzingerValues[ceilingIdx]);
+  }
+
+  /**
+   * Checks many values at once. The searches run in groups of {@value
+   * AVLTree#INTERLEAVED_DESCENTS} that step down the implicit tree level by level together, so
+   * the cache misses of one group overlap. Every search has the same length here, so no search of
+   * a group waits for a longer one by more than one step.
+   *
+   * @param searchValues the values to look for
+   * @param containedOut receives at each index whether that value is present
+   * @return number of values present
+   * @throws IllegalArgumentException if containedOut is shorter than searchValues
+   */
+  public int containsAll(int[] searchValues, boolean[] containedOut) {
+    checkBatchLength(searchValues.length, containedOut.length);
+    int[] laneIndices = new int[AVLTree.INTERLEAVED_DESCENTS];
+    int hitCount = 0;
+    for (int groupStart = 0;
+        groupStart < searchValues.length;
+        groupStart += AVLTree.INTERLEAVED_DESCENTS) {
+      int laneCount = Math.min(AVLTree.INTERLEAVED_DESCENTS, searchValues.length - groupStart);
+      descendGroup(searchValues, groupStart, laneCount, laneIndices, false);
+      for (int laneIdx = 0; laneIdx < laneCount; laneIdx++) {
+        int ceilingIdx = laneIndices[laneIdx];
+        boolean contained =
+            ceilingIdx != 0 && eytzingerValues[ceilingIdx] == searchValues[groupStart + laneIdx];
+        containedOut[groupStart + laneIdx] = contained;
+        hitCount += contained ? 1 : 0;
+      }
+    }
+    return hitCount;
+  }
+
+  /**
+   * Finds the floors of many values at once, in groups like {@link #containsAll(int[],
+   * boolean[])}.
+   *
+   * @param searchValues the upper bounds
+   * @param floorValuesOut receives at each index the floor of that value; left unchanged where
+   *     there is none
+   * @param foundOut receives at each index whether that value has a floor
+   * @return number of values that have a floor
+   * @throws IllegalArgumentException if an output array is shorter than searchValues
+   */
+  public int floorAll(int[] searchValues, int[] floorValuesOut, boolean[] foundOut) {
+    checkBatchLength(searchValues.length, floorValuesOut.length);
+    checkBatchLength(searchValues.length, foundOut.length);
+    int[] laneIndices = new int[AVLTree.INTERLEAVED_DESCENTS];
+    int foundCount = 0;
+    for (int groupStart = 0;
+        groupStart < searchValues.length;
+        groupStart += AVLTree.INTERLEAVED_DESCENTS) {
+      int laneCount = Math.min(AVLTree.INTERLEAVED_DESCENTS, searchValues.length - groupStart);
+      descendGroup(searchValues, groupStart, laneCount, laneIndices, true);
+      for (int laneIdx = 0; laneIdx < laneCount; laneIdx++) {
+        int floorIdx = laneIndices[laneIdx];
+        foundOut[groupStart + laneIdx] = floorIdx != 0;
+        if (floorIdx != 0) {
+          floorValuesOut[groupStart + laneIdx] = eytzingerValues[floorIdx];
+          foundCount++;
+        }
+      }
+    }
+    return foundCount;
+  }
+
+  /**
+   * Runs the branch-free descent of {@link #ceilingIndex(int)} for a group of values side by side.
+   * For floors the search moves right on equal values too, so the last node where it went right
+   * holds the greatest value &lt;= the search value.
+   *
+   * @param laneIndices receives the ceiling (or floor) index of each value, 0 if there is none
+   */
+  private void descendGroup(
+      int[] searchValues, int groupStart, int laneCount, int[] laneIndices, boolean findFloor) {
+    int rightOnEqual = findFloor ? 1 : 0;
+    for (int laneIdx = 0; laneIdx < laneCount; laneIdx++) {
+      laneIndices[laneIdx] = ROOT_INDEX;
+    }
+    // The bottom level may be partly filled, so some searches take one step more
+    int levelCount = 32 - Integer.numberOfLeadingZeros(valueCount);
+    for (int levelIdx = 0; levelIdx < levelCount; levelIdx++) {
+      for (int laneIdx = 0; laneIdx < laneCount; laneIdx++) {
+        int eytzingerIdx = laneIndices[laneIdx];
+        if (eytzingerIdx <= valueCount) {
+          // Compare with the search value shifted by one so that equal values go right for floors
+          long nodeValue = eytzingerValues[eytzingerIdx];
+          long searchValue = (long) searchValues[groupStart + laneIdx] + rightOnEqual;
+          laneIndices[laneIdx] = 2 * eytzingerIdx + ((nodeValue < searchValue) ? 1 : 0);
+        }
+      }
+    }
+    for (int laneIdx = 0; laneIdx < laneCount; laneIdx++) {
+      int eytzingerIdx = laneIndices[laneIdx];
+      // Strip the moves after the last turn that found the ceiling (left) or floor (right)
+      laneIndices[laneIdx] =
+          findFloor
+              ? eytzingerIdx >>> (Integer.numberOfTrailingZeros(eytzingerIdx) + 1)
+              : eytzingerIdx >>> (Integer.numberOfTrailingZeros(~eytzingerIdx) + 1);
+    }
+  }
+
+  private static void checkBatchLength(int queryCount, int resultLength) {
+    if (resultLength < queryCount) {
+      throw new IllegalArgumentException(
+          "Ergebnisfeld zu kurz: " + resultLength + " statt " + queryCount + " Einträge.");
+    }
+  }
+
+  /**
+   * Returns the values between two bounds in ascending order.
+   *
+   * @param lowerBound smallest value to include
+   * @param upperBound greatest value to include
+   * @return values v with lowerBound &lt;= v &lt;= upperBound, empty if the bounds are reversed
+   */
+  public int[] range(int lowerBound, int upperBound) {
+    if (lowerBound > upperBound) {
+      return new int[0];
+    }
+    int startIdx = ceilingIndex(lowerBound);
+
+    int rangeCount = 0;
+    for (int eytzingerIdx = startIdx;
+        eytzingerIdx != 0 && eytzingerValues[eytzingerIdx] <= upperBound;
+        eytzingerIdx = successorIndex(eytzingerIdx)) {
+      rangeCount++;
+    }
+
+    int[] rangeValues = new int[rangeCount];
+    int eytzingerIdx = startIdx;
+    for (int rangeIdx = 0; rangeIdx < rangeCount; rangeIdx++) {
+      rangeValues[rangeIdx] = eytzingerValues[eytzingerIdx];
+      eytzingerIdx = successorIndex(eytzingerIdx);
+    }
+    return rangeValues;
+  }
+
+  /**
+   * Returns all values in ascending order, the same result as an inorder traversal of the tree
+   * that was frozen.
+   *
+   * @return array of integers in inorder
+   */
+  public int[] inorder() {
+    int[] inorderValues = new int[valueCount];
+    int eytzingerIdx = firstIndex();
+    for (int inorderIdx = 0; inorderIdx < valueCount; inorderIdx++) {
+      inorderValues[inorderIdx] = eytzingerValues[eytzingerIdx];
+      eytzingerIdx = successorIndex(eytzingerIdx);
+    }
+    return inorderValues;
+  }
+
+  /**
+   * Branch-free lower-bound search. The descent always runs to the bottom of the implicit tree;
+   * every step to the right appends a 1 bit to the index, so stripping the trailing 1 bits and
+   * the final 0 bit leads back to the last node where the search went left, which is the ceiling.
+   *
+   * @return index of the smallest value &gt;= searchValue, or 0 if there is none
+   */
+  private int ceilingIndex(int searchValue) {
+    int eytzingerIdx = ROOT_INDEX;
+    while (eytzingerIdx <= valueCount) {
+      eytzingerIdx = 2 * eytzingerIdx + ((eytzingerValues[eytzingerIdx] < searchValue) ? 1 : 0);
+    }
+    return eytzingerIdx >>> (Integer.numberOfTrailingZeros(~eytzingerIdx) + 1);
+  }
+
+  /** Index of the smallest value, or 0 for an empty tree. */
+  private int firstIndex() {
+    if (valueCount == 0) {
+      return 0;
+    }
+    int eytzingerIdx = ROOT_INDEX;
+    while (2 * eytzingerIdx <= valueCount) {
+      eytzingerIdx = 2 * eytzingerIdx;
+    }
+    return eytzingerIdx;
+  }
+
+  /** Index of the greatest value, or 0 for an empty tree. */
+  private int lastIndex() {
+    if (valueCount == 0) {
+      return 0;
+    }
+    int eytzingerIdx = ROOT_INDEX;
+    while (2 * eytzingerIdx + 1 <= valueCount) {
+      eytzingerIdx = 2 * eytzingerIdx + 1;
+    }
+    return eytzingerIdx;
+  }
+
+  /** Inorder successor of an index, or 0 after the greatest value. */
+  private int successorIndex(int eytzingerIdx) {
+    int rightChildIdx = 2 * eytzingerIdx + 1;
+    if (rightChildIdx <= valueCount) {
+      // Leftmost node of the right subtree
+      int successorIdx = rightChildIdx;
+      while (2 * successorIdx <= valueCount) {
+        successorIdx = 2 * successorIdx;
+      }
+      return successorIdx;
+    }
+    // Climb while coming from a right child, then once more
+    return eytzingerIdx >>> (Integer.numberOfTrailingZeros(~eytzingerIdx) + 1);
+  }
+
+  /** Inorder predecessor of an index, or 0 before the smallest value. */
+  private int predecessorIndex(int eytzingerIdx) {
+    int leftChildIdx = 2 * eytzingerIdx;
+    if (leftChildIdx <= valueCount) {
+      // Rightmost node of the left subtree
+      int predecessorIdx = leftChildIdx;
+      while (2 * predecessorIdx + 1 <= valueCount) {
+        predecessorIdx = 2 * predecessorIdx + 1;
+      }
+      return predecessorIdx;
+    }
+    // Climb while coming from a left child, then once more
+    return eytzingerIdx >>> (Integer.numberOfTrailingZeros(eytzingerIdx) + 1);
+  }
+}
@@ -0,0 +1,582 @@
+package com.binaerBaum;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * In-memory B+ tree over int values for read-heavy workloads. Where an {@link AVLNode} holds one
+ * key per object, every node here holds up to {@value #DEFAULT_NODE_CAPACITY} sorted keys in one
+ * int array of two cache lines (16 bytes array header plus 28 * 4 bytes), so a lookup in ten
+ * million keys touches about 6 nodes instead of about 24.
+ *
+ * <p>All values live in the leaves; inner nodes only hold separators, where separator i is not
+ * greater than any value of child i + 1 and greater than every value of child i. The leaves are
+ * chained in both directions, so in-order scans and range queries walk the leaf arrays without
+ * going back up the tree. Every node except the root is at least half full: insertions split full
+ * nodes, removals borrow from a sibling or merge with it.
+ *
+ * <p>Within a node the position is found by a linear scan. The keys of a node share two cache
+ * lines and the scan reads them in order, so it stays ahead of a binary search, whose branches
+ * are mispredicted about every second step.
+ */
+public final class IntBPlusTree implements OrderedIntSet {
+  /** Keys per node; the key array then fills exactly two 64-byte cache lines. */
+  public static final int DEFAULT_NODE_CAPACITY = 28;
+
+  private static final int MIN_NODE_CAPACITY = 4;
+
+  private final int nodeCapacity;
+  private final int minKeyCount;
+  /** Scratch space for a node with one key (and child) too many while it is split. */
+  private final int[] splitKeys;
+  private final Node[] splitChildren;
+
+  private Node treeRoot;
+  private LeafNode firstLeaf;
+  private int valueCount;
+  private int levelCount;
+  /** Separator handed up to the parent by the last split. */
+  private int splitSeparator;
+
+  /** Sorted keys of one node, at most {@link #nodeCapacity} of them. */
+  abstract static class Node {
+    final int[] keys;
+    int keyCount;
+
+    Node(int nodeCapacity) {
+      this.keys = new int[nodeCapacity];
+    }
+  }
+
+  static final class LeafNode extends Node {
+    LeafNode previousLeaf;
+    LeafNode nextLeaf;
+
+    LeafNode(int nodeCapacity) {
+      super(nodeCapacity);
+    }
+  }
+
+  /** Inner node with keyCount separators and keyCount + 1 children. */
+  static final class InnerNode extends Node {
+    final Node[] children;
+
+    InnerNode(int nodeCapacity) {
+      super(nodeCapacity);
+      this.children = new Node[nodeCapacity + 1];
+    }
+  }
+
+  public IntBPlusTree() {
+    this(DEFAULT_NODE_CAPACITY);
+  }
+
+  /**
+   * Creates an empty tree with the given number of keys per node.
+   *
+   * @param nodeCapacity maximum keys per node, at least 4
+   * @throws IllegalArgumentException if the capacity is smaller than 4
+   */
+  public IntBPlusTree(int nodeCapacity) {
+    if (nodeCapacity < MIN_NODE_CAPACITY) {
+      throw new IllegalArgumentException(
+          "Die Knotenkapazität muss mindestens " + MIN_NODE_CAPACITY + " sein: " + nodeCapacity);
+    }
+    this.nodeCapacity = nodeCapacity;
+    this.minKeyCount = nodeCapacity / 2;
+    this.splitKeys = new int[nodeCapacity + 1];
+    this.splitChildren = new Node[nodeCapacity + 2];
+    clear();
+  }
+
+  public int getNodeCapacity() {
+    return nodeCapacity;
+  }
+
+  Node getRootNode() {
+    return treeRoot;
+  }
+
+  /** Returns the number of node levels from the root down to the leaves (0 when empty). */
+  public int getHeight() {
+    return (valueCount == 0) ? 0 : levelCount;
+  }
+
+  @Override
+  public int size() {
+    return valueCount;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return valueCount == 0;
+  }
+
+  @Override
+  public void clear() {
+    firstLeaf = new LeafNode(nodeCapacity);
+    treeRoot = firstLeaf;
+    valueCount = 0;
+    levelCount = 1;
+  }
+
+  @Override
+  public boolean insert(int insertValue) {
+    int sizeBefore = valueCount;
+    Node newSibling = insertHelper(treeRoot, insertValue);
+    if (newSibling != null) {
+      // The root was split: grow the tree by one level
+      InnerNode newRoot = new InnerNode(nodeCapacity);
+      newRoot.keys[0] = splitSeparator;
+      newRoot.children[0] = treeRoot;
+      newRoot.children[1] = newSibling;
+      newRoot.keyCount = 1;
+      treeRoot = newRoot;
+      levelCount++;
+    }
+    return valueCount > sizeBefore;
+  }
+
+  @Override
+  public boolean remove(int removeValue) {
+    int sizeBefore = valueCount;
+    removeHelper(treeRoot, removeValue);
+    if (treeRoot instanceof InnerNode innerRoot && innerRoot.keyCount == 0) {
+      // The root lost its last separator: its only child becomes the new root
+      treeRoot = innerRoot.children[0];
+      levelCount--;
+    }
+    return valueCount < sizeBefore;
+  }
+
+  @Override
+  public boolean contains(int searchValue) {
+    LeafNode leafNode = findLeaf(searchValue);
+    int keyIdx = countLess(leafNode, searchValue);
+    return keyIdx < leafNode.keyCount && leafNode.keys[keyIdx] == searchValue;
+  }
+
+  @Override
+  public OptionalInt floor(int searchValue) {
+    LeafNode leafNode = findLeaf(searchValue);
+    int notGreaterCount = countLessOrEqual(leafNode, searchValue);
+    if (notGreaterCount > 0) {
+      return OptionalInt.of(leafNode.keys[notGreaterCount - 1]);
+    }
+    // Every value of the previous leaf is below this leaf's separator and so below searchValue
+    LeafNode previousLeaf = leafNode.previousLeaf;
+    return (previousLeaf == null)
+        ? OptionalInt.empty()
+        : OptionalInt.of(previousLeaf.keys[previousLeaf.keyCount - 1]);
+  }
+
+  @Override
+  public OptionalInt ceiling(int searchValue) {
+    LeafNode leafNode = findLeaf(searchValue);
+    int lessCount = countLess(leafNode, searchValue);
+    if (lessCount < leafNode.keyCount) {
+      return OptionalInt.of(leafNode.keys[lessCount]);
+    }
+    LeafNode nextLeaf = leafNode.nextLeaf;
+    return (nextLeaf == null) ? OptionalInt.empty() : OptionalInt.of(nextLeaf.keys[0]);
+  }
+
+  @Override
+  public int min() {
+    if (valueCount == 0) {
+      throw new NoSuchElementException("Der Baum ist leer.");
+    }
+    return firstLeaf.keys[0];
+  }
+
+  @Override
+  public int max() {
+    if (valueCount == 0) {
+      throw new NoSuchElementException("Der Baum ist leer.");
+    }
+    Node currentNode = treeRoot;
+    while (currentNode instanceof InnerNode innerNode) {
+      currentNode = innerNode.children[innerNode.keyCount];
+    }
+    return currentNode.keys[currentNode.keyCount - 1];
+  }
+
+  /**
+   * Returns the values between two bounds in ascending order, walking the leaf chain from the
+   * leaf of the lower bound.
+   *
+   * @param lowerBound smallest value to include
+   * @param upperBound greatest value to include
+   * @return values v with lowerBound &lt;= v &lt;= upperBound, empty if the bounds are reversed
+   */
+  public int[] range(int lowerBound, int upperBound) {
+    if (lowerBound > upperBound) {
+      return new int[0];
+    }
+    LeafNode startLeaf = findLeaf(lowerBound);
+    int startIdx = countLess(startLeaf, lowerBound);
+
+    int rangeCount = 0;
+    LeafNode leafNode = startLeaf;
+    int keyIdx = startIdx;
+    while (leafNode != null) {
+      int inRangeEnd = countLessOrEqual(leafNode, upperBound);
+      rangeCount += Math.max(inRangeEnd - keyIdx, 0);
+      if (inRangeEnd < leafNode.keyCount) {
+        break;
+      }
+      leafNode = leafNode.nextLeaf;
+      keyIdx = 0;
+    }
+
+    int[] rangeValues = new int[rangeCount];
+    int copiedCount = 0;
+    leafNode = startLeaf;
+    keyIdx = startIdx;
+    while (copiedCount < rangeCount) {
+      int copyCount = Math.min(leafNode.keyCount - keyIdx, rangeCount - copiedCount);
+      System.arraycopy(leafNode.keys, keyIdx, rangeValues, copiedCount, copyCount);
+      copiedCount += copyCount;
+      leafNode = leafNode.nextLeaf;
+      keyIdx = 0;
+    }
+    return rangeValues;
+  }
+
+  /**
+   * Returns all values in ascending order, the same result as an inorder traversal of an {@link
+   * AVLTree} with the same values.
+   *
+   * @return array of integers in inorder
+   */
+  public int[] inorder() {
+    int[] inorderValues = new int[valueCount];
+    int copiedCount = 0;
+    for (LeafNode leafNode = firstLeaf; leafNode != null; leafNode = leafNode.nextLeaf) {
+      System.arraycopy(leafNode.keys, 0, inorderValues, copiedCount, leafNode.keyCount);
+      copiedCount += leafNode.keyCount;
+    }
+    return inorderValues;
+  }
+
+  /**
+   * Traverses the tree according to the specified traversal method.
+   *
+   * @param traversalMethod traversal order; only "inorder" is supported
+   * @return array of integers in inorder
+   * @throws IllegalArgumentException for any other traversal order
+   */
+  public int[] traverse(String traversalMethod) {
+    return traverse(TraversalOrder.fromName(traversalMethod));
+  }
+
+  /**
+   * Traverses the tree in the given order. Only inorder is defined: preorder, postorder and
+   * levelorder describe the shape of a binary tree, which a B+ tree does not have.
+   *
+   * @param traversalOrder the traversal order; only {@link TraversalOrder#INORDER} is supported
+   * @return array of integers in inorder
+   * @throws IllegalArgumentException for any other traversal order
+   */
+  public int[] traverse(TraversalOrder traversalOrder) {
+    if (traversalOrder != TraversalOrder.INORDER) {
+      throw new IllegalArgumentException(
+          "Ein B+-Baum unterstützt nur inorder; "
+              + traversalOrder.getDisplayName()
+              + " hängt von der Form eines Binärbaums ab.");
+    }
+    return inorder();
+  }
+
+  /**
+   * Passes every value to the consumer in ascending order.
+   *
+   * @param valueConsumer receiver of the values
+   */
+  public void forEach(IntConsumer valueConsumer) {
+    for (LeafNode leafNode = firstLeaf; leafNode != null; leafNode = leafNode.nextLeaf) {
+      for (int keyIdx = 0; keyIdx < leafNode.keyCount; keyIdx++) {
+        valueConsumer.accept(leafNode.keys[keyIdx]);
+      }
+    }
+  }
+
+  /**
+   * Returns an iterator over the values in ascending order. The tree must not be modified while
+   * the iterator is in use.
+   *
+   * @return iterator along the leaf chain
+   */
+  public PrimitiveIterator.OfInt iterator() {
+    return new PrimitiveIterator.OfInt() {
+      private LeafNode currentLeaf = firstLeaf;
+      private int keyIdx;
+
+      @Override
+      public boolean hasNext() {
+        return currentLeaf != null && keyIdx < currentLeaf.keyCount;
+      }
+
+      @Override
+      public int nextInt() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        int nextValue = currentLeaf.keys[keyIdx++];
+        if (keyIdx == currentLeaf.keyCount) {
+          currentLeaf = currentLeaf.nextLeaf;
+          keyIdx = 0;
+        }
+        return nextValue;
+      }
+    };
+  }
+
+  /** Number of keys of the node below the value. */
+  private static int countLess(Node node, int searchValue) {
+    int[] nodeKeys = node.keys;
+    int keyCount = node.keyCount;
+    int lessCount = 0;
+    while (lessCount < keyCount && nodeKeys[lessCount] < searchValue) {
+      lessCount++;
+    }
+    return lessCount;
+  }
+
+  /** Number of keys of the node not above the value; for an inner node the child to descend to. */
+  private static int countLessOrEqual(Node node, int searchValue) {
+    int[] nodeKeys = node.keys;
+    int keyCount = node.keyCount;
+    int notGreaterCount = 0;
+    while (notGreaterCount < keyCount && nodeKeys[notGreaterCount] <= searchValue) {
+      notGreaterCount++;
+    }
+    return notGreaterCount;
+  }
+
+  private LeafNode findLeaf(int searchValue) {
+    Node currentNode = treeRoot;
+    while (currentNode instanceof InnerNode innerNode) {
+      currentNode = innerNode.children[countLessOrEqual(innerNode, searchValue)];
+    }
+    return (LeafNode) currentNode;
+  }
+
+  /**
+   * Inserts below the given node.
+   *
+   * @return the new right sibling if the node was split (its separator is in {@link
+   *     #splitSeparator}), otherwise null
+   */
+  private Node insertHelper(Node currentNode, int insertValue) {
+    if (currentNode instanceof InnerNode innerNode) {
+      int childIdx = countLessOrEqual(innerNode, insertValue);
+      Node newChild = insertHelper(innerNode.children[childIdx], insertValue);
+      return (newChild == null) ? null : insertChild(innerNode, childIdx, newChild);
+    }
+
+    LeafNode leafNode = (LeafNode) currentNode;
+    int insertIdx = countLess(leafNode, insertValue);
+    if (insertIdx < leafNode.keyCount && leafNode.keys[insertIdx] == insertValue) {
+      return null;
+    }
+    valueCount++;
+    if (leafNode.keyCount < nodeCapacity) {
+      insertKey(leafNode.keys, leafNode.keyCount, insertIdx, insertValue);
+      leafNode.keyCount++;
+      return null;
+    }
+
+    // Full leaf: split the capacity + 1 keys into two leaves
+    System.arraycopy(leafNode.keys, 0, splitKeys, 0, nodeCapacity);
+    insertKey(splitKeys, nodeCapacity, insertIdx, insertValue);
+    int leftCount = (nodeCapacity + 1) / 2;
+    LeafNode rightLeaf = new LeafNode(nodeCapacity);
+    System.arraycopy(splitKeys, 0, leafNode.keys, 0, leftCount);
+    System.arraycopy(splitKeys, leftCount, rightLeaf.keys, 0, nodeCapacity + 1 - leftCount);
+    leafNode.keyCount = leftCount;
+    rightLeaf.keyCount = nodeCapacity + 1 - leftCount;
+
+    rightLeaf.previousLeaf = leafNode;
+    rightLeaf.nextLeaf = leafNode.nextLeaf;
+    if (leafNode.nextLeaf != null) {
+      leafNode.nextLeaf.previousLeaf = rightLeaf;
+    }
+    leafNode.nextLeaf = rightLeaf;
+
+    splitSeparator = rightLeaf.keys[0];
+    return rightLeaf;
+  }
+
+  /**
+   * Adds the new right sibling of child childIdx, with {@link #splitSeparator} in front of it, and
+   * splits the inner node if it is full.
+   */
+  private Node insertChild(InnerNode innerNode, int childIdx, Node newChild) {
+    int newSeparator = splitSeparator;
+    int keyCount = innerNode.keyCount;
+    if (keyCount < nodeCapacity) {
+      insertKey(innerNode.keys, keyCount, childIdx, newSeparator);
+      insertChildAt(innerNode.children, keyCount + 1, childIdx + 1, newChild);
+      innerNode.keyCount++;
+      return null;
+    }
+
+    // Full inner node: the middle of the capacity + 1 separators moves up to the parent
+    System.arraycopy(innerNode.keys, 0, splitKeys, 0, keyCount);
+    System.arraycopy(innerNode.children, 0, splitChildren, 0, keyCount + 1);
+    insertKey(splitKeys, keyCount, childIdx, newSeparator);
+    insertChildAt(splitChildren, keyCount + 1, childIdx + 1, newChild);
+
+    int leftCount = (nodeCapacity + 1) / 2;
+    int rightCount = nodeCapacity - leftCount;
+    InnerNode rightNode = new InnerNode(nodeCapacity);
+    System.arraycopy(splitKeys, 0, innerNode.keys, 0, leftCount);
+    System.arraycopy(splitChildren, 0, innerNode.children, 0, leftCount + 1);
+    System.arraycopy(splitKeys, leftCount + 1, rightNode.keys, 0, rightCount);
+    System.arraycopy(splitChildren, leftCount + 1, rightNode.children, 0, rightCount + 1);
+    Arrays.fill(innerNode.children, leftCount + 1, nodeCapacity + 1, null);
+    Arrays.fill(splitChildren, null);
+    innerNode.keyCount = leftCount;
+    rightNode.keyCount = rightCount;
+
+    splitSeparator = splitKeys[leftCount];
+    return rightNode;
+  }
+
+  /** Removes below the given node; an underfull child is refilled before returning. */
+  private void removeHelper(Node currentNode, int removeValue) {
+    if (currentNode instanceof InnerNode innerNode) {
+      int childIdx = countLessOrEqual(innerNode, removeValue);
+      Node childNode = innerNode.children[childIdx];
+      removeHelper(childNode, removeValue);
+      if (childNode.keyCount < minKeyCount) {
+        refillChild(innerNode, childIdx);
+      }
+      return;
+    }
+
+    int removeIdx = countLess(currentNode, removeValue);
+    if (removeIdx < currentNode.keyCount && currentNode.keys[removeIdx] == removeValue) {
+      System.arraycopy(
+          currentNode.keys,
+          removeIdx + 1,
+          currentNode.keys,
+          removeIdx,
+          currentNode.keyCount - removeIdx - 1);
+      currentNode.keyCount--;
+      valueCount--;
+    }
+  }
+
+  /** Borrows a key from a sibling with more than half of the capacity, or merges with one. */
+  private void refillChild(InnerNode parentNode, int childIdx) {
+    if (childIdx > 0 && parentNode.children[childIdx - 1].keyCount > minKeyCount) {
+      borrowFromLeft(parentNode, childIdx);
+    } else if (childIdx < parentNode.keyCount
+        && parentNode.children[childIdx + 1].keyCount > minKeyCount) {
+      borrowFromRight(parentNode, childIdx);
+    } else if (childIdx > 0) {
+      mergeChildren(parentNode, childIdx - 1);
+    } else {
+      mergeChildren(parentNode, childIdx);
+    }
+  }
+
+  private void borrowFromLeft(InnerNode parentNode, int childIdx) {
+    Node childNode = parentNode.children[childIdx];
+    Node leftNode = parentNode.children[childIdx - 1];
+    System.arraycopy(childNode.keys, 0, childNode.keys, 1, childNode.keyCount);
+
+    if (childNode instanceof InnerNode innerChild) {
+      // The separator comes down in front, the left sibling's last key goes up
+      InnerNode innerLeft = (InnerNode) leftNode;
+      System.arraycopy(innerChild.children, 0, innerChild.children, 1, innerChild.keyCount + 1);
+      innerChild.children[0] = innerLeft.children[innerLeft.keyCount];
+      innerLeft.children[innerLeft.keyCount] = null;
+      innerChild.keys[0] = parentNode.keys[childIdx - 1];
+      parentNode.keys[childIdx - 1] = innerLeft.keys[innerLeft.keyCount - 1];
+    } else {
+      childNode.keys[0] = leftNode.keys[leftNode.keyCount - 1];
+      parentNode.keys[childIdx - 1] = childNode.keys[0];
+    }
+    leftNode.keyCount--;
+    childNode.keyCount++;
+  }
+
+  private void borrowFromRight(InnerNode parentNode, int childIdx) {
+    Node childNode = parentNode.children[childIdx];
+    Node rightNode = parentNode.children[childIdx + 1];
+
+    if (childNode instanceof InnerNode innerChild) {
+      // The separator comes down at the end, the right sibling's first key goes up
+      InnerNode innerRight = (InnerNode) rightNode;
+      innerChild.keys[innerChild.keyCount] = parentNode.keys[childIdx];
+      innerChild.children[innerChild.keyCount + 1] = innerRight.children[0];
+      parentNode.keys[childIdx] = innerRight.keys[0];
+      System.arraycopy(innerRight.children, 1, innerRight.children, 0, innerRight.keyCount);
+      innerRight.children[innerRight.keyCount] = null;
+    } else {
+      childNode.keys[childNode.keyCount] = rightNode.keys[0];
+      parentNode.keys[childIdx] = rightNode.keys[1];
+    }
+    System.arraycopy(rightNode.keys, 1, rightNode.keys, 0, rightNode.keyCount - 1);
+    rightNode.keyCount--;
+    childNode.keyCount++;
+  }
+
+  /** Moves child leftIdx + 1 into child leftIdx and drops the separator between them. */
+  private void mergeChildren(InnerNode parentNode, int leftIdx) {
+    Node leftNode = parentNode.children[leftIdx];
+    Node rightNode = parentNode.children[leftIdx + 1];
+
+    if (leftNode instanceof InnerNode innerLeft) {
+      InnerNode innerRight = (InnerNode) rightNode;
+      innerLeft.keys[innerLeft.keyCount] = parentNode.keys[leftIdx];
+      System.arraycopy(
+          innerRight.keys, 0, innerLeft.keys, innerLeft.keyCount + 1, innerRight.keyCount);
+      System.arraycopy(
+          innerRight.children,
+          0,
+          innerLeft.children,
+          innerLeft.keyCount + 1,
+          innerRight.keyCount + 1);
+      innerLeft.keyCount += innerRight.keyCount + 1;
+    } else {
+      LeafNode leafLeft = (LeafNode) leftNode;
+      LeafNode leafRight = (LeafNode) rightNode;
+      System.arraycopy(leafRight.keys, 0, leafLeft.keys, leafLeft.keyCount, leafRight.keyCount);
+      leafLeft.keyCount += leafRight.keyCount;
+      leafLeft.nextLeaf = leafRight.nextLeaf;
+      if (leafRight.nextLeaf != null) {
+        leafRight.nextLeaf.previousLeaf = leafLeft;
+      }
+    }
+
+    int parentKeyCount = parentNode.keyCount;
+    System.arraycopy(
+        parentNode.keys, leftIdx + 1, parentNode.keys, leftIdx, parentKeyCount - leftIdx - 1);
+    System.arraycopy(
+        parentNode.children,
+        leftIdx + 2,
+        parentNode.children,
+        leftIdx + 1,
+        parentKeyCount - leftIdx - 1);
+    parentNode.children[parentKeyCount] = null;
+    parentNode.keyCount--;
+  }
+
+  private static void insertKey(int[] nodeKeys, int keyCount, int insertIdx, int insertValue) {
+    System.arraycopy(nodeKeys, insertIdx, nodeKeys, insertIdx + 1, keyCount - insertIdx);
+    nodeKeys[insertIdx] = insertValue;
+  }
+
+  private static void insertChildAt(
+      Node[] nodeChildren, int childCount, int insertIdx, Node insertedChild) {
+    System.arraycopy(nodeChildren, insertIdx, nodeChildren, insertIdx + 1, childCount - insertIdx);
+    nodeChildren[insertIdx] = insertedChild;
+  }
+}
@@ -0,0 +1,202 @@
+package com.binaerBaum;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Streaming parser for comma- or newline-separated ints. Input is read through one reusable byte
+ * buffer and parsed digit by digit, so no String is created per element and memory use does not
+ * depend on the input size (apart from {@link #parseAll}, which has to hold the result).
+ *
+ * <p>The rules match the console input of {@link AVLTreeProgram}: whitespace around an element is
+ * ignored, an optional sign is allowed, empty elements are skipped and counted (empty elements at
+ * the very end of the input are ignored silently, like {@link String#split(String)} does), and the
+ * first invalid element stops parsing with an {@link IntParseException}. A parser instance is not
+ * thread-safe; reuse it for consecutive inputs to keep its buffer.
+ */
+public final class IntInputParser {
+  private static final int READ_BUFFER_BYTES = 1 << 16;
+
+  /** Longest element text kept for error messages. */
+  private static final int MAX_REPORTED_TOKEN_BYTES = 64;
+
+  private static final long INT_MAGNITUDE_LIMIT = -(long) Integer.MIN_VALUE;
+
+  private final byte[] readBuffer = new byte[READ_BUFFER_BYTES];
+  private final byte[] tokenBytes = new byte[MAX_REPORTED_TOKEN_BYTES];
+
+  private IntConsumer valueSink;
+  private int parsedValueCount;
+  private int skippedEmptyElements;
+  private int pendingZeroLengthElements;
+  private long elementIndex;
+  private long inputOffset;
+
+  // State of the element being parsed
+  private long tokenStartOffset;
+  private int rawTokenLength;
+  private int trimmedTokenLength;
+  private boolean tokenNegative;
+  private boolean tokenHasSign;
+  private int tokenDigits;
+  private long tokenMagnitude;
+  private boolean tokenInvalid;
+
+  /**
+   * Parses the whole stream and passes every value to the sink as soon as it is complete.
+   *
+   * @param numberStream the input; read until its end but not closed
+   * @param valueSink receiver of the parsed values, e.g. {@code avlTree::insert}
+   * @return number of parsed values
+   * @throws IntParseException at the first invalid element; values before it were already passed
+   * @throws IOException if reading fails
+   */
+  public int parse(InputStream numberStream, IntConsumer valueSink) throws IOException {
+    this.valueSink = valueSink;
+    parsedValueCount = 0;
+    skippedEmptyElements = 0;
+    pendingZeroLengthElements = 0;
+    elementIndex = 0;
+    inputOffset = 0;
+    resetToken();
+
+    int readCount;
+    while ((readCount = numberStream.read(readBuffer)) != -1) {
+      for (int bufferIdx = 0; bufferIdx < readCount; bufferIdx++) {
+        acceptByte(readBuffer[bufferIdx]);
+        inputOffset++;
+      }
+    }
+
+    // The last element has no separator after it; a zero-length one is not an element at all
+    if (rawTokenLength > 0) {
+      finishToken();
+    }
+    return parsedValueCount;
+  }
+
+  /**
+   * Parses the whole stream into an array.
+   *
+   * @param numberStream the input; read until its end but not closed
+   * @return the parsed values in input order
+   * @throws IntParseException at the first invalid element
+   * @throws IOException if reading fails
+   */
+  public int[] parseAll(InputStream numberStream) throws IOException {
+    int[][] collectedValues = {new int[1024]};
+    int[] collectedCount = {0};
+    parse(
+        numberStream,
+        parsedValue -> {
+          if (collectedCount[0] == collectedValues[0].length) {
+            collectedValues[0] =
+                Arrays.copyOf(collectedValues[0], collectedValues[0].length * 2);
+          }
+          collectedValues[0][collectedCount[0]++] = parsedValue;
+        });
+    return Arrays.copyOf(collectedValues[0], collectedCount[0]);
+  }
+
+  /**
+   * Returns the number of empty elements skipped by the last parse, including one that was
+   * interrupted by an {@link IntParseException}.
+   */
+  public int getSkippedEmptyElements() {
+    return skippedEmptyElements;
+  }
+
+  private void acceptByte(byte inputByte) {
+    if (inputByte == ',' || inputByte == '\n') {
+      finishToken();
+      return;
+    }
+
+    if (rawTokenLength == 0) {
+      tokenStartOffset = inputOffset;
+    }
+    if (rawTokenLength < MAX_REPORTED_TOKEN_BYTES) {
+      tokenBytes[rawTokenLength] = inputByte;
+    }
+    rawTokenLength++;
+
+    // Same notion of whitespace as String.trim(): all control characters and the space
+    if ((inputByte & 0xFF) <= ' ') {
+      return;
+    }
+
+    // Content after inner whitespace ("1 2") makes the element invalid
+    if (trimmedTokenLength > 0 && trimmedTokenLength < rawTokenLength - 1) {
+      tokenInvalid = true;
+    }
+    if (trimmedTokenLength == 0) {
+      // Drop leading whitespace from the reported text
+      tokenBytes[0] = inputByte;
+      rawTokenLength = 1;
+      tokenStartOffset = inputOffset;
+    }
+    trimmedTokenLength = rawTokenLength;
+
+    if (tokenInvalid) {
+      return;
+    }
+    if (inputByte >= '0' && inputByte <= '9') {
+      tokenDigits++;
+      tokenMagnitude = tokenMagnitude * 10 + (inputByte - '0');
+      if (tokenMagnitude > INT_MAGNITUDE_LIMIT) {
+        tokenInvalid = true;
+      }
+    } else if ((inputByte == '-' || inputByte == '+') && !tokenHasSign && tokenDigits == 0) {
+      tokenHasSign = true;
+      tokenNegative = inputByte == '-';
+    } else {
+      tokenInvalid = true;
+    }
+  }
+
+  private void finishToken() {
+    elementIndex++;
+    if (trimmedTokenLength == 0) {
+      // Zero-length elements only count once a later element shows they are not trailing
+      if (rawTokenLength == 0) {
+        pendingZeroLengthElements++;
+      } else {
+        skippedEmptyElements += pendingZeroLengthElements + 1;
+        pendingZeroLengthElements = 0;
+      }
+      resetToken();
+      return;
+    }
+    skippedEmptyElements += pendingZeroLengthElements;
+    pendingZeroLengthElements = 0;
+
+    boolean outOfRange = !tokenNegative && tokenMagnitude > Integer.MAX_VALUE;
+    if (tokenInvalid || tokenDigits == 0 || outOfRange) {
+      throw new IntParseException(reportedToken(), elementIndex, tokenStartOffset);
+    }
+
+    int parsedValue = (int) (tokenNegative ? -tokenMagnitude : tokenMagnitude);
+    resetToken();
+    parsedValueCount++;
+    valueSink.accept(parsedValue);
+  }
+
+  private String reportedToken() {
+    int reportedLength = Math.min(trimmedTokenLength, MAX_REPORTED_TOKEN_BYTES);
+    String reportedText = new String(tokenBytes, 0, reportedLength, StandardCharsets.UTF_8);
+    return (trimmedTokenLength > MAX_REPORTED_TOKEN_BYTES) ? reportedText + "…" : reportedText;
+  }
+
+  private void resetToken() {
+    rawTokenLength = 0;
+    trimmedTokenLength = 0;
+    tokenNegative = false;
+    tokenHasSign = false;
+    tokenDigits = 0;
+    tokenMagnitude = 0;
+    tokenInvalid = false;
+  }
+}
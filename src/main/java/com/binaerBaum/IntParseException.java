@@ -0,0 +1,43 @@
+package com.binaerBaum;
+
+/** Thrown by {@link IntInputParser} for an element that is not a valid int. */
+public class IntParseException extends NumberFormatException {
+  private static final long serialVersionUID = 1L;
+
+  private final String invalidToken;
+  private final long elementIndex;
+  private final long byteOffset;
+
+  /**
+   * Creates the exception for one invalid element.
+   *
+   * @param invalidToken the element text without surrounding whitespace
+   * @param elementIndex 1-based number of the element in the input, counting empty ones
+   * @param byteOffset offset of the element's first byte in the input
+   */
+  public IntParseException(String invalidToken, long elementIndex, long byteOffset) {
+    super(
+        "'"
+            + invalidToken
+            + "' ist keine gültige Ganzzahl (Element "
+            + elementIndex
+            + ", Byte "
+            + byteOffset
+            + ")");
+    this.invalidToken = invalidToken;
+    this.elementIndex = elementIndex;
+    this.byteOffset = byteOffset;
+  }
+
+  public String getInvalidToken() {
+    return invalidToken;
+  }
+
+  public long getElementIndex() {
+    return elementIndex;
+  }
+
+  public long getByteOffset() {
+    return byteOffset;
+  }
+}
@@ -0,0 +1,51 @@
+package com.binaerBaum;
+
+/**
+ * Read-only view of a node in a binary search tree over int values, so that {@link Traversal},
+ * {@link TreeVisualizer} and {@link TreeRenderer} work with every {@link BinaryIntTree} whatever
+ * its balancing scheme. Implementations that store height or subtree size override the counting
+ * defaults.
+ */
+public interface IntTreeNode {
+
+  int getValue();
+
+  /** Returns the left child, or null. */
+  IntTreeNode getLeft();
+
+  /** Returns the right child, or null. */
+  IntTreeNode getRight();
+
+  /**
+   * Returns the balancing data of this node for display, e.g. height and balance factor or colour.
+   *
+   * @return short German description without surrounding brackets
+   */
+  String getBalanceInfo();
+
+  /**
+   * Returns the number of levels of the subtree below this node; a leaf has height 1.
+   *
+   * @return subtree height, computed by visiting the subtree unless the node stores it
+   */
+  default int getHeight() {
+    IntTreeNode leftChild = getLeft();
+    IntTreeNode rightChild = getRight();
+    int leftHeight = (leftChild == null) ? 0 : leftChild.getHeight();
+    int rightHeight = (rightChild == null) ? 0 : rightChild.getHeight();
+    return Math.max(leftHeight, rightHeight) + 1;
+  }
+
+  /**
+   * Returns the number of nodes in the subtree below this node, including the node itself.
+   *
+   * @return subtree size, computed by visiting the subtree unless the node stores it
+   */
+  default int getSize() {
+    IntTreeNode leftChild = getLeft();
+    IntTreeNode rightChild = getRight();
+    return ((leftChild == null) ? 0 : leftChild.getSize())
+        + ((rightChild == null) ? 0 : rightChild.getSize())
+        + 1;
+  }
+}
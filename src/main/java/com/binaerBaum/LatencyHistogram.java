@@ -0,0 +1,140 @@
+package com.binaerBaum;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size latency histogram in the style of HdrHistogram. Values below 16 get one bucket each;
+ * above that, every power of two is split into 16 linear sub-buckets, so each bucket is at most
+ * about 6% wide whatever the magnitude. All 960 buckets are allocated up front, so recording is
+ * one index computation and one increment, without allocation.
+ *
+ * <p>Recording is meant for a single writer thread; {@link #snapshot()} may be called from any
+ * thread and then reflects a recent, not necessarily exact, state.
+ */
+public final class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /** Enough buckets for every non-negative long: exponents up to 62, 16 sub-buckets each. */
+  private static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+  private final long[] bucketCounts = new long[BUCKET_COUNT];
+  private long totalCount;
+  private long totalValue;
+  private long maxValue;
+
+  /**
+   * Records one measured value.
+   *
+   * @param recordedValue the value, e.g. a latency in nanoseconds; negative values count as 0
+   */
+  public void record(long recordedValue) {
+    long clampedValue = Math.max(recordedValue, 0L);
+    bucketCounts[bucketIndex(clampedValue)]++;
+    totalCount++;
+    totalValue += clampedValue;
+    if (clampedValue > maxValue) {
+      maxValue = clampedValue;
+    }
+  }
+
+  /** Discards all recorded values. */
+  public void reset() {
+    Arrays.fill(bucketCounts, 0L);
+    totalCount = 0;
+    totalValue = 0;
+    maxValue = 0;
+  }
+
+  /** Returns an immutable copy of the current state. */
+  public Snapshot snapshot() {
+    return new Snapshot(bucketCounts.clone(), totalCount, totalValue, maxValue);
+  }
+
+  static int bucketIndex(long bucketValue) {
+    if (bucketValue < SUB_BUCKET_COUNT) {
+      return (int) bucketValue;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(bucketValue);
+    int shift = exponent - SUB_BUCKET_BITS;
+    // The top SUB_BUCKET_BITS + 1 bits: the leading 1 selects the power of two, the rest the bucket
+    int subBucket = (int) (bucketValue >>> shift) - SUB_BUCKET_COUNT;
+    return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /** Greatest value that falls into the given bucket. */
+  static long bucketUpperBound(int bucketIdx) {
+    if (bucketIdx < SUB_BUCKET_COUNT) {
+      return bucketIdx;
+    }
+    int shift = bucketIdx / SUB_BUCKET_COUNT - 1;
+    long subBucketStart = SUB_BUCKET_COUNT + bucketIdx % SUB_BUCKET_COUNT;
+    return ((subBucketStart + 1) << shift) - 1;
+  }
+
+  /** Immutable state of a histogram at one point in time. */
+  public static final class Snapshot {
+    private final long[] bucketCounts;
+    private final long totalCount;
+    private final long totalValue;
+    private final long maxValue;
+
+    private Snapshot(long[] bucketCounts, long totalCount, long totalValue, long maxValue) {
+      this.bucketCounts = bucketCounts;
+      this.totalCount = totalCount;
+      this.totalValue = totalValue;
+      this.maxValue = maxValue;
+    }
+
+    public long getCount() {
+      return totalCount;
+    }
+
+    public long getMax() {
+      return maxValue;
+    }
+
+    /** Returns the exact mean of the recorded values, 0 if there are none. */
+    public double getMean() {
+      return (totalCount == 0) ? 0.0 : (double) totalValue / totalCount;
+    }
+
+    /**
+     * Returns the value below or at which the given share of the recorded values lies, rounded up
+     * to the end of its bucket and capped at the maximum.
+     *
+     * @param percentile share between 0 and 100, e.g. 99.9
+     * @return the percentile value, 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+      if (percentile < 0.0 || percentile > 100.0) {
+        throw new IllegalArgumentException(
+            "Perzentil muss zwischen 0 und 100 liegen: " + percentile);
+      }
+      if (totalCount == 0) {
+        return 0;
+      }
+      long targetRank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * totalCount));
+      long seenCount = 0;
+      for (int bucketIdx = 0; bucketIdx < bucketCounts.length; bucketIdx++) {
+        seenCount += bucketCounts[bucketIdx];
+        if (seenCount >= targetRank) {
+          return Math.min(bucketUpperBound(bucketIdx), maxValue);
+        }
+      }
+      return maxValue;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "n=%d mean=%.1f p50=%d p99=%d p99.9=%d max=%d",
+          totalCount,
+          getMean(),
+          getValueAtPercentile(50),
+          getValueAtPercentile(99),
+          getValueAtPercentile(99.9),
+          maxValue);
+    }
+  }
+}
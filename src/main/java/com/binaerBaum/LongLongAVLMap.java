@@ -0,0 +1,383 @@
+package com.binaerBaum;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+
+/**
+ * Ordered map from long keys to long values, for example record offsets, on an AVL tree stored in
+ * parallel arrays like {@link IntObjAVLMap}. Neither keys nor values are boxed, so an entry costs
+ * 28 bytes. Absent keys are reported with a configurable missing value instead of null.
+ */
+public class LongLongAVLMap {
+  private static final int NIL = 0;
+  private static final int DEFAULT_CAPACITY = 16;
+
+  /** Receives the entries of the map in ascending key order. */
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(long entryKey, long entryValue);
+  }
+
+  private long[] keys;
+  private long[] values;
+  private int[] heights;
+  private int[] leftChildren;
+  private int[] rightChildren;
+
+  private int rootSlot = NIL;
+  private int nextUnusedSlot = 1;
+  private int freeListHead = NIL;
+  private int entryCount;
+
+  /** Set by the recursive helpers to report whether the last operation changed the tree. */
+  private boolean treeModified;
+
+  /** Set by the recursive helpers to the value that was replaced or removed. */
+  private long previousValue;
+
+  /** Returned by lookups and updates for keys that are not present. */
+  private final long missingValue;
+
+  /** Creates an empty map that reports absent keys as 0. */
+  public LongLongAVLMap() {
+    this(DEFAULT_CAPACITY, 0L);
+  }
+
+  /**
+   * Creates an empty map with room for the given number of entries before the arrays grow.
+   *
+   * @param initialCapacity expected number of entries
+   * @param missingValue value returned for absent keys, e.g. -1 for offsets
+   */
+  public LongLongAVLMap(int initialCapacity, long missingValue) {
+    this.missingValue = missingValue;
+    int slotCapacity = Math.max(initialCapacity, 1) + 1;
+    keys = new long[slotCapacity];
+    values = new long[slotCapacity];
+    heights = new int[slotCapacity];
+    leftChildren = new int[slotCapacity];
+    rightChildren = new int[slotCapacity];
+  }
+
+  /**
+   * Associates a value with a key, replacing any previous value.
+   *
+   * @param insertKey the key
+   * @param insertValue the value
+   * @return the previous value, or the missing value if the key was not present
+   */
+  public long put(long insertKey, long insertValue) {
+    // Grow up front: the recursion below assigns into the arrays after descending.
+    ensureFreeSlot();
+    treeModified = false;
+    previousValue = missingValue;
+    rootSlot = insertAt(rootSlot, insertKey, insertValue);
+    return previousValue;
+  }
+
+  /**
+   * Returns the value stored for a key.
+   *
+   * @param searchKey the key
+   * @return the value, or the missing value if the key is not present
+   */
+  public long get(long searchKey) {
+    int foundSlot = findSlot(searchKey);
+    return (foundSlot == NIL) ? missingValue : values[foundSlot];
+  }
+
+  public long getMissingValue() {
+    return missingValue;
+  }
+
+  public boolean containsKey(long searchKey) {
+    return findSlot(searchKey) != NIL;
+  }
+
+  /**
+   * Removes a key and its value; the slot is reused by the next insertion.
+   *
+   * @param removeKey the key
+   * @return the removed value, or the missing value if the key was not present
+   */
+  public long remove(long removeKey) {
+    treeModified = false;
+    previousValue = missingValue;
+    rootSlot = removeAt(rootSlot, removeKey);
+    return previousValue;
+  }
+
+  public int size() {
+    return entryCount;
+  }
+
+  public boolean isEmpty() {
+    return entryCount == 0;
+  }
+
+  /**
+   * Returns the smallest key.
+   *
+   * @throws NoSuchElementException if the map is empty
+   */
+  public long firstKey() {
+    requireNotEmpty();
+    int currentSlot = rootSlot;
+    while (leftChildren[currentSlot] != NIL) {
+      currentSlot = leftChildren[currentSlot];
+    }
+    return keys[currentSlot];
+  }
+
+  /**
+   * Returns the greatest key.
+   *
+   * @throws NoSuchElementException if the map is empty
+   */
+  public long lastKey() {
+    requireNotEmpty();
+    int currentSlot = rootSlot;
+    while (rightChildren[currentSlot] != NIL) {
+      currentSlot = rightChildren[currentSlot];
+    }
+    return keys[currentSlot];
+  }
+
+  /**
+   * Finds the greatest key less than or equal to the given key.
+   *
+   * @param searchKey the upper bound
+   * @return the floor key, or empty if every key is greater
+   */
+  public OptionalLong floorKey(long searchKey) {
+    int currentSlot = rootSlot;
+    int floorSlot = NIL;
+    while (currentSlot != NIL) {
+      long currentKey = keys[currentSlot];
+      if (searchKey == currentKey) {
+        return OptionalLong.of(searchKey);
+      }
+      if (searchKey < currentKey) {
+        currentSlot = leftChildren[currentSlot];
+      } else {
+        floorSlot = currentSlot;
+        currentSlot = rightChildren[currentSlot];
+      }
+    }
+    return (floorSlot == NIL) ? OptionalLong.empty() : OptionalLong.of(keys[floorSlot]);
+  }
+
+  /**
+   * Finds the smallest key greater than or equal to the given key.
+   *
+   * @param searchKey the lower bound
+   * @return the ceiling key, or empty if every key is smaller
+   */
+  public OptionalLong ceilingKey(long searchKey) {
+    int currentSlot = rootSlot;
+    int ceilingSlot = NIL;
+    while (currentSlot != NIL) {
+      long currentKey = keys[currentSlot];
+      if (searchKey == currentKey) {
+        return OptionalLong.of(searchKey);
+      }
+      if (searchKey > currentKey) {
+        currentSlot = rightChildren[currentSlot];
+      } else {
+        ceilingSlot = currentSlot;
+        currentSlot = leftChildren[currentSlot];
+      }
+    }
+    return (ceilingSlot == NIL) ? OptionalLong.empty() : OptionalLong.of(keys[ceilingSlot]);
+  }
+
+  /** Returns all keys in ascending order. */
+  public long[] keys() {
+    long[] sortedKeys = new long[entryCount];
+    int[] keyIdx = {0};
+    forEach((entryKey, entryValue) -> sortedKeys[keyIdx[0]++] = entryKey);
+    return sortedKeys;
+  }
+
+  /**
+   * Passes every entry to the consumer in ascending key order, without recursion.
+   *
+   * @param entryConsumer receiver of the entries
+   */
+  public void forEach(EntryConsumer entryConsumer) {
+    int[] pendingSlots = new int[heights[rootSlot]];
+    int stackSize = 0;
+    int currentSlot = rootSlot;
+
+    while (currentSlot != NIL || stackSize > 0) {
+      while (currentSlot != NIL) {
+        pendingSlots[stackSize++] = currentSlot;
+        currentSlot = leftChildren[currentSlot];
+      }
+      currentSlot = pendingSlots[--stackSize];
+      entryConsumer.accept(keys[currentSlot], values[currentSlot]);
+      currentSlot = rightChildren[currentSlot];
+    }
+  }
+
+  private int findSlot(long searchKey) {
+    int currentSlot = rootSlot;
+    while (currentSlot != NIL) {
+      long currentKey = keys[currentSlot];
+      if (searchKey == currentKey) {
+        return currentSlot;
+      }
+      currentSlot =
+          (searchKey < currentKey) ? leftChildren[currentSlot] : rightChildren[currentSlot];
+    }
+    return NIL;
+  }
+
+  private void requireNotEmpty() {
+    if (entryCount == 0) {
+      throw new NoSuchElementException("Die Map ist leer.");
+    }
+  }
+
+  private int insertAt(int currentSlot, long insertKey, long insertValue) {
+    if (currentSlot == NIL) {
+      treeModified = true;
+      return allocateSlot(insertKey, insertValue);
+    }
+
+    long currentKey = keys[currentSlot];
+    if (insertKey < currentKey) {
+      leftChildren[currentSlot] = insertAt(leftChildren[currentSlot], insertKey, insertValue);
+    } else if (insertKey > currentKey) {
+      rightChildren[currentSlot] = insertAt(rightChildren[currentSlot], insertKey, insertValue);
+    } else {
+      previousValue = values[currentSlot];
+      values[currentSlot] = insertValue;
+      return currentSlot;
+    }
+    return treeModified ? balanceSlot(currentSlot) : currentSlot;
+  }
+
+  private int removeAt(int currentSlot, long removeKey) {
+    if (currentSlot == NIL) {
+      return NIL;
+    }
+
+    long currentKey = keys[currentSlot];
+    if (removeKey < currentKey) {
+      leftChildren[currentSlot] = removeAt(leftChildren[currentSlot], removeKey);
+    } else if (removeKey > currentKey) {
+      rightChildren[currentSlot] = removeAt(rightChildren[currentSlot], removeKey);
+    } else if (leftChildren[currentSlot] == NIL || rightChildren[currentSlot] == NIL) {
+      int remainingChild =
+          (leftChildren[currentSlot] != NIL)
+              ? leftChildren[currentSlot]
+              : rightChildren[currentSlot];
+      if (!treeModified) {
+        previousValue = values[currentSlot];
+      }
+      freeSlot(currentSlot);
+      treeModified = true;
+      return remainingChild;
+    } else {
+      // Two children: take over the in-order successor's entry and remove it from the right
+      int successorSlot = rightChildren[currentSlot];
+      while (leftChildren[successorSlot] != NIL) {
+        successorSlot = leftChildren[successorSlot];
+      }
+      previousValue = values[currentSlot];
+      treeModified = true;
+      long successorKey = keys[successorSlot];
+      keys[currentSlot] = successorKey;
+      values[currentSlot] = values[successorSlot];
+      rightChildren[currentSlot] = removeAt(rightChildren[currentSlot], successorKey);
+    }
+    return balanceSlot(currentSlot);
+  }
+
+  private int balanceSlot(int unbalancedSlot) {
+    updateHeight(unbalancedSlot);
+    int balanceFactor = balanceFactor(unbalancedSlot);
+
+    // Left heavy
+    if (balanceFactor > 1) {
+      if (balanceFactor(leftChildren[unbalancedSlot]) < 0) {
+        leftChildren[unbalancedSlot] = rotateLeft(leftChildren[unbalancedSlot]);
+      }
+      return rotateRight(unbalancedSlot);
+    }
+    // Right heavy
+    if (balanceFactor < -1) {
+      if (balanceFactor(rightChildren[unbalancedSlot]) > 0) {
+        rightChildren[unbalancedSlot] = rotateRight(rightChildren[unbalancedSlot]);
+      }
+      return rotateLeft(unbalancedSlot);
+    }
+    return unbalancedSlot;
+  }
+
+  private int rotateRight(int parentSlot) {
+    int leftChild = leftChildren[parentSlot];
+    leftChildren[parentSlot] = rightChildren[leftChild];
+    rightChildren[leftChild] = parentSlot;
+
+    updateHeight(parentSlot);
+    updateHeight(leftChild);
+    return leftChild;
+  }
+
+  private int rotateLeft(int parentSlot) {
+    int rightChild = rightChildren[parentSlot];
+    rightChildren[parentSlot] = leftChildren[rightChild];
+    leftChildren[rightChild] = parentSlot;
+
+    updateHeight(parentSlot);
+    updateHeight(rightChild);
+    return rightChild;
+  }
+
+  private int balanceFactor(int slot) {
+    return heights[leftChildren[slot]] - heights[rightChildren[slot]];
+  }
+
+  private void updateHeight(int slot) {
+    heights[slot] = Math.max(heights[leftChildren[slot]], heights[rightChildren[slot]]) + 1;
+  }
+
+  private void ensureFreeSlot() {
+    if (freeListHead != NIL || nextUnusedSlot < keys.length) {
+      return;
+    }
+    int grownCapacity = keys.length + (keys.length >> 1) + 1;
+    keys = Arrays.copyOf(keys, grownCapacity);
+    values = Arrays.copyOf(values, grownCapacity);
+    heights = Arrays.copyOf(heights, grownCapacity);
+    leftChildren = Arrays.copyOf(leftChildren, grownCapacity);
+    rightChildren = Arrays.copyOf(rightChildren, grownCapacity);
+  }
+
+  private int allocateSlot(long slotKey, long slotValue) {
+    int allocatedSlot;
+    if (freeListHead != NIL) {
+      allocatedSlot = freeListHead;
+      freeListHead = leftChildren[allocatedSlot];
+    } else {
+      allocatedSlot = nextUnusedSlot++;
+    }
+
+    keys[allocatedSlot] = slotKey;
+    values[allocatedSlot] = slotValue;
+    heights[allocatedSlot] = 1;
+    leftChildren[allocatedSlot] = NIL;
+    rightChildren[allocatedSlot] = NIL;
+    entryCount++;
+    return allocatedSlot;
+  }
+
+  private void freeSlot(int releasedSlot) {
+    leftChildren[releasedSlot] = freeListHead;
+    freeListHead = releasedSlot;
+    entryCount--;
+  }
+}
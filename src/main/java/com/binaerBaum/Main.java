@@ -2,11 +2,20 @@ package com.binaerBaum;
 
 import java.util.Scanner;
 
-/** Main entry point for AVL Tree traversal program. */
+/**
+ * Main entry point for AVL Tree traversal program. An optional argument ("redblack", "wavl" or
+ * "treap") builds the trees with another balancing scheme.
+ */
 public class Main {
   public static void main(String[] args) {
     Scanner scanner = new Scanner(System.in);
-    AVLTreeProgram program = new AVLTreeProgram(scanner);
+    BalancingScheme balancingScheme =
+        (args.length == 0) ? BalancingScheme.AVL : BalancingScheme.fromName(args[0]);
+    // The AVL session keeps its console listener and node arena
+    AVLTreeProgram program =
+        (balancingScheme == BalancingScheme.AVL)
+            ? new AVLTreeProgram(scanner)
+            : new AVLTreeProgram(scanner, balancingScheme.newTree());
     program.run();
     scanner.close();
   }
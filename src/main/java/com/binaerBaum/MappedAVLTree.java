@@ -0,0 +1,250 @@
+package com.binaerBaum;
+
+import java.nio.ByteBuffer;
+import java.util.OptionalInt;
+
+/**
+ * Read-only AVL tree view over a memory-mapped {@link TreeSnapshot} file. Lookups and traversals
+ * read the node records in place; no {@link AVLNode} objects are created unless {@link
+ * #toAVLTree()} is called. A node is identified by the index of its record in preorder, the root
+ * is record 0.
+ */
+public final class MappedAVLTree {
+  private static final int NO_NODE = -1;
+
+  private final ByteBuffer snapshotBuffer;
+  private final int nodeCount;
+  private final int treeHeight;
+
+  /** The height must already be checked against the node count, see {@link TreeSnapshot#open}. */
+  MappedAVLTree(ByteBuffer snapshotBuffer, int nodeCount, int treeHeight) {
+    this.snapshotBuffer = snapshotBuffer;
+    this.nodeCount = nodeCount;
+    this.treeHeight = treeHeight;
+  }
+
+  public int size() {
+    return nodeCount;
+  }
+
+  public boolean isEmpty() {
+    return nodeCount == 0;
+  }
+
+  /** Returns the height of the tree (0 when empty). */
+  public int getHeight() {
+    return treeHeight;
+  }
+
+  /**
+   * Checks whether a value is stored in the snapshot.
+   *
+   * @param searchValue the value to look for
+   * @return true if present
+   */
+  public boolean contains(int searchValue) {
+    int currentRecord = rootRecord();
+    while (currentRecord != NO_NODE) {
+      int currentValue = valueAt(currentRecord);
+      if (searchValue == currentValue) {
+        return true;
+      }
+      currentRecord =
+          (searchValue < currentValue) ? leftChild(currentRecord) : rightChild(currentRecord);
+    }
+    return false;
+  }
+
+  /**
+   * Finds the greatest value less than or equal to the given value.
+   *
+   * @param searchValue the upper bound
+   * @return the floor value, or empty if every value is greater
+   */
+  public OptionalInt floor(int searchValue) {
+    int currentRecord = rootRecord();
+    int floorRecord = NO_NODE;
+    while (currentRecord != NO_NODE) {
+      int currentValue = valueAt(currentRecord);
+      if (searchValue == currentValue) {
+        return OptionalInt.of(searchValue);
+      }
+      if (searchValue < currentValue) {
+        currentRecord = leftChild(currentRecord);
+      } else {
+        floorRecord = currentRecord;
+        currentRecord = rightChild(currentRecord);
+      }
+    }
+    return (floorRecord == NO_NODE) ? OptionalInt.empty() : OptionalInt.of(valueAt(floorRecord));
+  }
+
+  /**
+   * Finds the smallest value greater than or equal to the given value.
+   *
+   * @param searchValue the lower bound
+   * @return the ceiling value, or empty if every value is smaller
+   */
+  public OptionalInt ceiling(int searchValue) {
+    int currentRecord = rootRecord();
+    int ceilingRecord = NO_NODE;
+    while (currentRecord != NO_NODE) {
+      int currentValue = valueAt(currentRecord);
+      if (searchValue == currentValue) {
+        return OptionalInt.of(searchValue);
+      }
+      if (searchValue > currentValue) {
+        currentRecord = rightChild(currentRecord);
+      } else {
+        ceilingRecord = currentRecord;
+        currentRecord = leftChild(currentRecord);
+      }
+    }
+    return (ceilingRecord == NO_NODE)
+        ? OptionalInt.empty()
+        : OptionalInt.of(valueAt(ceilingRecord));
+  }
+
+  /**
+   * Traverses the snapshot according to the specified traversal method.
+   *
+   * @param traversalMethod traversal order: "preorder", "inorder", "postorder", or "levelorder"
+   * @return array of integers in the traversal order
+   */
+  public int[] traverse(String traversalMethod) {
+    return traverse(TraversalOrder.fromName(traversalMethod));
+  }
+
+  /**
+   * Traverses the snapshot in the given order.
+   *
+   * @param traversalOrder the traversal order
+   * @return array of integers in the traversal order
+   */
+  public int[] traverse(TraversalOrder traversalOrder) {
+    int[] traversalResult = new int[nodeCount];
+    if (nodeCount == 0) {
+      return traversalResult;
+    }
+
+    switch (traversalOrder) {
+      case PREORDER:
+        // The records are stored in preorder
+        for (int recordIdx = 0; recordIdx < nodeCount; recordIdx++) {
+          traversalResult[recordIdx] = valueAt(recordIdx);
+        }
+        break;
+      case INORDER:
+        inorderTraversal(traversalResult);
+        break;
+      case POSTORDER:
+        postorderTraversal(0, traversalResult, 0);
+        break;
+      case LEVELORDER:
+        levelOrderTraversal(traversalResult);
+        break;
+    }
+    return traversalResult;
+  }
+
+  /**
+   * Deserializes the snapshot into a regular, modifiable tree with exactly the same shape.
+   *
+   * @return new tree built from the snapshot
+   */
+  public AVLTree toAVLTree() {
+    AVLTree loadedTree = new AVLTree();
+    loadedTree.setRoot(buildNode(rootRecord()));
+    return loadedTree;
+  }
+
+  private AVLNode buildNode(int record) {
+    if (record == NO_NODE) {
+      return null;
+    }
+    return new AVLNode(
+        valueAt(record), buildNode(leftChild(record)), buildNode(rightChild(record)));
+  }
+
+  private int rootRecord() {
+    return (nodeCount == 0) ? NO_NODE : 0;
+  }
+
+  private int valueAt(int record) {
+    return snapshotBuffer.getInt(TreeSnapshot.HEADER_BYTES + record * TreeSnapshot.RECORD_BYTES);
+  }
+
+  private int subtreeSizeAt(int record) {
+    return snapshotBuffer.getInt(
+        TreeSnapshot.HEADER_BYTES + record * TreeSnapshot.RECORD_BYTES + 4);
+  }
+
+  /** The next record is the left child if it belongs to this subtree and holds a smaller value. */
+  private int leftChild(int record) {
+    if (subtreeSizeAt(record) > 1 && valueAt(record + 1) < valueAt(record)) {
+      return record + 1;
+    }
+    return NO_NODE;
+  }
+
+  /** The right child follows the left subtree, if the subtree has records left for it. */
+  private int rightChild(int record) {
+    int leftRecord = leftChild(record);
+    int rightRecord = record + 1 + ((leftRecord == NO_NODE) ? 0 : subtreeSizeAt(leftRecord));
+    return (rightRecord < record + subtreeSizeAt(record)) ? rightRecord : NO_NODE;
+  }
+
+  /** Inorder traversal: Left -> Root -> Right */
+  private void inorderTraversal(int[] inorderResult) {
+    int[] pendingRecords = new int[treeHeight];
+    int stackSize = 0;
+    int resultIdx = 0;
+    int currentRecord = rootRecord();
+
+    while (currentRecord != NO_NODE || stackSize > 0) {
+      while (currentRecord != NO_NODE) {
+        pendingRecords[stackSize++] = currentRecord;
+        currentRecord = leftChild(currentRecord);
+      }
+      currentRecord = pendingRecords[--stackSize];
+      inorderResult[resultIdx++] = valueAt(currentRecord);
+      currentRecord = rightChild(currentRecord);
+    }
+  }
+
+  /** Postorder traversal: Left -> Right -> Root. The recursion depth is the tree height. */
+  private int postorderTraversal(int record, int[] postorderResult, int nextOffset) {
+    int leftRecord = leftChild(record);
+    if (leftRecord != NO_NODE) {
+      nextOffset = postorderTraversal(leftRecord, postorderResult, nextOffset);
+    }
+    int rightRecord = rightChild(record);
+    if (rightRecord != NO_NODE) {
+      nextOffset = postorderTraversal(rightRecord, postorderResult, nextOffset);
+    }
+    postorderResult[nextOffset] = valueAt(record);
+    return nextOffset + 1;
+  }
+
+  /** Level-order traversal (BFS - Breadth-First Search): Level by level from top to bottom */
+  private void levelOrderTraversal(int[] levelOrderResult) {
+    // Every record is enqueued exactly once, so a plain array of nodeCount entries is the queue.
+    int[] bfsQueue = new int[nodeCount];
+    int queueHead = 0;
+    int queueTail = 0;
+
+    bfsQueue[queueTail++] = rootRecord();
+    while (queueHead < queueTail) {
+      int recordAtLevel = bfsQueue[queueHead];
+      levelOrderResult[queueHead++] = valueAt(recordAtLevel);
+      int leftRecord = leftChild(recordAtLevel);
+      if (leftRecord != NO_NODE) {
+        bfsQueue[queueTail++] = leftRecord;
+      }
+      int rightRecord = rightChild(recordAtLevel);
+      if (rightRecord != NO_NODE) {
+        bfsQueue[queueTail++] = rightRecord;
+      }
+    }
+  }
+}
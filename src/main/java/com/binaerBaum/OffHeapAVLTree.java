@@ -0,0 +1,478 @@
+package com.binaerBaum;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * AVL tree over int keys whose nodes live outside the Java heap, in memory segments of one shared
+ * {@link Arena}. The GC sees a handful of segment objects however many keys are stored, so even a
+ * tree with a billion keys adds nothing to the work of a full collection.
+ *
+ * <p>Every node is a 16 byte record of four ints: key, height, left child and right child. Children
+ * are node numbers, not addresses: node k lives in segment {@code k / nodesPerSegment} at record
+ * {@code k % nodesPerSegment}. When all segments are full, another one of the same size is chained
+ * on, so growing never copies existing nodes. Node 0 is a sentinel for "no child" with height 0,
+ * and removed nodes are chained into a free list (through their left child) and reused.
+ *
+ * <p>The tree is not thread-safe. It holds native memory until {@link #close()} is called; after
+ * that every operation throws an {@link IllegalStateException}.
+ */
+public final class OffHeapAVLTree implements AutoCloseable {
+  static final int RECORD_BYTES = 16;
+  private static final long KEY_OFFSET = 0;
+  private static final long HEIGHT_OFFSET = 4;
+  private static final long LEFT_OFFSET = 8;
+  private static final long RIGHT_OFFSET = 12;
+
+  private static final int NIL = 0;
+  private static final int DEFAULT_NODES_PER_SEGMENT = 1 << 16;
+
+  private final Arena memoryArena = Arena.ofShared();
+  private final int segmentShift;
+  private final int recordMask;
+
+  private MemorySegment[] nodeSegments = new MemorySegment[4];
+  private int segmentCount;
+
+  private int rootNode = NIL;
+  private int nextUnusedNode = 1;
+  private int freeListHead = NIL;
+  private long nodeCount;
+  private boolean closed;
+
+  /** Set by the recursive helpers to report whether the last operation changed the tree. */
+  private boolean treeModified;
+
+  public OffHeapAVLTree() {
+    this(DEFAULT_NODES_PER_SEGMENT);
+  }
+
+  /**
+   * Creates an empty tree that allocates native memory in segments of the given number of nodes.
+   *
+   * @param nodesPerSegment nodes per segment, a power of two of at least 2
+   * @throws IllegalArgumentException if the segment size is not a power of two of at least 2
+   */
+  public OffHeapAVLTree(int nodesPerSegment) {
+    if (nodesPerSegment < 2 || Integer.bitCount(nodesPerSegment) != 1) {
+      throw new IllegalArgumentException(
+          "Knoten pro Segment müssen eine Zweierpotenz >= 2 sein: " + nodesPerSegment);
+    }
+    this.segmentShift = Integer.numberOfTrailingZeros(nodesPerSegment);
+    this.recordMask = nodesPerSegment - 1;
+    // The sentinel takes the first record of the first, zero-filled segment
+    addSegment();
+  }
+
+  /**
+   * Inserts a value into the tree.
+   *
+   * @param insertValue the value to insert
+   * @return true if inserted, false if duplicate
+   * @throws IllegalStateException if the tree is closed or holds the maximum number of nodes
+   */
+  public boolean insert(int insertValue) {
+    checkOpen();
+    // Grow up front: the recursion below writes the child links after descending.
+    ensureFreeNode();
+    treeModified = false;
+    rootNode = insertAt(rootNode, insertValue);
+    return treeModified;
+  }
+
+  /**
+   * Removes a value from the tree; its record is reused by the next insertion.
+   *
+   * @param removeValue the value to remove
+   * @return true if removed, false if not present
+   */
+  public boolean remove(int removeValue) {
+    checkOpen();
+    treeModified = false;
+    rootNode = removeAt(rootNode, removeValue);
+    return treeModified;
+  }
+
+  /**
+   * Checks whether a value is stored in the tree.
+   *
+   * @param searchValue the value to look for
+   * @return true if present
+   */
+  public boolean contains(int searchValue) {
+    checkOpen();
+    int currentNode = rootNode;
+    while (currentNode != NIL) {
+      int currentKey = key(currentNode);
+      if (searchValue == currentKey) {
+        return true;
+      }
+      currentNode = (searchValue < currentKey) ? left(currentNode) : right(currentNode);
+    }
+    return false;
+  }
+
+  /** Returns the number of keys; unlike {@link AVLTree#size()} this may exceed an int. */
+  public long size() {
+    checkOpen();
+    return nodeCount;
+  }
+
+  public boolean isEmpty() {
+    checkOpen();
+    return nodeCount == 0;
+  }
+
+  /** Returns the height of the tree (0 when empty). */
+  public int getHeight() {
+    checkOpen();
+    return height(rootNode);
+  }
+
+  /** Returns the native memory reserved for nodes, in bytes. */
+  public long getReservedBytes() {
+    checkOpen();
+    return (long) segmentCount * (recordMask + 1) * RECORD_BYTES;
+  }
+
+  /**
+   * Traverses the tree according to the specified traversal method.
+   *
+   * @param traversalMethod traversal order: "preorder", "inorder", "postorder", or "levelorder"
+   * @return array of integers in the traversal order
+   */
+  public int[] traverse(String traversalMethod) {
+    return traverse(TraversalOrder.fromName(traversalMethod));
+  }
+
+  /**
+   * Traverses the tree into a heap array. Trees too large for one array are walked with {@link
+   * #forEach(TraversalOrder, IntConsumer)} instead.
+   *
+   * @param traversalOrder the traversal order
+   * @return array of integers in the traversal order
+   * @throws IllegalStateException if the tree has more keys than an array can hold
+   */
+  public int[] traverse(TraversalOrder traversalOrder) {
+    checkOpen();
+    if (nodeCount > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException(
+          "Zu viele Werte für ein Array: " + nodeCount + "; forEach verwenden.");
+    }
+    int[] traversalResult = new int[(int) nodeCount];
+    int[] resultIdx = new int[1];
+    forEach(traversalOrder, visitedValue -> traversalResult[resultIdx[0]++] = visitedValue);
+    return traversalResult;
+  }
+
+  /**
+   * Passes every key to the consumer in the given order, without recursion. Preorder, inorder and
+   * postorder keep a stack of tree height; levelorder keeps a queue as wide as the widest level.
+   *
+   * @param traversalOrder the traversal order
+   * @param valueConsumer receiver of the keys
+   */
+  public void forEach(TraversalOrder traversalOrder, IntConsumer valueConsumer) {
+    checkOpen();
+    if (rootNode == NIL) {
+      return;
+    }
+    switch (traversalOrder) {
+      case PREORDER:
+        preorderTraversal(valueConsumer);
+        break;
+      case INORDER:
+        inorderTraversal(valueConsumer);
+        break;
+      case POSTORDER:
+        postorderTraversal(valueConsumer);
+        break;
+      case LEVELORDER:
+        levelOrderTraversal(valueConsumer);
+        break;
+    }
+  }
+
+  /** Releases all native memory of the tree. Calling it again has no effect. */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    Arrays.fill(nodeSegments, null);
+    memoryArena.close();
+  }
+
+  private void preorderTraversal(IntConsumer valueConsumer) {
+    int[] pendingNodes = new int[height(rootNode) + 1];
+    int stackSize = 0;
+    pendingNodes[stackSize++] = rootNode;
+    while (stackSize > 0) {
+      int visitedNode = pendingNodes[--stackSize];
+      valueConsumer.accept(key(visitedNode));
+      if (right(visitedNode) != NIL) {
+        pendingNodes[stackSize++] = right(visitedNode);
+      }
+      if (left(visitedNode) != NIL) {
+        pendingNodes[stackSize++] = left(visitedNode);
+      }
+    }
+  }
+
+  private void inorderTraversal(IntConsumer valueConsumer) {
+    int[] pendingNodes = new int[height(rootNode)];
+    int stackSize = 0;
+    int currentNode = rootNode;
+    while (currentNode != NIL || stackSize > 0) {
+      while (currentNode != NIL) {
+        pendingNodes[stackSize++] = currentNode;
+        currentNode = left(currentNode);
+      }
+      int visitedNode = pendingNodes[--stackSize];
+      valueConsumer.accept(key(visitedNode));
+      currentNode = right(visitedNode);
+    }
+  }
+
+  private void postorderTraversal(IntConsumer valueConsumer) {
+    int[] pendingNodes = new int[height(rootNode)];
+    int stackSize = 0;
+    int currentNode = rootNode;
+    int lastVisitedNode = NIL;
+    while (currentNode != NIL || stackSize > 0) {
+      while (currentNode != NIL) {
+        pendingNodes[stackSize++] = currentNode;
+        currentNode = left(currentNode);
+      }
+      int topNode = pendingNodes[stackSize - 1];
+      int rightChild = right(topNode);
+      if (rightChild != NIL && rightChild != lastVisitedNode) {
+        // Right subtree not finished yet
+        currentNode = rightChild;
+      } else {
+        stackSize--;
+        valueConsumer.accept(key(topNode));
+        lastVisitedNode = topNode;
+      }
+    }
+  }
+
+  private void levelOrderTraversal(IntConsumer valueConsumer) {
+    // Ring buffer of node numbers; grows to the widest level
+    int[] queuedNodes = new int[16];
+    int queueHead = 0;
+    int queueSize = 1;
+    queuedNodes[0] = rootNode;
+    while (queueSize > 0) {
+      int visitedNode = queuedNodes[queueHead];
+      queueHead = (queueHead + 1) & (queuedNodes.length - 1);
+      queueSize--;
+      valueConsumer.accept(key(visitedNode));
+
+      if (queueSize + 2 > queuedNodes.length) {
+        int[] grownQueue = new int[queuedNodes.length << 1];
+        for (int queueIdx = 0; queueIdx < queueSize; queueIdx++) {
+          grownQueue[queueIdx] = queuedNodes[(queueHead + queueIdx) & (queuedNodes.length - 1)];
+        }
+        queuedNodes = grownQueue;
+        queueHead = 0;
+      }
+      int queueMask = queuedNodes.length - 1;
+      if (left(visitedNode) != NIL) {
+        queuedNodes[(queueHead + queueSize++) & queueMask] = left(visitedNode);
+      }
+      if (right(visitedNode) != NIL) {
+        queuedNodes[(queueHead + queueSize++) & queueMask] = right(visitedNode);
+      }
+    }
+  }
+
+  private int insertAt(int currentNode, int insertValue) {
+    if (currentNode == NIL) {
+      treeModified = true;
+      return allocateNode(insertValue);
+    }
+
+    int currentKey = key(currentNode);
+    if (insertValue < currentKey) {
+      setLeft(currentNode, insertAt(left(currentNode), insertValue));
+    } else if (insertValue > currentKey) {
+      setRight(currentNode, insertAt(right(currentNode), insertValue));
+    } else {
+      // Duplicate, ignore
+      return currentNode;
+    }
+    return treeModified ? balanceNode(currentNode) : currentNode;
+  }
+
+  private int removeAt(int currentNode, int removeValue) {
+    if (currentNode == NIL) {
+      return NIL;
+    }
+
+    int currentKey = key(currentNode);
+    if (removeValue < currentKey) {
+      setLeft(currentNode, removeAt(left(currentNode), removeValue));
+    } else if (removeValue > currentKey) {
+      setRight(currentNode, removeAt(right(currentNode), removeValue));
+    } else if (left(currentNode) == NIL || right(currentNode) == NIL) {
+      int remainingChild = (left(currentNode) != NIL) ? left(currentNode) : right(currentNode);
+      freeNode(currentNode);
+      treeModified = true;
+      return remainingChild;
+    } else {
+      // Two children: take over the in-order successor's key and remove it from the right subtree
+      int successorNode = right(currentNode);
+      while (left(successorNode) != NIL) {
+        successorNode = left(successorNode);
+      }
+      int successorKey = key(successorNode);
+      setKey(currentNode, successorKey);
+      setRight(currentNode, removeAt(right(currentNode), successorKey));
+    }
+    return balanceNode(currentNode);
+  }
+
+  private int balanceNode(int unbalancedNode) {
+    updateHeight(unbalancedNode);
+    int balanceFactor = balanceFactor(unbalancedNode);
+
+    // Left heavy
+    if (balanceFactor > 1) {
+      if (balanceFactor(left(unbalancedNode)) < 0) {
+        setLeft(unbalancedNode, rotateLeft(left(unbalancedNode)));
+      }
+      return rotateRight(unbalancedNode);
+    }
+    // Right heavy
+    if (balanceFactor < -1) {
+      if (balanceFactor(right(unbalancedNode)) > 0) {
+        setRight(unbalancedNode, rotateRight(right(unbalancedNode)));
+      }
+      return rotateLeft(unbalancedNode);
+    }
+    return unbalancedNode;
+  }
+
+  private int rotateRight(int parentNode) {
+    int leftChild = left(parentNode);
+    setLeft(parentNode, right(leftChild));
+    setRight(leftChild, parentNode);
+
+    updateHeight(parentNode);
+    updateHeight(leftChild);
+    return leftChild;
+  }
+
+  private int rotateLeft(int parentNode) {
+    int rightChild = right(parentNode);
+    setRight(parentNode, left(rightChild));
+    setLeft(rightChild, parentNode);
+
+    updateHeight(parentNode);
+    updateHeight(rightChild);
+    return rightChild;
+  }
+
+  private int balanceFactor(int node) {
+    return height(left(node)) - height(right(node));
+  }
+
+  private void updateHeight(int node) {
+    setHeight(node, Math.max(height(left(node)), height(right(node))) + 1);
+  }
+
+  private void ensureFreeNode() {
+    if (freeListHead != NIL) {
+      return;
+    }
+    if (nextUnusedNode == Integer.MAX_VALUE) {
+      throw new IllegalStateException("Der Baum ist voll: " + nodeCount + " Knoten.");
+    }
+    if (nextUnusedNode >= ((long) segmentCount << segmentShift)) {
+      addSegment();
+    }
+  }
+
+  /** Chains one more zero-filled segment onto the tree; existing nodes stay where they are. */
+  private void addSegment() {
+    if (segmentCount == nodeSegments.length) {
+      nodeSegments = Arrays.copyOf(nodeSegments, segmentCount << 1);
+    }
+    long segmentBytes = (long) (recordMask + 1) * RECORD_BYTES;
+    nodeSegments[segmentCount++] = memoryArena.allocate(segmentBytes, RECORD_BYTES);
+  }
+
+  private int allocateNode(int nodeKey) {
+    int allocatedNode;
+    if (freeListHead != NIL) {
+      allocatedNode = freeListHead;
+      freeListHead = left(allocatedNode);
+    } else {
+      allocatedNode = nextUnusedNode++;
+    }
+
+    setKey(allocatedNode, nodeKey);
+    setHeight(allocatedNode, 1);
+    setLeft(allocatedNode, NIL);
+    setRight(allocatedNode, NIL);
+    nodeCount++;
+    return allocatedNode;
+  }
+
+  private void freeNode(int node) {
+    setLeft(node, freeListHead);
+    freeListHead = node;
+    nodeCount--;
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("Der Baum wurde bereits geschlossen.");
+    }
+  }
+
+  private MemorySegment segmentOf(int node) {
+    return nodeSegments[node >>> segmentShift];
+  }
+
+  private long recordOffset(int node) {
+    return (long) (node & recordMask) * RECORD_BYTES;
+  }
+
+  private int key(int node) {
+    return segmentOf(node).get(ValueLayout.JAVA_INT, recordOffset(node) + KEY_OFFSET);
+  }
+
+  private int height(int node) {
+    return segmentOf(node).get(ValueLayout.JAVA_INT, recordOffset(node) + HEIGHT_OFFSET);
+  }
+
+  private int left(int node) {
+    return segmentOf(node).get(ValueLayout.JAVA_INT, recordOffset(node) + LEFT_OFFSET);
+  }
+
+  private int right(int node) {
+    return segmentOf(node).get(ValueLayout.JAVA_INT, recordOffset(node) + RIGHT_OFFSET);
+  }
+
+  private void setKey(int node, int nodeKey) {
+    segmentOf(node).set(ValueLayout.JAVA_INT, recordOffset(node) + KEY_OFFSET, nodeKey);
+  }
+
+  private void setHeight(int node, int nodeHeight) {
+    segmentOf(node).set(ValueLayout.JAVA_INT, recordOffset(node) + HEIGHT_OFFSET, nodeHeight);
+  }
+
+  private void setLeft(int node, int leftChild) {
+    segmentOf(node).set(ValueLayout.JAVA_INT, recordOffset(node) + LEFT_OFFSET, leftChild);
+  }
+
+  private void setRight(int node, int rightChild) {
+    segmentOf(node).set(ValueLayout.JAVA_INT, recordOffset(node) + RIGHT_OFFSET, rightChild);
+  }
+}
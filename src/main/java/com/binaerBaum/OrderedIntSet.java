@@ -0,0 +1,75 @@
+package com.binaerBaum;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+
+/**
+ * Sorted set of distinct int values with the operations every tree in this package offers,
+ * independent of how it stays balanced.
+ */
+public interface OrderedIntSet {
+
+  /**
+   * Inserts a value.
+   *
+   * @param insertValue the value to insert
+   * @return true if inserted, false if duplicate
+   */
+  boolean insert(int insertValue);
+
+  /**
+   * Removes a value.
+   *
+   * @param removeValue the value to remove
+   * @return true if removed, false if not present
+   */
+  boolean remove(int removeValue);
+
+  /**
+   * Checks whether a value is stored in the set.
+   *
+   * @param searchValue the value to look for
+   * @return true if present
+   */
+  boolean contains(int searchValue);
+
+  /**
+   * Finds the greatest value less than or equal to the given value.
+   *
+   * @param searchValue the upper bound
+   * @return the floor value, or empty if every value is greater
+   */
+  OptionalInt floor(int searchValue);
+
+  /**
+   * Finds the smallest value greater than or equal to the given value.
+   *
+   * @param searchValue the lower bound
+   * @return the ceiling value, or empty if every value is smaller
+   */
+  OptionalInt ceiling(int searchValue);
+
+  /**
+   * Returns the smallest value.
+   *
+   * @return the minimum
+   * @throws NoSuchElementException if the set is empty
+   */
+  int min();
+
+  /**
+   * Returns the greatest value.
+   *
+   * @return the maximum
+   * @throws NoSuchElementException if the set is empty
+   */
+  int max();
+
+  /** Returns the number of values in the set. */
+  int size();
+
+  boolean isEmpty();
+
+  /** Removes all values. */
+  void clear();
+}
@@ -0,0 +1,389 @@
+package com.binaerBaum;
+
+import java.util.Comparator;
+import java.util.OptionalInt;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fork/join traversals and aggregates for large trees. Work is split at subtree roots until a
+ * subtree is smaller than {@link #SEQUENTIAL_THRESHOLD}; the subtree sizes stored in {@link
+ * AVLNode} tell every task exactly where its values belong in the output, so the tasks write into
+ * one shared array without any merging.
+ *
+ * <p>The tree must not be modified while one of these operations runs. {@link PersistentAVLTree}
+ * versions satisfy this by construction.
+ */
+public final class ParallelTraversal {
+  /** Subtrees with fewer nodes than this are processed sequentially by one task. */
+  static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+  private ParallelTraversal() {}
+
+  /**
+   * Traverses the subtree below the given node in parallel. Levelorder has no independent
+   * subtree ranges in its output and is computed sequentially.
+   *
+   * @param subtreeRoot root of the subtree, may be null
+   * @param traversalOrder the traversal order
+   * @return array of integers in the traversal order
+   */
+  public static int[] traverse(AVLNode subtreeRoot, TraversalOrder traversalOrder) {
+    if (traversalOrder == TraversalOrder.LEVELORDER) {
+      return Traversal.traverse(subtreeRoot, traversalOrder);
+    }
+
+    int[] traversalResult = new int[AVLNode.sizeOf(subtreeRoot)];
+    if (subtreeRoot != null) {
+      ForkJoinPool.commonPool()
+          .invoke(new FillTask(subtreeRoot, traversalOrder, traversalResult, 0));
+    }
+    return traversalResult;
+  }
+
+  /**
+   * Sums all values of the subtree in parallel.
+   *
+   * @param subtreeRoot root of the subtree, may be null
+   * @return the sum as long, so it cannot overflow for trees up to 2^32 values
+   */
+  public static long sum(AVLNode subtreeRoot) {
+    if (subtreeRoot == null) {
+      return 0L;
+    }
+    return ForkJoinPool.commonPool().invoke(new SumTask(subtreeRoot));
+  }
+
+  /**
+   * Counts the values between two bounds (both inclusive). Subtrees that lie completely inside the
+   * range contribute their stored size without being visited, so only the two boundary paths are
+   * walked; they are processed in parallel when both are long enough to be worth it.
+   *
+   * @param subtreeRoot root of the subtree, may be null
+   * @param lowerBound smallest value to count
+   * @param upperBound greatest value to count
+   * @return number of values in [lowerBound, upperBound]
+   */
+  public static int countInRange(AVLNode subtreeRoot, int lowerBound, int upperBound) {
+    if (subtreeRoot == null || lowerBound > upperBound) {
+      return 0;
+    }
+    return ForkJoinPool.commonPool()
+        .invoke(
+            new CountInRangeTask(
+                subtreeRoot, lowerBound, upperBound, Long.MIN_VALUE, Long.MAX_VALUE));
+  }
+
+  /**
+   * Returns the smallest value of the subtree. This is a single O(log n) descent; there is nothing
+   * to parallelize.
+   *
+   * @param subtreeRoot root of the subtree, may be null
+   * @return the minimum, or empty for an empty subtree
+   */
+  public static OptionalInt min(AVLNode subtreeRoot) {
+    if (subtreeRoot == null) {
+      return OptionalInt.empty();
+    }
+    AVLNode currentNode = subtreeRoot;
+    while (currentNode.left != null) {
+      currentNode = currentNode.left;
+    }
+    return OptionalInt.of(currentNode.value);
+  }
+
+  /**
+   * Returns the greatest value of the subtree. This is a single O(log n) descent; there is nothing
+   * to parallelize.
+   *
+   * @param subtreeRoot root of the subtree, may be null
+   * @return the maximum, or empty for an empty subtree
+   */
+  public static OptionalInt max(AVLNode subtreeRoot) {
+    if (subtreeRoot == null) {
+      return OptionalInt.empty();
+    }
+    AVLNode currentNode = subtreeRoot;
+    while (currentNode.right != null) {
+      currentNode = currentNode.right;
+    }
+    return OptionalInt.of(currentNode.value);
+  }
+
+  /**
+   * Returns a spliterator over the values of the subtree in inorder. It splits by inorder position
+   * into two exact halves, so {@link IntStream#parallel()} divides the work evenly.
+   *
+   * @param subtreeRoot root of the subtree, may be null
+   * @return sized, sorted spliterator over the values
+   */
+  public static Spliterator.OfInt spliterator(AVLNode subtreeRoot) {
+    return new InorderSpliterator(subtreeRoot, 0, AVLNode.sizeOf(subtreeRoot));
+  }
+
+  /**
+   * Streams the values of a tree in inorder as a parallel stream.
+   *
+   * @param avlTree the tree to stream
+   * @return parallel stream of the values
+   */
+  public static IntStream stream(AVLTree avlTree) {
+    return StreamSupport.intStream(spliterator(avlTree.getRoot()), true);
+  }
+
+  /** Writes a subtree into its slice of the output array. */
+  @SuppressWarnings("serial")
+  private static final class FillTask extends RecursiveAction {
+    private final AVLNode fillRoot;
+    private final TraversalOrder fillOrder;
+    private final int[] fillTarget;
+    private final int fillOffset;
+
+    FillTask(AVLNode fillRoot, TraversalOrder fillOrder, int[] fillTarget, int fillOffset) {
+      this.fillRoot = fillRoot;
+      this.fillOrder = fillOrder;
+      this.fillTarget = fillTarget;
+      this.fillOffset = fillOffset;
+    }
+
+    @Override
+    protected void compute() {
+      if (fillRoot.size < SEQUENTIAL_THRESHOLD) {
+        fillSequentially(fillRoot, fillOrder, fillTarget, fillOffset);
+        return;
+      }
+
+      int leftSize = AVLNode.sizeOf(fillRoot.left);
+      int leftOffset;
+      int rightOffset;
+      switch (fillOrder) {
+        case PREORDER:
+          fillTarget[fillOffset] = fillRoot.value;
+          leftOffset = fillOffset + 1;
+          rightOffset = fillOffset + 1 + leftSize;
+          break;
+        case INORDER:
+          fillTarget[fillOffset + leftSize] = fillRoot.value;
+          leftOffset = fillOffset;
+          rightOffset = fillOffset + leftSize + 1;
+          break;
+        default:
+          fillTarget[fillOffset + fillRoot.size - 1] = fillRoot.value;
+          leftOffset = fillOffset;
+          rightOffset = fillOffset + leftSize;
+          break;
+      }
+
+      // A large subtree always has both children
+      invokeAll(
+          new FillTask(fillRoot.left, fillOrder, fillTarget, leftOffset),
+          new FillTask(fillRoot.right, fillOrder, fillTarget, rightOffset));
+    }
+
+    /** Recursive walk; the depth is bounded by the tree height. Returns the next free offset. */
+    private static int fillSequentially(
+        AVLNode fillNode, TraversalOrder fillOrder, int[] fillTarget, int fillOffset) {
+      if (fillNode == null) {
+        return fillOffset;
+      }
+      int nextOffset = fillOffset;
+      if (fillOrder == TraversalOrder.PREORDER) {
+        fillTarget[nextOffset++] = fillNode.value;
+      }
+      nextOffset = fillSequentially(fillNode.left, fillOrder, fillTarget, nextOffset);
+      if (fillOrder == TraversalOrder.INORDER) {
+        fillTarget[nextOffset++] = fillNode.value;
+      }
+      nextOffset = fillSequentially(fillNode.right, fillOrder, fillTarget, nextOffset);
+      if (fillOrder == TraversalOrder.POSTORDER) {
+        fillTarget[nextOffset++] = fillNode.value;
+      }
+      return nextOffset;
+    }
+  }
+
+  /** Sums the values of a subtree. */
+  @SuppressWarnings("serial")
+  private static final class SumTask extends RecursiveTask<Long> {
+    private final AVLNode sumRoot;
+
+    SumTask(AVLNode sumRoot) {
+      this.sumRoot = sumRoot;
+    }
+
+    @Override
+    protected Long compute() {
+      if (sumRoot.size < SEQUENTIAL_THRESHOLD) {
+        return sumSequentially(sumRoot);
+      }
+      SumTask rightTask = new SumTask(sumRoot.right);
+      rightTask.fork();
+      long leftSum = new SumTask(sumRoot.left).compute();
+      return leftSum + sumRoot.value + rightTask.join();
+    }
+
+    private static long sumSequentially(AVLNode sumNode) {
+      if (sumNode == null) {
+        return 0L;
+      }
+      return sumSequentially(sumNode.left) + sumNode.value + sumSequentially(sumNode.right);
+    }
+  }
+
+  /**
+   * Counts the values of a subtree inside [lowerBound, upperBound]. {@code subtreeMin} and {@code
+   * subtreeMax} are the bounds every value of the subtree is known to satisfy from the path above
+   * it; long so they can start outside the int range.
+   */
+  @SuppressWarnings("serial")
+  private static final class CountInRangeTask extends RecursiveTask<Integer> {
+    private final AVLNode countRoot;
+    private final int lowerBound;
+    private final int upperBound;
+    private final long subtreeMin;
+    private final long subtreeMax;
+
+    CountInRangeTask(
+        AVLNode countRoot, int lowerBound, int upperBound, long subtreeMin, long subtreeMax) {
+      this.countRoot = countRoot;
+      this.lowerBound = lowerBound;
+      this.upperBound = upperBound;
+      this.subtreeMin = subtreeMin;
+      this.subtreeMax = subtreeMax;
+    }
+
+    @Override
+    protected Integer compute() {
+      AVLNode currentNode = countRoot;
+      long currentMin = subtreeMin;
+      long currentMax = subtreeMax;
+
+      // Walk down while only one side can hold values in the range
+      while (currentNode != null) {
+        if (currentMin >= lowerBound && currentMax <= upperBound) {
+          return currentNode.size;
+        }
+        if (currentNode.value < lowerBound) {
+          currentMin = currentNode.value + 1L;
+          currentNode = currentNode.right;
+        } else if (currentNode.value > upperBound) {
+          currentMax = currentNode.value - 1L;
+          currentNode = currentNode.left;
+        } else {
+          break;
+        }
+      }
+      if (currentNode == null) {
+        return 0;
+      }
+
+      // The range splits here: both sides are counted, in parallel for large subtrees
+      CountInRangeTask leftTask =
+          new CountInRangeTask(
+              currentNode.left, lowerBound, upperBound, currentMin, currentNode.value - 1L);
+      CountInRangeTask rightTask =
+          new CountInRangeTask(
+              currentNode.right, lowerBound, upperBound, currentNode.value + 1L, currentMax);
+      if (currentNode.size < SEQUENTIAL_THRESHOLD) {
+        return leftTask.compute() + 1 + rightTask.compute();
+      }
+      rightTask.fork();
+      return leftTask.compute() + 1 + rightTask.join();
+    }
+  }
+
+  /** Inorder spliterator over the positions [nextPosition, endPosition) of a subtree. */
+  private static final class InorderSpliterator implements Spliterator.OfInt {
+    private final AVLNode spliteratorRoot;
+    private int nextPosition;
+    private final int endPosition;
+
+    /** Inorder stack, created by the first advance; from then on the spliterator does not split. */
+    private AVLNode[] pendingNodes;
+
+    private int stackSize;
+
+    InorderSpliterator(AVLNode spliteratorRoot, int startPosition, int endPosition) {
+      this.spliteratorRoot = spliteratorRoot;
+      this.nextPosition = startPosition;
+      this.endPosition = endPosition;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer valueAction) {
+      if (nextPosition >= endPosition) {
+        return false;
+      }
+      if (pendingNodes == null) {
+        seekToPosition();
+      }
+
+      AVLNode inorderNode = pendingNodes[--stackSize];
+      AVLNode spineNode = inorderNode.right;
+      while (spineNode != null) {
+        pendingNodes[stackSize++] = spineNode;
+        spineNode = spineNode.left;
+      }
+      nextPosition++;
+      valueAction.accept(inorderNode.value);
+      return true;
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+      int remainingCount = endPosition - nextPosition;
+      if (pendingNodes != null || remainingCount < 2) {
+        return null;
+      }
+      int middlePosition = nextPosition + remainingCount / 2;
+      InorderSpliterator prefixSpliterator =
+          new InorderSpliterator(spliteratorRoot, nextPosition, middlePosition);
+      nextPosition = middlePosition;
+      return prefixSpliterator;
+    }
+
+    @Override
+    public long estimateSize() {
+      return endPosition - nextPosition;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL;
+    }
+
+    @Override
+    public Comparator<? super Integer> getComparator() {
+      // Natural order
+      return null;
+    }
+
+    /**
+     * Builds the inorder stack so that its top is the node at {@code nextPosition}, descending by
+     * subtree sizes in O(log n).
+     */
+    private void seekToPosition() {
+      pendingNodes = new AVLNode[spliteratorRoot.height];
+      int remainingPosition = nextPosition;
+      AVLNode currentNode = spliteratorRoot;
+      while (currentNode != null) {
+        int leftSize = AVLNode.sizeOf(currentNode.left);
+        if (remainingPosition < leftSize) {
+          pendingNodes[stackSize++] = currentNode;
+          currentNode = currentNode.left;
+        } else if (remainingPosition == leftSize) {
+          pendingNodes[stackSize++] = currentNode;
+          return;
+        } else {
+          remainingPosition -= leftSize + 1;
+          currentNode = currentNode.right;
+        }
+      }
+    }
+  }
+}
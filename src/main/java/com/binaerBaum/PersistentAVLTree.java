@@ -0,0 +1,235 @@
+package com.binaerBaum;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Immutable AVL tree. {@link #insert(int)} and {@link #remove(int)} leave this tree untouched and
+ * return a new version that shares every node off the search path with it; only the O(log n)
+ * nodes on the path are copied. Every version therefore stays valid forever and works as a free
+ * point-in-time snapshot, which can be traversed or visualized from any thread without locking.
+ *
+ * <p>The nodes are ordinary {@link AVLNode}s that are never modified after construction. Since
+ * their fields are not final, a version handed to another thread must be published safely (for
+ * example through a volatile field or a {@link java.util.concurrent.atomic.AtomicReference}).
+ */
+public final class PersistentAVLTree {
+  private static final PersistentAVLTree EMPTY = new PersistentAVLTree(null);
+
+  private final AVLNode treeRoot;
+
+  private PersistentAVLTree(AVLNode treeRoot) {
+    this.treeRoot = treeRoot;
+  }
+
+  /** Returns the empty tree. */
+  public static PersistentAVLTree empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a balanced tree holding the given values (see {@link AVLTree#bulkLoad(int[])}).
+   *
+   * @param inputValues values in any order, duplicates allowed; the array is not modified
+   * @return tree holding each distinct value once
+   */
+  public static PersistentAVLTree of(int... inputValues) {
+    int[] distinctValues = AVLTree.sortedDistinct(inputValues);
+    return new PersistentAVLTree(AVLTree.buildBalanced(distinctValues, 0, distinctValues.length));
+  }
+
+  /**
+   * Returns a version of this tree that also contains the given value.
+   *
+   * @param insertValue the value to insert
+   * @return the new version, or this tree if the value is already present
+   */
+  public PersistentAVLTree insert(int insertValue) {
+    AVLNode updatedRoot = insertCopy(treeRoot, insertValue);
+    return (updatedRoot == treeRoot) ? this : new PersistentAVLTree(updatedRoot);
+  }
+
+  /**
+   * Returns a version of this tree without the given value.
+   *
+   * @param removeValue the value to remove
+   * @return the new version, or this tree if the value is not present
+   */
+  public PersistentAVLTree remove(int removeValue) {
+    AVLNode updatedRoot = removeCopy(treeRoot, removeValue);
+    if (updatedRoot == treeRoot) {
+      return this;
+    }
+    return (updatedRoot == null) ? EMPTY : new PersistentAVLTree(updatedRoot);
+  }
+
+  /**
+   * Checks whether a value is stored in this version.
+   *
+   * @param searchValue the value to look for
+   * @return true if present
+   */
+  public boolean contains(int searchValue) {
+    AVLNode currentNode = treeRoot;
+    while (currentNode != null) {
+      if (searchValue == currentNode.value) {
+        return true;
+      }
+      currentNode = (searchValue < currentNode.value) ? currentNode.left : currentNode.right;
+    }
+    return false;
+  }
+
+  public int size() {
+    return AVLNode.sizeOf(treeRoot);
+  }
+
+  public boolean isEmpty() {
+    return treeRoot == null;
+  }
+
+  /**
+   * Returns the root of this version. The nodes must not be modified.
+   *
+   * @return the root, or null if the tree is empty
+   */
+  public AVLNode getRoot() {
+    return treeRoot;
+  }
+
+  /**
+   * Traverses this version according to the specified traversal method.
+   *
+   * @param traversalMethod traversal order: "preorder", "inorder", "postorder", or "levelorder"
+   * @return array of integers in the traversal order
+   */
+  public int[] traverse(String traversalMethod) {
+    return Traversal.traverse(treeRoot, TraversalOrder.fromName(traversalMethod));
+  }
+
+  /**
+   * Returns a lazy iterator over this version.
+   *
+   * @param traversalOrder the traversal order
+   * @return iterator yielding the values in the traversal order
+   */
+  public PrimitiveIterator.OfInt iterator(TraversalOrder traversalOrder) {
+    return Traversal.iterator(treeRoot, traversalOrder);
+  }
+
+  /** Prints this version with {@link TreeVisualizer}. */
+  public void printTreeFormatted() {
+    System.out.println("\nBaumdarstellung:");
+    TreeVisualizer.printTree(treeRoot);
+  }
+
+  /** Returns a copy of the path to the inserted value, or the same subtree for a duplicate. */
+  private static AVLNode insertCopy(AVLNode currentNode, int insertValue) {
+    if (currentNode == null) {
+      return new AVLNode(insertValue);
+    }
+
+    if (insertValue < currentNode.value) {
+      AVLNode copiedLeft = insertCopy(currentNode.left, insertValue);
+      if (copiedLeft == currentNode.left) {
+        return currentNode;
+      }
+      return balancedCopy(currentNode.value, copiedLeft, currentNode.right);
+    } else if (insertValue > currentNode.value) {
+      AVLNode copiedRight = insertCopy(currentNode.right, insertValue);
+      if (copiedRight == currentNode.right) {
+        return currentNode;
+      }
+      return balancedCopy(currentNode.value, currentNode.left, copiedRight);
+    }
+    // Duplicate, ignore
+    return currentNode;
+  }
+
+  /** Returns a copy of the path without the value, or the same subtree if it is not present. */
+  private static AVLNode removeCopy(AVLNode currentNode, int removeValue) {
+    if (currentNode == null) {
+      return null;
+    }
+
+    if (removeValue < currentNode.value) {
+      AVLNode copiedLeft = removeCopy(currentNode.left, removeValue);
+      if (copiedLeft == currentNode.left) {
+        return currentNode;
+      }
+      return balancedCopy(currentNode.value, copiedLeft, currentNode.right);
+    } else if (removeValue > currentNode.value) {
+      AVLNode copiedRight = removeCopy(currentNode.right, removeValue);
+      if (copiedRight == currentNode.right) {
+        return currentNode;
+      }
+      return balancedCopy(currentNode.value, currentNode.left, copiedRight);
+    }
+
+    if (currentNode.left == null) {
+      return currentNode.right;
+    }
+    if (currentNode.right == null) {
+      return currentNode.left;
+    }
+    // Two children: the inorder successor takes the place of the removed node
+    AVLNode successorNode = currentNode.right;
+    while (successorNode.left != null) {
+      successorNode = successorNode.left;
+    }
+    return balancedCopy(successorNode.value, currentNode.left, removeMinCopy(currentNode.right));
+  }
+
+  private static AVLNode removeMinCopy(AVLNode currentNode) {
+    if (currentNode.left == null) {
+      return currentNode.right;
+    }
+    return balancedCopy(currentNode.value, removeMinCopy(currentNode.left), currentNode.right);
+  }
+
+  /**
+   * Creates a new node over the given subtrees and rotates if they differ in height by two. Only
+   * new nodes are created; the subtrees themselves are never modified.
+   */
+  private static AVLNode balancedCopy(int nodeValue, AVLNode leftSubtree, AVLNode rightSubtree) {
+    int leftHeight = heightOf(leftSubtree);
+    int rightHeight = heightOf(rightSubtree);
+
+    // Left heavy
+    if (leftHeight > rightHeight + 1) {
+      if (heightOf(leftSubtree.left) >= heightOf(leftSubtree.right)) {
+        // Left-Left case: Right rotation
+        return new AVLNode(
+            leftSubtree.value,
+            leftSubtree.left,
+            new AVLNode(nodeValue, leftSubtree.right, rightSubtree));
+      }
+      // Left-Right case: Left-Right rotation
+      AVLNode pivotNode = leftSubtree.right;
+      return new AVLNode(
+          pivotNode.value,
+          new AVLNode(leftSubtree.value, leftSubtree.left, pivotNode.left),
+          new AVLNode(nodeValue, pivotNode.right, rightSubtree));
+    }
+    // Right heavy
+    if (rightHeight > leftHeight + 1) {
+      if (heightOf(rightSubtree.right) >= heightOf(rightSubtree.left)) {
+        // Right-Right case: Left rotation
+        return new AVLNode(
+            rightSubtree.value,
+            new AVLNode(nodeValue, leftSubtree, rightSubtree.left),
+            rightSubtree.right);
+      }
+      // Right-Left case: Right-Left rotation
+      AVLNode pivotNode = rightSubtree.left;
+      return new AVLNode(
+          pivotNode.value,
+          new AVLNode(nodeValue, leftSubtree, pivotNode.left),
+          new AVLNode(rightSubtree.value, pivotNode.right, rightSubtree.right));
+    }
+    return new AVLNode(nodeValue, leftSubtree, rightSubtree);
+  }
+
+  private static int heightOf(AVLNode subtreeRoot) {
+    return (subtreeRoot == null) ? 0 : subtreeRoot.height;
+  }
+}
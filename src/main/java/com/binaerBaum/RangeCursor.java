@@ -0,0 +1,102 @@
+package com.binaerBaum;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Lazy cursor over the values of an {@link AVLTree} between two inclusive bounds, created with
+ * {@link AVLTree#range(int, int)} or {@link AVLTree#descendingRange(int, int)}. Only the path to
+ * the current position is kept on a stack, so creating the cursor and {@link #seek(int)} cost
+ * O(log n), and each step costs O(1) amortised, however many values lie outside the range.
+ *
+ * <p>The cursor is fail-fast: once the tree has changed, {@link #nextInt()} throws a {@link
+ * ConcurrentModificationException}.
+ */
+public final class RangeCursor implements PrimitiveIterator.OfInt {
+  private final AVLTree sourceTree;
+  private final int lowerBound;
+  private final int upperBound;
+  private final boolean descending;
+  private final int expectedModificationCount;
+
+  /** Nodes still to visit whose subtree on the far side has not been entered yet. */
+  private final AVLNode[] pendingNodes;
+
+  private int stackSize;
+
+  RangeCursor(AVLTree sourceTree, int lowerBound, int upperBound, boolean descending) {
+    this.sourceTree = sourceTree;
+    this.lowerBound = lowerBound;
+    this.upperBound = upperBound;
+    this.descending = descending;
+    this.expectedModificationCount = sourceTree.getModificationCount();
+    AVLNode treeRoot = sourceTree.getRoot();
+    this.pendingNodes = new AVLNode[(treeRoot == null) ? 0 : treeRoot.height];
+    seek(descending ? upperBound : lowerBound);
+  }
+
+  /** Returns true if the cursor runs from the upper to the lower bound. */
+  public boolean isDescending() {
+    return descending;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (stackSize == 0) {
+      return false;
+    }
+    int nextValue = pendingNodes[stackSize - 1].value;
+    return descending ? nextValue >= lowerBound : nextValue <= upperBound;
+  }
+
+  @Override
+  public int nextInt() {
+    checkForModification();
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    AVLNode visitedNode = pendingNodes[--stackSize];
+    AVLNode spineNode = descending ? visitedNode.left : visitedNode.right;
+    while (spineNode != null) {
+      pendingNodes[stackSize++] = spineNode;
+      spineNode = descending ? spineNode.right : spineNode.left;
+    }
+    return visitedNode.value;
+  }
+
+  /**
+   * Moves the cursor so that the next value is the first one at or beyond the target in iteration
+   * order: the smallest value &gt;= target for an ascending cursor, the greatest value &lt;= target
+   * for a descending one. Targets outside the range are clamped to its bounds, so seeking
+   * backwards restarts the cursor.
+   *
+   * @param targetValue the value to continue from
+   */
+  public void seek(int targetValue) {
+    checkForModification();
+    int startValue =
+        descending ? Math.min(targetValue, upperBound) : Math.max(targetValue, lowerBound);
+
+    stackSize = 0;
+    AVLNode currentNode = sourceTree.getRoot();
+    while (currentNode != null) {
+      if (currentNode.value == startValue) {
+        pendingNodes[stackSize++] = currentNode;
+        return;
+      }
+      if (descending ? currentNode.value < startValue : currentNode.value > startValue) {
+        pendingNodes[stackSize++] = currentNode;
+        currentNode = descending ? currentNode.right : currentNode.left;
+      } else {
+        currentNode = descending ? currentNode.left : currentNode.right;
+      }
+    }
+  }
+
+  private void checkForModification() {
+    if (sourceTree.getModificationCount() != expectedModificationCount) {
+      throw new ConcurrentModificationException("Der Baum wurde während der Iteration geändert.");
+    }
+  }
+}
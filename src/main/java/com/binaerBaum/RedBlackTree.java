@@ -0,0 +1,282 @@
+package com.binaerBaum;
+
+/**
+ * Red-black tree over int values. Compared with {@link AVLTree} it allows the two subtrees of a
+ * node to differ more in height (the tree can be up to 2 * log2(n) high instead of 1.44 * log2(n)),
+ * and in return an insertion rotates at most twice and mostly only recolours, and a removal rotates
+ * at most three times.
+ *
+ * <p>Nodes keep a link to their parent, so insertion and removal repair the tree bottom-up without
+ * recursion or a path stack.
+ */
+public final class RedBlackTree implements BinaryIntTree {
+  private Node treeRoot;
+  private int nodeCount;
+  private long rotationCount;
+
+  /** Node with its colour; every path down to a missing child has equally many black nodes. */
+  static final class Node implements IntTreeNode {
+    int value;
+    Node left;
+    Node right;
+    Node parent;
+    boolean red;
+
+    Node(int value, Node parent) {
+      this.value = value;
+      this.parent = parent;
+      this.red = true;
+    }
+
+    @Override
+    public int getValue() {
+      return value;
+    }
+
+    @Override
+    public Node getLeft() {
+      return left;
+    }
+
+    @Override
+    public Node getRight() {
+      return right;
+    }
+
+    @Override
+    public String getBalanceInfo() {
+      return red ? "Farbe: rot" : "Farbe: schwarz";
+    }
+  }
+
+  @Override
+  public Node getRootNode() {
+    return treeRoot;
+  }
+
+  @Override
+  public long getRotationCount() {
+    return rotationCount;
+  }
+
+  @Override
+  public int size() {
+    return nodeCount;
+  }
+
+  @Override
+  public void clear() {
+    treeRoot = null;
+    nodeCount = 0;
+  }
+
+  @Override
+  public boolean insert(int insertValue) {
+    Node parentNode = null;
+    Node currentNode = treeRoot;
+    while (currentNode != null) {
+      if (insertValue == currentNode.value) {
+        return false;
+      }
+      parentNode = currentNode;
+      currentNode = (insertValue < currentNode.value) ? currentNode.left : currentNode.right;
+    }
+
+    Node insertedNode = new Node(insertValue, parentNode);
+    if (parentNode == null) {
+      treeRoot = insertedNode;
+    } else if (insertValue < parentNode.value) {
+      parentNode.left = insertedNode;
+    } else {
+      parentNode.right = insertedNode;
+    }
+    nodeCount++;
+    fixAfterInsert(insertedNode);
+    return true;
+  }
+
+  @Override
+  public boolean remove(int removeValue) {
+    Node removedNode = treeRoot;
+    while (removedNode != null && removedNode.value != removeValue) {
+      removedNode = (removeValue < removedNode.value) ? removedNode.left : removedNode.right;
+    }
+    if (removedNode == null) {
+      return false;
+    }
+
+    if (removedNode.left != null && removedNode.right != null) {
+      // Two children: take over the in-order successor's value and unlink the successor instead
+      Node successorNode = removedNode.right;
+      while (successorNode.left != null) {
+        successorNode = successorNode.left;
+      }
+      removedNode.value = successorNode.value;
+      removedNode = successorNode;
+    }
+
+    Node remainingChild = (removedNode.left != null) ? removedNode.left : removedNode.right;
+    Node parentNode = removedNode.parent;
+    if (remainingChild != null) {
+      remainingChild.parent = parentNode;
+    }
+    replaceChild(parentNode, removedNode, remainingChild);
+    nodeCount--;
+
+    if (!removedNode.red) {
+      // A black node is missing on this path now
+      fixAfterRemove(remainingChild, parentNode);
+    }
+    return true;
+  }
+
+  /** Repairs a red node below a red parent by recolouring upwards and at most two rotations. */
+  private void fixAfterInsert(Node redNode) {
+    while (redNode.parent != null && redNode.parent.red) {
+      Node parentNode = redNode.parent;
+      // A red parent is never the root, so the grandparent exists
+      Node grandparentNode = parentNode.parent;
+      if (parentNode == grandparentNode.left) {
+        Node uncleNode = grandparentNode.right;
+        if (isRed(uncleNode)) {
+          parentNode.red = false;
+          uncleNode.red = false;
+          grandparentNode.red = true;
+          redNode = grandparentNode;
+        } else {
+          if (redNode == parentNode.right) {
+            redNode = parentNode;
+            rotateLeft(redNode);
+            parentNode = redNode.parent;
+          }
+          parentNode.red = false;
+          grandparentNode.red = true;
+          rotateRight(grandparentNode);
+        }
+      } else {
+        Node uncleNode = grandparentNode.left;
+        if (isRed(uncleNode)) {
+          parentNode.red = false;
+          uncleNode.red = false;
+          grandparentNode.red = true;
+          redNode = grandparentNode;
+        } else {
+          if (redNode == parentNode.left) {
+            redNode = parentNode;
+            rotateRight(redNode);
+            parentNode = redNode.parent;
+          }
+          parentNode.red = false;
+          grandparentNode.red = true;
+          rotateLeft(grandparentNode);
+        }
+      }
+    }
+    treeRoot.red = false;
+  }
+
+  /**
+   * Restores the black height after a black node was unlinked.
+   *
+   * @param shortNode root of the subtree that lacks one black node, may be null
+   * @param parentNode its parent, null if it is the root
+   */
+  private void fixAfterRemove(Node shortNode, Node parentNode) {
+    while (shortNode != treeRoot && !isRed(shortNode)) {
+      if (shortNode == parentNode.left) {
+        Node siblingNode = parentNode.right;
+        if (siblingNode.red) {
+          siblingNode.red = false;
+          parentNode.red = true;
+          rotateLeft(parentNode);
+          siblingNode = parentNode.right;
+        }
+        if (!isRed(siblingNode.left) && !isRed(siblingNode.right)) {
+          siblingNode.red = true;
+          shortNode = parentNode;
+          parentNode = shortNode.parent;
+        } else {
+          if (!isRed(siblingNode.right)) {
+            siblingNode.left.red = false;
+            siblingNode.red = true;
+            rotateRight(siblingNode);
+            siblingNode = parentNode.right;
+          }
+          siblingNode.red = parentNode.red;
+          parentNode.red = false;
+          siblingNode.right.red = false;
+          rotateLeft(parentNode);
+          shortNode = treeRoot;
+        }
+      } else {
+        Node siblingNode = parentNode.left;
+        if (siblingNode.red) {
+          siblingNode.red = false;
+          parentNode.red = true;
+          rotateRight(parentNode);
+          siblingNode = parentNode.left;
+        }
+        if (!isRed(siblingNode.left) && !isRed(siblingNode.right)) {
+          siblingNode.red = true;
+          shortNode = parentNode;
+          parentNode = shortNode.parent;
+        } else {
+          if (!isRed(siblingNode.left)) {
+            siblingNode.right.red = false;
+            siblingNode.red = true;
+            rotateLeft(siblingNode);
+            siblingNode = parentNode.left;
+          }
+          siblingNode.red = parentNode.red;
+          parentNode.red = false;
+          siblingNode.left.red = false;
+          rotateRight(parentNode);
+          shortNode = treeRoot;
+        }
+      }
+    }
+    if (shortNode != null) {
+      shortNode.red = false;
+    }
+  }
+
+  private static boolean isRed(Node someNode) {
+    return someNode != null && someNode.red;
+  }
+
+  private void replaceChild(Node parentNode, Node oldChild, Node newChild) {
+    if (parentNode == null) {
+      treeRoot = newChild;
+    } else if (parentNode.left == oldChild) {
+      parentNode.left = newChild;
+    } else {
+      parentNode.right = newChild;
+    }
+  }
+
+  private void rotateLeft(Node parentNode) {
+    Node rightChild = parentNode.right;
+    parentNode.right = rightChild.left;
+    if (rightChild.left != null) {
+      rightChild.left.parent = parentNode;
+    }
+    rightChild.parent = parentNode.parent;
+    replaceChild(parentNode.parent, parentNode, rightChild);
+    rightChild.left = parentNode;
+    parentNode.parent = rightChild;
+    rotationCount++;
+  }
+
+  private void rotateRight(Node parentNode) {
+    Node leftChild = parentNode.left;
+    parentNode.left = leftChild.right;
+    if (leftChild.right != null) {
+      leftChild.right.parent = parentNode;
+    }
+    leftChild.parent = parentNode.parent;
+    replaceChild(parentNode.parent, parentNode, leftChild);
+    leftChild.right = parentNode;
+    parentNode.parent = leftChild;
+    rotationCount++;
+  }
+}
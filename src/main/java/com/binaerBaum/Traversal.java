@@ -1,17 +1,45 @@
 package com.binaerBaum;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
-/** Traversal class for AVL tree with different traversal methods. */
+/**
+ * Traversal class for AVL tree with different traversal methods. All traversals are iterative:
+ * preorder, inorder and postorder keep an explicit node stack as deep as the tree, levelorder uses
+ * an {@link ArrayDeque}. Values are produced lazily as primitive ints. The walks only use the
+ * {@link IntTreeNode} view, so they work for every {@link BinaryIntTree}.
+ */
 public class Traversal {
+  /**
+   * Inputs up to this size are built in a per-thread {@link ArrayAVLTree} that is cleared and
+   * reused; larger ones get a tree of their own. At 16 bytes per slot the pooled arrays stay at a
+   * few hundred kilobytes per thread, and allocating anew costs little next to building a larger
+   * tree anyway.
+   */
+  private static final int POOLED_TREE_MAX_KEYS = 1 << 14;
+
+  /**
+   * Initial depth of the node stack for trees whose nodes do not store their height; the stack
+   * doubles when a deeper path shows up. Balanced trees of a few million nodes fit without growing.
+   */
+  private static final int INITIAL_STACK_DEPTH = 32;
+
+  private static final ThreadLocal<ArrayAVLTree> POOLED_BUILD_TREE =
+      ThreadLocal.withInitial(ArrayAVLTree::new);
 
   /**
    * Traverses an AVL tree built from the given numbers according to the specified traversal method.
    * This method builds the tree silently (without extra console output) for use in the traversal
-   * method.
+   * method. The tree is an {@link ArrayAVLTree}, which rebalances exactly like {@link AVLTree}; for
+   * inputs up to {@value #POOLED_TREE_MAX_KEYS} keys it is reused per thread, so repeated calls
+   * allocate only the result. Callers that already hold the tree should use {@link
+   * #traverse(AVLTree, String)}.
    *
    * @param treeBuilderNumbers array of integers to build the tree from
    * @param traversalMethod traversal order: "preorder", "inorder", "postorder", or "levelorder"
@@ -22,177 +50,290 @@ public class Traversal {
       return new int[0];
     }
 
+    TraversalOrder traversalOrder = TraversalOrder.fromName(traversalMethod);
+    if (traversalOrder == TraversalOrder.INORDER) {
+      // Inorder does not depend on the tree shape: it is the sorted, distinct input
+      return AVLTree.sortedDistinct(treeBuilderNumbers);
+    }
+
     // Build AVL tree from numbers (without explained output)
-    AVLTree silentTree = buildTreeSilently(treeBuilderNumbers);
-
-    // Perform traversal based on method
-    List<Integer> traversalResultList = new ArrayList<>();
-    AVLNode silentRoot = silentTree.getRoot();
-
-    switch (traversalMethod.toLowerCase()) {
-      case "preorder":
-        preorderTraversal(silentRoot, traversalResultList);
-        break;
-      case "inorder":
-        inorderTraversal(silentRoot, traversalResultList);
-        break;
-      case "postorder":
-        postorderTraversal(silentRoot, traversalResultList);
-        break;
-      case "levelorder":
-        levelOrderTraversal(silentRoot, traversalResultList);
-        break;
-      default:
-        throw new IllegalArgumentException(
-            "Unbekannte Traversierungsart: "
-                + traversalMethod
-                + ". Erlaubt: preorder, inorder, postorder, levelorder");
+    if (treeBuilderNumbers.length > POOLED_TREE_MAX_KEYS) {
+      return buildTreeSilently(new ArrayAVLTree(treeBuilderNumbers.length), treeBuilderNumbers)
+          .traverse(traversalOrder);
+    }
+    ArrayAVLTree pooledTree = POOLED_BUILD_TREE.get();
+    try {
+      return buildTreeSilently(pooledTree, treeBuilderNumbers).traverse(traversalOrder);
+    } finally {
+      pooledTree.clear();
+    }
+  }
+
+  /**
+   * Traverses an existing AVL tree according to the specified traversal method. Results are cached
+   * per tree version, so asking again for an unchanged tree does not walk it again.
+   *
+   * @param avlTree the tree to traverse
+   * @param traversalMethod traversal order: "preorder", "inorder", "postorder", or "levelorder"
+   * @return array of integers in the traversal order
+   */
+  public static int[] traverse(AVLTree avlTree, String traversalMethod) {
+    AVLTreeMetrics treeMetrics = avlTree.getMetrics();
+    if (treeMetrics == null) {
+      return traverseCached(avlTree, traversalMethod);
+    }
+    long startNanos = System.nanoTime();
+    int[] traversalResult = traverseCached(avlTree, traversalMethod);
+    treeMetrics.recordTraverse(System.nanoTime() - startNanos);
+    return traversalResult;
+  }
+
+  /**
+   * Traverses a tree of any balancing scheme. An {@link AVLTree} is traversed through {@link
+   * #traverse(AVLTree, String)} and its cache. The result is sized by {@link BinaryIntTree#size()},
+   * so nodes that do not store their subtree size are not counted one by one.
+   *
+   * @param binaryTree the tree to traverse
+   * @param traversalMethod traversal order: "preorder", "inorder", "postorder", or "levelorder"
+   * @return array of integers in the traversal order
+   */
+  public static int[] traverse(BinaryIntTree binaryTree, String traversalMethod) {
+    if (binaryTree instanceof AVLTree avlTree) {
+      return traverse(avlTree, traversalMethod);
     }
+    return traverse(
+        binaryTree.getRootNode(), TraversalOrder.fromName(traversalMethod), binaryTree.size());
+  }
 
-    // Convert List to int array
-    return traversalResultList.stream().mapToInt(Integer::intValue).toArray();
+  private static int[] traverseCached(AVLTree avlTree, String traversalMethod) {
+    TraversalOrder traversalOrder = TraversalOrder.fromName(traversalMethod);
+
+    int[] traversalResult = avlTree.getCachedTraversal(traversalOrder);
+    if (traversalResult == null) {
+      traversalResult = traverse(avlTree.getRoot(), traversalOrder);
+      avlTree.cacheTraversal(traversalOrder, traversalResult);
+    }
+    // The cached array stays private to the tree
+    return traversalResult.clone();
   }
 
-  /** Builds an AVL tree from numbers without console output. */
-  private static AVLTree buildTreeSilently(int[] inputNumbers) {
-    AVLTree silentAvlTree = new AVLTree();
+  /** Inserts the numbers into an empty tree without console output. */
+  private static ArrayAVLTree buildTreeSilently(ArrayAVLTree silentAvlTree, int[] inputNumbers) {
     for (int insertValue : inputNumbers) {
-      insertSilently(silentAvlTree, insertValue);
+      silentAvlTree.insert(insertValue);
     }
     return silentAvlTree;
   }
 
-  /** Inserts a value silently into the tree. */
-  private static void insertSilently(AVLTree avlTreeTarget, int insertVal) {
-    AVLNode inputRoot = avlTreeTarget.getRoot();
-    inputRoot = insertNodeSilently(inputRoot, insertVal);
-    avlTreeTarget.setRoot(inputRoot);
+  /**
+   * Traverses the subtree below the given node. The result is sized by {@link
+   * IntTreeNode#getSize()}, which visits the whole subtree for nodes that do not store their size;
+   * {@link #traverse(BinaryIntTree, String)} avoids this for whole trees.
+   *
+   * @param subtreeRoot root of the subtree, may be null
+   * @param traversalOrder the traversal order
+   * @return array of integers in the traversal order
+   */
+  public static int[] traverse(IntTreeNode subtreeRoot, TraversalOrder traversalOrder) {
+    return traverse(
+        subtreeRoot, traversalOrder, (subtreeRoot == null) ? 0 : subtreeRoot.getSize());
   }
 
-  private static AVLNode insertNodeSilently(AVLNode currentSilentNode, int silentValue) {
-    if (currentSilentNode == null) {
-      return new AVLNode(silentValue);
+  private static int[] traverse(
+      IntTreeNode subtreeRoot, TraversalOrder traversalOrder, int nodeCount) {
+    int[] traversalResult = new int[nodeCount];
+    PrimitiveIterator.OfInt valueIterator = iterator(subtreeRoot, traversalOrder);
+    for (int resultIdx = 0; resultIdx < traversalResult.length; resultIdx++) {
+      traversalResult[resultIdx] = valueIterator.nextInt();
     }
+    return traversalResult;
+  }
 
-    if (silentValue < currentSilentNode.value) {
-      currentSilentNode.left = insertNodeSilently(currentSilentNode.left, silentValue);
-    } else if (silentValue > currentSilentNode.value) {
-      currentSilentNode.right = insertNodeSilently(currentSilentNode.right, silentValue);
-    } else {
-      // Duplicate, ignore
-      return currentSilentNode;
+  /**
+   * Returns a lazy iterator over the subtree below the given node. The subtree must not be modified
+   * while the iterator is in use.
+   *
+   * @param subtreeRoot root of the subtree, may be null
+   * @param traversalOrder the traversal order
+   * @return iterator yielding the values in the traversal order
+   */
+  public static PrimitiveIterator.OfInt iterator(
+      IntTreeNode subtreeRoot, TraversalOrder traversalOrder) {
+    switch (traversalOrder) {
+      case PREORDER:
+        return new PreorderIterator(subtreeRoot);
+      case INORDER:
+        return new InorderIterator(subtreeRoot);
+      case POSTORDER:
+        return new PostorderIterator(subtreeRoot);
+      case LEVELORDER:
+        return new LevelOrderIterator(subtreeRoot);
+      default:
+        throw new IllegalArgumentException("Unbekannte Traversierungsart: " + traversalOrder);
     }
+  }
 
-    currentSilentNode.updateHeight();
-    return balanceSilently(currentSilentNode);
+  /**
+   * Streams the values of a tree in the given order without materialising them. The tree must not
+   * be modified while the stream is consumed.
+   *
+   * @param binaryTree the tree to stream
+   * @param traversalOrder the traversal order
+   * @return sequential stream of the values
+   */
+  public static IntStream stream(BinaryIntTree binaryTree, TraversalOrder traversalOrder) {
+    int streamCharacteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+    if (traversalOrder == TraversalOrder.INORDER) {
+      streamCharacteristics |= Spliterator.SORTED;
+    }
+    Spliterator.OfInt valueSpliterator =
+        Spliterators.spliterator(
+            iterator(binaryTree.getRootNode(), traversalOrder),
+            binaryTree.size(),
+            streamCharacteristics);
+    return StreamSupport.intStream(valueSpliterator, false);
   }
 
-  private static AVLNode balanceSilently(AVLNode possiblyUnbalanced) {
-    if (possiblyUnbalanced == null) {
-      return null;
+  /**
+   * Node stack of the depth-first iterators. An {@link AVLNode} stores its height, which bounds the
+   * stack exactly; for other nodes the height would cost a walk over the whole subtree, so the
+   * stack starts at {@value #INITIAL_STACK_DEPTH} entries and grows on demand.
+   */
+  private abstract static class DepthFirstIterator implements PrimitiveIterator.OfInt {
+    IntTreeNode[] pendingNodes;
+    int stackSize;
+
+    DepthFirstIterator(IntTreeNode subtreeRoot) {
+      int initialDepth =
+          (subtreeRoot instanceof AVLNode avlNode) ? avlNode.height : INITIAL_STACK_DEPTH;
+      pendingNodes = new IntTreeNode[initialDepth];
     }
 
-    possiblyUnbalanced.updateHeight();
-    int balanceFactor = possiblyUnbalanced.getBalanceFactor();
+    @Override
+    public boolean hasNext() {
+      return stackSize > 0;
+    }
 
-    // Left heavy
-    if (balanceFactor > 1) {
-      if (possiblyUnbalanced.left.getBalanceFactor() >= 0) {
-        return rotateRight(possiblyUnbalanced);
-      } else {
-        possiblyUnbalanced.left = rotateLeft(possiblyUnbalanced.left);
-        return rotateRight(possiblyUnbalanced);
+    void push(IntTreeNode pendingNode) {
+      if (stackSize == pendingNodes.length) {
+        pendingNodes = Arrays.copyOf(pendingNodes, Math.max(2 * stackSize, INITIAL_STACK_DEPTH));
       }
+      pendingNodes[stackSize++] = pendingNode;
     }
-    // Right heavy
-    else if (balanceFactor < -1) {
-      if (possiblyUnbalanced.right.getBalanceFactor() <= 0) {
-        return rotateLeft(possiblyUnbalanced);
-      } else {
-        possiblyUnbalanced.right = rotateRight(possiblyUnbalanced.right);
-        return rotateLeft(possiblyUnbalanced);
+
+    IntTreeNode pop() {
+      if (stackSize == 0) {
+        throw new NoSuchElementException();
       }
+      return pendingNodes[--stackSize];
     }
-
-    return possiblyUnbalanced;
   }
 
-  private static AVLNode rotateRight(AVLNode parentNode) {
-    AVLNode leftChild = parentNode.left;
-    AVLNode movedSubtree = leftChild.right;
-
-    leftChild.right = parentNode;
-    parentNode.left = movedSubtree;
+  /** Preorder traversal: Root -> Left -> Right */
+  private static final class PreorderIterator extends DepthFirstIterator {
 
-    parentNode.updateHeight();
-    leftChild.updateHeight();
+    PreorderIterator(IntTreeNode preorderRoot) {
+      super(preorderRoot);
+      if (preorderRoot != null) {
+        push(preorderRoot);
+      }
+    }
 
-    return leftChild;
+    @Override
+    public int nextInt() {
+      IntTreeNode preorderNode = pop();
+      if (preorderNode.getRight() != null) {
+        push(preorderNode.getRight());
+      }
+      if (preorderNode.getLeft() != null) {
+        push(preorderNode.getLeft());
+      }
+      return preorderNode.getValue();
+    }
   }
 
-  private static AVLNode rotateLeft(AVLNode parentNode) {
-    AVLNode rightChild = parentNode.right;
-    AVLNode movedSubtree = rightChild.left;
+  /** Inorder traversal: Left -> Root -> Right */
+  private static final class InorderIterator extends DepthFirstIterator {
 
-    rightChild.left = parentNode;
-    parentNode.right = movedSubtree;
+    InorderIterator(IntTreeNode inorderRoot) {
+      super(inorderRoot);
+      pushLeftSpine(inorderRoot);
+    }
 
-    parentNode.updateHeight();
-    rightChild.updateHeight();
+    @Override
+    public int nextInt() {
+      IntTreeNode inorderNode = pop();
+      pushLeftSpine(inorderNode.getRight());
+      return inorderNode.getValue();
+    }
 
-    return rightChild;
+    private void pushLeftSpine(IntTreeNode spineNode) {
+      while (spineNode != null) {
+        push(spineNode);
+        spineNode = spineNode.getLeft();
+      }
+    }
   }
 
-  /** Preorder traversal: Root -> Left -> Right */
-  private static void preorderTraversal(AVLNode preorderNode, List<Integer> preorderResultList) {
-    if (preorderNode == null) {
-      return;
+  /** Postorder traversal: Left -> Right -> Root */
+  private static final class PostorderIterator extends DepthFirstIterator {
+
+    PostorderIterator(IntTreeNode postorderRoot) {
+      super(postorderRoot);
+      descendToFirstLeaf(postorderRoot);
     }
-    preorderResultList.add(preorderNode.value);
-    preorderTraversal(preorderNode.left, preorderResultList);
-    preorderTraversal(preorderNode.right, preorderResultList);
-  }
 
-  /** Inorder traversal: Left -> Root -> Right */
-  private static void inorderTraversal(AVLNode inorderNode, List<Integer> inorderResultList) {
-    if (inorderNode == null) {
-      return;
+    @Override
+    public int nextInt() {
+      IntTreeNode postorderNode = pop();
+      // Coming back up from a left child: the parent's right subtree is next
+      if (stackSize > 0) {
+        IntTreeNode parentNode = pendingNodes[stackSize - 1];
+        if (parentNode.getLeft() == postorderNode) {
+          descendToFirstLeaf(parentNode.getRight());
+        }
+      }
+      return postorderNode.getValue();
     }
-    inorderTraversal(inorderNode.left, inorderResultList);
-    inorderResultList.add(inorderNode.value);
-    inorderTraversal(inorderNode.right, inorderResultList);
-  }
 
-  /** Postorder traversal: Left -> Right -> Root */
-  private static void postorderTraversal(AVLNode postorderNode, List<Integer> postorderResultList) {
-    if (postorderNode == null) {
-      return;
+    /** Pushes the path to the first node in postorder, preferring left children over right. */
+    private void descendToFirstLeaf(IntTreeNode pathNode) {
+      while (pathNode != null) {
+        push(pathNode);
+        pathNode = (pathNode.getLeft() != null) ? pathNode.getLeft() : pathNode.getRight();
+      }
     }
-    postorderTraversal(postorderNode.left, postorderResultList);
-    postorderTraversal(postorderNode.right, postorderResultList);
-    postorderResultList.add(postorderNode.value);
   }
 
   /** Level-order traversal (BFS - Breadth-First Search): Level by level from top to bottom */
-  private static void levelOrderTraversal(
-      AVLNode levelOrderRoot, List<Integer> levelOrderResultList) {
-    if (levelOrderRoot == null) {
-      return;
-    }
+  private static final class LevelOrderIterator implements PrimitiveIterator.OfInt {
+    private final ArrayDeque<IntTreeNode> bfsQueue;
 
-    Queue<AVLNode> bfsQueue = new LinkedList<>();
-    bfsQueue.offer(levelOrderRoot);
+    LevelOrderIterator(IntTreeNode levelOrderRoot) {
+      bfsQueue = new ArrayDeque<>();
+      if (levelOrderRoot != null) {
+        bfsQueue.offer(levelOrderRoot);
+      }
+    }
 
-    while (!bfsQueue.isEmpty()) {
-      AVLNode nodeAtLevel = bfsQueue.poll();
-      levelOrderResultList.add(nodeAtLevel.value);
+    @Override
+    public boolean hasNext() {
+      return !bfsQueue.isEmpty();
+    }
 
-      if (nodeAtLevel.left != null) {
-        bfsQueue.offer(nodeAtLevel.left);
+    @Override
+    public int nextInt() {
+      IntTreeNode nodeAtLevel = bfsQueue.poll();
+      if (nodeAtLevel == null) {
+        throw new NoSuchElementException();
+      }
+      if (nodeAtLevel.getLeft() != null) {
+        bfsQueue.offer(nodeAtLevel.getLeft());
       }
-      if (nodeAtLevel.right != null) {
-        bfsQueue.offer(nodeAtLevel.right);
+      if (nodeAtLevel.getRight() != null) {
+        bfsQueue.offer(nodeAtLevel.getRight());
       }
+      return nodeAtLevel.getValue();
     }
   }
 }
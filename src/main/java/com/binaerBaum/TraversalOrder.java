@@ -0,0 +1,42 @@
+package com.binaerBaum;
+
+/** The four supported traversal orders and their user-facing names. */
+public enum TraversalOrder {
+  /** Root -> Left -> Right */
+  PREORDER("preorder"),
+  /** Left -> Root -> Right */
+  INORDER("inorder"),
+  /** Left -> Right -> Root */
+  POSTORDER("postorder"),
+  /** Level by level from top to bottom (BFS) */
+  LEVELORDER("levelorder");
+
+  private final String displayName;
+
+  TraversalOrder(String displayName) {
+    this.displayName = displayName;
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+
+  /**
+   * Looks up a traversal order by its name, ignoring case.
+   *
+   * @param traversalMethod "preorder", "inorder", "postorder", or "levelorder"
+   * @return the matching traversal order
+   * @throws IllegalArgumentException if the name is unknown
+   */
+  public static TraversalOrder fromName(String traversalMethod) {
+    for (TraversalOrder candidateOrder : values()) {
+      if (candidateOrder.displayName.equalsIgnoreCase(traversalMethod)) {
+        return candidateOrder;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Unbekannte Traversierungsart: "
+            + traversalMethod
+            + ". Erlaubt: preorder, inorder, postorder, levelorder");
+  }
+}
@@ -0,0 +1,178 @@
+package com.binaerBaum;
+
+/**
+ * Treap over int values: a binary search tree by value that is also a heap by a random priority
+ * drawn for each node, so its shape is that of a tree built from the values in random order. The
+ * expected height is about 3 * ln(n) whatever the insertion order, an insertion rotates fewer than
+ * two times on average and no balance information has to be updated on the way back up.
+ *
+ * <p>The priorities come from a xorshift generator per tree; a fixed seed makes the shape
+ * reproducible.
+ */
+public final class Treap implements BinaryIntTree {
+  private static final long DEFAULT_SEED = 0x9E3779B97F4A7C15L;
+
+  private Node treeRoot;
+  private int nodeCount;
+  private long rotationCount;
+  private long randomState;
+
+  /** Node with its heap priority; a parent's priority is never below its children's. */
+  static final class Node implements IntTreeNode {
+    final int value;
+    final int priority;
+    Node left;
+    Node right;
+
+    Node(int value, int priority) {
+      this.value = value;
+      this.priority = priority;
+    }
+
+    @Override
+    public int getValue() {
+      return value;
+    }
+
+    @Override
+    public Node getLeft() {
+      return left;
+    }
+
+    @Override
+    public Node getRight() {
+      return right;
+    }
+
+    @Override
+    public String getBalanceInfo() {
+      return "Priorität: " + priority;
+    }
+  }
+
+  public Treap() {
+    this(DEFAULT_SEED);
+  }
+
+  /**
+   * Creates an empty treap whose priorities are derived from the given seed.
+   *
+   * @param randomSeed seed of the priority generator; 0 is replaced by a fixed non-zero value
+   */
+  public Treap(long randomSeed) {
+    this.randomState = (randomSeed == 0) ? DEFAULT_SEED : randomSeed;
+  }
+
+  @Override
+  public Node getRootNode() {
+    return treeRoot;
+  }
+
+  @Override
+  public long getRotationCount() {
+    return rotationCount;
+  }
+
+  @Override
+  public int size() {
+    return nodeCount;
+  }
+
+  @Override
+  public void clear() {
+    treeRoot = null;
+    nodeCount = 0;
+  }
+
+  @Override
+  public boolean insert(int insertValue) {
+    if (contains(insertValue)) {
+      return false;
+    }
+    treeRoot = insertHelper(treeRoot, insertValue, nextPriority());
+    nodeCount++;
+    return true;
+  }
+
+  @Override
+  public boolean remove(int removeValue) {
+    if (!contains(removeValue)) {
+      return false;
+    }
+    treeRoot = removeHelper(treeRoot, removeValue);
+    nodeCount--;
+    return true;
+  }
+
+  /** Inserts the new value as a leaf and rotates it up while its priority beats the parent's. */
+  private Node insertHelper(Node currentNode, int insertValue, int priority) {
+    if (currentNode == null) {
+      return new Node(insertValue, priority);
+    }
+    if (insertValue < currentNode.value) {
+      currentNode.left = insertHelper(currentNode.left, insertValue, priority);
+      if (currentNode.left.priority > currentNode.priority) {
+        return rotateRight(currentNode);
+      }
+    } else {
+      currentNode.right = insertHelper(currentNode.right, insertValue, priority);
+      if (currentNode.right.priority > currentNode.priority) {
+        return rotateLeft(currentNode);
+      }
+    }
+    return currentNode;
+  }
+
+  /**
+   * Rotates the node to remove down below its child with the higher priority until it has at most
+   * one child, then replaces it by that child.
+   */
+  private Node removeHelper(Node currentNode, int removeValue) {
+    if (removeValue < currentNode.value) {
+      currentNode.left = removeHelper(currentNode.left, removeValue);
+      return currentNode;
+    }
+    if (removeValue > currentNode.value) {
+      currentNode.right = removeHelper(currentNode.right, removeValue);
+      return currentNode;
+    }
+
+    if (currentNode.left == null) {
+      return currentNode.right;
+    }
+    if (currentNode.right == null) {
+      return currentNode.left;
+    }
+    if (currentNode.left.priority > currentNode.right.priority) {
+      Node newRoot = rotateRight(currentNode);
+      newRoot.right = removeHelper(currentNode, removeValue);
+      return newRoot;
+    }
+    Node newRoot = rotateLeft(currentNode);
+    newRoot.left = removeHelper(currentNode, removeValue);
+    return newRoot;
+  }
+
+  private int nextPriority() {
+    randomState ^= randomState << 13;
+    randomState ^= randomState >>> 7;
+    randomState ^= randomState << 17;
+    return (int) (randomState >>> 33);
+  }
+
+  private Node rotateLeft(Node parentNode) {
+    Node rightChild = parentNode.right;
+    parentNode.right = rightChild.left;
+    rightChild.left = parentNode;
+    rotationCount++;
+    return rightChild;
+  }
+
+  private Node rotateRight(Node parentNode) {
+    Node leftChild = parentNode.left;
+    parentNode.left = leftChild.right;
+    leftChild.right = parentNode;
+    rotationCount++;
+    return leftChild;
+  }
+}
@@ -0,0 +1,308 @@
+package com.binaerBaum;
+
+/**
+ * Join-based set algorithms on {@link AVLNode} subtrees. Everything is built on {@code join}, which
+ * links two trees and a middle node whose value lies between them in time proportional to their
+ * height difference, and {@code split}, which cuts a tree at a value with O(log n) joins. Union,
+ * intersection and difference of trees with m and n values (m &lt;= n) then cost O(m log(n/m +
+ * 1)), so merging a small batch into a large tree touches only the paths it really needs.
+ *
+ * <p>All operations reuse the nodes of their first argument and leave it unusable; the second
+ * argument is only read, and its nodes are copied where they end up in the result. If the target
+ * tree draws its nodes from an {@link AVLNodeArena}, the copies come from that arena and the nodes
+ * dropped from the result go back to it. Rebalancing here is silent: no {@link AVLTreeListener}
+ * events are reported.
+ */
+final class TreeJoin {
+
+  /** Result of {@link #split}: the parts below and above the split value and its node, if any. */
+  private static final class SplitResult {
+    AVLNode lowerPart;
+    AVLNode matchingNode;
+    AVLNode upperPart;
+  }
+
+  private TreeJoin() {}
+
+  /**
+   * Merges the values of {@code otherRoot} into {@code targetRoot}.
+   *
+   * @param targetRoot tree that is consumed and rebuilt, may be null
+   * @param otherRoot tree that is only read, may be null
+   * @param adoptOtherNodes true if the nodes of {@code otherRoot} may be linked into the result
+   *     instead of being copied; they must then come from {@code nodeArena} as well
+   * @param nodeArena arena of the target tree, or null if its nodes are allocated normally
+   * @return root of the union
+   */
+  static AVLNode union(
+      AVLNode targetRoot, AVLNode otherRoot, boolean adoptOtherNodes, AVLNodeArena nodeArena) {
+    return union(targetRoot, otherRoot, adoptOtherNodes, nodeArena, new SplitResult());
+  }
+
+  /**
+   * Keeps only the values of {@code targetRoot} that also occur in {@code otherRoot}.
+   *
+   * @param targetRoot tree that is consumed and rebuilt, may be null
+   * @param otherRoot tree that is only read, may be null
+   * @param nodeArena arena of the target tree, or null if its nodes are allocated normally
+   * @return root of the intersection
+   */
+  static AVLNode intersection(AVLNode targetRoot, AVLNode otherRoot, AVLNodeArena nodeArena) {
+    return intersection(targetRoot, otherRoot, nodeArena, new SplitResult());
+  }
+
+  /**
+   * Removes the values of {@code otherRoot} from {@code targetRoot}.
+   *
+   * @param targetRoot tree that is consumed and rebuilt, may be null
+   * @param otherRoot tree that is only read, may be null
+   * @param nodeArena arena of the target tree, or null if its nodes are allocated normally
+   * @return root of the difference
+   */
+  static AVLNode difference(AVLNode targetRoot, AVLNode otherRoot, AVLNodeArena nodeArena) {
+    return difference(targetRoot, otherRoot, nodeArena, new SplitResult());
+  }
+
+  private static AVLNode union(
+      AVLNode targetRoot,
+      AVLNode otherRoot,
+      boolean adoptOtherNodes,
+      AVLNodeArena nodeArena,
+      SplitResult splitResult) {
+    if (otherRoot == null) {
+      return targetRoot;
+    }
+    if (targetRoot == null) {
+      return adoptOtherNodes ? otherRoot : copyOf(otherRoot, nodeArena);
+    }
+
+    AVLNode otherLeft = otherRoot.left;
+    AVLNode otherRight = otherRoot.right;
+    split(targetRoot, otherRoot.value, splitResult);
+    AVLNode matchingNode = splitResult.matchingNode;
+    AVLNode upperPart = splitResult.upperPart;
+    AVLNode mergedLeft =
+        union(splitResult.lowerPart, otherLeft, adoptOtherNodes, nodeArena, splitResult);
+    AVLNode mergedRight = union(upperPart, otherRight, adoptOtherNodes, nodeArena, splitResult);
+
+    // A value present on both sides keeps the target's node
+    AVLNode middleNode;
+    if (matchingNode != null) {
+      middleNode = matchingNode;
+      if (adoptOtherNodes) {
+        release(otherRoot, nodeArena);
+      }
+    } else {
+      middleNode = adoptOtherNodes ? otherRoot : newNode(otherRoot.value, nodeArena);
+    }
+    return join(mergedLeft, middleNode, mergedRight);
+  }
+
+  private static AVLNode intersection(
+      AVLNode targetRoot, AVLNode otherRoot, AVLNodeArena nodeArena, SplitResult splitResult) {
+    if (targetRoot == null) {
+      return null;
+    }
+    if (otherRoot == null) {
+      releaseSubtree(targetRoot, nodeArena);
+      return null;
+    }
+
+    split(targetRoot, otherRoot.value, splitResult);
+    AVLNode matchingNode = splitResult.matchingNode;
+    AVLNode upperPart = splitResult.upperPart;
+    AVLNode commonLeft =
+        intersection(splitResult.lowerPart, otherRoot.left, nodeArena, splitResult);
+    AVLNode commonRight = intersection(upperPart, otherRoot.right, nodeArena, splitResult);
+    return (matchingNode != null)
+        ? join(commonLeft, matchingNode, commonRight)
+        : joinWithoutMiddle(commonLeft, commonRight);
+  }
+
+  private static AVLNode difference(
+      AVLNode targetRoot, AVLNode otherRoot, AVLNodeArena nodeArena, SplitResult splitResult) {
+    if (targetRoot == null || otherRoot == null) {
+      return targetRoot;
+    }
+
+    split(targetRoot, otherRoot.value, splitResult);
+    AVLNode matchingNode = splitResult.matchingNode;
+    AVLNode upperPart = splitResult.upperPart;
+    AVLNode remainingLeft =
+        difference(splitResult.lowerPart, otherRoot.left, nodeArena, splitResult);
+    AVLNode remainingRight = difference(upperPart, otherRoot.right, nodeArena, splitResult);
+    if (matchingNode != null) {
+      release(matchingNode, nodeArena);
+    }
+    return joinWithoutMiddle(remainingLeft, remainingRight);
+  }
+
+  /**
+   * Cuts a tree into the values below and above {@code splitValue}. The node holding the split
+   * value itself, if any, is reported separately with stale children.
+   */
+  private static void split(AVLNode subtreeRoot, int splitValue, SplitResult splitResult) {
+    if (subtreeRoot == null) {
+      splitResult.lowerPart = null;
+      splitResult.matchingNode = null;
+      splitResult.upperPart = null;
+      return;
+    }
+
+    AVLNode leftSubtree = subtreeRoot.left;
+    AVLNode rightSubtree = subtreeRoot.right;
+    if (splitValue < subtreeRoot.value) {
+      split(leftSubtree, splitValue, splitResult);
+      splitResult.upperPart = join(splitResult.upperPart, subtreeRoot, rightSubtree);
+    } else if (splitValue > subtreeRoot.value) {
+      split(rightSubtree, splitValue, splitResult);
+      splitResult.lowerPart = join(leftSubtree, subtreeRoot, splitResult.lowerPart);
+    } else {
+      splitResult.lowerPart = leftSubtree;
+      splitResult.matchingNode = subtreeRoot;
+      splitResult.upperPart = rightSubtree;
+    }
+  }
+
+  /**
+   * Links two trees below a middle node. Every value of {@code leftRoot} must be smaller and every
+   * value of {@code rightRoot} greater than the middle value; the middle node's children are
+   * overwritten.
+   */
+  static AVLNode join(AVLNode leftRoot, AVLNode middleNode, AVLNode rightRoot) {
+    int leftHeight = heightOf(leftRoot);
+    int rightHeight = heightOf(rightRoot);
+    if (leftHeight > rightHeight + 1) {
+      return joinRight(leftRoot, middleNode, rightRoot);
+    }
+    if (rightHeight > leftHeight + 1) {
+      return joinLeft(leftRoot, middleNode, rightRoot);
+    }
+    middleNode.left = leftRoot;
+    middleNode.right = rightRoot;
+    middleNode.updateHeight();
+    return middleNode;
+  }
+
+  /** Descends the right spine of the taller left tree until the heights fit. */
+  private static AVLNode joinRight(AVLNode leftRoot, AVLNode middleNode, AVLNode rightRoot) {
+    if (heightOf(leftRoot.right) <= heightOf(rightRoot) + 1) {
+      middleNode.left = leftRoot.right;
+      middleNode.right = rightRoot;
+      middleNode.updateHeight();
+      leftRoot.right = middleNode;
+    } else {
+      leftRoot.right = joinRight(leftRoot.right, middleNode, rightRoot);
+    }
+    return rebalance(leftRoot);
+  }
+
+  /** Descends the left spine of the taller right tree until the heights fit. */
+  private static AVLNode joinLeft(AVLNode leftRoot, AVLNode middleNode, AVLNode rightRoot) {
+    if (heightOf(rightRoot.left) <= heightOf(leftRoot) + 1) {
+      middleNode.left = leftRoot;
+      middleNode.right = rightRoot.left;
+      middleNode.updateHeight();
+      rightRoot.left = middleNode;
+    } else {
+      rightRoot.left = joinLeft(leftRoot, middleNode, rightRoot.left);
+    }
+    return rebalance(rightRoot);
+  }
+
+  /** Links two trees without a middle value by promoting the smallest node of the right tree. */
+  private static AVLNode joinWithoutMiddle(AVLNode leftRoot, AVLNode rightRoot) {
+    if (leftRoot == null) {
+      return rightRoot;
+    }
+    if (rightRoot == null) {
+      return leftRoot;
+    }
+    AVLNode minimumNode = rightRoot;
+    while (minimumNode.left != null) {
+      minimumNode = minimumNode.left;
+    }
+    AVLNode remainingRight = removeMinimum(rightRoot);
+    return join(leftRoot, minimumNode, remainingRight);
+  }
+
+  private static AVLNode removeMinimum(AVLNode subtreeRoot) {
+    if (subtreeRoot.left == null) {
+      return subtreeRoot.right;
+    }
+    subtreeRoot.left = removeMinimum(subtreeRoot.left);
+    return rebalance(subtreeRoot);
+  }
+
+  private static AVLNode copyOf(AVLNode sourceNode, AVLNodeArena nodeArena) {
+    if (sourceNode == null) {
+      return null;
+    }
+    AVLNode copiedNode = newNode(sourceNode.value, nodeArena);
+    copiedNode.left = copyOf(sourceNode.left, nodeArena);
+    copiedNode.right = copyOf(sourceNode.right, nodeArena);
+    copiedNode.updateHeight();
+    return copiedNode;
+  }
+
+  private static AVLNode newNode(int nodeValue, AVLNodeArena nodeArena) {
+    return (nodeArena == null) ? new AVLNode(nodeValue) : nodeArena.allocate(nodeValue);
+  }
+
+  private static void release(AVLNode droppedNode, AVLNodeArena nodeArena) {
+    if (nodeArena != null) {
+      nodeArena.release(droppedNode);
+    }
+  }
+
+  /** Hands every node of a dropped subtree back to the arena, if there is one. */
+  private static void releaseSubtree(AVLNode droppedRoot, AVLNodeArena nodeArena) {
+    if (nodeArena == null || droppedRoot == null) {
+      return;
+    }
+    AVLNode rightSubtree = droppedRoot.right;
+    releaseSubtree(droppedRoot.left, nodeArena);
+    nodeArena.release(droppedRoot);
+    releaseSubtree(rightSubtree, nodeArena);
+  }
+
+  private static AVLNode rebalance(AVLNode subtreeRoot) {
+    subtreeRoot.updateHeight();
+    int balanceFactor = subtreeRoot.getBalanceFactor();
+    if (balanceFactor > 1) {
+      if (subtreeRoot.left.getBalanceFactor() < 0) {
+        subtreeRoot.left = rotateLeft(subtreeRoot.left);
+      }
+      return rotateRight(subtreeRoot);
+    }
+    if (balanceFactor < -1) {
+      if (subtreeRoot.right.getBalanceFactor() > 0) {
+        subtreeRoot.right = rotateRight(subtreeRoot.right);
+      }
+      return rotateLeft(subtreeRoot);
+    }
+    return subtreeRoot;
+  }
+
+  private static AVLNode rotateRight(AVLNode parentNode) {
+    AVLNode leftChild = parentNode.left;
+    parentNode.left = leftChild.right;
+    leftChild.right = parentNode;
+    parentNode.updateHeight();
+    leftChild.updateHeight();
+    return leftChild;
+  }
+
+  private static AVLNode rotateLeft(AVLNode parentNode) {
+    AVLNode rightChild = parentNode.right;
+    parentNode.right = rightChild.left;
+    rightChild.left = parentNode;
+    parentNode.updateHeight();
+    rightChild.updateHeight();
+    return rightChild;
+  }
+
+  private static int heightOf(AVLNode subtreeRoot) {
+    return (subtreeRoot == null) ? 0 : subtreeRoot.height;
+  }
+}
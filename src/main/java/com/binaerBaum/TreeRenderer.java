@@ -0,0 +1,343 @@
+package com.binaerBaum;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Renders trees of any size as indented text, Graphviz DOT or SVG. Unlike {@link TreeVisualizer},
+ * which lays out 2^height slots per level, every format here visits only the real nodes and
+ * appends to one {@link Appendable} (a {@link StringBuilder} or a buffered file writer), so time
+ * and memory grow linearly with the number of rendered nodes.
+ *
+ * <p>Any {@link IntTreeNode} can be rendered, whatever its balancing scheme; the text format shows
+ * the balancing data from {@link IntTreeNode#getBalanceInfo()}. Rendering can start at any subtree
+ * and can stop at a maximum depth; subtrees below the limit are summarised by their node count.
+ */
+public final class TreeRenderer {
+  /** Depth limit that renders the whole tree. */
+  public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+
+  private static final int SVG_HORIZONTAL_SPACING = 32;
+  private static final int SVG_VERTICAL_SPACING = 48;
+  private static final int SVG_MARGIN = 24;
+  private static final int SVG_NODE_RADIUS = 14;
+
+  /** Output format. */
+  public enum Format {
+    /** Indented text like {@link BinaryIntTree#printTree()}, right subtree first. */
+    TEXT,
+    /** Graphviz digraph; render with {@code dot -Tsvg}. */
+    DOT,
+    /** Standalone SVG image, x position by inorder rank and y position by depth. */
+    SVG
+  }
+
+  private TreeRenderer() {}
+
+  /**
+   * Renders a tree into a string.
+   *
+   * @param subtreeRoot root of the rendered subtree, may be null
+   * @param outputFormat output format
+   * @param maxDepth number of levels to render, at least 1, or {@link #UNLIMITED_DEPTH}
+   * @return the rendered tree
+   */
+  public static String render(IntTreeNode subtreeRoot, Format outputFormat, int maxDepth) {
+    StringBuilder renderedTree = new StringBuilder();
+    try {
+      render(subtreeRoot, outputFormat, maxDepth, renderedTree);
+    } catch (IOException impossible) {
+      // StringBuilder.append never throws
+      throw new UncheckedIOException(impossible);
+    }
+    return renderedTree.toString();
+  }
+
+  /**
+   * Renders a tree into a UTF-8 file through a buffered writer.
+   *
+   * @param subtreeRoot root of the rendered subtree, may be null
+   * @param outputFormat output format
+   * @param maxDepth number of levels to render, at least 1, or {@link #UNLIMITED_DEPTH}
+   * @param targetFile file to create or overwrite
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(
+      IntTreeNode subtreeRoot, Format outputFormat, int maxDepth, Path targetFile)
+      throws IOException {
+    try (BufferedWriter fileWriter = Files.newBufferedWriter(targetFile, StandardCharsets.UTF_8)) {
+      render(subtreeRoot, outputFormat, maxDepth, fileWriter);
+    }
+  }
+
+  /**
+   * Renders a tree into any appendable target.
+   *
+   * @param subtreeRoot root of the rendered subtree, may be null
+   * @param outputFormat output format
+   * @param maxDepth number of levels to render, at least 1, or {@link #UNLIMITED_DEPTH}
+   * @param renderTarget receiver of the output
+   * @throws IOException if the target cannot be written
+   */
+  public static void render(
+      IntTreeNode subtreeRoot, Format outputFormat, int maxDepth, Appendable renderTarget)
+      throws IOException {
+    if (maxDepth < 1) {
+      throw new IllegalArgumentException("Die maximale Tiefe muss mindestens 1 sein: " + maxDepth);
+    }
+    switch (outputFormat) {
+      case TEXT:
+        renderText(subtreeRoot, maxDepth, renderTarget);
+        break;
+      case DOT:
+        renderDot(subtreeRoot, maxDepth, renderTarget);
+        break;
+      case SVG:
+        renderSvg(subtreeRoot, maxDepth, renderTarget);
+        break;
+    }
+  }
+
+  /**
+   * Finds the subtree rooted at the node holding a value, to render only that part of a tree.
+   *
+   * @param treeRoot root of the whole tree
+   * @param subtreeRootValue value of the wanted subtree root
+   * @return the subtree root, or null if the value is not in the tree
+   */
+  public static IntTreeNode findSubtree(IntTreeNode treeRoot, int subtreeRootValue) {
+    IntTreeNode currentNode = treeRoot;
+    while (currentNode != null && currentNode.getValue() != subtreeRootValue) {
+      currentNode =
+          (subtreeRootValue < currentNode.getValue())
+              ? currentNode.getLeft()
+              : currentNode.getRight();
+    }
+    return currentNode;
+  }
+
+  private static void renderText(IntTreeNode subtreeRoot, int maxDepth, Appendable renderTarget)
+      throws IOException {
+    if (subtreeRoot != null) {
+      appendTextNode(subtreeRoot, new StringBuilder(), true, 1, maxDepth, renderTarget);
+    }
+  }
+
+  /** The prefix builder is shared along the path and shortened again on the way back. */
+  private static void appendTextNode(
+      IntTreeNode textNode,
+      StringBuilder linePrefix,
+      boolean isLast,
+      int nodeDepth,
+      int maxDepth,
+      Appendable renderTarget)
+      throws IOException {
+    renderTarget.append(linePrefix).append(isLast ? "└── " : "├── ");
+    renderTarget
+        .append(Integer.toString(textNode.getValue()))
+        .append(" (")
+        .append(textNode.getBalanceInfo())
+        .append(")\n");
+
+    IntTreeNode leftChild = textNode.getLeft();
+    IntTreeNode rightChild = textNode.getRight();
+    if (leftChild == null && rightChild == null) {
+      return;
+    }
+    int prefixLength = linePrefix.length();
+    linePrefix.append(isLast ? "    " : "│   ");
+    if (nodeDepth >= maxDepth) {
+      renderTarget
+          .append(linePrefix)
+          .append("└── … (")
+          .append(Integer.toString(textNode.getSize() - 1))
+          .append(" weitere Knoten)\n");
+    } else {
+      if (rightChild != null) {
+        boolean rightIsLast = leftChild == null;
+        appendTextNode(rightChild, linePrefix, rightIsLast, nodeDepth + 1, maxDepth, renderTarget);
+      }
+      if (leftChild != null) {
+        appendTextNode(leftChild, linePrefix, true, nodeDepth + 1, maxDepth, renderTarget);
+      }
+    }
+    linePrefix.setLength(prefixLength);
+  }
+
+  private static void renderDot(IntTreeNode subtreeRoot, int maxDepth, Appendable renderTarget)
+      throws IOException {
+    renderTarget.append("digraph AVLTree {\n");
+    renderTarget.append("  node [shape=circle];\n");
+    if (subtreeRoot != null) {
+      appendDotNode(subtreeRoot, 1, maxDepth, renderTarget);
+    }
+    renderTarget.append("}\n");
+  }
+
+  private static void appendDotNode(
+      IntTreeNode dotNode, int nodeDepth, int maxDepth, Appendable renderTarget)
+      throws IOException {
+    String nodeId = Integer.toString(dotNode.getValue());
+    renderTarget.append("  \"").append(nodeId).append("\";\n");
+    if (dotNode.getLeft() == null && dotNode.getRight() == null) {
+      return;
+    }
+
+    if (nodeDepth >= maxDepth) {
+      // One placeholder per cut subtree, named after its parent
+      renderTarget
+          .append("  \"")
+          .append(nodeId)
+          .append("…\" [shape=box, style=dashed, label=\"")
+          .append(Integer.toString(dotNode.getSize() - 1))
+          .append(" Knoten\"];\n");
+      renderTarget
+          .append("  \"")
+          .append(nodeId)
+          .append("\" -> \"")
+          .append(nodeId)
+          .append("…\" [style=dashed];\n");
+      return;
+    }
+    appendDotEdge(nodeId, dotNode.getLeft(), nodeDepth, maxDepth, renderTarget);
+    appendDotEdge(nodeId, dotNode.getRight(), nodeDepth, maxDepth, renderTarget);
+  }
+
+  private static void appendDotEdge(
+      String parentId,
+      IntTreeNode childNode,
+      int parentDepth,
+      int maxDepth,
+      Appendable renderTarget)
+      throws IOException {
+    if (childNode == null) {
+      return;
+    }
+    renderTarget
+        .append("  \"")
+        .append(parentId)
+        .append("\" -> \"")
+        .append(Integer.toString(childNode.getValue()))
+        .append("\";\n");
+    appendDotNode(childNode, parentDepth + 1, maxDepth, renderTarget);
+  }
+
+  private static void renderSvg(IntTreeNode subtreeRoot, int maxDepth, Appendable renderTarget)
+      throws IOException {
+    int renderedNodes = countRendered(subtreeRoot, 1, maxDepth);
+    int renderedLevels = (subtreeRoot == null) ? 0 : Math.min(subtreeRoot.getHeight(), maxDepth);
+    long imageWidth =
+        2L * SVG_MARGIN + (long) Math.max(renderedNodes - 1, 0) * SVG_HORIZONTAL_SPACING;
+    long imageHeight =
+        2L * SVG_MARGIN + (long) Math.max(renderedLevels - 1, 0) * SVG_VERTICAL_SPACING;
+
+    renderTarget
+        .append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"")
+        .append(Long.toString(imageWidth))
+        .append("\" height=\"")
+        .append(Long.toString(imageHeight))
+        .append("\" font-family=\"sans-serif\" font-size=\"10\" text-anchor=\"middle\">\n");
+    if (subtreeRoot != null) {
+      // Two passes with the same layout: edges first, so that the circles are drawn on top
+      renderTarget.append("<g stroke=\"black\">\n");
+      appendSvgNode(subtreeRoot, 1, maxDepth, new int[1], true, renderTarget);
+      renderTarget.append("</g>\n<g>\n");
+      appendSvgNode(subtreeRoot, 1, maxDepth, new int[1], false, renderTarget);
+      renderTarget.append("</g>\n");
+    }
+    renderTarget.append("</svg>\n");
+  }
+
+  /**
+   * Lays out a subtree in order and draws either its edges or its nodes.
+   *
+   * @param nextRank inorder rank of the next rendered node, shared by the whole pass
+   * @return x coordinate of the subtree root
+   */
+  private static long appendSvgNode(
+      IntTreeNode svgNode,
+      int nodeDepth,
+      int maxDepth,
+      int[] nextRank,
+      boolean drawEdges,
+      Appendable renderTarget)
+      throws IOException {
+    boolean expanded = nodeDepth < maxDepth;
+    IntTreeNode leftChild = svgNode.getLeft();
+    IntTreeNode rightChild = svgNode.getRight();
+    long leftX = -1;
+    if (expanded && leftChild != null) {
+      leftX = appendSvgNode(leftChild, nodeDepth + 1, maxDepth, nextRank, drawEdges, renderTarget);
+    }
+    long nodeX = SVG_MARGIN + (long) nextRank[0]++ * SVG_HORIZONTAL_SPACING;
+    long rightX = -1;
+    if (expanded && rightChild != null) {
+      rightX =
+          appendSvgNode(rightChild, nodeDepth + 1, maxDepth, nextRank, drawEdges, renderTarget);
+    }
+
+    long nodeY = SVG_MARGIN + (long) (nodeDepth - 1) * SVG_VERTICAL_SPACING;
+    if (drawEdges) {
+      long childY = nodeY + SVG_VERTICAL_SPACING;
+      if (leftX >= 0) {
+        appendSvgLine(nodeX, nodeY, leftX, childY, renderTarget);
+      }
+      if (rightX >= 0) {
+        appendSvgLine(nodeX, nodeY, rightX, childY, renderTarget);
+      }
+      return nodeX;
+    }
+
+    // Nodes whose children were cut off get a dashed outline
+    boolean truncated = !expanded && (leftChild != null || rightChild != null);
+    renderTarget
+        .append("<circle cx=\"")
+        .append(Long.toString(nodeX))
+        .append("\" cy=\"")
+        .append(Long.toString(nodeY))
+        .append("\" r=\"")
+        .append(Integer.toString(SVG_NODE_RADIUS))
+        .append("\" fill=\"white\" stroke=\"")
+        .append(truncated ? "gray\" stroke-dasharray=\"3" : "black")
+        .append("\"/>")
+        .append("<text x=\"")
+        .append(Long.toString(nodeX))
+        .append("\" y=\"")
+        .append(Long.toString(nodeY + 4))
+        .append("\">")
+        .append(Integer.toString(svgNode.getValue()))
+        .append("</text>\n");
+    return nodeX;
+  }
+
+  private static void appendSvgLine(
+      long fromX, long fromY, long toX, long toY, Appendable renderTarget) throws IOException {
+    renderTarget
+        .append("<line x1=\"")
+        .append(Long.toString(fromX))
+        .append("\" y1=\"")
+        .append(Long.toString(fromY))
+        .append("\" x2=\"")
+        .append(Long.toString(toX))
+        .append("\" y2=\"")
+        .append(Long.toString(toY))
+        .append("\"/>\n");
+  }
+
+  /** Number of nodes within the depth limit. */
+  private static int countRendered(IntTreeNode subtreeRoot, int nodeDepth, int maxDepth) {
+    if (subtreeRoot == null) {
+      return 0;
+    }
+    if (nodeDepth >= maxDepth) {
+      return 1;
+    }
+    return 1
+        + countRendered(subtreeRoot.getLeft(), nodeDepth + 1, maxDepth)
+        + countRendered(subtreeRoot.getRight(), nodeDepth + 1, maxDepth);
+  }
+}
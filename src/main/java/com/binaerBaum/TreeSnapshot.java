@@ -0,0 +1,200 @@
+package com.binaerBaum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary snapshot of an AVL tree that can be queried straight from a memory-mapped file.
+ *
+ * <p>Layout (little endian): a 16 byte header with magic number, format version, node count and
+ * tree height, followed by one 12 byte record per node in preorder: value, subtree size and
+ * height. Preorder puts every subtree into one contiguous run of records that starts with its
+ * root, so child positions follow from the sizes: the left child (if any) is the next record, the
+ * right child comes after the left subtree. The exact tree shape is preserved, so all four
+ * traversals of the mapped tree match the original.
+ *
+ * <p>A snapshot is written to a temporary file next to the target and renamed over it, so the
+ * target always holds either the old or the new complete snapshot.
+ *
+ * <p>One mapping is limited to 2 GB, which allows snapshots of up to about 178 million nodes.
+ */
+public final class TreeSnapshot {
+  static final int MAGIC = 0x41564C53; // "AVLS"
+  static final int FORMAT_VERSION = 1;
+  static final int HEADER_BYTES = 16;
+  static final int RECORD_BYTES = 12;
+  static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  static final int MAX_NODE_COUNT = (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES;
+
+  private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+  private TreeSnapshot() {}
+
+  /**
+   * Writes the tree to a snapshot file, atomically replacing an existing file, and forces it to
+   * disk.
+   *
+   * @param avlTree the tree to write
+   * @param snapshotPath target file
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(AVLTree avlTree, Path snapshotPath) throws IOException {
+    write(avlTree.getRoot(), snapshotPath);
+  }
+
+  /**
+   * Writes the subtree below the given node to a snapshot file, atomically replacing an existing
+   * file, and forces it to disk. The records go to a sibling file with the suffix {@code .tmp},
+   * which is forced and then moved over the target; finally the directory is synced so that the
+   * rename itself survives a crash.
+   *
+   * @param subtreeRoot root of the subtree, may be null for an empty snapshot
+   * @param snapshotPath target file
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(AVLNode subtreeRoot, Path snapshotPath) throws IOException {
+    int nodeCount = AVLNode.sizeOf(subtreeRoot);
+    if (nodeCount > MAX_NODE_COUNT) {
+      throw new IllegalArgumentException(
+          "Baum zu groß für einen Snapshot: "
+              + nodeCount
+              + " Knoten (maximal "
+              + MAX_NODE_COUNT
+              + ").");
+    }
+
+    Path temporaryPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+    try {
+      writeRecords(subtreeRoot, nodeCount, temporaryPath);
+      Files.move(
+          temporaryPath,
+          snapshotPath,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException writeFailure) {
+      Files.deleteIfExists(temporaryPath);
+      throw writeFailure;
+    }
+    syncDirectory(snapshotPath.toAbsolutePath().getParent());
+  }
+
+  /** Forces the directory entries (here: the renamed snapshot) to disk. */
+  private static void syncDirectory(Path directoryPath) throws IOException {
+    try (FileChannel directoryChannel = FileChannel.open(directoryPath, StandardOpenOption.READ)) {
+      directoryChannel.force(true);
+    }
+  }
+
+  private static void writeRecords(AVLNode subtreeRoot, int nodeCount, Path targetPath)
+      throws IOException {
+    try (FileChannel snapshotChannel =
+        FileChannel.open(
+            targetPath,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(BYTE_ORDER);
+      writeBuffer.putInt(MAGIC);
+      writeBuffer.putInt(FORMAT_VERSION);
+      writeBuffer.putInt(nodeCount);
+      writeBuffer.putInt((subtreeRoot == null) ? 0 : subtreeRoot.height);
+
+      if (subtreeRoot != null) {
+        AVLNode[] pendingNodes = new AVLNode[subtreeRoot.height];
+        int stackSize = 0;
+        pendingNodes[stackSize++] = subtreeRoot;
+        while (stackSize > 0) {
+          AVLNode preorderNode = pendingNodes[--stackSize];
+          if (writeBuffer.remaining() < RECORD_BYTES) {
+            drain(writeBuffer, snapshotChannel);
+          }
+          writeBuffer.putInt(preorderNode.value);
+          writeBuffer.putInt(preorderNode.size);
+          writeBuffer.putInt(preorderNode.height);
+
+          if (preorderNode.right != null) {
+            pendingNodes[stackSize++] = preorderNode.right;
+          }
+          if (preorderNode.left != null) {
+            pendingNodes[stackSize++] = preorderNode.left;
+          }
+        }
+      }
+      drain(writeBuffer, snapshotChannel);
+      snapshotChannel.force(true);
+    }
+  }
+
+  /**
+   * Maps a snapshot file read-only. Nothing is deserialized; the returned view answers queries
+   * directly from the mapped file, so opening costs the same for any tree size.
+   *
+   * @param snapshotPath the snapshot file
+   * @return read-only tree view over the file
+   * @throws IOException if the file cannot be read or is not a valid snapshot
+   */
+  public static MappedAVLTree open(Path snapshotPath) throws IOException {
+    try (FileChannel snapshotChannel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+      long fileBytes = snapshotChannel.size();
+      if (fileBytes < HEADER_BYTES || fileBytes > Integer.MAX_VALUE) {
+        throw new IOException("Keine gültige Snapshot-Datei: " + snapshotPath);
+      }
+
+      // The mapping stays valid after the channel is closed
+      MappedByteBuffer mappedSnapshot =
+          snapshotChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileBytes);
+      mappedSnapshot.order(BYTE_ORDER);
+
+      int nodeCount = mappedSnapshot.getInt(8);
+      if (mappedSnapshot.getInt(0) != MAGIC
+          || mappedSnapshot.getInt(4) != FORMAT_VERSION
+          || nodeCount < 0
+          || fileBytes != HEADER_BYTES + (long) nodeCount * RECORD_BYTES) {
+        throw new IOException("Keine gültige Snapshot-Datei: " + snapshotPath);
+      }
+      int treeHeight = mappedSnapshot.getInt(12);
+      checkHeight(mappedSnapshot, nodeCount, treeHeight, snapshotPath);
+      return new MappedAVLTree(mappedSnapshot, nodeCount, treeHeight);
+    }
+  }
+
+  /**
+   * Rejects a header height that no AVL tree with this many nodes can have, or that differs from
+   * the height stored in the root record. The traversals of {@link MappedAVLTree} size their
+   * stacks by this height, so it must not be trusted unchecked.
+   */
+  private static void checkHeight(
+      ByteBuffer mappedSnapshot, int nodeCount, int treeHeight, Path snapshotPath)
+      throws IOException {
+    boolean validHeight;
+    if (nodeCount == 0) {
+      validHeight = treeHeight == 0;
+    } else {
+      validHeight =
+          treeHeight >= 1
+              && treeHeight <= (int) AVLTreeMetrics.heightBound(nodeCount)
+              && mappedSnapshot.getInt(HEADER_BYTES + 8) == treeHeight;
+    }
+    if (!validHeight) {
+      throw new IOException(
+          "Ungültige Baumhöhe " + treeHeight + " für " + nodeCount + " Knoten: " + snapshotPath);
+    }
+  }
+
+  private static void drain(ByteBuffer writeBuffer, FileChannel snapshotChannel)
+      throws IOException {
+    writeBuffer.flip();
+    while (writeBuffer.hasRemaining()) {
+      snapshotChannel.write(writeBuffer);
+    }
+    writeBuffer.clear();
+  }
+}
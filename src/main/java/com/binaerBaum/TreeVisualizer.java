@@ -1,10 +1,5 @@
 package com.binaerBaum;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
-
 /**
  * Helper class for top-down tree visualization. Produces readable tree output like:
  *
@@ -17,87 +12,114 @@ import java.util.Queue;
  *        11  46
  */
 public class TreeVisualizer {
+  /**
+   * Tallest tree that is laid out graphically. Every line is about 2^height characters wide, so
+   * taller trees are printed as indented text by {@link TreeRenderer} instead.
+   */
+  static final int MAX_LAYOUT_HEIGHT = 16;
 
-  public static void printTree(AVLNode rootNode) {
+  public static void printTree(IntTreeNode rootNode) {
     if (rootNode == null) {
       System.out.println("(empty)");
       return;
     }
 
-    int totalLevels = calculateHeight(rootNode);
-    int initialSpacing = (int) Math.pow(2, totalLevels) * 2;
-
-    // Collect nodes per level using BFS
-    Queue<AVLNode> bfsQueue = new LinkedList<>();
-    bfsQueue.add(rootNode);
-
-    List<List<String>> outputLevels = new ArrayList<>();
+    int totalLevels = rootNode.getHeight();
+    if (totalLevels > MAX_LAYOUT_HEIGHT) {
+      System.out.println(
+          "(Baum zu hoch für die grafische Darstellung: Höhe "
+              + totalLevels
+              + ", eingerückte Darstellung)");
+      System.out.print(
+          TreeRenderer.render(rootNode, TreeRenderer.Format.TEXT, TreeRenderer.UNLIMITED_DEPTH));
+      return;
+    }
+    System.out.print(formatTree(rootNode, totalLevels));
+  }
 
-    for (int currentLevel = 0; currentLevel < totalLevels; currentLevel++) {
-      int nodesAtCurrentLevel = bfsQueue.size();
-      List<String> levelNodes = new ArrayList<>();
+  /**
+   * Lays out the tree level by level. Only real nodes are visited; each keeps its slot among the
+   * 2^level positions of its level, and the gaps of missing nodes are filled with spaces.
+   */
+  private static String formatTree(IntTreeNode rootNode, int totalLevels) {
+    String lineSeparator = System.lineSeparator();
+    StringBuilder formattedTree = new StringBuilder();
+    int initialSpacing = (1 << totalLevels) * 2;
 
-      for (int nodeIdx = 0; nodeIdx < nodesAtCurrentLevel; nodeIdx++) {
-        AVLNode currentTreeNode = bfsQueue.poll();
-        if (currentTreeNode == null) {
-          levelNodes.add(null);
-          bfsQueue.add(null);
-          bfsQueue.add(null);
-        } else {
-          levelNodes.add(String.valueOf(currentTreeNode.value));
-          bfsQueue.add(currentTreeNode.left);
-          bfsQueue.add(currentTreeNode.right);
-        }
-      }
-      outputLevels.add(levelNodes);
-    }
+    IntTreeNode[] levelNodes = {rootNode};
+    int[] levelSlots = {0};
+    int levelNodeCount = 1;
 
     // Print level by level with proper spacing and branches
     int displaySpacing = initialSpacing / 2;
 
-    for (int outputLevelIdx = 0; outputLevelIdx < outputLevels.size(); outputLevelIdx++) {
-      List<String> levelNodes = outputLevels.get(outputLevelIdx);
+    for (int outputLevelIdx = 0; outputLevelIdx < totalLevels; outputLevelIdx++) {
+      int slotsAtLevel = 1 << outputLevelIdx;
       int spaceBefore = displaySpacing / 2;
 
-      // Print node values line
-      printSpaces(spaceBefore);
-      for (int nodeAtLevelIdx = 0; nodeAtLevelIdx < levelNodes.size(); nodeAtLevelIdx++) {
-        String displayValue = levelNodes.get(nodeAtLevelIdx);
-        System.out.print(displayValue == null ? " " : displayValue);
-        printSpaces(displaySpacing);
+      // Node values line; a missing node is one space wide
+      appendSpaces(formattedTree, spaceBefore);
+      int previousSlot = -1;
+      for (int nodeAtLevelIdx = 0; nodeAtLevelIdx < levelNodeCount; nodeAtLevelIdx++) {
+        int nodeSlot = levelSlots[nodeAtLevelIdx];
+        appendSpaces(formattedTree, (nodeSlot - previousSlot - 1) * (1 + displaySpacing));
+        formattedTree.append(levelNodes[nodeAtLevelIdx].getValue());
+        appendSpaces(formattedTree, displaySpacing);
+        previousSlot = nodeSlot;
       }
-      System.out.println();
+      appendSpaces(formattedTree, (slotsAtLevel - previousSlot - 1) * (1 + displaySpacing));
+      formattedTree.append(lineSeparator);
 
-      // Print connecting lines
-      if (outputLevelIdx < outputLevels.size() - 1) {
+      // Connecting lines
+      if (outputLevelIdx < totalLevels - 1) {
         int branchSpacing = displaySpacing / 2;
         int branchWidth = branchSpacing / 2;
+        int emptySlotWidth =
+            Math.max(branchWidth * 2 + 1, 0) + Math.max(displaySpacing - branchWidth, 0);
+
+        appendSpaces(formattedTree, spaceBefore - branchWidth);
+        previousSlot = -1;
+        for (int branchIdx = 0; branchIdx < levelNodeCount; branchIdx++) {
+          int nodeSlot = levelSlots[branchIdx];
+          appendSpaces(formattedTree, (nodeSlot - previousSlot - 1) * emptySlotWidth);
+          formattedTree.append('/');
+          appendSpaces(formattedTree, branchWidth * 2 - 1);
+          formattedTree.append('\\');
+          appendSpaces(formattedTree, displaySpacing - branchWidth);
+          previousSlot = nodeSlot;
+        }
+        appendSpaces(formattedTree, (slotsAtLevel - previousSlot - 1) * emptySlotWidth);
+        formattedTree.append(lineSeparator);
+      }
 
-        printSpaces(spaceBefore - branchWidth);
-        for (int branchIdx = 0; branchIdx < levelNodes.size(); branchIdx++) {
-          String branchNode = levelNodes.get(branchIdx);
-          if (branchNode != null) {
-            System.out.print("/");
-            printSpaces(branchWidth * 2 - 1);
-            System.out.print("\\");
-          } else {
-            printSpaces(branchWidth * 2 + 1);
-          }
-          printSpaces(displaySpacing - branchWidth);
+      // Collect the children of this level together with their slots
+      IntTreeNode[] childNodes = new IntTreeNode[levelNodeCount * 2];
+      int[] childSlots = new int[levelNodeCount * 2];
+      int childCount = 0;
+      for (int parentIdx = 0; parentIdx < levelNodeCount; parentIdx++) {
+        IntTreeNode parentNode = levelNodes[parentIdx];
+        int leftSlot = levelSlots[parentIdx] * 2;
+        IntTreeNode leftChild = parentNode.getLeft();
+        IntTreeNode rightChild = parentNode.getRight();
+        if (leftChild != null) {
+          childNodes[childCount] = leftChild;
+          childSlots[childCount++] = leftSlot;
+        }
+        if (rightChild != null) {
+          childNodes[childCount] = rightChild;
+          childSlots[childCount++] = leftSlot + 1;
         }
-        System.out.println();
       }
+      levelNodes = childNodes;
+      levelSlots = childSlots;
+      levelNodeCount = childCount;
 
       displaySpacing /= 2;
     }
+    return formattedTree.toString();
   }
 
-  private static void printSpaces(int count) {
-    for (int i = 0; i < count; i++) System.out.print(" ");
-  }
-
-  private static int calculateHeight(AVLNode someNode) {
-    if (someNode == null) return 0;
-    return 1 + Math.max(calculateHeight(someNode.left), calculateHeight(someNode.right));
+  private static void appendSpaces(StringBuilder formattedTree, int count) {
+    for (int i = 0; i < count; i++) formattedTree.append(' ');
   }
 }
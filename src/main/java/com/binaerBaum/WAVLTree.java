@@ -0,0 +1,257 @@
+package com.binaerBaum;
+
+/**
+ * Weak AVL (WAVL) tree over int values, after Haeupler, Sen and Tarjan's rank-balanced trees. Every
+ * node has a rank; the rank difference to each child (a missing child has rank -1) is 1 or 2, and
+ * leaves have rank 0. Insertions rebalance exactly like {@link AVLTree}, so a tree built only by
+ * insertions is an AVL tree. Removals, however, only demote ranks and rotate at most twice, where
+ * an AVL tree may rotate at every level; the height stays below 2 * log2(n).
+ *
+ * <p>Nodes keep a link to their parent, so rebalancing walks upwards without recursion.
+ */
+public final class WAVLTree implements BinaryIntTree {
+  private static final int MISSING_RANK = -1;
+
+  private Node treeRoot;
+  private int nodeCount;
+  private long rotationCount;
+
+  /** Node with its rank. */
+  static final class Node implements IntTreeNode {
+    int value;
+    Node left;
+    Node right;
+    Node parent;
+    int rank;
+
+    Node(int value, Node parent) {
+      this.value = value;
+      this.parent = parent;
+    }
+
+    @Override
+    public int getValue() {
+      return value;
+    }
+
+    @Override
+    public Node getLeft() {
+      return left;
+    }
+
+    @Override
+    public Node getRight() {
+      return right;
+    }
+
+    @Override
+    public String getBalanceInfo() {
+      return "Rang: " + rank;
+    }
+  }
+
+  @Override
+  public Node getRootNode() {
+    return treeRoot;
+  }
+
+  @Override
+  public long getRotationCount() {
+    return rotationCount;
+  }
+
+  @Override
+  public int size() {
+    return nodeCount;
+  }
+
+  @Override
+  public void clear() {
+    treeRoot = null;
+    nodeCount = 0;
+  }
+
+  @Override
+  public boolean insert(int insertValue) {
+    Node parentNode = null;
+    Node currentNode = treeRoot;
+    while (currentNode != null) {
+      if (insertValue == currentNode.value) {
+        return false;
+      }
+      parentNode = currentNode;
+      currentNode = (insertValue < currentNode.value) ? currentNode.left : currentNode.right;
+    }
+
+    Node insertedNode = new Node(insertValue, parentNode);
+    if (parentNode == null) {
+      treeRoot = insertedNode;
+    } else if (insertValue < parentNode.value) {
+      parentNode.left = insertedNode;
+    } else {
+      parentNode.right = insertedNode;
+    }
+    nodeCount++;
+    fixAfterInsert(insertedNode);
+    return true;
+  }
+
+  @Override
+  public boolean remove(int removeValue) {
+    Node removedNode = treeRoot;
+    while (removedNode != null && removedNode.value != removeValue) {
+      removedNode = (removeValue < removedNode.value) ? removedNode.left : removedNode.right;
+    }
+    if (removedNode == null) {
+      return false;
+    }
+
+    if (removedNode.left != null && removedNode.right != null) {
+      // Two children: take over the in-order successor's value and unlink the successor instead
+      Node successorNode = removedNode.right;
+      while (successorNode.left != null) {
+        successorNode = successorNode.left;
+      }
+      removedNode.value = successorNode.value;
+      removedNode = successorNode;
+    }
+
+    Node remainingChild = (removedNode.left != null) ? removedNode.left : removedNode.right;
+    Node parentNode = removedNode.parent;
+    if (remainingChild != null) {
+      remainingChild.parent = parentNode;
+    }
+    replaceChild(parentNode, removedNode, remainingChild);
+    nodeCount--;
+
+    if (parentNode != null) {
+      fixAfterRemove(remainingChild, parentNode);
+    }
+    return true;
+  }
+
+  /**
+   * Repairs a child with rank difference 0 by promoting upwards; at most one single or double
+   * rotation ends the walk.
+   */
+  private void fixAfterInsert(Node childNode) {
+    Node parentNode = childNode.parent;
+    while (parentNode != null && parentNode.rank == childNode.rank) {
+      Node siblingNode = (childNode == parentNode.left) ? parentNode.right : parentNode.left;
+      if (parentNode.rank - rank(siblingNode) == 1) {
+        // 0,1 node: promote and continue with the parent
+        parentNode.rank++;
+        childNode = parentNode;
+        parentNode = childNode.parent;
+        continue;
+      }
+
+      // 0,2 node: rotate and stop
+      boolean childIsLeft = childNode == parentNode.left;
+      Node innerGrandchild = childIsLeft ? childNode.right : childNode.left;
+      if (childNode.rank - rank(innerGrandchild) == 2) {
+        rotateUp(childNode);
+        parentNode.rank--;
+      } else {
+        rotateUp(innerGrandchild);
+        rotateUp(innerGrandchild);
+        innerGrandchild.rank++;
+        childNode.rank--;
+        parentNode.rank--;
+      }
+      return;
+    }
+  }
+
+  /**
+   * Repairs the ranks after a node below the parent was unlinked: a leaf of rank 1 is demoted, and
+   * a child with rank difference 3 is fixed by demotions upwards or by one single or double
+   * rotation.
+   *
+   * @param shortNode subtree that took the place of the unlinked node, may be null
+   * @param parentNode its parent
+   */
+  private void fixAfterRemove(Node shortNode, Node parentNode) {
+    if (parentNode.left == null && parentNode.right == null && parentNode.rank > 0) {
+      // A 2,2 leaf is not allowed; demote it and continue above it
+      parentNode.rank = 0;
+      shortNode = parentNode;
+      parentNode = shortNode.parent;
+    }
+
+    while (parentNode != null && parentNode.rank - rank(shortNode) == 3) {
+      boolean shortIsLeft = shortNode == parentNode.left;
+      Node siblingNode = shortIsLeft ? parentNode.right : parentNode.left;
+      if (parentNode.rank - siblingNode.rank == 2) {
+        // 3,2 node: demote the parent
+        parentNode.rank--;
+        shortNode = parentNode;
+        parentNode = shortNode.parent;
+        continue;
+      }
+
+      Node outerNephew = shortIsLeft ? siblingNode.right : siblingNode.left;
+      Node innerNephew = shortIsLeft ? siblingNode.left : siblingNode.right;
+      if (siblingNode.rank - rank(outerNephew) == 2 && siblingNode.rank - rank(innerNephew) == 2) {
+        // 3,1 node over a 2,2 sibling: demote both
+        parentNode.rank--;
+        siblingNode.rank--;
+        shortNode = parentNode;
+        parentNode = shortNode.parent;
+        continue;
+      }
+
+      if (siblingNode.rank - rank(outerNephew) == 1) {
+        rotateUp(siblingNode);
+        siblingNode.rank++;
+        parentNode.rank--;
+        if (parentNode.left == null && parentNode.right == null) {
+          parentNode.rank--;
+        }
+      } else {
+        rotateUp(innerNephew);
+        rotateUp(innerNephew);
+        innerNephew.rank += 2;
+        siblingNode.rank--;
+        parentNode.rank -= 2;
+      }
+      return;
+    }
+  }
+
+  private static int rank(Node someNode) {
+    return (someNode == null) ? MISSING_RANK : someNode.rank;
+  }
+
+  private void replaceChild(Node parentNode, Node oldChild, Node newChild) {
+    if (parentNode == null) {
+      treeRoot = newChild;
+    } else if (parentNode.left == oldChild) {
+      parentNode.left = newChild;
+    } else {
+      parentNode.right = newChild;
+    }
+  }
+
+  /** Rotates a node above its parent, keeping the in-order sequence. */
+  private void rotateUp(Node childNode) {
+    Node parentNode = childNode.parent;
+    if (childNode == parentNode.left) {
+      parentNode.left = childNode.right;
+      if (childNode.right != null) {
+        childNode.right.parent = parentNode;
+      }
+      childNode.right = parentNode;
+    } else {
+      parentNode.right = childNode.left;
+      if (childNode.left != null) {
+        childNode.left.parent = parentNode;
+      }
+      childNode.left = parentNode;
+    }
+    childNode.parent = parentNode.parent;
+    replaceChild(parentNode.parent, parentNode, childNode);
+    parentNode.parent = childNode;
+    rotationCount++;
+  }
+}
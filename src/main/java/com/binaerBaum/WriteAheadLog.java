@@ -0,0 +1,211 @@
+package com.binaerBaum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of tree mutations with group commit. Records are collected in a direct buffer
+ * and written and fsynced together once {@code syncEveryOperations} of them are pending (or on
+ * {@link #sync()}), so one fsync covers a whole batch instead of a single insert.
+ *
+ * <p>Each record takes 9 bytes: operation, value and a CRC32C over both. Replay stops at the first
+ * incomplete or damaged record, which is where a crash in the middle of a write leaves the file.
+ *
+ * <p>A failed write or fsync leaves the file in an unknown state, so the log is unusable from then
+ * on and every further call throws; the owner reopens it, which replays what actually reached the
+ * disk.
+ */
+final class WriteAheadLog implements AutoCloseable {
+  static final byte INSERT = 1;
+  static final byte REMOVE = 2;
+
+  static final int RECORD_BYTES = 9;
+  private static final int BUFFER_BYTES = RECORD_BYTES * 7282; // just under 64 KiB
+  private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  /** Receives the records of a log during replay. */
+  interface RecordHandler {
+    void apply(byte operation, int value);
+  }
+
+  private final FileChannel logChannel;
+  private final ByteBuffer pendingRecords =
+      ByteBuffer.allocateDirect(BUFFER_BYTES).order(BYTE_ORDER);
+  private final CRC32C recordChecksum = new CRC32C();
+  private final int syncEveryOperations;
+  private int unsyncedOperations;
+  /** First write or fsync failure; once set, the log accepts nothing more. */
+  private IOException writeFailure;
+
+  /**
+   * Opens a log for appending, cutting it back to the given length first (to drop a damaged tail
+   * found during replay).
+   *
+   * @param logPath the log file; created if missing
+   * @param validBytes length of the intact part of the log, as returned by {@link #replay}
+   * @param syncEveryOperations number of appended records after which the log is fsynced
+   * @throws IOException if the file cannot be opened
+   */
+  WriteAheadLog(Path logPath, long validBytes, int syncEveryOperations) throws IOException {
+    if (syncEveryOperations < 1) {
+      throw new IllegalArgumentException(
+          "syncEveryOperations muss mindestens 1 sein: " + syncEveryOperations);
+    }
+    this.syncEveryOperations = syncEveryOperations;
+    this.logChannel =
+        FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    logChannel.truncate(validBytes);
+    logChannel.position(validBytes);
+  }
+
+  /**
+   * Appends one record. It becomes durable with the next group commit.
+   *
+   * @param operation {@link #INSERT} or {@link #REMOVE}
+   * @param value the inserted or removed value
+   * @throws IOException if writing or syncing fails
+   */
+  void append(byte operation, int value) throws IOException {
+    checkUsable();
+    if (pendingRecords.remaining() < RECORD_BYTES) {
+      writePending();
+    }
+    pendingRecords.put(operation);
+    pendingRecords.putInt(value);
+    pendingRecords.putInt(checksumOf(operation, value));
+
+    if (++unsyncedOperations >= syncEveryOperations) {
+      sync();
+    }
+  }
+
+  /**
+   * Writes all pending records and forces them to disk.
+   *
+   * @throws IOException if writing or syncing fails
+   */
+  void sync() throws IOException {
+    checkUsable();
+    writePending();
+    if (unsyncedOperations > 0) {
+      try {
+        logChannel.force(false);
+      } catch (IOException syncError) {
+        writeFailure = syncError;
+        throw syncError;
+      }
+      unsyncedOperations = 0;
+    }
+  }
+
+  /**
+   * Empties the log, typically after its contents were folded into a snapshot.
+   *
+   * @throws IOException if the file cannot be truncated
+   */
+  void truncate() throws IOException {
+    checkUsable();
+    pendingRecords.clear();
+    unsyncedOperations = 0;
+    try {
+      logChannel.truncate(0);
+      logChannel.position(0);
+      logChannel.force(false);
+    } catch (IOException truncateError) {
+      writeFailure = truncateError;
+      throw truncateError;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      if (writeFailure == null) {
+        sync();
+      }
+    } finally {
+      logChannel.close();
+    }
+  }
+
+  /**
+   * Replays all intact records of a log file in order.
+   *
+   * @param logPath the log file; a missing file counts as empty
+   * @param recordHandler receiver of the records
+   * @return length in bytes of the intact part of the log
+   * @throws IOException if the file cannot be read
+   */
+  static long replay(Path logPath, RecordHandler recordHandler) throws IOException {
+    if (!Files.exists(logPath)) {
+      return 0L;
+    }
+
+    CRC32C replayChecksum = new CRC32C();
+    long validBytes = 0L;
+    try (FileChannel replayChannel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+      ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(BYTE_ORDER);
+      while (replayChannel.read(readBuffer) > 0 || readBuffer.position() > 0) {
+        readBuffer.flip();
+        if (readBuffer.remaining() < RECORD_BYTES) {
+          // Torn record at the end of the file
+          return validBytes;
+        }
+        while (readBuffer.remaining() >= RECORD_BYTES) {
+          byte operation = readBuffer.get();
+          int value = readBuffer.getInt();
+          int storedChecksum = readBuffer.getInt();
+          if ((operation != INSERT && operation != REMOVE)
+              || storedChecksum != checksumOf(replayChecksum, operation, value)) {
+            return validBytes;
+          }
+          recordHandler.apply(operation, value);
+          validBytes += RECORD_BYTES;
+        }
+        readBuffer.compact();
+      }
+    }
+    return validBytes;
+  }
+
+  private int checksumOf(byte operation, int value) {
+    return checksumOf(recordChecksum, operation, value);
+  }
+
+  private static int checksumOf(CRC32C checksum, byte operation, int value) {
+    checksum.reset();
+    checksum.update(operation);
+    checksum.update(value);
+    checksum.update(value >>> 8);
+    checksum.update(value >>> 16);
+    checksum.update(value >>> 24);
+    return (int) checksum.getValue();
+  }
+
+  private void writePending() throws IOException {
+    pendingRecords.flip();
+    try {
+      while (pendingRecords.hasRemaining()) {
+        logChannel.write(pendingRecords);
+      }
+    } catch (IOException writeError) {
+      writeFailure = writeError;
+      throw writeError;
+    }
+    pendingRecords.clear();
+  }
+
+  private void checkUsable() throws IOException {
+    if (writeFailure != null) {
+      throw new IOException(
+          "Das Log ist nach einem Schreibfehler unbrauchbar; der Baum muss neu geöffnet werden.",
+          writeFailure);
+    }
+  }
+}
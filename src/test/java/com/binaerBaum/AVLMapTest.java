@@ -0,0 +1,273 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class AVLMapTest {
+
+  @Test
+  void randomOperationsMatchTreeMap() {
+    Random operationRandom = new Random(15);
+    AVLMap<Integer, String> avlMap = new AVLMap<>();
+    TreeMap<Integer, String> expectedMap = new TreeMap<>();
+
+    for (int operationIdx = 0; operationIdx < 20_000; operationIdx++) {
+      int operationKey = operationRandom.nextInt(500);
+      switch (operationRandom.nextInt(8)) {
+        case 0, 1 -> assertEquals(expectedMap.remove(operationKey), avlMap.remove(operationKey));
+        case 2 -> assertEquals(expectedMap.pollFirstEntry(), avlMap.pollFirstEntry());
+        case 3 -> assertEquals(expectedMap.pollLastEntry(), avlMap.pollLastEntry());
+        default -> {
+          String newValue = "v" + operationIdx;
+          assertEquals(expectedMap.put(operationKey, newValue), avlMap.put(operationKey, newValue));
+        }
+      }
+      assertEquals(expectedMap.size(), avlMap.size());
+      if (operationIdx % 500 == 0) {
+        assertSameMap(expectedMap, avlMap);
+        assertSameNavigation(expectedMap, avlMap, operationRandom.nextInt(520) - 10);
+      }
+    }
+    assertSameMap(expectedMap, avlMap);
+  }
+
+  @Test
+  void viewsMatchTreeMapViews() {
+    AVLMap<Integer, String> avlMap = new AVLMap<>();
+    TreeMap<Integer, String> expectedMap = new TreeMap<>();
+    for (int insertKey = 0; insertKey < 200; insertKey += 2) {
+      avlMap.put(insertKey, "v" + insertKey);
+      expectedMap.put(insertKey, "v" + insertKey);
+    }
+
+    Random boundRandom = new Random(16);
+    for (int viewIdx = 0; viewIdx < 300; viewIdx++) {
+      int lowKey = boundRandom.nextInt(210) - 5;
+      int highKey = lowKey + 1 + boundRandom.nextInt(60);
+      boolean lowInclusive = boundRandom.nextBoolean();
+      boolean highInclusive = boundRandom.nextBoolean();
+      int probeKey = lowKey + boundRandom.nextInt(highKey - lowKey + 1);
+
+      assertSameViews(
+          expectedMap.subMap(lowKey, lowInclusive, highKey, highInclusive),
+          avlMap.subMap(lowKey, lowInclusive, highKey, highInclusive),
+          probeKey);
+      assertSameViews(
+          expectedMap.headMap(highKey, highInclusive),
+          avlMap.headMap(highKey, highInclusive),
+          probeKey);
+      assertSameViews(
+          expectedMap.tailMap(lowKey, lowInclusive),
+          avlMap.tailMap(lowKey, lowInclusive),
+          probeKey);
+
+      // Views of views narrow the range further
+      assertSameViews(
+          expectedMap.tailMap(lowKey, lowInclusive).headMap(highKey, highInclusive),
+          avlMap.tailMap(lowKey, lowInclusive).headMap(highKey, highInclusive),
+          probeKey);
+      assertSameViews(
+          expectedMap.descendingMap().subMap(highKey, highInclusive, lowKey, lowInclusive),
+          avlMap.descendingMap().subMap(highKey, highInclusive, lowKey, lowInclusive),
+          probeKey);
+    }
+  }
+
+  @Test
+  void viewBoundsAreEnforced() {
+    AVLMap<Integer, String> avlMap = new AVLMap<>();
+    for (int insertKey = 0; insertKey < 20; insertKey++) {
+      avlMap.put(insertKey, "v" + insertKey);
+    }
+    NavigableMap<Integer, String> rangeView = avlMap.subMap(5, true, 10, false);
+
+    assertThrows(IllegalArgumentException.class, () -> rangeView.put(10, "x"));
+    assertThrows(IllegalArgumentException.class, () -> rangeView.put(4, "x"));
+    assertThrows(IllegalArgumentException.class, () -> rangeView.subMap(4, 8));
+    assertThrows(IllegalArgumentException.class, () -> rangeView.headMap(10, true));
+    assertThrows(IllegalArgumentException.class, () -> avlMap.subMap(8, 3));
+    assertNull(rangeView.get(12));
+    assertFalse(rangeView.containsKey(4));
+    assertNull(rangeView.remove(15));
+    assertEquals(20, avlMap.size());
+
+    NavigableMap<Integer, String> emptyView = avlMap.subMap(7, false, 8, false);
+    assertEquals(0, emptyView.size());
+    assertThrows(NoSuchElementException.class, emptyView::firstKey);
+    assertThrows(NoSuchElementException.class, emptyView::lastKey);
+    assertNull(emptyView.firstEntry());
+  }
+
+  @Test
+  void writesThroughViewsReachTheMap() {
+    AVLMap<Integer, String> avlMap = new AVLMap<>();
+    TreeMap<Integer, String> expectedMap = new TreeMap<>();
+    for (int insertKey = 0; insertKey < 100; insertKey += 3) {
+      avlMap.put(insertKey, "v" + insertKey);
+      expectedMap.put(insertKey, "v" + insertKey);
+    }
+
+    NavigableMap<Integer, String> avlView = avlMap.subMap(20, true, 60, true);
+    NavigableMap<Integer, String> expectedView = expectedMap.subMap(20, true, 60, true);
+    assertEquals(expectedView.put(40, "neu"), avlView.put(40, "neu"));
+    assertEquals(expectedView.put(41, "neu"), avlView.put(41, "neu"));
+    assertEquals(expectedView.remove(42), avlView.remove(42));
+    assertEquals(expectedView.pollFirstEntry(), avlView.pollFirstEntry());
+    assertEquals(
+        expectedView.descendingMap().pollFirstEntry(), avlView.descendingMap().pollFirstEntry());
+    assertSameMap(expectedMap, avlMap);
+
+    avlView.clear();
+    expectedView.clear();
+    assertSameMap(expectedMap, avlMap);
+  }
+
+  @Test
+  void descendingNavigationMatchesTreeMap() {
+    AVLMap<Integer, String> avlMap = new AVLMap<>();
+    TreeMap<Integer, String> expectedMap = new TreeMap<>();
+    Random insertRandom = new Random(17);
+    for (int insertIdx = 0; insertIdx < 300; insertIdx++) {
+      int insertKey = insertRandom.nextInt(1000);
+      avlMap.put(insertKey, "v" + insertKey);
+      expectedMap.put(insertKey, "v" + insertKey);
+    }
+
+    for (int probeKey = -5; probeKey <= 1005; probeKey += 7) {
+      assertSameViews(expectedMap.descendingMap(), avlMap.descendingMap(), probeKey);
+    }
+    assertSameMap(
+        expectedMap.descendingMap().descendingMap(), avlMap.descendingMap().descendingMap());
+    assertEquals(
+        new ArrayList<>(expectedMap.descendingKeySet()),
+        new ArrayList<>(avlMap.descendingKeySet()));
+    assertEquals(
+        new ArrayList<>(expectedMap.navigableKeySet().descendingSet()),
+        new ArrayList<>(avlMap.navigableKeySet().descendingSet()));
+  }
+
+  @Test
+  void iteratorRemovalMatchesTreeMap() {
+    AVLMap<Integer, String> avlMap = new AVLMap<>();
+    TreeMap<Integer, String> expectedMap = new TreeMap<>();
+    for (int insertKey = 0; insertKey < 1000; insertKey++) {
+      avlMap.put(insertKey, "v" + insertKey);
+      expectedMap.put(insertKey, "v" + insertKey);
+    }
+
+    removeEveryThird(expectedMap.entrySet().iterator());
+    removeEveryThird(avlMap.entrySet().iterator());
+    assertSameMap(expectedMap, avlMap);
+
+    removeEveryThird(expectedMap.descendingMap().entrySet().iterator());
+    removeEveryThird(avlMap.descendingMap().entrySet().iterator());
+    assertSameMap(expectedMap, avlMap);
+
+    removeEveryThird(expectedMap.subMap(100, 700).keySet().iterator());
+    removeEveryThird(avlMap.subMap(100, 700).keySet().iterator());
+    assertSameMap(expectedMap, avlMap);
+
+    removeEveryThird(expectedMap.headMap(500, true).descendingKeySet().iterator());
+    removeEveryThird(avlMap.headMap(500, true).descendingKeySet().iterator());
+    assertSameMap(expectedMap, avlMap);
+
+    removeEveryThird(expectedMap.values().iterator());
+    removeEveryThird(avlMap.values().iterator());
+    assertSameMap(expectedMap, avlMap);
+  }
+
+  @Test
+  void iteratorRemoveNeedsPrecedingNext() {
+    AVLMap<Integer, String> avlMap = new AVLMap<>();
+    avlMap.put(1, "a");
+    avlMap.put(2, "b");
+    Iterator<Map.Entry<Integer, String>> entryIterator = avlMap.entrySet().iterator();
+
+    assertThrows(IllegalStateException.class, entryIterator::remove);
+    entryIterator.next();
+    entryIterator.remove();
+    assertThrows(IllegalStateException.class, entryIterator::remove);
+    assertEquals(2, (int) entryIterator.next().getKey());
+    assertFalse(entryIterator.hasNext());
+    assertThrows(NoSuchElementException.class, entryIterator::next);
+  }
+
+  @Test
+  void iteratorsAreFailFast() {
+    AVLMap<Integer, String> avlMap = new AVLMap<>();
+    for (int insertKey = 0; insertKey < 10; insertKey++) {
+      avlMap.put(insertKey, "v" + insertKey);
+    }
+
+    Iterator<Integer> keyIterator = avlMap.keySet().iterator();
+    keyIterator.next();
+    avlMap.put(100, "x");
+    assertThrows(ConcurrentModificationException.class, keyIterator::next);
+
+    Iterator<Integer> viewIterator = avlMap.tailMap(5).keySet().iterator();
+    viewIterator.next();
+    avlMap.remove(0);
+    assertThrows(ConcurrentModificationException.class, viewIterator::remove);
+
+    // Replacing a value does not change the structure
+    Iterator<Integer> replaceIterator = avlMap.keySet().iterator();
+    replaceIterator.next();
+    avlMap.put(5, "ersetzt");
+    replaceIterator.next();
+  }
+
+  private static void removeEveryThird(Iterator<?> iterator) {
+    for (int elementIdx = 0; iterator.hasNext(); elementIdx++) {
+      iterator.next();
+      if (elementIdx % 3 == 0) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private static void assertSameMap(
+      NavigableMap<Integer, String> expectedMap, NavigableMap<Integer, String> actualMap) {
+    assertEquals(expectedMap.size(), actualMap.size());
+    assertEquals(new ArrayList<>(expectedMap.entrySet()), new ArrayList<>(actualMap.entrySet()));
+    assertEquals(
+        new ArrayList<>(expectedMap.descendingMap().keySet()),
+        new ArrayList<>(actualMap.descendingMap().keySet()));
+    assertEquals(expectedMap, actualMap);
+  }
+
+  private static void assertSameViews(
+      NavigableMap<Integer, String> expectedView,
+      NavigableMap<Integer, String> actualView,
+      int probeKey) {
+    assertSameMap(expectedView, actualView);
+    assertSameNavigation(expectedView, actualView, probeKey);
+    assertEquals(expectedView.firstEntry(), actualView.firstEntry());
+    assertEquals(expectedView.lastEntry(), actualView.lastEntry());
+    assertEquals(expectedView.containsKey(probeKey), actualView.containsKey(probeKey));
+    assertEquals(expectedView.get(probeKey), actualView.get(probeKey));
+  }
+
+  private static void assertSameNavigation(
+      NavigableMap<Integer, String> expectedMap, NavigableMap<Integer, String> actualMap, int key) {
+    assertEquals(expectedMap.lowerKey(key), actualMap.lowerKey(key));
+    assertEquals(expectedMap.floorKey(key), actualMap.floorKey(key));
+    assertEquals(expectedMap.ceilingKey(key), actualMap.ceilingKey(key));
+    assertEquals(expectedMap.higherKey(key), actualMap.higherKey(key));
+    assertEquals(expectedMap.lowerEntry(key), actualMap.lowerEntry(key));
+    assertEquals(expectedMap.floorEntry(key), actualMap.floorEntry(key));
+    assertEquals(expectedMap.ceilingEntry(key), actualMap.ceilingEntry(key));
+    assertEquals(expectedMap.higherEntry(key), actualMap.higherEntry(key));
+  }
+}
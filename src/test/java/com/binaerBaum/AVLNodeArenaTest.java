@@ -0,0 +1,90 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class AVLNodeArenaTest {
+  private static final int VALUE_RANGE = 1000;
+  private static final int BATCH_SIZE = 200;
+
+  @Test
+  void batchOperationsRecycleArenaNodes() {
+    AVLNodeArena nodeArena = new AVLNodeArena();
+    AVLTree arenaTree = new AVLTree(AVLTreeListener.NONE, nodeArena);
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    Random batchRandom = new Random(20);
+
+    for (int roundIdx = 0; roundIdx < 200; roundIdx++) {
+      int[] batchValues = randomValues(batchRandom);
+      AVLTree otherTree = AVLTree.bulkLoad(batchValues);
+      switch (roundIdx % 5) {
+        case 0 -> arenaTree.insertAll(batchValues);
+        case 1 -> arenaTree.union(otherTree);
+        case 2 -> arenaTree.intersection(otherTree);
+        case 3 -> arenaTree.difference(otherTree);
+        default -> {
+          for (int batchValue : batchValues) {
+            arenaTree.remove(batchValue);
+          }
+        }
+      }
+      applyExpected(expectedValues, batchValues, roundIdx % 5);
+      assertArrayEquals(
+          expectedValues.stream().mapToInt(Integer::intValue).toArray(),
+          Traversal.traverse(arenaTree, "inorder"));
+
+      // Dropped nodes go back to the free list, so the slab never outgrows the live values much
+      assertTrue(nodeArena.getUsedNodeCount() <= VALUE_RANGE + BATCH_SIZE);
+    }
+  }
+
+  @Test
+  void differenceWithItselfResetsTheArena() {
+    AVLNodeArena nodeArena = new AVLNodeArena();
+    AVLTree arenaTree = new AVLTree(AVLTreeListener.NONE, nodeArena);
+    arenaTree.insertAll(new int[] {5, 1, 9, 3});
+
+    assertEquals(4, arenaTree.difference(arenaTree));
+    assertEquals(0, nodeArena.getUsedNodeCount());
+  }
+
+  @Test
+  void arenaTreeRejectsForeignNodes() {
+    AVLTree arenaTree = new AVLTree(AVLTreeListener.NONE, new AVLNodeArena());
+    assertThrows(IllegalStateException.class, () -> arenaTree.setRoot(new AVLNode(1)));
+  }
+
+  @Test
+  void arenaBelongsToOneTree() {
+    AVLNodeArena nodeArena = new AVLNodeArena();
+    new AVLTree(AVLTreeListener.NONE, nodeArena);
+    assertThrows(
+        IllegalStateException.class, () -> new AVLTree(AVLTreeListener.NONE, nodeArena));
+  }
+
+  private static int[] randomValues(Random batchRandom) {
+    int[] batchValues = new int[BATCH_SIZE];
+    for (int valueIdx = 0; valueIdx < BATCH_SIZE; valueIdx++) {
+      batchValues[valueIdx] = batchRandom.nextInt(VALUE_RANGE);
+    }
+    return batchValues;
+  }
+
+  private static void applyExpected(TreeSet<Integer> expectedValues, int[] batchValues, int kind) {
+    TreeSet<Integer> batchSet = new TreeSet<>();
+    for (int batchValue : batchValues) {
+      batchSet.add(batchValue);
+    }
+    switch (kind) {
+      case 0, 1 -> expectedValues.addAll(batchSet);
+      case 2 -> expectedValues.retainAll(batchSet);
+      default -> expectedValues.removeAll(batchSet);
+    }
+  }
+}
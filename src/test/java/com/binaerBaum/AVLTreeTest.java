@@ -0,0 +1,590 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class AVLTreeTest {
+
+  @Test
+  void randomOperationsKeepBalanceHeightsAndSizes() {
+    for (int roundIdx = 0; roundIdx < 50; roundIdx++) {
+      OrderedIntSetChecker.compareWithTreeSet(
+          new AVLTree(), roundIdx, 1000, 10 + roundIdx * 10, AVLTreeTest::checkInvariants);
+    }
+  }
+
+  @Test
+  void insertionBuildsTheSameShapeAsTheRecursiveInsert() {
+    int valueCount = 5000;
+    int[] sortedValues = new int[valueCount];
+    int[] reverseValues = new int[valueCount];
+    int[] randomValues = new int[valueCount];
+    Random valueRandom = new Random(22);
+    for (int valueIdx = 0; valueIdx < valueCount; valueIdx++) {
+      sortedValues[valueIdx] = valueIdx;
+      reverseValues[valueIdx] = valueCount - valueIdx;
+      randomValues[valueIdx] = valueRandom.nextInt(valueCount);
+    }
+
+    for (int[] insertValues : new int[][] {sortedValues, reverseValues, randomValues}) {
+      AVLTree avlTree = new AVLTree();
+      RecursiveReference referenceTree = new RecursiveReference(new ArrayList<>());
+      for (int insertValue : insertValues) {
+        assertEquals(referenceTree.insert(insertValue), avlTree.insert(insertValue));
+      }
+      checkInvariants(avlTree);
+      for (TraversalOrder traversalOrder : TraversalOrder.values()) {
+        assertArrayEquals(
+            Traversal.traverse(referenceTree.rootNode, traversalOrder),
+            Traversal.traverse(avlTree.getRoot(), traversalOrder));
+      }
+    }
+  }
+
+  @Test
+  void listenerSeesTheSameEventsAsTheRecursiveInsert() {
+    List<String> actualEvents = new ArrayList<>();
+    List<String> expectedEvents = new ArrayList<>();
+    AVLTree avlTree = new AVLTree(new RecordingListener(actualEvents));
+    RecursiveReference referenceTree = new RecursiveReference(expectedEvents);
+
+    Random valueRandom = new Random(23);
+    for (int insertIdx = 0; insertIdx < 3000; insertIdx++) {
+      int insertValue = valueRandom.nextInt(1000);
+      avlTree.insert(insertValue);
+      referenceTree.insert(insertValue);
+      assertEquals(expectedEvents, actualEvents, "Ereignisse beim Einfügen von " + insertValue);
+      expectedEvents.clear();
+      actualEvents.clear();
+    }
+  }
+
+  @Test
+  void rankAndSelectAreInverseAfterInsertsAndRemoves() {
+    AVLTree avlTree = new AVLTree();
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    Random operationRandom = new Random(4);
+    for (int operationIdx = 0; operationIdx < 4000; operationIdx++) {
+      int operationValue = operationRandom.nextInt(500);
+      if (operationRandom.nextInt(3) == 0) {
+        assertEquals(expectedValues.remove(operationValue), avlTree.remove(operationValue));
+      } else {
+        assertEquals(expectedValues.add(operationValue), avlTree.insert(operationValue));
+      }
+      if (operationIdx % 100 == 0) {
+        checkRankAndSelect(avlTree, expectedValues);
+      }
+    }
+    checkRankAndSelect(avlTree, expectedValues);
+  }
+
+  @Test
+  void removingNodesWithTwoChildrenKeepsTheTreeBalanced() {
+    AVLTree avlTree = AVLTree.bulkLoad(rangeValues(0, 1023));
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    for (int insertedValue = 0; insertedValue < 1023; insertedValue++) {
+      expectedValues.add(insertedValue);
+    }
+    // Removing the root of a bushy tree mostly goes through removeSuccessor
+    while (!avlTree.isEmpty()) {
+      int rootValue = avlTree.getRoot().value;
+      assertTrue(avlTree.remove(rootValue));
+      expectedValues.remove(rootValue);
+      checkInvariants(avlTree);
+      OrderedIntSetChecker.assertSameValues(expectedValues, avlTree);
+    }
+  }
+
+  @Test
+  void floorAndCeilingMatchTreeSet() {
+    AVLTree avlTree = new AVLTree();
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    Random valueRandom = new Random(40);
+    for (int insertIdx = 0; insertIdx < 300; insertIdx++) {
+      int insertValue = valueRandom.nextInt(2000) - 1000;
+      avlTree.insert(insertValue);
+      expectedValues.add(insertValue);
+    }
+    for (int removeIdx = 0; removeIdx < 100; removeIdx++) {
+      int removeValue = valueRandom.nextInt(2000) - 1000;
+      avlTree.remove(removeValue);
+      expectedValues.remove(removeValue);
+    }
+
+    for (int searchValue = -1100; searchValue <= 1100; searchValue++) {
+      assertEquals(optionalOf(expectedValues.floor(searchValue)), avlTree.floor(searchValue));
+      assertEquals(optionalOf(expectedValues.ceiling(searchValue)), avlTree.ceiling(searchValue));
+    }
+    assertEquals(expectedValues.first(), (Integer) avlTree.min());
+    assertEquals(expectedValues.last(), (Integer) avlTree.max());
+  }
+
+  @Test
+  void emptyTreeHasNoMinMaxOrPositions() {
+    AVLTree avlTree = new AVLTree();
+    assertThrows(NoSuchElementException.class, avlTree::min);
+    assertThrows(NoSuchElementException.class, avlTree::max);
+    assertThrows(IndexOutOfBoundsException.class, () -> avlTree.select(0));
+    assertEquals(OptionalInt.empty(), avlTree.floor(0));
+    assertEquals(OptionalInt.empty(), avlTree.ceiling(0));
+    assertEquals(0, avlTree.rank(0));
+
+    avlTree.insert(5);
+    avlTree.remove(5);
+    NoSuchElementException emptyException =
+        assertThrows(NoSuchElementException.class, avlTree::min);
+    assertEquals("Der Baum ist leer.", emptyException.getMessage());
+  }
+
+  @Test
+  void selectRejectsPositionsOutsideTheTree() {
+    AVLTree avlTree = AVLTree.bulkLoad(new int[] {3, 1, 2});
+    assertEquals(1, avlTree.select(0));
+    assertEquals(3, avlTree.select(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> avlTree.select(-1));
+    IndexOutOfBoundsException positionException =
+        assertThrows(IndexOutOfBoundsException.class, () -> avlTree.select(3));
+    assertEquals(
+        "Position 3 liegt außerhalb des Baums (Größe 3).", positionException.getMessage());
+  }
+
+  @Test
+  void rangeCursorsAndCountsMatchTreeSetSubSet() {
+    AVLTree avlTree = new AVLTree();
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    Random valueRandom = new Random(17);
+    for (int insertIdx = 0; insertIdx < 400; insertIdx++) {
+      int insertValue = valueRandom.nextInt(1000);
+      avlTree.insert(insertValue);
+      expectedValues.add(insertValue);
+    }
+
+    for (int queryIdx = 0; queryIdx < 500; queryIdx++) {
+      int lowerBound = valueRandom.nextInt(1100) - 50;
+      int upperBound = lowerBound + valueRandom.nextInt(300) - 20;
+      NavigableSet<Integer> expectedRange = subSetOf(expectedValues, lowerBound, upperBound);
+      assertEquals(
+          expectedRange.size(),
+          avlTree.countInRange(lowerBound, upperBound),
+          "Anzahl in [" + lowerBound + ", " + upperBound + "]");
+
+      RangeCursor ascendingCursor = avlTree.range(lowerBound, upperBound);
+      RangeCursor descendingCursor = avlTree.descendingRange(lowerBound, upperBound);
+      assertTrue(!ascendingCursor.isDescending() && descendingCursor.isDescending());
+      assertEquals(List.copyOf(expectedRange), drain(ascendingCursor));
+      assertEquals(List.copyOf(expectedRange.descendingSet()), drain(descendingCursor));
+    }
+  }
+
+  @Test
+  void countInRangeHandlesReversedAndExtremeBounds() {
+    AVLTree avlTree =
+        AVLTree.bulkLoad(new int[] {Integer.MIN_VALUE, -5, 0, 5, Integer.MAX_VALUE});
+    assertEquals(0, avlTree.countInRange(5, -5));
+    assertEquals(0, avlTree.countInRange(Integer.MAX_VALUE, Integer.MIN_VALUE));
+    assertEquals(5, avlTree.countInRange(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    assertEquals(1, avlTree.countInRange(Integer.MIN_VALUE, Integer.MIN_VALUE));
+    assertEquals(1, avlTree.countInRange(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    assertEquals(3, avlTree.countInRange(Integer.MIN_VALUE, 0));
+    assertEquals(3, avlTree.countInRange(0, Integer.MAX_VALUE));
+
+    assertEquals(
+        List.of(Integer.MIN_VALUE, -5, 0, 5, Integer.MAX_VALUE),
+        drain(avlTree.range(Integer.MIN_VALUE, Integer.MAX_VALUE)));
+    assertEquals(
+        List.of(Integer.MAX_VALUE, 5, 0, -5, Integer.MIN_VALUE),
+        drain(avlTree.descendingRange(Integer.MIN_VALUE, Integer.MAX_VALUE)));
+    assertEquals(List.of(), drain(avlTree.range(5, -5)));
+    assertEquals(List.of(), drain(avlTree.descendingRange(5, -5)));
+    assertEquals(List.of(), drain(new AVLTree().range(Integer.MIN_VALUE, Integer.MAX_VALUE)));
+  }
+
+  @Test
+  void seekContinuesFromTheTargetInBothDirections() {
+    AVLTree avlTree = new AVLTree();
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    for (int insertValue = 0; insertValue < 200; insertValue += 3) {
+      avlTree.insert(insertValue);
+      expectedValues.add(insertValue);
+    }
+
+    Random targetRandom = new Random(170);
+    for (int seekIdx = 0; seekIdx < 300; seekIdx++) {
+      int targetValue = targetRandom.nextInt(260) - 30;
+      RangeCursor ascendingCursor = avlTree.range(20, 150);
+      ascendingCursor.nextInt();
+      ascendingCursor.seek(targetValue);
+      assertEquals(
+          List.copyOf(subSetOf(expectedValues, Math.max(targetValue, 20), 150)),
+          drain(ascendingCursor),
+          "Aufsteigend ab " + targetValue);
+
+      RangeCursor descendingCursor = avlTree.descendingRange(20, 150);
+      descendingCursor.nextInt();
+      descendingCursor.seek(targetValue);
+      assertEquals(
+          List.copyOf(subSetOf(expectedValues, 20, Math.min(targetValue, 150)).descendingSet()),
+          drain(descendingCursor),
+          "Absteigend ab " + targetValue);
+    }
+  }
+
+  @Test
+  void rangeCursorFailsFastAfterModification() {
+    AVLTree avlTree = AVLTree.bulkLoad(rangeValues(0, 100));
+    RangeCursor ascendingCursor = avlTree.range(10, 90);
+    assertEquals(10, ascendingCursor.nextInt());
+    avlTree.insert(1000);
+    ConcurrentModificationException modificationException =
+        assertThrows(ConcurrentModificationException.class, ascendingCursor::nextInt);
+    assertEquals(
+        "Der Baum wurde während der Iteration geändert.", modificationException.getMessage());
+    assertThrows(ConcurrentModificationException.class, () -> ascendingCursor.seek(50));
+
+    RangeCursor descendingCursor = avlTree.descendingRange(10, 90);
+    avlTree.remove(50);
+    assertThrows(ConcurrentModificationException.class, descendingCursor::nextInt);
+
+    // Failed inserts and removes leave the tree unchanged and the cursor usable
+    RangeCursor unchangedCursor = avlTree.range(10, 12);
+    avlTree.insert(11);
+    avlTree.remove(50);
+    assertEquals(List.of(10, 11, 12), drain(unchangedCursor));
+    assertThrows(NoSuchElementException.class, unchangedCursor::nextInt);
+  }
+
+  @Test
+  void batchLookupsMatchSingleLookups() {
+    AVLTree avlTree = new AVLTree();
+    Random valueRandom = new Random(25);
+    for (int insertIdx = 0; insertIdx < 500; insertIdx++) {
+      avlTree.insert(valueRandom.nextInt(2000));
+    }
+
+    int[] batchSizes = {0, 1, 7, 8, 9, 15, 16, 17, 100, 1001};
+    for (int batchSize : batchSizes) {
+      int[] searchValues = new int[batchSize];
+      for (int queryIdx = 0; queryIdx < batchSize; queryIdx++) {
+        searchValues[queryIdx] = valueRandom.nextInt(2200) - 100;
+      }
+      checkBatchLookups(avlTree, searchValues);
+    }
+  }
+
+  @Test
+  void batchLookupsOnAnEmptyTreeFindNothing() {
+    AVLTree avlTree = new AVLTree();
+    int[] searchValues = {Integer.MIN_VALUE, -1, 0, 1, 2, 3, 4, 5, 6, 7, Integer.MAX_VALUE};
+    checkBatchLookups(avlTree, searchValues);
+
+    boolean[] containedOut = new boolean[searchValues.length];
+    assertEquals(0, avlTree.containsAll(searchValues, containedOut));
+    assertEquals(0, avlTree.floorAll(new int[0], new int[0], new boolean[0]));
+  }
+
+  @Test
+  void batchLookupsRejectShortResultArrays() {
+    AVLTree avlTree = AVLTree.bulkLoad(new int[] {1, 2, 3});
+    int[] searchValues = {1, 2, 3};
+    IllegalArgumentException containsException =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> avlTree.containsAll(searchValues, new boolean[2]));
+    assertEquals("Ergebnisfeld zu kurz: 2 statt 3 Einträge.", containsException.getMessage());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> avlTree.floorAll(searchValues, new int[2], new boolean[3]));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> avlTree.floorAll(searchValues, new int[3], new boolean[2]));
+
+    // Longer result arrays are fine, the extra slots stay untouched
+    boolean[] containedOut = new boolean[5];
+    containedOut[4] = true;
+    assertEquals(3, avlTree.containsAll(searchValues, containedOut));
+    assertArrayEquals(new boolean[] {true, true, true, false, true}, containedOut);
+  }
+
+  @Test
+  void containsAllWithMetricsLooksUpEveryValueOnItsOwn() {
+    AVLTree avlTree = AVLTree.bulkLoad(rangeValues(0, 300));
+    AVLTreeMetrics treeMetrics = avlTree.enableMetrics();
+    int[] searchValues = new int[21];
+    for (int queryIdx = 0; queryIdx < searchValues.length; queryIdx++) {
+      searchValues[queryIdx] = queryIdx * 17 - 20;
+    }
+    avlTree.containsAll(searchValues, new boolean[searchValues.length]);
+    assertEquals((long) searchValues.length, treeMetrics.getLookupCount());
+    checkBatchLookups(avlTree, searchValues);
+  }
+
+  /**
+   * Checks every node of the tree: the AVL balance condition, the stored height and subtree size,
+   * and the search order.
+   */
+  static void checkInvariants(AVLTree avlTree) {
+    int checkedSize = checkSubtree(avlTree.getRoot(), Long.MIN_VALUE, Long.MAX_VALUE);
+    assertEquals(avlTree.size(), checkedSize);
+  }
+
+  /**
+   * Checks a subtree whose values must lie strictly between the bounds.
+   *
+   * @return number of nodes in the subtree
+   */
+  static int checkSubtree(AVLNode subtreeRoot, long lowerBound, long upperBound) {
+    if (subtreeRoot == null) {
+      return 0;
+    }
+    assertTrue(
+        subtreeRoot.value > lowerBound && subtreeRoot.value < upperBound, "Suchordnung verletzt");
+    int leftSize = checkSubtree(subtreeRoot.left, lowerBound, subtreeRoot.value);
+    int rightSize = checkSubtree(subtreeRoot.right, subtreeRoot.value, upperBound);
+    int leftHeight = (subtreeRoot.left == null) ? 0 : subtreeRoot.left.height;
+    int rightHeight = (subtreeRoot.right == null) ? 0 : subtreeRoot.right.height;
+    assertEquals(Math.max(leftHeight, rightHeight) + 1, subtreeRoot.height, "Falsche Höhe");
+    assertTrue(Math.abs(leftHeight - rightHeight) <= 1, "Unausgeglichen: " + subtreeRoot.value);
+    assertEquals(leftSize + rightSize + 1, subtreeRoot.size, "Falsche Teilbaumgröße");
+    return leftSize + rightSize + 1;
+  }
+
+  /** Checks rank(select(k)) == k for every position and select against the sorted values. */
+  private static void checkRankAndSelect(AVLTree avlTree, TreeSet<Integer> expectedValues) {
+    checkInvariants(avlTree);
+    int position = 0;
+    for (int expectedValue : expectedValues) {
+      assertEquals(expectedValue, avlTree.select(position));
+      assertEquals(position, avlTree.rank(avlTree.select(position)));
+      position++;
+    }
+    assertEquals(expectedValues.size(), position);
+  }
+
+  private static OptionalInt optionalOf(Integer boxedValue) {
+    return (boxedValue == null) ? OptionalInt.empty() : OptionalInt.of(boxedValue);
+  }
+
+  /** Compares every slot of containsAll and floorAll with contains and floor for that value. */
+  private static void checkBatchLookups(AVLTree avlTree, int[] searchValues) {
+    boolean[] containedOut = new boolean[searchValues.length];
+    int[] floorValuesOut = new int[searchValues.length];
+    boolean[] foundOut = new boolean[searchValues.length];
+    int untouchedMarker = 123456789;
+    Arrays.fill(floorValuesOut, untouchedMarker);
+
+    int containedCount = avlTree.containsAll(searchValues, containedOut);
+    int foundCount = avlTree.floorAll(searchValues, floorValuesOut, foundOut);
+
+    int expectedContained = 0;
+    int expectedFound = 0;
+    for (int queryIdx = 0; queryIdx < searchValues.length; queryIdx++) {
+      int searchValue = searchValues[queryIdx];
+      boolean expectedContains = avlTree.contains(searchValue);
+      assertEquals(expectedContains, containedOut[queryIdx], "containsAll für " + searchValue);
+      expectedContained += expectedContains ? 1 : 0;
+
+      OptionalInt expectedFloor = avlTree.floor(searchValue);
+      assertEquals(expectedFloor.isPresent(), foundOut[queryIdx], "floorAll für " + searchValue);
+      if (expectedFloor.isPresent()) {
+        assertEquals(expectedFloor.getAsInt(), floorValuesOut[queryIdx]);
+        expectedFound++;
+      } else {
+        assertEquals(untouchedMarker, floorValuesOut[queryIdx]);
+      }
+    }
+    assertEquals(expectedContained, containedCount);
+    assertEquals(expectedFound, foundCount);
+  }
+
+  /** Returns the inclusive subset, or an empty set where TreeSet would reject reversed bounds. */
+  private static NavigableSet<Integer> subSetOf(
+      TreeSet<Integer> sourceValues, int lowerBound, int upperBound) {
+    return (lowerBound > upperBound)
+        ? new TreeSet<>()
+        : sourceValues.subSet(lowerBound, true, upperBound, true);
+  }
+
+  private static List<Integer> drain(RangeCursor rangeCursor) {
+    List<Integer> visitedValues = new ArrayList<>();
+    while (rangeCursor.hasNext()) {
+      visitedValues.add(rangeCursor.nextInt());
+    }
+    return visitedValues;
+  }
+
+  /** Returns the values from lowest (inclusive) to highest (exclusive). */
+  private static int[] rangeValues(int lowestValue, int highestValue) {
+    int[] rangeValues = new int[highestValue - lowestValue];
+    for (int valueIdx = 0; valueIdx < rangeValues.length; valueIdx++) {
+      rangeValues[valueIdx] = lowestValue + valueIdx;
+    }
+    return rangeValues;
+  }
+
+  /** Writes every listener event as one line. */
+  private static final class RecordingListener implements AVLTreeListener {
+    private final List<String> recordedEvents;
+
+    RecordingListener(List<String> recordedEvents) {
+      this.recordedEvents = recordedEvents;
+    }
+
+    @Override
+    public void onInsert(int insertedValue, AVLNode parentNode) {
+      recordedEvents.add(insertEvent(insertedValue, parentNode));
+    }
+
+    @Override
+    public void onDuplicate(int duplicateValue) {
+      recordedEvents.add("duplicate " + duplicateValue);
+    }
+
+    @Override
+    public void onBalanceCheck(int nodeValue, int balanceFactor, Imbalance imbalance) {
+      recordedEvents.add(balanceEvent(nodeValue, balanceFactor, imbalance));
+    }
+
+    @Override
+    public void onRotation(Rotation rotation, int pivotValue) {
+      recordedEvents.add(rotationEvent(rotation, pivotValue));
+    }
+  }
+
+  private static String insertEvent(int insertedValue, AVLNode parentNode) {
+    return "insert " + insertedValue + " below " + ((parentNode == null) ? "-" : parentNode.value);
+  }
+
+  private static String balanceEvent(
+      int nodeValue, int balanceFactor, AVLTreeListener.Imbalance imbalance) {
+    return "check " + nodeValue + " " + balanceFactor + " " + imbalance;
+  }
+
+  private static String rotationEvent(AVLTreeListener.Rotation rotation, int pivotValue) {
+    return "rotate " + rotation + " " + pivotValue;
+  }
+
+  /**
+   * The recursive insertion that {@link AVLTree#insert(int)} replaced: the shape follows the
+   * former {@code Traversal.insertNodeSilently}, and the events follow the former recursive {@code
+   * AVLTree.insertHelper}, which rebalanced every node on the path bottom-up.
+   */
+  private static final class RecursiveReference {
+    private final List<String> expectedEvents;
+    private AVLNode rootNode;
+    private boolean inserted;
+
+    RecursiveReference(List<String> expectedEvents) {
+      this.expectedEvents = expectedEvents;
+    }
+
+    boolean insert(int insertValue) {
+      if (rootNode == null) {
+        rootNode = new AVLNode(insertValue);
+        expectedEvents.add(insertEvent(insertValue, null));
+        return true;
+      }
+      inserted = false;
+      insertBelow(rootNode, insertValue);
+      if (inserted) {
+        rootNode = balance(rootNode);
+      }
+      return inserted;
+    }
+
+    /** Mirrors the old insertHelper: children are rebalanced even after a duplicate. */
+    private void insertBelow(AVLNode currentNode, int insertValue) {
+      if (insertValue == currentNode.value) {
+        expectedEvents.add("duplicate " + insertValue);
+        return;
+      }
+      if (insertValue < currentNode.value) {
+        if (currentNode.left == null) {
+          currentNode.left = new AVLNode(insertValue);
+          inserted = true;
+          expectedEvents.add(insertEvent(insertValue, currentNode));
+        } else {
+          insertBelow(currentNode.left, insertValue);
+          currentNode.left = balance(currentNode.left);
+        }
+      } else {
+        if (currentNode.right == null) {
+          currentNode.right = new AVLNode(insertValue);
+          inserted = true;
+          expectedEvents.add(insertEvent(insertValue, currentNode));
+        } else {
+          insertBelow(currentNode.right, insertValue);
+          currentNode.right = balance(currentNode.right);
+        }
+      }
+      if (inserted) {
+        currentNode.updateHeight();
+      }
+    }
+
+    private AVLNode balance(AVLNode unbalancedNode) {
+      unbalancedNode.updateHeight();
+      int balanceFactor = unbalancedNode.getBalanceFactor();
+      if (balanceFactor > 1) {
+        if (unbalancedNode.left.getBalanceFactor() >= 0) {
+          expectedEvents.add(
+              balanceEvent(
+                  unbalancedNode.value, balanceFactor, AVLTreeListener.Imbalance.LEFT_LEFT));
+          return rotateRight(unbalancedNode);
+        }
+        expectedEvents.add(
+            balanceEvent(
+                unbalancedNode.value, balanceFactor, AVLTreeListener.Imbalance.LEFT_RIGHT));
+        unbalancedNode.left = rotateLeft(unbalancedNode.left);
+        return rotateRight(unbalancedNode);
+      }
+      if (balanceFactor < -1) {
+        if (unbalancedNode.right.getBalanceFactor() <= 0) {
+          expectedEvents.add(
+              balanceEvent(
+                  unbalancedNode.value, balanceFactor, AVLTreeListener.Imbalance.RIGHT_RIGHT));
+          return rotateLeft(unbalancedNode);
+        }
+        expectedEvents.add(
+            balanceEvent(
+                unbalancedNode.value, balanceFactor, AVLTreeListener.Imbalance.RIGHT_LEFT));
+        unbalancedNode.right = rotateRight(unbalancedNode.right);
+        return rotateLeft(unbalancedNode);
+      }
+      expectedEvents.add(balanceEvent(unbalancedNode.value, balanceFactor, null));
+      return unbalancedNode;
+    }
+
+    private AVLNode rotateRight(AVLNode parentNode) {
+      AVLNode leftChild = parentNode.left;
+      parentNode.left = leftChild.right;
+      leftChild.right = parentNode;
+      parentNode.updateHeight();
+      leftChild.updateHeight();
+      expectedEvents.add(rotationEvent(AVLTreeListener.Rotation.RIGHT, parentNode.value));
+      return leftChild;
+    }
+
+    private AVLNode rotateLeft(AVLNode parentNode) {
+      AVLNode rightChild = parentNode.right;
+      parentNode.right = rightChild.left;
+      rightChild.left = parentNode;
+      parentNode.updateHeight();
+      rightChild.updateHeight();
+      expectedEvents.add(rotationEvent(AVLTreeListener.Rotation.LEFT, parentNode.value));
+      return rightChild;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class ArrayAVLTreeTest {
+
+  @Test
+  void reusedTreeMatchesTheNodeTreeAcrossClearCycles() {
+    // Capacity 1, so the first cycle grows the arrays and later cycles reuse them
+    ArrayAVLTree arrayTree = new ArrayAVLTree(1);
+    Random operationRandom = new Random(3);
+    for (int cycleIdx = 0; cycleIdx < 30; cycleIdx++) {
+      AVLTree nodeTree = new AVLTree();
+      TreeSet<Integer> expectedValues = new TreeSet<>();
+      int valueRange = 50 + cycleIdx * 40;
+      int operationCount = operationRandom.nextInt(3000);
+      for (int operationIdx = 0; operationIdx < operationCount; operationIdx++) {
+        int operationValue = operationRandom.nextInt(valueRange);
+        if (operationRandom.nextInt(3) == 0) {
+          assertEquals(expectedValues.remove(operationValue), arrayTree.remove(operationValue));
+          nodeTree.remove(operationValue);
+        } else {
+          assertEquals(expectedValues.add(operationValue), arrayTree.insert(operationValue));
+          nodeTree.insert(operationValue);
+        }
+      }
+
+      assertEquals(expectedValues.size(), arrayTree.size());
+      assertEquals(nodeTree.getHeight(), arrayTree.getHeight());
+      assertSameTraversals(nodeTree, arrayTree);
+      for (int searchValue = -1; searchValue <= valueRange; searchValue++) {
+        assertEquals(expectedValues.contains(searchValue), arrayTree.contains(searchValue));
+      }
+
+      arrayTree.clear();
+      assertTrue(arrayTree.isEmpty());
+      assertEquals(0, arrayTree.size());
+      assertEquals(0, arrayTree.getHeight());
+      assertFalse(arrayTree.contains(expectedValues.isEmpty() ? 0 : expectedValues.first()));
+      assertSameTraversals(new AVLTree(), arrayTree);
+    }
+  }
+
+  @Test
+  void sortedInsertsAfterClearGiveTheSameShapeAsBefore() {
+    ArrayAVLTree arrayTree = new ArrayAVLTree();
+    AVLTree nodeTree = new AVLTree();
+    for (int insertValue = 0; insertValue < 1000; insertValue++) {
+      nodeTree.insert(insertValue);
+    }
+    for (int cycleIdx = 0; cycleIdx < 3; cycleIdx++) {
+      for (int insertValue = 0; insertValue < 1000; insertValue++) {
+        assertTrue(arrayTree.insert(insertValue));
+      }
+      assertFalse(arrayTree.insert(500));
+      assertSameTraversals(nodeTree, arrayTree);
+      arrayTree.clear();
+    }
+  }
+
+  @Test
+  void removingEveryValueLeavesAnEmptyTree() {
+    ArrayAVLTree arrayTree = new ArrayAVLTree();
+    AVLTree nodeTree = new AVLTree();
+    for (int insertValue = 0; insertValue < 200; insertValue++) {
+      arrayTree.insert(insertValue * 7 % 200);
+      nodeTree.insert(insertValue * 7 % 200);
+    }
+    for (int removeValue = 0; removeValue < 200; removeValue += 3) {
+      assertTrue(arrayTree.remove(removeValue));
+      nodeTree.remove(removeValue);
+      assertSameTraversals(nodeTree, arrayTree);
+    }
+    for (int removeValue = 0; removeValue < 200; removeValue++) {
+      arrayTree.remove(removeValue);
+    }
+    assertTrue(arrayTree.isEmpty());
+    assertEquals(0, arrayTree.getHeight());
+    assertFalse(arrayTree.remove(1));
+  }
+
+  /** Compares all four traversal orders with those of the AVLNode-based tree. */
+  private static void assertSameTraversals(AVLTree nodeTree, ArrayAVLTree arrayTree) {
+    for (TraversalOrder traversalOrder : TraversalOrder.values()) {
+      assertArrayEquals(
+          Traversal.traverse(nodeTree.getRoot(), traversalOrder),
+          arrayTree.traverse(traversalOrder),
+          traversalOrder.name());
+      assertArrayEquals(
+          Traversal.traverse(nodeTree, traversalOrder.getDisplayName()),
+          arrayTree.traverse(traversalOrder.getDisplayName()));
+    }
+  }
+}
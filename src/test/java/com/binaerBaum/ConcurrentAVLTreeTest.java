@@ -0,0 +1,319 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentAVLTreeTest {
+  private static final int WRITER_COUNT = 4;
+  private static final int SLOT_COUNT = 2000;
+  private static final int OPERATIONS_PER_WRITER = 100_000;
+
+  @Test
+  void singleThreadedUpdatesMatchTreeSet() {
+    ConcurrentAVLTree concurrentTree = new ConcurrentAVLTree();
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    Random operationRandom = new Random(8);
+    for (int operationIdx = 0; operationIdx < 20_000; operationIdx++) {
+      int operationValue = operationRandom.nextInt(500);
+      if (operationRandom.nextInt(3) == 0) {
+        assertEquals(expectedValues.remove(operationValue), concurrentTree.remove(operationValue));
+      } else {
+        assertEquals(expectedValues.add(operationValue), concurrentTree.insert(operationValue));
+      }
+      if (operationIdx % 1000 == 0) {
+        checkStructure(concurrentTree);
+      }
+    }
+
+    checkStructure(concurrentTree);
+    assertEquals(expectedValues.size(), concurrentTree.size());
+    assertArrayEquals(sortedValues(expectedValues), concurrentTree.traverse("inorder"));
+    for (int searchValue = -1; searchValue <= 500; searchValue++) {
+      assertEquals(expectedValues.contains(searchValue), concurrentTree.contains(searchValue));
+    }
+  }
+
+  @Test
+  void insertsAloneGiveTheShapeOfAVLTree() {
+    ConcurrentAVLTree concurrentTree = new ConcurrentAVLTree();
+    AVLTree avlTree = new AVLTree();
+    Random valueRandom = new Random(9);
+    for (int insertIdx = 0; insertIdx < 3000; insertIdx++) {
+      int insertValue = valueRandom.nextInt(10_000);
+      concurrentTree.insert(insertValue);
+      avlTree.insert(insertValue);
+    }
+    for (TraversalOrder traversalOrder : TraversalOrder.values()) {
+      assertArrayEquals(
+          Traversal.traverse(avlTree.getRoot(), traversalOrder),
+          concurrentTree.traverse(traversalOrder),
+          traversalOrder.name());
+    }
+  }
+
+  @Test
+  void removedNodeWithTwoChildrenStaysAsRoutingNode() {
+    ConcurrentAVLTree concurrentTree = new ConcurrentAVLTree();
+    for (int insertValue : new int[] {4, 2, 6, 1, 3, 5, 7}) {
+      concurrentTree.insert(insertValue);
+    }
+    assertTrue(concurrentTree.remove(4));
+    assertFalse(concurrentTree.remove(4));
+    assertFalse(concurrentTree.contains(4));
+    assertEquals(6, concurrentTree.size());
+    assertEquals(4, concurrentTree.getRootNode().key, "Der Knoten bleibt als Wegweiser");
+    assertArrayEquals(new int[] {2, 1, 3, 6, 5, 7}, concurrentTree.traverse("preorder"));
+    assertArrayEquals(new int[] {1, 2, 3, 5, 6, 7}, concurrentTree.traverse("inorder"));
+    assertArrayEquals(new int[] {1, 3, 2, 5, 7, 6}, concurrentTree.traverse("postorder"));
+    assertArrayEquals(new int[] {2, 6, 1, 3, 5, 7}, concurrentTree.traverse("levelorder"));
+    checkStructure(concurrentTree);
+
+    // Reinserting revives the routing node
+    assertTrue(concurrentTree.insert(4));
+    assertArrayEquals(new int[] {4, 2, 1, 3, 6, 5, 7}, concurrentTree.traverse("preorder"));
+
+    // Once it has only one child left, the routing node is unlinked
+    assertTrue(concurrentTree.remove(4));
+    for (int removeValue : new int[] {1, 2, 3}) {
+      assertTrue(concurrentTree.remove(removeValue));
+    }
+    checkStructure(concurrentTree);
+    assertArrayEquals(new int[] {6, 5, 7}, concurrentTree.traverse("preorder"));
+  }
+
+  @Test
+  void snapshotIsIndependentOfLaterUpdates() {
+    ConcurrentAVLTree concurrentTree = new ConcurrentAVLTree();
+    for (int insertValue = 0; insertValue < 1000; insertValue++) {
+      concurrentTree.insert(insertValue);
+    }
+    ConcurrentAVLTree snapshotTree = concurrentTree.snapshot();
+    int[] snapshotValues = snapshotTree.traverse("inorder");
+
+    for (int removeValue = 0; removeValue < 1000; removeValue += 2) {
+      assertTrue(concurrentTree.remove(removeValue));
+    }
+    concurrentTree.insert(5000);
+    assertArrayEquals(snapshotValues, snapshotTree.traverse("inorder"));
+    assertEquals(1000, snapshotTree.size());
+    assertTrue(snapshotTree.contains(0));
+    assertFalse(concurrentTree.contains(0));
+
+    // The snapshot is itself updatable without affecting the original tree
+    assertTrue(snapshotTree.remove(1));
+    assertTrue(snapshotTree.insert(-1));
+    assertTrue(concurrentTree.contains(1));
+    assertFalse(concurrentTree.contains(-1));
+    assertEquals(501, concurrentTree.size());
+    assertEquals(1000, snapshotTree.size());
+    checkStructure(concurrentTree);
+    checkStructure(snapshotTree);
+
+    ConcurrentAVLTree emptySnapshot = new ConcurrentAVLTree().snapshot();
+    assertTrue(emptySnapshot.isEmpty());
+    assertTrue(emptySnapshot.insert(3));
+    assertArrayEquals(new int[] {3}, emptySnapshot.traverse("levelorder"));
+  }
+
+  @Test
+  void concurrentWritersMatchConcurrentSkipListSet() throws Exception {
+    ConcurrentAVLTree concurrentTree = new ConcurrentAVLTree();
+    ConcurrentSkipListSet<Integer> expectedValues = new ConcurrentSkipListSet<>();
+    // Writer i owns the values slot * (WRITER_COUNT + 1) + i; the last lane never changes
+    for (int slotIdx = 0; slotIdx < SLOT_COUNT; slotIdx++) {
+      int stableValue = laneValue(slotIdx, WRITER_COUNT);
+      concurrentTree.insert(stableValue);
+      expectedValues.add(stableValue);
+    }
+
+    ExecutorService threadPool = Executors.newFixedThreadPool(WRITER_COUNT + 2);
+    CountDownLatch startSignal = new CountDownLatch(1);
+    AtomicBoolean writersDone = new AtomicBoolean();
+    AtomicInteger snapshotCount = new AtomicInteger();
+    try {
+      List<Future<?>> writerFutures = new ArrayList<>();
+      for (int writerIdx = 0; writerIdx < WRITER_COUNT; writerIdx++) {
+        int writerLane = writerIdx;
+        writerFutures.add(
+            threadPool.submit(
+                () -> {
+                  startSignal.await();
+                  Random operationRandom = new Random(writerLane);
+                  for (int operationIdx = 0; operationIdx < OPERATIONS_PER_WRITER; operationIdx++) {
+                    int operationValue =
+                        laneValue(operationRandom.nextInt(SLOT_COUNT), writerLane);
+                    if (operationRandom.nextBoolean()) {
+                      assertEquals(
+                          expectedValues.add(operationValue),
+                          concurrentTree.insert(operationValue),
+                          "Einfügen von " + operationValue);
+                    } else {
+                      assertEquals(
+                          expectedValues.remove(operationValue),
+                          concurrentTree.remove(operationValue),
+                          "Entfernen von " + operationValue);
+                    }
+                  }
+                  return null;
+                }));
+      }
+      Future<?> readerFuture =
+          threadPool.submit(
+              () -> {
+                startSignal.await();
+                Random slotRandom = new Random(100);
+                while (!writersDone.get()) {
+                  int slotIdx = slotRandom.nextInt(SLOT_COUNT);
+                  assertTrue(concurrentTree.contains(laneValue(slotIdx, WRITER_COUNT)));
+                  assertFalse(concurrentTree.contains(-1 - slotIdx));
+                }
+                return null;
+              });
+      Future<?> snapshotFuture =
+          threadPool.submit(
+              () -> {
+                startSignal.await();
+                while (!writersDone.get()) {
+                  ConcurrentAVLTree snapshotTree = concurrentTree.snapshot();
+                  int[] snapshotValues = snapshotTree.traverse(TraversalOrder.INORDER);
+                  assertEquals(snapshotTree.size(), snapshotValues.length);
+                  int stableCount = 0;
+                  for (int valueIdx = 0; valueIdx < snapshotValues.length; valueIdx++) {
+                    if (valueIdx > 0) {
+                      assertTrue(snapshotValues[valueIdx - 1] < snapshotValues[valueIdx]);
+                    }
+                    if (snapshotValues[valueIdx] % (WRITER_COUNT + 1) == WRITER_COUNT) {
+                      stableCount++;
+                    }
+                  }
+                  assertEquals(SLOT_COUNT, stableCount, "Unveränderte Werte im Snapshot");
+                  assertArrayEquals(
+                      snapshotValues, snapshotTree.traverse(TraversalOrder.INORDER));
+                  checkStructure(snapshotTree);
+                  snapshotCount.incrementAndGet();
+                }
+                return null;
+              });
+
+      try {
+        startSignal.countDown();
+        for (Future<?> writerFuture : writerFutures) {
+          writerFuture.get();
+        }
+      } finally {
+        writersDone.set(true);
+      }
+      readerFuture.get();
+      snapshotFuture.get();
+    } finally {
+      threadPool.shutdownNow();
+    }
+
+    assertTrue(snapshotCount.get() > 0);
+    checkStructure(concurrentTree);
+    assertEquals(expectedValues.size(), concurrentTree.size());
+    assertArrayEquals(sortedValues(expectedValues), concurrentTree.traverse("inorder"));
+  }
+
+  @Test
+  void writersOnTheSameValuesLeaveAConsistentTree() throws Exception {
+    ConcurrentAVLTree concurrentTree = new ConcurrentAVLTree();
+    ExecutorService threadPool = Executors.newFixedThreadPool(WRITER_COUNT);
+    try {
+      List<Future<?>> writerFutures = new ArrayList<>();
+      for (int writerIdx = 0; writerIdx < WRITER_COUNT; writerIdx++) {
+        Random operationRandom = new Random(200 + writerIdx);
+        writerFutures.add(
+            threadPool.submit(
+                () -> {
+                  for (int operationIdx = 0; operationIdx < OPERATIONS_PER_WRITER; operationIdx++) {
+                    int operationValue = operationRandom.nextInt(64);
+                    if (operationRandom.nextBoolean()) {
+                      concurrentTree.insert(operationValue);
+                    } else {
+                      concurrentTree.remove(operationValue);
+                    }
+                  }
+                }));
+      }
+      for (Future<?> writerFuture : writerFutures) {
+        writerFuture.get();
+      }
+    } finally {
+      threadPool.shutdownNow();
+    }
+
+    checkStructure(concurrentTree);
+    int[] inorderValues = concurrentTree.traverse("inorder");
+    assertEquals(inorderValues.length, concurrentTree.size());
+    TreeSet<Integer> storedValues = new TreeSet<>();
+    for (int inorderValue : inorderValues) {
+      storedValues.add(inorderValue);
+    }
+    for (int searchValue = 0; searchValue < 64; searchValue++) {
+      assertEquals(storedValues.contains(searchValue), concurrentTree.contains(searchValue));
+    }
+  }
+
+  private static int laneValue(int slotIdx, int laneIdx) {
+    return slotIdx * (WRITER_COUNT + 1) + laneIdx;
+  }
+
+  private static int[] sortedValues(Iterable<Integer> expectedValues) {
+    List<Integer> valueList = new ArrayList<>();
+    expectedValues.forEach(valueList::add);
+    return valueList.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /**
+   * Checks a tree without updates in flight: search order, heights, AVL balance, parent links and
+   * that routing nodes still have two children. Also checks that size() counts the present nodes.
+   */
+  private static void checkStructure(ConcurrentAVLTree concurrentTree) {
+    assertEquals(
+        concurrentTree.size(),
+        checkSubtree(concurrentTree.getRootNode(), Long.MIN_VALUE, Long.MAX_VALUE));
+  }
+
+  /** Returns the number of present values below the node, whose key lies in (lo, hi). */
+  private static int checkSubtree(ConcurrentAVLTree.Node subtreeRoot, long lo, long hi) {
+    if (subtreeRoot == null) {
+      return 0;
+    }
+    assertTrue(subtreeRoot.key > lo && subtreeRoot.key < hi, "Suchordnung bei " + subtreeRoot.key);
+    ConcurrentAVLTree.Node leftChild = subtreeRoot.left;
+    ConcurrentAVLTree.Node rightChild = subtreeRoot.right;
+    for (ConcurrentAVLTree.Node childNode : new ConcurrentAVLTree.Node[] {leftChild, rightChild}) {
+      // Nodes shared with a snapshot have no parent link
+      assertTrue(
+          childNode == null || childNode.parent == null || childNode.parent == subtreeRoot,
+          "Elternverweis unter " + subtreeRoot.key);
+    }
+    int leftHeight = (leftChild == null) ? 0 : leftChild.height;
+    int rightHeight = (rightChild == null) ? 0 : rightChild.height;
+    assertEquals(
+        1 + Math.max(leftHeight, rightHeight), subtreeRoot.height, "Höhe bei " + subtreeRoot.key);
+    assertTrue(Math.abs(leftHeight - rightHeight) <= 1, "Balance bei " + subtreeRoot.key);
+    assertTrue(
+        subtreeRoot.present || (leftChild != null && rightChild != null),
+        "Wegweiser mit weniger als zwei Kindern: " + subtreeRoot.key);
+    return (subtreeRoot.present ? 1 : 0)
+        + checkSubtree(leftChild, lo, subtreeRoot.key)
+        + checkSubtree(rightChild, subtreeRoot.key, hi);
+  }
+}
@@ -0,0 +1,145 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DurableAVLTreeTest {
+  private static final int NEVER_COMPACT = Integer.MAX_VALUE;
+
+  @TempDir Path treeDirectory;
+
+  @Test
+  void replaysLogAfterReopen() throws IOException {
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    try (DurableAVLTree durableTree = DurableAVLTree.open(treeDirectory, 1, NEVER_COMPACT)) {
+      applyMixedOperations(durableTree, expectedValues, 0, 500);
+    }
+
+    try (DurableAVLTree reopenedTree = DurableAVLTree.open(treeDirectory, 1, NEVER_COMPACT)) {
+      assertArrayEquals(inorderOf(expectedValues), reopenedTree.traverse("inorder"));
+    }
+  }
+
+  @Test
+  void duplicatesAndMissingValuesAreNotLogged() throws IOException {
+    try (DurableAVLTree durableTree = DurableAVLTree.open(treeDirectory, 1, NEVER_COMPACT)) {
+      assertTrue(durableTree.insert(7));
+      assertFalse(durableTree.insert(7));
+      assertFalse(durableTree.remove(8));
+    }
+    assertEquals(WriteAheadLog.RECORD_BYTES, Files.size(logPath()));
+  }
+
+  @Test
+  void unsyncedGroupIsWrittenOnClose() throws IOException {
+    try (DurableAVLTree durableTree = DurableAVLTree.open(treeDirectory, 1000, NEVER_COMPACT)) {
+      for (int insertValue = 0; insertValue < 10; insertValue++) {
+        durableTree.insert(insertValue);
+      }
+    }
+    try (DurableAVLTree reopenedTree = DurableAVLTree.open(treeDirectory, 1000, NEVER_COMPACT)) {
+      assertEquals(10, reopenedTree.size());
+    }
+  }
+
+  @Test
+  void tornTailIsCutOffAndLogStaysAppendable() throws IOException {
+    try (DurableAVLTree durableTree = DurableAVLTree.open(treeDirectory, 1, NEVER_COMPACT)) {
+      durableTree.insert(1);
+      durableTree.insert(2);
+    }
+    // A crash in the middle of the third record leaves only part of it behind
+    Files.write(logPath(), new byte[] {WriteAheadLog.INSERT, 3, 0}, StandardOpenOption.APPEND);
+
+    try (DurableAVLTree recoveredTree = DurableAVLTree.open(treeDirectory, 1, NEVER_COMPACT)) {
+      assertArrayEquals(new int[] {1, 2}, recoveredTree.traverse("inorder"));
+      assertEquals(2L * WriteAheadLog.RECORD_BYTES, Files.size(logPath()));
+      recoveredTree.insert(4);
+    }
+    try (DurableAVLTree reopenedTree = DurableAVLTree.open(treeDirectory, 1, NEVER_COMPACT)) {
+      assertArrayEquals(new int[] {1, 2, 4}, reopenedTree.traverse("inorder"));
+    }
+  }
+
+  @Test
+  void damagedRecordEndsReplay() throws IOException {
+    try (DurableAVLTree durableTree = DurableAVLTree.open(treeDirectory, 1, NEVER_COMPACT)) {
+      for (int insertValue = 1; insertValue <= 5; insertValue++) {
+        durableTree.insert(insertValue);
+      }
+    }
+    byte[] logBytes = Files.readAllBytes(logPath());
+    logBytes[3 * WriteAheadLog.RECORD_BYTES + 2] ^= 0x10; // value byte of the fourth record
+    Files.write(logPath(), logBytes);
+
+    try (DurableAVLTree recoveredTree = DurableAVLTree.open(treeDirectory, 1, NEVER_COMPACT)) {
+      assertArrayEquals(new int[] {1, 2, 3}, recoveredTree.traverse("inorder"));
+    }
+  }
+
+  @Test
+  void recoversFromSnapshotAndLogAfterCompaction() throws IOException {
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    try (DurableAVLTree durableTree = DurableAVLTree.open(treeDirectory, 4, 64)) {
+      applyMixedOperations(durableTree, expectedValues, 1, 1000);
+      assertTrue(Files.exists(treeDirectory.resolve(DurableAVLTree.SNAPSHOT_FILE)));
+      assertTrue(Files.size(logPath()) < 64L * WriteAheadLog.RECORD_BYTES);
+    }
+
+    try (DurableAVLTree reopenedTree = DurableAVLTree.open(treeDirectory, 4, 64)) {
+      assertArrayEquals(inorderOf(expectedValues), reopenedTree.traverse("inorder"));
+    }
+  }
+
+  @Test
+  void logLeftOverFromInterruptedCompactionIsReplayedHarmlessly() throws IOException {
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    byte[] logBeforeCompaction;
+    try (DurableAVLTree durableTree = DurableAVLTree.open(treeDirectory, 1, NEVER_COMPACT)) {
+      applyMixedOperations(durableTree, expectedValues, 2, 300);
+      logBeforeCompaction = Files.readAllBytes(logPath());
+      durableTree.compact();
+      assertEquals(0L, Files.size(logPath()));
+    }
+    // Crash after the snapshot was moved into place but before the log was emptied
+    Files.write(logPath(), logBeforeCompaction);
+
+    try (DurableAVLTree recoveredTree = DurableAVLTree.open(treeDirectory, 1, NEVER_COMPACT)) {
+      assertArrayEquals(inorderOf(expectedValues), recoveredTree.traverse("inorder"));
+    }
+  }
+
+  private Path logPath() {
+    return treeDirectory.resolve(DurableAVLTree.LOG_FILE);
+  }
+
+  /** Inserts and removes pseudo-random values in both trees. */
+  private static void applyMixedOperations(
+      DurableAVLTree durableTree, TreeSet<Integer> expectedValues, long seed, int operationCount)
+      throws IOException {
+    Random operationRandom = new Random(seed);
+    for (int operationIdx = 0; operationIdx < operationCount; operationIdx++) {
+      int operationValue = operationRandom.nextInt(200);
+      if (operationRandom.nextInt(3) == 0) {
+        assertEquals(expectedValues.remove(operationValue), durableTree.remove(operationValue));
+      } else {
+        assertEquals(expectedValues.add(operationValue), durableTree.insert(operationValue));
+      }
+    }
+  }
+
+  private static int[] inorderOf(TreeSet<Integer> expectedValues) {
+    return expectedValues.stream().mapToInt(Integer::intValue).toArray();
+  }
+}
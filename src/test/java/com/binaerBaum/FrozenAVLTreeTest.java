@@ -0,0 +1,126 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class FrozenAVLTreeTest {
+
+  @Test
+  void frozenTreesOfEveryShapeMatchTheirSource() {
+    List<Integer> treeSizes = new ArrayList<>(List.of(0, 1));
+    for (int levelCount = 1; levelCount <= 11; levelCount++) {
+      treeSizes.add((1 << levelCount) - 1);
+      treeSizes.add(1 << levelCount);
+    }
+    treeSizes.add(1000);
+
+    Random shuffleRandom = new Random(16);
+    for (int treeSize : treeSizes) {
+      // Every third value, so that floor and ceiling queries fall into gaps as well
+      List<Integer> insertOrder = new ArrayList<>();
+      for (int valueIdx = 0; valueIdx < treeSize; valueIdx++) {
+        insertOrder.add(valueIdx * 3 - treeSize);
+      }
+      Collections.shuffle(insertOrder, shuffleRandom);
+      AVLTree sourceTree = new AVLTree();
+      TreeSet<Integer> expectedValues = new TreeSet<>(insertOrder);
+      for (int insertValue : insertOrder) {
+        sourceTree.insert(insertValue);
+      }
+
+      FrozenAVLTree frozenTree = sourceTree.freeze();
+      assertEquals(treeSize, frozenTree.size());
+      assertEquals(treeSize == 0, frozenTree.isEmpty());
+      assertArrayEquals(Traversal.traverse(sourceTree, "inorder"), frozenTree.inorder());
+      checkLookups(sourceTree, expectedValues, frozenTree, shuffleRandom);
+    }
+  }
+
+  @Test
+  void frozenTreeIgnoresLaterChangesToTheSource() {
+    AVLTree sourceTree = AVLTree.bulkLoad(new int[] {4, 8, 15, 16, 23, 42});
+    FrozenAVLTree frozenTree = sourceTree.freeze();
+    sourceTree.insert(7);
+    sourceTree.remove(15);
+    assertArrayEquals(new int[] {4, 8, 15, 16, 23, 42}, frozenTree.inorder());
+    assertEquals(OptionalInt.of(4), frozenTree.floor(7));
+  }
+
+  @Test
+  void extremeValuesAreFound() {
+    AVLTree sourceTree = AVLTree.bulkLoad(new int[] {Integer.MIN_VALUE, 0, Integer.MAX_VALUE});
+    FrozenAVLTree frozenTree = sourceTree.freeze();
+    assertEquals(OptionalInt.of(Integer.MIN_VALUE), frozenTree.floor(-1));
+    assertEquals(OptionalInt.of(Integer.MAX_VALUE), frozenTree.ceiling(1));
+    assertEquals(OptionalInt.of(Integer.MAX_VALUE), frozenTree.floor(Integer.MAX_VALUE));
+    assertEquals(OptionalInt.of(Integer.MIN_VALUE), frozenTree.ceiling(Integer.MIN_VALUE));
+    assertArrayEquals(
+        new int[] {Integer.MIN_VALUE, 0, Integer.MAX_VALUE},
+        frozenTree.range(Integer.MIN_VALUE, Integer.MAX_VALUE));
+  }
+
+  /** Compares contains, floor, ceiling, range and the batch lookups with both references. */
+  private static void checkLookups(
+      AVLTree sourceTree,
+      TreeSet<Integer> expectedValues,
+      FrozenAVLTree frozenTree,
+      Random boundRandom) {
+    int treeSize = expectedValues.size();
+    List<Integer> searchValues = new ArrayList<>(List.of(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    for (int searchValue = -treeSize - 3; searchValue <= 2 * treeSize + 3; searchValue++) {
+      searchValues.add(searchValue);
+    }
+
+    for (int searchValue : searchValues) {
+      assertEquals(expectedValues.contains(searchValue), frozenTree.contains(searchValue));
+      assertEquals(sourceTree.contains(searchValue), frozenTree.contains(searchValue));
+      assertEquals(optionalOf(expectedValues.floor(searchValue)), frozenTree.floor(searchValue));
+      assertEquals(sourceTree.floor(searchValue), frozenTree.floor(searchValue));
+      assertEquals(
+          optionalOf(expectedValues.ceiling(searchValue)), frozenTree.ceiling(searchValue));
+      assertEquals(sourceTree.ceiling(searchValue), frozenTree.ceiling(searchValue));
+    }
+
+    int[] batchValues = searchValues.stream().mapToInt(Integer::intValue).toArray();
+    boolean[] containedOut = new boolean[batchValues.length];
+    int[] floorValuesOut = new int[batchValues.length];
+    boolean[] foundOut = new boolean[batchValues.length];
+    frozenTree.containsAll(batchValues, containedOut);
+    frozenTree.floorAll(batchValues, floorValuesOut, foundOut);
+    for (int queryIdx = 0; queryIdx < batchValues.length; queryIdx++) {
+      assertEquals(sourceTree.contains(batchValues[queryIdx]), containedOut[queryIdx]);
+      OptionalInt expectedFloor = sourceTree.floor(batchValues[queryIdx]);
+      assertEquals(expectedFloor.isPresent(), foundOut[queryIdx]);
+      if (expectedFloor.isPresent()) {
+        assertEquals(expectedFloor.getAsInt(), floorValuesOut[queryIdx]);
+      }
+    }
+
+    for (int rangeIdx = 0; rangeIdx < 50; rangeIdx++) {
+      int lowerBound = boundRandom.nextInt(3 * treeSize + 10) - treeSize - 5;
+      int upperBound = lowerBound + boundRandom.nextInt(treeSize + 10) - 5;
+      int[] expectedRange =
+          (lowerBound > upperBound)
+              ? new int[0]
+              : expectedValues.subSet(lowerBound, true, upperBound, true).stream()
+                  .mapToInt(Integer::intValue)
+                  .toArray();
+      assertArrayEquals(expectedRange, frozenTree.range(lowerBound, upperBound));
+      assertEquals(
+          sourceTree.countInRange(lowerBound, upperBound),
+          frozenTree.range(lowerBound, upperBound).length);
+    }
+  }
+
+  private static OptionalInt optionalOf(Integer boxedValue) {
+    return (boxedValue == null) ? OptionalInt.empty() : OptionalInt.of(boxedValue);
+  }
+}
@@ -0,0 +1,155 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class IntBPlusTreeTest {
+
+  @Test
+  void randomOperationsKeepNodesHalfFull() {
+    int[] nodeCapacities = {4, 5, 7, IntBPlusTree.DEFAULT_NODE_CAPACITY};
+    for (int nodeCapacity : nodeCapacities) {
+      for (int roundIdx = 0; roundIdx < 20; roundIdx++) {
+        OrderedIntSetChecker.compareWithTreeSet(
+            new IntBPlusTree(nodeCapacity),
+            roundIdx,
+            2000,
+            50 + roundIdx * 50,
+            IntBPlusTreeTest::checkStructure);
+      }
+    }
+  }
+
+  @Test
+  void sortedInsertionAndRemovalKeepStructure() {
+    IntBPlusTree bPlusTree = new IntBPlusTree(4);
+    TreeSet<Integer> expectedSet = new TreeSet<>();
+    for (int insertValue = 0; insertValue < 5000; insertValue++) {
+      bPlusTree.insert(insertValue);
+      expectedSet.add(insertValue);
+    }
+    checkStructure(bPlusTree);
+
+    for (int removeValue = 4999; removeValue >= 0; removeValue -= 3) {
+      bPlusTree.remove(removeValue);
+      expectedSet.remove(removeValue);
+    }
+    checkStructure(bPlusTree);
+    OrderedIntSetChecker.assertSameValues(expectedSet, bPlusTree);
+  }
+
+  @Test
+  void rangeAndTraversalMatchTreeSet() {
+    IntBPlusTree bPlusTree = new IntBPlusTree(5);
+    TreeSet<Integer> expectedSet = new TreeSet<>();
+    for (int insertValue = 0; insertValue < 1000; insertValue += 7) {
+      bPlusTree.insert(insertValue);
+      expectedSet.add(insertValue);
+    }
+
+    assertArrayEquals(toArray(expectedSet), bPlusTree.inorder());
+    assertArrayEquals(toArray(expectedSet), bPlusTree.traverse("inorder"));
+    assertArrayEquals(
+        toArray(expectedSet.subSet(100, true, 500, true)), bPlusTree.range(100, 500));
+    assertEquals(0, bPlusTree.range(500, 100).length);
+  }
+
+  @Test
+  void shapeDependentTraversalsAreRejected() {
+    IntBPlusTree bPlusTree = new IntBPlusTree();
+    bPlusTree.insert(1);
+    for (String traversalMethod : new String[] {"preorder", "postorder", "levelorder"}) {
+      assertThrows(IllegalArgumentException.class, () -> bPlusTree.traverse(traversalMethod));
+    }
+    assertThrows(IllegalArgumentException.class, () -> bPlusTree.traverse("zickzack"));
+  }
+
+  /**
+   * Checks the B+ tree rules: every node except the root is at least half full, all leaves are on
+   * the same level, separators bound their children, and the leaf chain links the leaves in order.
+   */
+  static void checkStructure(IntBPlusTree bPlusTree) {
+    IntBPlusTree.Node rootNode = bPlusTree.getRootNode();
+    if (bPlusTree.isEmpty()) {
+      // An empty tree keeps one empty leaf as its root
+      assertTrue(rootNode instanceof IntBPlusTree.LeafNode);
+      assertEquals(0, rootNode.keyCount);
+      return;
+    }
+    List<IntBPlusTree.LeafNode> leafNodes = new ArrayList<>();
+    checkSubtree(bPlusTree, rootNode, true, 1, Long.MIN_VALUE, Long.MAX_VALUE, leafNodes);
+
+    int leafValueCount = 0;
+    for (int leafIdx = 0; leafIdx < leafNodes.size(); leafIdx++) {
+      IntBPlusTree.LeafNode leafNode = leafNodes.get(leafIdx);
+      leafValueCount += leafNode.keyCount;
+      if (leafIdx == 0) {
+        assertNull(leafNode.previousLeaf);
+      } else {
+        assertSame(leafNodes.get(leafIdx - 1), leafNode.previousLeaf);
+      }
+      if (leafIdx == leafNodes.size() - 1) {
+        assertNull(leafNode.nextLeaf);
+      } else {
+        assertSame(leafNodes.get(leafIdx + 1), leafNode.nextLeaf);
+      }
+    }
+    assertEquals(bPlusTree.size(), leafValueCount);
+  }
+
+  /** Checks a subtree whose values must lie in [lowerBound, upperBound). */
+  private static void checkSubtree(
+      IntBPlusTree bPlusTree,
+      IntBPlusTree.Node subtreeRoot,
+      boolean isRoot,
+      int level,
+      long lowerBound,
+      long upperBound,
+      List<IntBPlusTree.LeafNode> leafNodes) {
+    int nodeCapacity = bPlusTree.getNodeCapacity();
+    assertTrue(subtreeRoot.keyCount <= nodeCapacity);
+    if (!isRoot) {
+      assertTrue(subtreeRoot.keyCount >= nodeCapacity / 2, "Knoten weniger als halb voll");
+    }
+    for (int keyIdx = 0; keyIdx < subtreeRoot.keyCount; keyIdx++) {
+      int nodeKey = subtreeRoot.keys[keyIdx];
+      assertTrue(
+          nodeKey >= lowerBound && nodeKey < upperBound, "Schlüssel außerhalb der Grenzen");
+      if (keyIdx > 0) {
+        assertTrue(subtreeRoot.keys[keyIdx - 1] < nodeKey, "Schlüssel nicht aufsteigend");
+      }
+    }
+
+    if (subtreeRoot instanceof IntBPlusTree.LeafNode leafNode) {
+      assertEquals(bPlusTree.getHeight(), level, "Blätter auf verschiedenen Ebenen");
+      assertTrue(leafNode.keyCount > 0);
+      leafNodes.add(leafNode);
+      return;
+    }
+    IntBPlusTree.InnerNode innerNode = (IntBPlusTree.InnerNode) subtreeRoot;
+    for (int childIdx = 0; childIdx <= innerNode.keyCount; childIdx++) {
+      IntBPlusTree.Node childNode = innerNode.children[childIdx];
+      assertNotNull(childNode);
+      long childLowerBound = (childIdx == 0) ? lowerBound : innerNode.keys[childIdx - 1];
+      long childUpperBound =
+          (childIdx == innerNode.keyCount) ? upperBound : innerNode.keys[childIdx];
+      checkSubtree(
+          bPlusTree, childNode, false, level + 1, childLowerBound, childUpperBound, leafNodes);
+    }
+  }
+
+  private static int[] toArray(Set<Integer> values) {
+    return values.stream().mapToInt(Integer::intValue).toArray();
+  }
+}
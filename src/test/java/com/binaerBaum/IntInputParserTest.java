@@ -0,0 +1,150 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class IntInputParserTest {
+
+  /** Input that parses completely, with the values and the number of skipped empty elements. */
+  private record ValidCase(String inputText, int[] expectedValues, int expectedSkipped) {}
+
+  /** Input that stops at an invalid element; the values before it are still passed on. */
+  private record InvalidCase(
+      String inputText,
+      int[] valuesBefore,
+      String invalidToken,
+      long elementIndex,
+      long byteOffset,
+      int expectedSkipped) {}
+
+  private static final List<ValidCase> VALID_CASES =
+      List.of(
+          new ValidCase("1,2,3", new int[] {1, 2, 3}, 0),
+          new ValidCase("", new int[0], 0),
+          new ValidCase("42", new int[] {42}, 0),
+          new ValidCase(",1,2", new int[] {1, 2}, 1),
+          new ValidCase(",,1", new int[] {1}, 2),
+          new ValidCase("1,2,", new int[] {1, 2}, 0),
+          new ValidCase("1,2,,,", new int[] {1, 2}, 0),
+          new ValidCase(",,,", new int[0], 0),
+          new ValidCase("1,,2", new int[] {1, 2}, 1),
+          new ValidCase("1,,,2,,", new int[] {1, 2}, 2),
+          new ValidCase("1, ,2", new int[] {1, 2}, 1),
+          new ValidCase("1,2, ", new int[] {1, 2}, 1),
+          new ValidCase(" 1 ,  2\t,3 ", new int[] {1, 2, 3}, 0),
+          new ValidCase("1\n2\r\n3\n", new int[] {1, 2, 3}, 0),
+          new ValidCase("1\n\n2", new int[] {1, 2}, 1),
+          new ValidCase("+5,-5,+0,-0", new int[] {5, -5, 0, 0}, 0),
+          new ValidCase("007,-007", new int[] {7, -7}, 0),
+          new ValidCase(
+              "2147483647,-2147483648",
+              new int[] {Integer.MAX_VALUE, Integer.MIN_VALUE},
+              0));
+
+  private static final List<InvalidCase> INVALID_CASES =
+      List.of(
+          new InvalidCase("-", new int[0], "-", 1, 0, 0),
+          new InvalidCase("+", new int[0], "+", 1, 0, 0),
+          new InvalidCase("1, +", new int[] {1}, "+", 2, 3, 0),
+          new InvalidCase("2147483648", new int[0], "2147483648", 1, 0, 0),
+          new InvalidCase("1,-2147483649", new int[] {1}, "-2147483649", 2, 2, 0),
+          new InvalidCase("99999999999999999999", new int[0], "99999999999999999999", 1, 0, 0),
+          new InvalidCase("1,a2", new int[] {1}, "a2", 2, 2, 0),
+          new InvalidCase("3-", new int[0], "3-", 1, 0, 0),
+          new InvalidCase("--3", new int[0], "--3", 1, 0, 0),
+          new InvalidCase("+-3", new int[0], "+-3", 1, 0, 0),
+          new InvalidCase("1.5", new int[0], "1.5", 1, 0, 0),
+          new InvalidCase("0x10", new int[0], "0x10", 1, 0, 0),
+          new InvalidCase("7,1 2,3", new int[] {7}, "1 2", 2, 2, 0),
+          new InvalidCase("- 3", new int[0], "- 3", 1, 0, 0),
+          new InvalidCase("1,,x", new int[] {1}, "x", 3, 3, 1),
+          new InvalidCase("  ,\tzwei ", new int[0], "zwei", 2, 4, 1),
+          new InvalidCase("1\n2\nä", new int[] {1, 2}, "ä", 3, 4, 0));
+
+  @Test
+  void validInputsGiveTheirValuesAndWarnings() throws IOException {
+    IntInputParser inputParser = new IntInputParser();
+    for (ValidCase validCase : VALID_CASES) {
+      String caseName = "Eingabe \"" + validCase.inputText() + "\"";
+      assertArrayEquals(
+          validCase.expectedValues(), inputParser.parseAll(streamOf(validCase.inputText())));
+      assertEquals(
+          validCase.expectedSkipped(), inputParser.getSkippedEmptyElements(), caseName);
+    }
+  }
+
+  @Test
+  void invalidInputsReportTokenPositionAndMessage() {
+    IntInputParser inputParser = new IntInputParser();
+    for (InvalidCase invalidCase : INVALID_CASES) {
+      String caseName = "Eingabe \"" + invalidCase.inputText() + "\"";
+      List<Integer> passedValues = new ArrayList<>();
+      IntParseException parseException =
+          assertThrows(
+              IntParseException.class,
+              () -> inputParser.parse(streamOf(invalidCase.inputText()), passedValues::add));
+
+      assertEquals(invalidCase.invalidToken(), parseException.getInvalidToken(), caseName);
+      assertEquals(invalidCase.elementIndex(), parseException.getElementIndex(), caseName);
+      assertEquals(invalidCase.byteOffset(), parseException.getByteOffset(), caseName);
+      assertEquals(
+          "'"
+              + invalidCase.invalidToken()
+              + "' ist keine gültige Ganzzahl (Element "
+              + invalidCase.elementIndex()
+              + ", Byte "
+              + invalidCase.byteOffset()
+              + ")",
+          parseException.getMessage(),
+          caseName);
+      assertArrayEquals(
+          invalidCase.valuesBefore(),
+          passedValues.stream().mapToInt(Integer::intValue).toArray(),
+          caseName);
+      assertEquals(
+          invalidCase.expectedSkipped(), inputParser.getSkippedEmptyElements(), caseName);
+    }
+  }
+
+  @Test
+  void overlongInvalidElementIsShortenedInTheMessage() {
+    String garbageElement = "x".repeat(100);
+    IntParseException parseException =
+        assertThrows(
+            IntParseException.class, () -> new IntInputParser().parseAll(streamOf(garbageElement)));
+    assertEquals("x".repeat(64) + "…", parseException.getInvalidToken());
+  }
+
+  @Test
+  void parserIsReusableAfterAnError() throws IOException {
+    IntInputParser inputParser = new IntInputParser();
+    assertThrows(IntParseException.class, () -> inputParser.parseAll(streamOf(",,5,x")));
+    assertArrayEquals(new int[] {8, 9}, inputParser.parseAll(streamOf("8,9")));
+    assertEquals(0, inputParser.getSkippedEmptyElements());
+  }
+
+  @Test
+  void elementsSpanningReadBuffersAreParsedWhole() throws IOException {
+    // The values straddle the 64 KiB read buffer many times over
+    StringBuilder inputText = new StringBuilder();
+    int[] expectedValues = new int[50_000];
+    for (int valueIdx = 0; valueIdx < expectedValues.length; valueIdx++) {
+      expectedValues[valueIdx] = (valueIdx % 2 == 0) ? -valueIdx * 40_000 : valueIdx;
+      inputText.append(' ').append(expectedValues[valueIdx]).append(" ,");
+    }
+    assertArrayEquals(expectedValues, new IntInputParser().parseAll(streamOf(inputText)));
+  }
+
+  private static InputStream streamOf(CharSequence inputText) {
+    return new ByteArrayInputStream(inputText.toString().getBytes(StandardCharsets.UTF_8));
+  }
+}
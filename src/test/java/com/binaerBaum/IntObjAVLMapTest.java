@@ -0,0 +1,81 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class IntObjAVLMapTest {
+
+  @Test
+  void randomOperationsMatchTreeMap() {
+    Random operationRandom = new Random(15);
+    // Capacity 1 makes the arrays grow repeatedly; removals feed the free list
+    IntObjAVLMap<String> avlMap = new IntObjAVLMap<>(1);
+    TreeMap<Integer, String> expectedMap = new TreeMap<>();
+
+    for (int operationIdx = 0; operationIdx < 20_000; operationIdx++) {
+      int operationKey = operationRandom.nextInt(2000) - 1000;
+      if (operationRandom.nextInt(3) == 0) {
+        assertEquals(expectedMap.remove(operationKey), avlMap.remove(operationKey));
+      } else {
+        String newValue = "v" + operationIdx;
+        assertEquals(expectedMap.put(operationKey, newValue), avlMap.put(operationKey, newValue));
+      }
+      assertEquals(expectedMap.size(), avlMap.size());
+
+      int probeKey = operationRandom.nextInt(2100) - 1050;
+      assertEquals(expectedMap.get(probeKey), avlMap.get(probeKey));
+      assertEquals(expectedMap.containsKey(probeKey), avlMap.containsKey(probeKey));
+      assertEquals(asOptional(expectedMap.floorKey(probeKey)), avlMap.floorKey(probeKey));
+      assertEquals(asOptional(expectedMap.ceilingKey(probeKey)), avlMap.ceilingKey(probeKey));
+      if (!expectedMap.isEmpty()) {
+        assertEquals((int) expectedMap.firstKey(), avlMap.firstKey());
+        assertEquals((int) expectedMap.lastKey(), avlMap.lastKey());
+      }
+    }
+
+    assertArrayEquals(
+        expectedMap.keySet().stream().mapToInt(Integer::intValue).toArray(), avlMap.keys());
+    List<Map.Entry<Integer, String>> visitedEntries = new ArrayList<>();
+    avlMap.forEach((entryKey, entryValue) -> visitedEntries.add(Map.entry(entryKey, entryValue)));
+    assertEquals(new ArrayList<>(expectedMap.entrySet()), visitedEntries);
+  }
+
+  @Test
+  void nullValuesAreStored() {
+    IntObjAVLMap<String> avlMap = new IntObjAVLMap<>();
+    assertNull(avlMap.put(3, null));
+    assertTrue(avlMap.containsKey(3));
+    assertNull(avlMap.get(3));
+    assertEquals(1, avlMap.size());
+  }
+
+  @Test
+  void emptyMapHasNoBounds() {
+    IntObjAVLMap<String> avlMap = new IntObjAVLMap<>();
+    assertThrows(NoSuchElementException.class, avlMap::firstKey);
+    assertThrows(NoSuchElementException.class, avlMap::lastKey);
+    assertEquals(OptionalInt.empty(), avlMap.floorKey(0));
+    assertEquals(0, avlMap.keys().length);
+
+    avlMap.put(Integer.MIN_VALUE, "min");
+    avlMap.remove(Integer.MIN_VALUE);
+    assertTrue(avlMap.isEmpty());
+    assertThrows(NoSuchElementException.class, avlMap::firstKey);
+  }
+
+  private static OptionalInt asOptional(Integer boxedKey) {
+    return (boxedKey == null) ? OptionalInt.empty() : OptionalInt.of(boxedKey);
+  }
+}
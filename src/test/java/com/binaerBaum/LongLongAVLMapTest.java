@@ -0,0 +1,88 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class LongLongAVLMapTest {
+  private static final long MISSING = -1L;
+
+  @Test
+  void randomOperationsMatchTreeMap() {
+    Random operationRandom = new Random(15);
+    LongLongAVLMap avlMap = new LongLongAVLMap(1, MISSING);
+    TreeMap<Long, Long> expectedMap = new TreeMap<>();
+
+    for (int operationIdx = 0; operationIdx < 20_000; operationIdx++) {
+      // Spread the keys beyond the int range
+      long operationKey = (operationRandom.nextInt(2000) - 1000) * 10_000_000_000L;
+      if (operationRandom.nextInt(3) == 0) {
+        assertEquals(
+            (long) expectedMap.getOrDefault(operationKey, MISSING), avlMap.remove(operationKey));
+        expectedMap.remove(operationKey);
+      } else {
+        long newValue = operationRandom.nextLong() & Long.MAX_VALUE;
+        assertEquals(
+            (long) expectedMap.getOrDefault(operationKey, MISSING),
+            avlMap.put(operationKey, newValue));
+        expectedMap.put(operationKey, newValue);
+      }
+      assertEquals(expectedMap.size(), avlMap.size());
+
+      long probeKey = (operationRandom.nextInt(4200) - 2100) * 5_000_000_000L;
+      assertEquals((long) expectedMap.getOrDefault(probeKey, MISSING), avlMap.get(probeKey));
+      assertEquals(expectedMap.containsKey(probeKey), avlMap.containsKey(probeKey));
+      assertEquals(asOptional(expectedMap.floorKey(probeKey)), avlMap.floorKey(probeKey));
+      assertEquals(asOptional(expectedMap.ceilingKey(probeKey)), avlMap.ceilingKey(probeKey));
+      if (!expectedMap.isEmpty()) {
+        assertEquals((long) expectedMap.firstKey(), avlMap.firstKey());
+        assertEquals((long) expectedMap.lastKey(), avlMap.lastKey());
+      }
+    }
+
+    assertEquals(
+        new ArrayList<>(expectedMap.keySet()), LongStream.of(avlMap.keys()).boxed().toList());
+    List<Map.Entry<Long, Long>> visitedEntries = new ArrayList<>();
+    avlMap.forEach((entryKey, entryValue) -> visitedEntries.add(Map.entry(entryKey, entryValue)));
+    assertEquals(new ArrayList<>(expectedMap.entrySet()), visitedEntries);
+  }
+
+  @Test
+  void missingValueIsConfigurable() {
+    assertEquals(0L, new LongLongAVLMap().get(42));
+
+    LongLongAVLMap avlMap = new LongLongAVLMap(4, MISSING);
+    assertEquals(MISSING, avlMap.getMissingValue());
+    assertEquals(MISSING, avlMap.get(42));
+    assertEquals(MISSING, avlMap.remove(42));
+    assertEquals(MISSING, avlMap.put(42, 7));
+    assertEquals(7L, avlMap.put(42, 8));
+    assertEquals(8L, avlMap.remove(42));
+    assertFalse(avlMap.containsKey(42));
+  }
+
+  @Test
+  void emptyMapHasNoBounds() {
+    LongLongAVLMap avlMap = new LongLongAVLMap();
+    assertTrue(avlMap.isEmpty());
+    assertThrows(NoSuchElementException.class, avlMap::firstKey);
+    assertThrows(NoSuchElementException.class, avlMap::lastKey);
+    assertEquals(OptionalLong.empty(), avlMap.ceilingKey(Long.MIN_VALUE));
+    assertEquals(0, avlMap.keys().length);
+  }
+
+  private static OptionalLong asOptional(Long boxedKey) {
+    return (boxedKey == null) ? OptionalLong.empty() : OptionalLong.of(boxedKey);
+  }
+}
@@ -0,0 +1,135 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class OffHeapAVLTreeTest {
+  /** Small segments, so that even a few hundred nodes are spread over many chained segments. */
+  private static final int NODES_PER_SEGMENT = 4;
+
+  @Test
+  void randomOperationsMatchTreeSetAndHeapTree() {
+    try (OffHeapAVLTree offHeapTree = new OffHeapAVLTree(NODES_PER_SEGMENT)) {
+      AVLTree heapTree = new AVLTree();
+      TreeSet<Integer> expectedValues = new TreeSet<>();
+      Random operationRandom = new Random(21);
+      for (int operationIdx = 0; operationIdx < 5000; operationIdx++) {
+        int operationValue = operationRandom.nextInt(600);
+        if (operationRandom.nextInt(3) == 0) {
+          boolean removed = expectedValues.remove(operationValue);
+          assertEquals(removed, offHeapTree.remove(operationValue));
+          heapTree.remove(operationValue);
+        } else {
+          boolean inserted = expectedValues.add(operationValue);
+          assertEquals(inserted, offHeapTree.insert(operationValue));
+          heapTree.insert(operationValue);
+        }
+        assertEquals((long) expectedValues.size(), offHeapTree.size());
+        assertEquals(expectedValues.isEmpty(), offHeapTree.isEmpty());
+        if (operationIdx % 250 == 0) {
+          assertSameTraversals(heapTree, offHeapTree);
+        }
+      }
+
+      for (int searchValue = -5; searchValue < 610; searchValue++) {
+        assertEquals(expectedValues.contains(searchValue), offHeapTree.contains(searchValue));
+      }
+      assertEquals(heapTree.getHeight(), offHeapTree.getHeight());
+      assertSameTraversals(heapTree, offHeapTree);
+    }
+  }
+
+  @Test
+  void freedNodesAreReusedBeforeNewSegmentsAreReserved() {
+    try (OffHeapAVLTree offHeapTree = new OffHeapAVLTree(NODES_PER_SEGMENT)) {
+      for (int insertValue = 0; insertValue < 100; insertValue++) {
+        offHeapTree.insert(insertValue);
+      }
+      long reservedBytes = offHeapTree.getReservedBytes();
+      assertTrue(reservedBytes >= 101L * OffHeapAVLTree.RECORD_BYTES);
+
+      Random valueRandom = new Random(210);
+      for (int roundIdx = 0; roundIdx < 20; roundIdx++) {
+        for (int removeValue = 0; removeValue < 100; removeValue += 2) {
+          assertTrue(offHeapTree.remove(removeValue));
+        }
+        for (int insertValue = 0; insertValue < 100; insertValue += 2) {
+          assertTrue(offHeapTree.insert(insertValue));
+        }
+        int churnValue = valueRandom.nextInt(100);
+        assertTrue(offHeapTree.remove(churnValue));
+        assertTrue(offHeapTree.insert(churnValue));
+        assertEquals(reservedBytes, offHeapTree.getReservedBytes());
+      }
+      assertArrayEquals(
+          IntStream.range(0, 100).toArray(), offHeapTree.traverse(TraversalOrder.INORDER));
+    }
+  }
+
+  @Test
+  void rejectsSegmentSizesThatAreNoPowerOfTwo() {
+    for (int nodesPerSegment : new int[] {-4, 0, 1, 3, 6}) {
+      assertThrows(IllegalArgumentException.class, () -> new OffHeapAVLTree(nodesPerSegment));
+    }
+  }
+
+  @Test
+  void everyOperationFailsAfterClose() {
+    OffHeapAVLTree offHeapTree = new OffHeapAVLTree(NODES_PER_SEGMENT);
+    for (int insertValue = 0; insertValue < 20; insertValue++) {
+      offHeapTree.insert(insertValue);
+    }
+    offHeapTree.close();
+    offHeapTree.close();
+
+    List<Consumer<OffHeapAVLTree>> treeOperations =
+        List.of(
+            closedTree -> closedTree.insert(1),
+            closedTree -> closedTree.remove(1),
+            closedTree -> closedTree.contains(1),
+            OffHeapAVLTree::size,
+            OffHeapAVLTree::isEmpty,
+            OffHeapAVLTree::getHeight,
+            OffHeapAVLTree::getReservedBytes,
+            closedTree -> closedTree.traverse("inorder"),
+            closedTree -> closedTree.traverse(TraversalOrder.LEVELORDER),
+            closedTree -> closedTree.forEach(TraversalOrder.PREORDER, visitedValue -> {}));
+    for (Consumer<OffHeapAVLTree> treeOperation : treeOperations) {
+      IllegalStateException closedException =
+          assertThrows(IllegalStateException.class, () -> treeOperation.accept(offHeapTree));
+      assertEquals("Der Baum wurde bereits geschlossen.", closedException.getMessage());
+    }
+  }
+
+  @Test
+  void emptyTreeTraversesToNothing() {
+    try (OffHeapAVLTree offHeapTree = new OffHeapAVLTree(NODES_PER_SEGMENT)) {
+      assertFalse(offHeapTree.remove(3));
+      assertEquals(0, offHeapTree.getHeight());
+      for (TraversalOrder traversalOrder : TraversalOrder.values()) {
+        assertArrayEquals(new int[0], offHeapTree.traverse(traversalOrder));
+      }
+    }
+  }
+
+  /** Compares all four orders of forEach and traverse with Traversal over the heap tree. */
+  private static void assertSameTraversals(AVLTree heapTree, OffHeapAVLTree offHeapTree) {
+    for (TraversalOrder traversalOrder : TraversalOrder.values()) {
+      int[] expectedOrder = Traversal.traverse(heapTree.getRoot(), traversalOrder);
+      IntStream.Builder visitedValues = IntStream.builder();
+      offHeapTree.forEach(traversalOrder, visitedValues::add);
+      assertArrayEquals(expectedOrder, visitedValues.build().toArray(), traversalOrder.name());
+      assertArrayEquals(expectedOrder, offHeapTree.traverse(traversalOrder));
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/** Drives an {@link OrderedIntSet} and a {@link TreeSet} with the same random operations. */
+final class OrderedIntSetChecker {
+  private OrderedIntSetChecker() {}
+
+  /**
+   * Applies random insertions, removals and queries to both sets, compares every answer and
+   * checks the structural invariants of the tested set after each operation.
+   *
+   * @param testedSet empty set under test
+   * @param seed seed of the operation sequence
+   * @param operationCount number of operations
+   * @param valueRange values are drawn from [0, valueRange)
+   * @param invariantCheck fails if the set's internal structure is broken
+   */
+  static <T extends OrderedIntSet> void compareWithTreeSet(
+      T testedSet, long seed, int operationCount, int valueRange, Consumer<T> invariantCheck) {
+    Random operationRandom = new Random(seed);
+    TreeSet<Integer> expectedSet = new TreeSet<>();
+
+    for (int operationIdx = 0; operationIdx < operationCount; operationIdx++) {
+      int operationValue = operationRandom.nextInt(valueRange);
+      int operationKind = operationRandom.nextInt(10);
+      if (operationKind < 5) {
+        assertEquals(expectedSet.add(operationValue), testedSet.insert(operationValue));
+      } else if (operationKind < 8) {
+        assertEquals(expectedSet.remove(operationValue), testedSet.remove(operationValue));
+      } else {
+        assertEquals(expectedSet.contains(operationValue), testedSet.contains(operationValue));
+        assertEquals(
+            asOptional(expectedSet.floor(operationValue)), testedSet.floor(operationValue));
+        assertEquals(
+            asOptional(expectedSet.ceiling(operationValue)), testedSet.ceiling(operationValue));
+      }
+      assertEquals(expectedSet.size(), testedSet.size());
+      assertEquals(expectedSet.isEmpty(), testedSet.isEmpty());
+      invariantCheck.accept(testedSet);
+      if (operationIdx % 100 == 0) {
+        assertSameValues(expectedSet, testedSet);
+      }
+    }
+    assertSameValues(expectedSet, testedSet);
+  }
+
+  /** Compares the contents by walking the tested set from its minimum with ceiling queries. */
+  static void assertSameValues(TreeSet<Integer> expectedSet, OrderedIntSet testedSet) {
+    if (expectedSet.isEmpty()) {
+      assertEquals(0, testedSet.size());
+      return;
+    }
+    assertEquals((int) expectedSet.first(), testedSet.min());
+    assertEquals((int) expectedSet.last(), testedSet.max());
+    int currentValue = testedSet.min();
+    for (int expectedValue : expectedSet) {
+      assertEquals(expectedValue, currentValue);
+      if (currentValue == Integer.MAX_VALUE) {
+        break;
+      }
+      currentValue = testedSet.ceiling(currentValue + 1).orElse(Integer.MAX_VALUE);
+    }
+  }
+
+  private static OptionalInt asOptional(Integer boxedValue) {
+    return (boxedValue == null) ? OptionalInt.empty() : OptionalInt.of(boxedValue);
+  }
+}
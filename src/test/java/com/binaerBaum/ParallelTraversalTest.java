@@ -0,0 +1,164 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ParallelTraversalTest {
+  /** Large enough that every operation forks several levels of tasks. */
+  private static final int LARGE_TREE_SIZE = ParallelTraversal.SEQUENTIAL_THRESHOLD * 12;
+
+  @Test
+  void parallelTraversalsMatchTheSequentialOnes() {
+    for (AVLTree avlTree : testTrees()) {
+      for (TraversalOrder traversalOrder : TraversalOrder.values()) {
+        assertArrayEquals(
+            Traversal.traverse(avlTree.getRoot(), traversalOrder),
+            ParallelTraversal.traverse(avlTree.getRoot(), traversalOrder),
+            traversalOrder.name());
+      }
+    }
+  }
+
+  @Test
+  void parallelStreamMatchesInorderAndTreeSet() {
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    AVLTree avlTree = randomTree(new Random(10), LARGE_TREE_SIZE, expectedValues);
+    assertTrue(avlTree.size() > ParallelTraversal.SEQUENTIAL_THRESHOLD);
+
+    int[] inorderValues = Traversal.traverse(avlTree, "inorder");
+    assertArrayEquals(inorderValues, ParallelTraversal.stream(avlTree).toArray());
+    assertTrue(ParallelTraversal.stream(avlTree).isParallel());
+
+    long expectedSum = expectedValues.stream().mapToLong(Integer::longValue).sum();
+    assertEquals(expectedSum, ParallelTraversal.stream(avlTree).asLongStream().sum());
+    assertEquals(expectedSum, ParallelTraversal.sum(avlTree.getRoot()));
+    assertEquals((long) expectedValues.size(), ParallelTraversal.stream(avlTree).count());
+    assertEquals(
+        (long) expectedValues.subSet(-1000, true, 50_000, true).size(),
+        ParallelTraversal.stream(avlTree)
+            .filter(value -> value >= -1000 && value <= 50_000)
+            .count());
+  }
+
+  @Test
+  void splitHalvesVisitEveryPositionOnce() {
+    AVLTree avlTree = randomTree(new Random(100), LARGE_TREE_SIZE, new TreeSet<>());
+    int[] inorderValues = Traversal.traverse(avlTree, "inorder");
+
+    // Splitting down to single values seeks every start position by subtree sizes
+    IntStream.Builder visitedValues = IntStream.builder();
+    collectBySplitting(ParallelTraversal.spliterator(avlTree.getRoot()), visitedValues);
+    assertArrayEquals(inorderValues, visitedValues.build().toArray());
+
+    // Uneven splitting: advance into every prefix before splitting the rest
+    Spliterator.OfInt restSpliterator = ParallelTraversal.spliterator(avlTree.getRoot());
+    IntStream.Builder unevenValues = IntStream.builder();
+    Spliterator.OfInt prefixSpliterator;
+    while ((prefixSpliterator = restSpliterator.trySplit()) != null) {
+      long prefixSize = prefixSpliterator.estimateSize();
+      assertTrue(prefixSpliterator.tryAdvance((int value) -> unevenValues.add(value)));
+      assertNull(prefixSpliterator.trySplit(), "Nach dem ersten Schritt wird nicht geteilt");
+      assertEquals(prefixSize - 1, prefixSpliterator.estimateSize());
+      prefixSpliterator.forEachRemaining((int value) -> unevenValues.add(value));
+    }
+    restSpliterator.forEachRemaining((int value) -> unevenValues.add(value));
+    assertArrayEquals(inorderValues, unevenValues.build().toArray());
+  }
+
+  @Test
+  void sumAndCountInRangeMatchTreeSet() {
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    AVLTree avlTree = randomTree(new Random(1000), LARGE_TREE_SIZE, expectedValues);
+    Random boundRandom = new Random(1001);
+    for (int queryIdx = 0; queryIdx < 200; queryIdx++) {
+      int lowerBound = boundRandom.nextInt();
+      int upperBound = (queryIdx % 10 == 0) ? boundRandom.nextInt() : lowerBound + (1 << 28);
+      int expectedCount =
+          (lowerBound > upperBound)
+              ? 0
+              : expectedValues.subSet(lowerBound, true, upperBound, true).size();
+      assertEquals(
+          expectedCount, ParallelTraversal.countInRange(avlTree.getRoot(), lowerBound, upperBound));
+      if (lowerBound <= upperBound) {
+        assertEquals(expectedCount, avlTree.countInRange(lowerBound, upperBound));
+      }
+    }
+    assertEquals(
+        expectedValues.size(),
+        ParallelTraversal.countInRange(avlTree.getRoot(), Integer.MIN_VALUE, Integer.MAX_VALUE));
+    assertEquals(0, ParallelTraversal.countInRange(avlTree.getRoot(), 5, 4));
+    assertEquals(OptionalInt.of(expectedValues.first()), ParallelTraversal.min(avlTree.getRoot()));
+    assertEquals(OptionalInt.of(expectedValues.last()), ParallelTraversal.max(avlTree.getRoot()));
+  }
+
+  @Test
+  void sumDoesNotOverflowInt() {
+    int[] largeValues = new int[LARGE_TREE_SIZE];
+    for (int valueIdx = 0; valueIdx < largeValues.length; valueIdx++) {
+      largeValues[valueIdx] = Integer.MAX_VALUE - valueIdx;
+    }
+    AVLTree avlTree = AVLTree.bulkLoad(largeValues);
+    long expectedSum = 0;
+    for (int largeValue : largeValues) {
+      expectedSum += largeValue;
+    }
+    assertEquals(expectedSum, ParallelTraversal.sum(avlTree.getRoot()));
+  }
+
+  @Test
+  void emptyTreeGivesEmptyResults() {
+    assertEquals(0L, ParallelTraversal.sum(null));
+    assertEquals(0, ParallelTraversal.countInRange(null, 0, 10));
+    assertEquals(OptionalInt.empty(), ParallelTraversal.min(null));
+    assertEquals(OptionalInt.empty(), ParallelTraversal.max(null));
+    assertEquals(0L, ParallelTraversal.stream(new AVLTree()).count());
+    for (TraversalOrder traversalOrder : TraversalOrder.values()) {
+      assertArrayEquals(new int[0], ParallelTraversal.traverse(null, traversalOrder));
+    }
+  }
+
+  /** Splits until every part holds one value, then collects the parts in order. */
+  private static void collectBySplitting(
+      Spliterator.OfInt valueSpliterator, IntStream.Builder visitedValues) {
+    Spliterator.OfInt prefixSpliterator = valueSpliterator.trySplit();
+    if (prefixSpliterator == null) {
+      assertTrue(valueSpliterator.estimateSize() <= 1);
+      valueSpliterator.forEachRemaining((int value) -> visitedValues.add(value));
+      return;
+    }
+    collectBySplitting(prefixSpliterator, visitedValues);
+    collectBySplitting(valueSpliterator, visitedValues);
+  }
+
+  /** Trees below, at and well above the threshold, built by inserts and by bulk load. */
+  private static AVLTree[] testTrees() {
+    return new AVLTree[] {
+      new AVLTree(),
+      AVLTree.bulkLoad(new int[] {1}),
+      randomTree(new Random(1), 500, new TreeSet<>()),
+      AVLTree.bulkLoad(IntStream.range(0, ParallelTraversal.SEQUENTIAL_THRESHOLD).toArray()),
+      randomTree(new Random(2), LARGE_TREE_SIZE, new TreeSet<>()),
+      AVLTree.bulkLoad(IntStream.range(0, LARGE_TREE_SIZE).toArray())
+    };
+  }
+
+  private static AVLTree randomTree(
+      Random valueRandom, int insertCount, TreeSet<Integer> expectedValues) {
+    AVLTree randomTree = new AVLTree();
+    for (int insertIdx = 0; insertIdx < insertCount; insertIdx++) {
+      int insertValue = valueRandom.nextInt();
+      randomTree.insert(insertValue);
+      expectedValues.add(insertValue);
+    }
+    return randomTree;
+  }
+}
@@ -0,0 +1,170 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class PersistentAVLTreeTest {
+
+  @Test
+  void oldVersionsStayUnchanged() {
+    List<PersistentAVLTree> treeVersions = new ArrayList<>();
+    List<int[]> preorderAtCreation = new ArrayList<>();
+    List<TreeSet<Integer>> valuesAtCreation = new ArrayList<>();
+
+    PersistentAVLTree currentVersion = PersistentAVLTree.empty();
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    Random operationRandom = new Random(9);
+    for (int operationIdx = 0; operationIdx < 2000; operationIdx++) {
+      int operationValue = operationRandom.nextInt(300);
+      if (operationRandom.nextInt(3) == 0) {
+        currentVersion = currentVersion.remove(operationValue);
+        expectedValues.remove(operationValue);
+      } else {
+        currentVersion = currentVersion.insert(operationValue);
+        expectedValues.add(operationValue);
+      }
+      assertEquals(expectedValues.size(), currentVersion.size());
+      AVLTreeTest.checkSubtree(currentVersion.getRoot(), Long.MIN_VALUE, Long.MAX_VALUE);
+
+      treeVersions.add(currentVersion);
+      preorderAtCreation.add(currentVersion.traverse("preorder"));
+      valuesAtCreation.add(new TreeSet<>(expectedValues));
+    }
+
+    for (int versionIdx = 0; versionIdx < treeVersions.size(); versionIdx++) {
+      PersistentAVLTree oldVersion = treeVersions.get(versionIdx);
+      assertArrayEquals(preorderAtCreation.get(versionIdx), oldVersion.traverse("preorder"));
+      TreeSet<Integer> oldValues = valuesAtCreation.get(versionIdx);
+      for (int searchValue = 0; searchValue < 300; searchValue += 5) {
+        assertEquals(oldValues.contains(searchValue), oldVersion.contains(searchValue));
+      }
+    }
+  }
+
+  @Test
+  void unchangedVersionsAreReturnedAsTheyAre() {
+    PersistentAVLTree treeVersion = PersistentAVLTree.of(5, 3, 8);
+    assertSame(treeVersion, treeVersion.insert(3));
+    assertSame(treeVersion, treeVersion.remove(4));
+    assertSame(PersistentAVLTree.empty(), PersistentAVLTree.empty().remove(1));
+    assertSame(PersistentAVLTree.empty(), PersistentAVLTree.of(1).remove(1));
+  }
+
+  @Test
+  void subtreesOffThePathAreShared() {
+    // Perfect tree 1..15 with root 8: changes on one side leave the other side untouched
+    PersistentAVLTree perfectTree = PersistentAVLTree.of(rangeValues(1, 15));
+    assertEquals(8, perfectTree.getRoot().value);
+
+    PersistentAVLTree withSixteen = perfectTree.insert(16);
+    assertSame(perfectTree.getRoot().left, withSixteen.getRoot().left);
+    PersistentAVLTree withoutOne = perfectTree.remove(1);
+    assertSame(perfectTree.getRoot().right, withoutOne.getRoot().right);
+    PersistentAVLTree withoutTwelve = perfectTree.remove(12);
+    assertSame(perfectTree.getRoot().left, withoutTwelve.getRoot().left);
+    assertSame(perfectTree.getRoot().right.left, withoutTwelve.getRoot().right.left);
+    assertArrayEquals(rangeValues(1, 15), perfectTree.traverse("inorder"));
+  }
+
+  @Test
+  void everyVersionCopiesOnlyAboutOnePath() {
+    PersistentAVLTree currentVersion = PersistentAVLTree.empty();
+    Random operationRandom = new Random(90);
+    for (int operationIdx = 0; operationIdx < 3000; operationIdx++) {
+      PersistentAVLTree oldVersion = currentVersion;
+      int operationValue = operationRandom.nextInt(1000);
+      currentVersion =
+          (operationRandom.nextInt(3) == 0)
+              ? oldVersion.remove(operationValue)
+              : oldVersion.insert(operationValue);
+
+      Set<AVLNode> oldNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+      collectNodes(oldVersion.getRoot(), oldNodes);
+      int oldHeight = (oldVersion.getRoot() == null) ? 0 : oldVersion.getRoot().height;
+      // One new node per level of the path, plus up to two more wherever a double rotation runs
+      int copiedNodes = countNodesNotIn(currentVersion.getRoot(), oldNodes);
+      assertTrue(
+          copiedNodes <= 3 * (oldHeight + 1),
+          "Zu viele kopierte Knoten: " + copiedNodes + " bei Höhe " + oldHeight);
+    }
+  }
+
+  @Test
+  void removingNodesWithTwoChildrenKeepsTheTreeBalanced() {
+    PersistentAVLTree currentVersion = PersistentAVLTree.of(rangeValues(0, 499));
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    for (int insertedValue = 0; insertedValue < 500; insertedValue++) {
+      expectedValues.add(insertedValue);
+    }
+    Random removeRandom = new Random(900);
+    while (!currentVersion.isEmpty()) {
+      AVLNode twoChildNode = findNodeWithTwoChildren(currentVersion.getRoot(), removeRandom);
+      int removeValue =
+          (twoChildNode == null) ? currentVersion.getRoot().value : twoChildNode.value;
+      PersistentAVLTree previousVersion = currentVersion;
+      int[] previousPreorder = previousVersion.traverse("preorder");
+
+      currentVersion = currentVersion.remove(removeValue);
+      expectedValues.remove(removeValue);
+      assertEquals(
+          expectedValues.size(),
+          AVLTreeTest.checkSubtree(currentVersion.getRoot(), Long.MIN_VALUE, Long.MAX_VALUE));
+      assertArrayEquals(
+          expectedValues.stream().mapToInt(Integer::intValue).toArray(),
+          currentVersion.traverse("inorder"));
+      assertArrayEquals(previousPreorder, previousVersion.traverse("preorder"));
+    }
+  }
+
+  /** Walks down a random path and returns the last node on it with two children, if any. */
+  private static AVLNode findNodeWithTwoChildren(AVLNode subtreeRoot, Random pathRandom) {
+    AVLNode foundNode = null;
+    AVLNode currentNode = subtreeRoot;
+    while (currentNode != null) {
+      if (currentNode.left != null && currentNode.right != null) {
+        foundNode = currentNode;
+      }
+      currentNode = pathRandom.nextBoolean() ? currentNode.left : currentNode.right;
+    }
+    return foundNode;
+  }
+
+  private static void collectNodes(AVLNode subtreeRoot, Set<AVLNode> collectedNodes) {
+    if (subtreeRoot != null) {
+      collectedNodes.add(subtreeRoot);
+      collectNodes(subtreeRoot.left, collectedNodes);
+      collectNodes(subtreeRoot.right, collectedNodes);
+    }
+  }
+
+  /** Counts the nodes of a version that are not shared with an older one. */
+  private static int countNodesNotIn(AVLNode subtreeRoot, Set<AVLNode> sharedNodes) {
+    if (subtreeRoot == null || sharedNodes.contains(subtreeRoot)) {
+      // A shared node is never modified, so its whole subtree is shared as well
+      return 0;
+    }
+    return 1
+        + countNodesNotIn(subtreeRoot.left, sharedNodes)
+        + countNodesNotIn(subtreeRoot.right, sharedNodes);
+  }
+
+  /** Returns the values from lowest to highest, both inclusive. */
+  private static int[] rangeValues(int lowestValue, int highestValue) {
+    int[] rangeValues = new int[highestValue - lowestValue + 1];
+    for (int valueIdx = 0; valueIdx < rangeValues.length; valueIdx++) {
+      rangeValues[valueIdx] = lowestValue + valueIdx;
+    }
+    return rangeValues;
+  }
+}
@@ -0,0 +1,65 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class RedBlackTreeTest {
+
+  @Test
+  void randomOperationsKeepRedBlackRules() {
+    for (int roundIdx = 0; roundIdx < 50; roundIdx++) {
+      OrderedIntSetChecker.compareWithTreeSet(
+          new RedBlackTree(), roundIdx, 1000, 10 + roundIdx * 10, RedBlackTreeTest::checkRules);
+    }
+  }
+
+  @Test
+  void sortedInsertionAndRemovalStayShallow() {
+    RedBlackTree redBlackTree = new RedBlackTree();
+    int valueCount = 1 << 14;
+    for (int insertValue = 0; insertValue < valueCount; insertValue++) {
+      redBlackTree.insert(insertValue);
+    }
+    checkRules(redBlackTree);
+    assertTrue(redBlackTree.getHeight() <= 2 * 15);
+
+    for (int removeValue = 0; removeValue < valueCount; removeValue += 2) {
+      redBlackTree.remove(removeValue);
+    }
+    checkRules(redBlackTree);
+    assertEquals(valueCount / 2, redBlackTree.size());
+  }
+
+  /** Checks the colour rules, equal black heights, parent links and the node count. */
+  static void checkRules(RedBlackTree redBlackTree) {
+    RedBlackTree.Node rootNode = redBlackTree.getRootNode();
+    if (rootNode != null) {
+      assertFalse(rootNode.red, "Die Wurzel muss schwarz sein");
+      assertNull(rootNode.parent);
+      assertEquals(redBlackTree.size(), rootNode.getSize());
+    }
+    blackHeightOf(rootNode);
+  }
+
+  private static int blackHeightOf(RedBlackTree.Node subtreeRoot) {
+    if (subtreeRoot == null) {
+      return 1;
+    }
+    checkChild(subtreeRoot, subtreeRoot.left);
+    checkChild(subtreeRoot, subtreeRoot.right);
+    int leftBlackHeight = blackHeightOf(subtreeRoot.left);
+    assertEquals(leftBlackHeight, blackHeightOf(subtreeRoot.right), "Ungleiche Schwarzhöhe");
+    return leftBlackHeight + (subtreeRoot.red ? 0 : 1);
+  }
+
+  private static void checkChild(RedBlackTree.Node parentNode, RedBlackTree.Node childNode) {
+    if (childNode != null) {
+      assertEquals(parentNode, childNode.parent);
+      assertFalse(parentNode.red && childNode.red, "Roter Knoten mit rotem Kind");
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TraversalTest {
+  private static final int CHAIN_LENGTH = 5000;
+
+  @Test
+  void deepTreesWithoutStoredHeightsAreTraversedWithoutCounting() {
+    int[] ascendingValues = IntStream.range(0, CHAIN_LENGTH).toArray();
+    int[] descendingValues =
+        IntStream.range(0, CHAIN_LENGTH).map(chainIdx -> CHAIN_LENGTH - 1 - chainIdx).toArray();
+
+    // Right chain 0 -> 1 -> ...: the postorder stack holds the whole chain
+    ChainTree rightChain = ChainTree.rightChain(CHAIN_LENGTH);
+    assertTraversals(rightChain, ascendingValues, ascendingValues, descendingValues);
+    // Left chain n-1 -> n-2 -> ...: the inorder stack holds the whole chain
+    ChainTree leftChain = ChainTree.leftChain(CHAIN_LENGTH);
+    assertTraversals(leftChain, descendingValues, ascendingValues, ascendingValues);
+
+    assertEquals(0, rightChain.countingCalls + leftChain.countingCalls, "Knoten wurden gezählt");
+  }
+
+  @Test
+  void otherBalancingSchemesTraverseLikeTheirNodes() {
+    Random valueRandom = new Random(23);
+    for (BinaryIntTree binaryTree : List.of(new RedBlackTree(), new WAVLTree(), new Treap(23))) {
+      for (int insertIdx = 0; insertIdx < 3000; insertIdx++) {
+        binaryTree.insert(valueRandom.nextInt(5000));
+      }
+      for (TraversalOrder traversalOrder : TraversalOrder.values()) {
+        int[] nodeTraversal = Traversal.traverse(binaryTree.getRootNode(), traversalOrder);
+        assertEquals(binaryTree.size(), nodeTraversal.length);
+        assertArrayEquals(
+            nodeTraversal, Traversal.traverse(binaryTree, traversalOrder.getDisplayName()));
+        assertArrayEquals(nodeTraversal, Traversal.stream(binaryTree, traversalOrder).toArray());
+      }
+    }
+  }
+
+  private static void assertTraversals(
+      ChainTree chainTree, int[] expectedPreorder, int[] expectedInorder, int[] expectedPostorder) {
+    assertArrayEquals(expectedPreorder, Traversal.traverse(chainTree, "preorder"));
+    assertArrayEquals(expectedInorder, Traversal.traverse(chainTree, "inorder"));
+    assertArrayEquals(expectedPostorder, Traversal.traverse(chainTree, "postorder"));
+    // Every level holds one node, so levelorder equals preorder
+    assertArrayEquals(expectedPreorder, Traversal.traverse(chainTree, "levelorder"));
+    assertArrayEquals(
+        expectedInorder, Traversal.stream(chainTree, TraversalOrder.INORDER).toArray());
+  }
+
+  /** Degenerate read-only tree whose nodes count every call to the recursive defaults. */
+  private static final class ChainTree implements BinaryIntTree {
+    private final int nodeCount;
+    private ChainNode rootNode;
+    int countingCalls;
+
+    /** Builds the values 0 to nodeCount - 1 as one path of right or of left children. */
+    private ChainTree(int nodeCount, boolean rightChildren) {
+      this.nodeCount = nodeCount;
+      for (int chainIdx = 0; chainIdx < nodeCount; chainIdx++) {
+        rootNode =
+            rightChildren
+                ? new ChainNode(nodeCount - 1 - chainIdx, null, rootNode)
+                : new ChainNode(chainIdx, rootNode, null);
+      }
+    }
+
+    static ChainTree rightChain(int nodeCount) {
+      return new ChainTree(nodeCount, true);
+    }
+
+    static ChainTree leftChain(int nodeCount) {
+      return new ChainTree(nodeCount, false);
+    }
+
+    @Override
+    public IntTreeNode getRootNode() {
+      return rootNode;
+    }
+
+    @Override
+    public int size() {
+      return nodeCount;
+    }
+
+    @Override
+    public long getRotationCount() {
+      return 0;
+    }
+
+    @Override
+    public boolean insert(int insertValue) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(int removeValue) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+      throw new UnsupportedOperationException();
+    }
+
+    private final class ChainNode implements IntTreeNode {
+      private final int nodeValue;
+      private final ChainNode leftChild;
+      private final ChainNode rightChild;
+
+      ChainNode(int nodeValue, ChainNode leftChild, ChainNode rightChild) {
+        this.nodeValue = nodeValue;
+        this.leftChild = leftChild;
+        this.rightChild = rightChild;
+      }
+
+      @Override
+      public int getValue() {
+        return nodeValue;
+      }
+
+      @Override
+      public IntTreeNode getLeft() {
+        return leftChild;
+      }
+
+      @Override
+      public IntTreeNode getRight() {
+        return rightChild;
+      }
+
+      @Override
+      public String getBalanceInfo() {
+        return "";
+      }
+
+      @Override
+      public int getHeight() {
+        countingCalls++;
+        return IntTreeNode.super.getHeight();
+      }
+
+      @Override
+      public int getSize() {
+        countingCalls++;
+        return IntTreeNode.super.getSize();
+      }
+    }
+  }
+}
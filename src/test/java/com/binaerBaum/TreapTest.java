@@ -0,0 +1,59 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TreapTest {
+
+  @Test
+  void randomOperationsKeepHeapOrder() {
+    for (int roundIdx = 0; roundIdx < 50; roundIdx++) {
+      OrderedIntSetChecker.compareWithTreeSet(
+          new Treap(roundIdx), roundIdx, 1000, 10 + roundIdx * 10, TreapTest::checkHeapOrder);
+    }
+  }
+
+  @Test
+  void sameSeedBuildsTheSameShape() {
+    Treap firstTreap = new Treap(42);
+    Treap secondTreap = new Treap(42);
+    for (int insertValue = 0; insertValue < 1000; insertValue++) {
+      firstTreap.insert(insertValue);
+      secondTreap.insert(insertValue);
+    }
+    assertArrayEquals(
+        Traversal.traverse(firstTreap, "preorder"), Traversal.traverse(secondTreap, "preorder"));
+  }
+
+  @Test
+  void sortedInsertionStaysShallow() {
+    Treap treap = new Treap(7);
+    for (int insertValue = 0; insertValue < 1 << 14; insertValue++) {
+      treap.insert(insertValue);
+    }
+    checkHeapOrder(treap);
+    // The expected height is about 2.99 * log2(n); a list would be 16384 deep
+    assertTrue(treap.getHeight() < 100, "Höhe " + treap.getHeight());
+  }
+
+  /** Checks that no node has a higher priority than its parent. */
+  static void checkHeapOrder(Treap treap) {
+    checkSubtree(treap.getRootNode());
+  }
+
+  private static void checkSubtree(Treap.Node subtreeRoot) {
+    if (subtreeRoot == null) {
+      return;
+    }
+    if (subtreeRoot.left != null) {
+      assertTrue(subtreeRoot.left.priority <= subtreeRoot.priority, "Heap-Ordnung verletzt");
+    }
+    if (subtreeRoot.right != null) {
+      assertTrue(subtreeRoot.right.priority <= subtreeRoot.priority, "Heap-Ordnung verletzt");
+    }
+    checkSubtree(subtreeRoot.left);
+    checkSubtree(subtreeRoot.right);
+  }
+}
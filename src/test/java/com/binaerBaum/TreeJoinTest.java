@@ -0,0 +1,182 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+/** Join-based batch operations on heap trees, that is trees without a node arena. */
+class TreeJoinTest {
+
+  @Test
+  void unionMatchesTreeSetAddAll() {
+    Random pairRandom = new Random(14);
+    for (int pairIdx = 0; pairIdx < 200; pairIdx++) {
+      TreeSet<Integer> expectedValues = new TreeSet<>();
+      TreeSet<Integer> otherValues = new TreeSet<>();
+      AVLTree targetTree = randomTree(pairRandom, expectedValues);
+      AVLTree otherTree = randomTree(pairRandom, otherValues);
+      int[] otherBefore = Traversal.traverse(otherTree.getRoot(), TraversalOrder.PREORDER);
+
+      int sizeBefore = expectedValues.size();
+      expectedValues.addAll(otherValues);
+      assertEquals(expectedValues.size() - sizeBefore, targetTree.union(otherTree));
+      assertJoined(expectedValues, targetTree);
+      assertUnchanged(otherBefore, otherValues, otherTree);
+    }
+  }
+
+  @Test
+  void intersectionMatchesTreeSetRetainAll() {
+    Random pairRandom = new Random(140);
+    for (int pairIdx = 0; pairIdx < 200; pairIdx++) {
+      TreeSet<Integer> expectedValues = new TreeSet<>();
+      TreeSet<Integer> otherValues = new TreeSet<>();
+      AVLTree targetTree = randomTree(pairRandom, expectedValues);
+      AVLTree otherTree = randomTree(pairRandom, otherValues);
+      int[] otherBefore = Traversal.traverse(otherTree.getRoot(), TraversalOrder.PREORDER);
+
+      int sizeBefore = expectedValues.size();
+      expectedValues.retainAll(otherValues);
+      assertEquals(sizeBefore - expectedValues.size(), targetTree.intersection(otherTree));
+      assertJoined(expectedValues, targetTree);
+      assertUnchanged(otherBefore, otherValues, otherTree);
+    }
+  }
+
+  @Test
+  void differenceMatchesTreeSetRemoveAll() {
+    Random pairRandom = new Random(1400);
+    for (int pairIdx = 0; pairIdx < 200; pairIdx++) {
+      TreeSet<Integer> expectedValues = new TreeSet<>();
+      TreeSet<Integer> otherValues = new TreeSet<>();
+      AVLTree targetTree = randomTree(pairRandom, expectedValues);
+      AVLTree otherTree = randomTree(pairRandom, otherValues);
+      int[] otherBefore = Traversal.traverse(otherTree.getRoot(), TraversalOrder.PREORDER);
+
+      int sizeBefore = expectedValues.size();
+      expectedValues.removeAll(otherValues);
+      assertEquals(sizeBefore - expectedValues.size(), targetTree.difference(otherTree));
+      assertJoined(expectedValues, targetTree);
+      assertUnchanged(otherBefore, otherValues, otherTree);
+    }
+  }
+
+  @Test
+  void insertAllMatchesTreeSetAddAll() {
+    Random batchRandom = new Random(14000);
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    AVLTree targetTree = new AVLTree();
+    for (int batchIdx = 0; batchIdx < 200; batchIdx++) {
+      // Batches from empty to much larger than the tree, with duplicates inside the batch
+      int[] batchValues = new int[batchRandom.nextInt(1 + batchIdx * 5)];
+      for (int valueIdx = 0; valueIdx < batchValues.length; valueIdx++) {
+        batchValues[valueIdx] = batchRandom.nextInt(5000) - 2500;
+      }
+      int[] batchCopy = batchValues.clone();
+
+      int sizeBefore = expectedValues.size();
+      for (int batchValue : batchValues) {
+        expectedValues.add(batchValue);
+      }
+      assertEquals(expectedValues.size() - sizeBefore, targetTree.insertAll(batchValues));
+      assertArrayEquals(batchCopy, batchValues, "Der Eingabe-Batch wurde verändert");
+      assertJoined(expectedValues, targetTree);
+    }
+  }
+
+  @Test
+  void emptyOperandsLeaveTheExpectedValues() {
+    AVLTree filledTree = AVLTree.bulkLoad(new int[] {5, 1, 9, 3, 7});
+    int[] filledValues = {1, 3, 5, 7, 9};
+
+    assertEquals(0, filledTree.union(new AVLTree()));
+    assertEquals(0, filledTree.difference(new AVLTree()));
+    assertEquals(0, filledTree.insertAll(new int[0]));
+    assertArrayEquals(filledValues, Traversal.traverse(filledTree, "inorder"));
+
+    AVLTree emptyTree = new AVLTree();
+    assertEquals(0, emptyTree.intersection(filledTree));
+    assertEquals(0, emptyTree.difference(filledTree));
+    assertEquals(5, emptyTree.union(filledTree));
+    assertArrayEquals(filledValues, Traversal.traverse(emptyTree, "inorder"));
+    AVLTreeTest.checkInvariants(emptyTree);
+
+    assertEquals(5, filledTree.intersection(new AVLTree()));
+    assertEquals(0, filledTree.size());
+    assertNull(filledTree.getRoot());
+    assertArrayEquals(filledValues, Traversal.traverse(emptyTree, "inorder"));
+  }
+
+  @Test
+  void operationsWithItselfKeepOrClearTheTree() {
+    TreeSet<Integer> expectedValues = new TreeSet<>();
+    AVLTree selfTree = randomTree(new Random(141), expectedValues);
+    int[] shapeBefore = Traversal.traverse(selfTree.getRoot(), TraversalOrder.PREORDER);
+
+    assertEquals(0, selfTree.union(selfTree));
+    assertEquals(0, selfTree.intersection(selfTree));
+    assertArrayEquals(shapeBefore, Traversal.traverse(selfTree.getRoot(), TraversalOrder.PREORDER));
+
+    assertEquals(expectedValues.size(), selfTree.difference(selfTree));
+    assertEquals(0, selfTree.size());
+    assertNull(selfTree.getRoot());
+  }
+
+  @Test
+  void joinAroundAMiddleNodeBalancesTreesOfDifferentHeights() {
+    Random heightRandom = new Random(1401);
+    for (int joinIdx = 0; joinIdx < 300; joinIdx++) {
+      int leftCount = heightRandom.nextInt(200);
+      int rightCount = heightRandom.nextInt(200);
+      AVLTree leftTree = AVLTree.bulkLoad(consecutiveValues(0, leftCount));
+      AVLTree rightTree = AVLTree.bulkLoad(consecutiveValues(leftCount + 1, rightCount));
+
+      AVLNode joinedRoot =
+          TreeJoin.join(leftTree.getRoot(), new AVLNode(leftCount), rightTree.getRoot());
+      assertEquals(leftCount + rightCount + 1, AVLTreeTest.checkSubtree(joinedRoot, -1, 1000));
+      assertArrayEquals(
+          consecutiveValues(0, leftCount + rightCount + 1),
+          Traversal.traverse(joinedRoot, TraversalOrder.INORDER));
+    }
+  }
+
+  /** Checks values, AVL invariants and sizes of a tree after a batch operation. */
+  private static void assertJoined(TreeSet<Integer> expectedValues, AVLTree joinedTree) {
+    AVLTreeTest.checkInvariants(joinedTree);
+    assertEquals(expectedValues.size(), joinedTree.size());
+    OrderedIntSetChecker.assertSameValues(expectedValues, joinedTree);
+  }
+
+  /** The other operand must keep its values and its exact shape. */
+  private static void assertUnchanged(
+      int[] preorderBefore, TreeSet<Integer> otherValues, AVLTree otherTree) {
+    assertArrayEquals(
+        preorderBefore, Traversal.traverse(otherTree.getRoot(), TraversalOrder.PREORDER));
+    assertJoined(otherValues, otherTree);
+  }
+
+  /** Builds a tree of random size and density, sometimes empty, mirrored in the given set. */
+  private static AVLTree randomTree(Random treeRandom, TreeSet<Integer> mirroredValues) {
+    AVLTree randomTree = new AVLTree();
+    int valueCount = (treeRandom.nextInt(8) == 0) ? 0 : treeRandom.nextInt(300);
+    int valueRange = 1 + treeRandom.nextInt(1000);
+    for (int valueIdx = 0; valueIdx < valueCount; valueIdx++) {
+      int insertValue = treeRandom.nextInt(valueRange);
+      randomTree.insert(insertValue);
+      mirroredValues.add(insertValue);
+    }
+    return randomTree;
+  }
+
+  private static int[] consecutiveValues(int firstValue, int valueCount) {
+    int[] consecutiveValues = new int[valueCount];
+    for (int valueIdx = 0; valueIdx < valueCount; valueIdx++) {
+      consecutiveValues[valueIdx] = firstValue + valueIdx;
+    }
+    return consecutiveValues;
+  }
+}
@@ -0,0 +1,109 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TreeSnapshotTest {
+
+  @TempDir Path snapshotDirectory;
+
+  @Test
+  void roundTripKeepsShapeAndLookups() throws IOException {
+    AVLTree sortedTree = new AVLTree();
+    for (int insertValue = 0; insertValue < 1000; insertValue++) {
+      sortedTree.insert(insertValue);
+    }
+    AVLTree randomTree = new AVLTree();
+    Random valueRandom = new Random(11);
+    for (int insertIdx = 0; insertIdx < 2000; insertIdx++) {
+      randomTree.insert(valueRandom.nextInt(5000) - 2500);
+    }
+    AVLTree singleTree = new AVLTree();
+    singleTree.insert(42);
+
+    for (AVLTree sourceTree : List.of(new AVLTree(), singleTree, sortedTree, randomTree)) {
+      Path snapshotPath = snapshotDirectory.resolve("tree.snapshot");
+      TreeSnapshot.write(sourceTree, snapshotPath);
+      MappedAVLTree mappedTree = TreeSnapshot.open(snapshotPath);
+
+      assertEquals(sourceTree.size(), mappedTree.size());
+      assertEquals(sourceTree.getHeight(), mappedTree.getHeight());
+      for (String traversalMethod : List.of("preorder", "inorder", "postorder", "levelorder")) {
+        assertArrayEquals(
+            Traversal.traverse(sourceTree, traversalMethod),
+            mappedTree.traverse(traversalMethod),
+            traversalMethod);
+      }
+      for (int searchValue = -2600; searchValue <= 2600; searchValue += 7) {
+        assertEquals(sourceTree.contains(searchValue), mappedTree.contains(searchValue));
+        assertEquals(sourceTree.floor(searchValue), mappedTree.floor(searchValue));
+        assertEquals(sourceTree.ceiling(searchValue), mappedTree.ceiling(searchValue));
+      }
+      assertArrayEquals(
+          Traversal.traverse(sourceTree, "preorder"),
+          Traversal.traverse(mappedTree.toAVLTree(), "preorder"));
+    }
+  }
+
+  @Test
+  void writeReplacesTheSnapshotWithoutLeavingATemporaryFile() throws IOException {
+    Path snapshotPath = snapshotDirectory.resolve("tree.snapshot");
+    TreeSnapshot.write(AVLTree.bulkLoad(new int[] {1, 2, 3, 4, 5, 6, 7}), snapshotPath);
+    TreeSnapshot.write(AVLTree.bulkLoad(new int[] {8, 9}), snapshotPath);
+
+    assertArrayEquals(new int[] {8, 9}, TreeSnapshot.open(snapshotPath).traverse("inorder"));
+    try (Stream<Path> directoryEntries = Files.list(snapshotDirectory)) {
+      assertEquals(List.of(snapshotPath), directoryEntries.toList());
+    }
+  }
+
+  @Test
+  void corruptHeightHeaderIsRejected() throws IOException {
+    AVLTree sourceTree = new AVLTree();
+    for (int insertValue = 0; insertValue < 1000; insertValue++) {
+      sourceTree.insert(insertValue);
+    }
+    Path snapshotPath = snapshotDirectory.resolve("tree.snapshot");
+    TreeSnapshot.write(sourceTree, snapshotPath);
+    byte[] snapshotBytes = Files.readAllBytes(snapshotPath);
+    int treeHeight = sourceTree.getHeight();
+    int heightBound = (int) AVLTreeMetrics.heightBound(sourceTree.size());
+
+    for (int corruptHeight : new int[] {-1, 0, heightBound + 1, Integer.MAX_VALUE}) {
+      assertCorrupt(snapshotPath, withInt(snapshotBytes, 12, corruptHeight));
+    }
+    // A plausible header height that disagrees with the root record
+    assertCorrupt(snapshotPath, withInt(snapshotBytes, 12, treeHeight - 1));
+    assertCorrupt(
+        snapshotPath, withInt(snapshotBytes, TreeSnapshot.HEADER_BYTES + 8, treeHeight + 1));
+
+    TreeSnapshot.write(new AVLTree(), snapshotPath);
+    assertCorrupt(snapshotPath, withInt(Files.readAllBytes(snapshotPath), 12, 1));
+  }
+
+  private static void assertCorrupt(Path snapshotPath, byte[] corruptBytes) throws IOException {
+    Files.write(snapshotPath, corruptBytes);
+    IOException headerException =
+        assertThrows(IOException.class, () -> TreeSnapshot.open(snapshotPath));
+    assertTrue(headerException.getMessage().startsWith("Ungültige Baumhöhe"));
+  }
+
+  /** Returns a copy of the bytes with one little-endian int replaced. */
+  private static byte[] withInt(byte[] snapshotBytes, int byteOffset, int replacedValue) {
+    byte[] changedBytes = snapshotBytes.clone();
+    ByteBuffer.wrap(changedBytes).order(TreeSnapshot.BYTE_ORDER).putInt(byteOffset, replacedValue);
+    return changedBytes;
+  }
+}
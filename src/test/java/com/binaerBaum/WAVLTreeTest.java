@@ -0,0 +1,86 @@
+package com.binaerBaum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class WAVLTreeTest {
+
+  @Test
+  void randomOperationsKeepRankRules() {
+    for (int roundIdx = 0; roundIdx < 50; roundIdx++) {
+      OrderedIntSetChecker.compareWithTreeSet(
+          new WAVLTree(), roundIdx, 1000, 10 + roundIdx * 10, WAVLTreeTest::checkRules);
+    }
+  }
+
+  @Test
+  void insertionOnlyBuildsTheAVLShape() {
+    AVLTree avlTree = new AVLTree();
+    WAVLTree wavlTree = new WAVLTree();
+    Random insertRandom = new Random(23);
+    for (int insertIdx = 0; insertIdx < 10_000; insertIdx++) {
+      int insertValue = insertRandom.nextInt();
+      avlTree.insert(insertValue);
+      wavlTree.insert(insertValue);
+    }
+    assertArrayEquals(
+        Traversal.traverse(avlTree, "preorder"), Traversal.traverse(wavlTree, "preorder"));
+  }
+
+  @Test
+  void removalsNeverIncreaseTheHeight() {
+    WAVLTree wavlTree = new WAVLTree();
+    int valueCount = 1 << 14;
+    for (int insertValue = 0; insertValue < valueCount; insertValue++) {
+      wavlTree.insert(insertValue);
+    }
+    int heightAfterInsertion = wavlTree.getHeight();
+    for (int removeValue = 0; removeValue < valueCount; removeValue += 2) {
+      wavlTree.remove(removeValue);
+    }
+    checkRules(wavlTree);
+    assertTrue(wavlTree.getHeight() <= heightAfterInsertion);
+  }
+
+  /**
+   * Checks the rank rules: every rank difference is 1 or 2, leaves have rank 0, and the parent
+   * links are consistent.
+   */
+  static void checkRules(WAVLTree wavlTree) {
+    WAVLTree.Node rootNode = wavlTree.getRootNode();
+    if (rootNode != null) {
+      assertNull(rootNode.parent);
+    }
+    checkSubtree(rootNode);
+  }
+
+  private static void checkSubtree(WAVLTree.Node subtreeRoot) {
+    if (subtreeRoot == null) {
+      return;
+    }
+    int leftDifference = subtreeRoot.rank - rankOf(subtreeRoot.left);
+    int rightDifference = subtreeRoot.rank - rankOf(subtreeRoot.right);
+    assertTrue(leftDifference == 1 || leftDifference == 2, "Rangdifferenz " + leftDifference);
+    assertTrue(rightDifference == 1 || rightDifference == 2, "Rangdifferenz " + rightDifference);
+    if (subtreeRoot.left == null && subtreeRoot.right == null) {
+      assertEquals(0, subtreeRoot.rank, "Blatt mit Rang ungleich 0");
+    }
+    if (subtreeRoot.left != null) {
+      assertEquals(subtreeRoot, subtreeRoot.left.parent);
+    }
+    if (subtreeRoot.right != null) {
+      assertEquals(subtreeRoot, subtreeRoot.right.parent);
+    }
+    checkSubtree(subtreeRoot.left);
+    checkSubtree(subtreeRoot.right);
+  }
+
+  private static int rankOf(WAVLTree.Node someNode) {
+    return (someNode == null) ? -1 : someNode.rank;
+  }
+}